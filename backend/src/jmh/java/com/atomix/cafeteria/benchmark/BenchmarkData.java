@@ -0,0 +1,153 @@
+package com.atomix.cafeteria.benchmark;
+
+import com.atomix.cafeteria.entity.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded data generators shared by the benchmarks, so every run (and every
+ * fork) measures exactly the same rows.
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 42L;
+
+    private static final String[] DISHES = {
+        "Masala Dosa", "Paneer Butter Masala", "Chicken Biryani", "Veg Pulao", "Idli Sambar",
+        "Chole Bhature", "Margherita Pizza", "Caesar Salad", "Tomato Soup", "Filter Coffee",
+        "Mango Lassi", "Gulab Jamun", "Veg Sandwich", "Egg Fried Rice", "Hakka Noodles",
+        "Rajma Chawal", "Pav Bhaji", "Aloo Paratha", "Fish Curry", "Chocolate Brownie"
+    };
+
+    private static final String[] DESCRIPTORS = {
+        "crispy", "spicy", "creamy", "homestyle", "tangy", "smoky", "fresh", "classic", "loaded", "mini"
+    };
+
+    private static final String[] TAGS = {
+        "vegetarian", "vegan", "spicy", "gluten-free", "healthy", "popular", "jain", "high-protein"
+    };
+
+    private static final String[] INGREDIENTS = {
+        "rice", "potato", "paneer", "chicken", "tomato", "onion", "garlic", "ginger", "lentils",
+        "cheese", "butter", "coriander", "chilli", "wheat", "yogurt", "mango", "cocoa", "egg"
+    };
+
+    private BenchmarkData() {
+    }
+
+    public static List<Vendor> vendors(int count) {
+        Random random = new Random(SEED);
+        List<Vendor> vendors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Vendor vendor = new Vendor();
+            vendor.setId((long) i + 1);
+            vendor.setName("Vendor " + i);
+            vendor.setDescription(DESCRIPTORS[random.nextInt(DESCRIPTORS.length)] + " kitchen serving "
+                + DISHES[random.nextInt(DISHES.length)]);
+            vendor.setContactEmail("vendor" + i + "@atomix.com");
+            vendor.setContactPerson("Owner " + i);
+            vendor.setStatus(VendorStatus.APPROVED);
+            vendor.setOperatingHours("08:00-20:00");
+            vendor.setFloorIds(new ArrayList<>(List.of("F" + (random.nextInt(5) + 1))));
+            vendor.setVendorType(random.nextInt(4) == 0 ? VendorType.TEMPORARY : VendorType.PERMANENT);
+            vendor.setAverageRating(1.0 + random.nextInt(40) / 10.0);
+            vendor.setTotalReviews(random.nextInt(500));
+            vendor.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusDays(i));
+            vendor.setUpdatedAt(vendor.getCreatedAt());
+            vendors.add(vendor);
+        }
+        return vendors;
+    }
+
+    public static List<MenuItem> menuItems(List<Vendor> vendors, int count) {
+        Random random = new Random(SEED + 1);
+        MenuCategory[] categories = MenuCategory.values();
+        List<MenuItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String dish = DISHES[random.nextInt(DISHES.length)];
+            String descriptor = DESCRIPTORS[random.nextInt(DESCRIPTORS.length)];
+
+            MenuItem item = new MenuItem();
+            item.setId((long) i + 1);
+            item.setName(descriptor.substring(0, 1).toUpperCase() + descriptor.substring(1) + " " + dish);
+            item.setDescription("A " + descriptor + " take on " + dish.toLowerCase() + " made with "
+                + INGREDIENTS[random.nextInt(INGREDIENTS.length)]);
+            item.setPrice(BigDecimal.valueOf(40 + random.nextInt(260)).setScale(2));
+            item.setCategory(categories[random.nextInt(categories.length)]);
+            item.setIsAvailable(random.nextInt(10) != 0);
+            item.setPreparationTime(5 + random.nextInt(25));
+            item.setVendor(vendors.get(random.nextInt(vendors.size())));
+            item.setFloorId("F" + (random.nextInt(5) + 1));
+            item.setTags(pick(random, TAGS, 1 + random.nextInt(3)));
+            item.setIngredients(pick(random, INGREDIENTS, 2 + random.nextInt(4)));
+            items.add(item);
+        }
+        return items;
+    }
+
+    public static List<Payment> payments(int count) {
+        Random random = new Random(SEED + 2);
+        PaymentMethod[] methods = PaymentMethod.values();
+        List<Payment> payments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setOrderNumber(String.format("ORD_%016d", i));
+
+            Payment payment = new Payment();
+            payment.setId((long) i + 1);
+            payment.setPaymentId("PAY_" + i);
+            payment.setOrder(order);
+            payment.setAmount(BigDecimal.valueOf(50 + random.nextInt(450)).setScale(2));
+            payment.setPaymentMethod(methods[random.nextInt(methods.length)]);
+            payment.setPaymentStatus(PaymentStatus.COMPLETED);
+            payment.setPaymentType(random.nextBoolean() ? PaymentType.ORDER_PAYMENT : PaymentType.FOOD_CARD_TOPUP);
+            payment.setGatewayPaymentId("pay_" + Long.toHexString(random.nextLong()));
+            payment.setGatewayOrderId("order_" + Long.toHexString(random.nextLong()));
+            payment.setGatewayCurrency("INR");
+            payment.setDescription("Payment " + i);
+            payment.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i));
+            payment.setProcessedAt(payment.getCreatedAt().plusSeconds(30));
+            payments.add(payment);
+        }
+        return payments;
+    }
+
+    public static List<String> emails(int count) {
+        List<String> emails = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            emails.add("employee" + i + "@atomix.com");
+        }
+        return emails;
+    }
+
+    /**
+     * Queries drawn from the same vocabulary as the generated menu items
+     */
+    public static List<String> searchTerms(int count) {
+        Random random = new Random(SEED + 3);
+        List<String> terms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            switch (random.nextInt(3)) {
+                case 0 -> terms.add(DISHES[random.nextInt(DISHES.length)].split(" ")[0].toLowerCase());
+                case 1 -> terms.add(DESCRIPTORS[random.nextInt(DESCRIPTORS.length)]);
+                default -> terms.add(INGREDIENTS[random.nextInt(INGREDIENTS.length)]);
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> pick(Random random, String[] source, int count) {
+        List<String> picked = new ArrayList<>(count);
+        while (picked.size() < count) {
+            String value = source[random.nextInt(source.length)];
+            if (!picked.contains(value)) {
+                picked.add(value);
+            }
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,111 @@
+package com.atomix.cafeteria.benchmark;
+
+import com.atomix.cafeteria.dto.PaymentHistoryResponse;
+import com.atomix.cafeteria.dto.PaymentResponse;
+import com.atomix.cafeteria.dto.VendorResponse;
+import com.atomix.cafeteria.entity.Payment;
+import com.atomix.cafeteria.entity.Vendor;
+import com.atomix.cafeteria.mapper.PaymentMapper;
+import com.atomix.cafeteria.mapper.VendorMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping one page of vendors and payments with the reflective
+ * ModelMapper setup the services used to share versus the hand-written
+ * mappers that replaced it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ModelMapper modelMapper;
+    private List<Vendor> vendors;
+    private List<Payment> payments;
+
+    @Setup
+    public void setUp() {
+        // Same configuration as the removed AppConfig bean
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+            .setFieldMatchingEnabled(true)
+            .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+
+        vendors = BenchmarkData.vendors(pageSize);
+        payments = BenchmarkData.payments(pageSize);
+    }
+
+    @Benchmark
+    public List<VendorResponse> vendorsModelMapper() {
+        List<VendorResponse> responses = new ArrayList<>(vendors.size());
+        for (Vendor vendor : vendors) {
+            // What VendorService.mapToVendorResponse used to do
+            VendorResponse response = modelMapper.map(vendor, VendorResponse.class);
+            response.setStatusDisplayName(vendor.getStatus().getDisplayName());
+            response.setVendorTypeDisplayName(vendor.getVendorType().getDisplayName());
+            response.setIsCurrentlyActive(vendor.isCurrentlyActive());
+            response.setIsTemporary(vendor.isTemporary());
+            response.setTotalMenuItems(vendor.getMenuItems().size());
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<VendorResponse> vendorsHandWritten() {
+        List<VendorResponse> responses = new ArrayList<>(vendors.size());
+        for (Vendor vendor : vendors) {
+            responses.add(VendorMapper.toResponse(vendor, 0));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<PaymentResponse> paymentsModelMapper() {
+        List<PaymentResponse> responses = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            responses.add(modelMapper.map(payment, PaymentResponse.class));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<PaymentResponse> paymentsHandWritten() {
+        List<PaymentResponse> responses = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            responses.add(PaymentMapper.toResponse(payment));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<PaymentHistoryResponse> paymentHistoryModelMapper() {
+        List<PaymentHistoryResponse> responses = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            PaymentHistoryResponse response = modelMapper.map(payment, PaymentHistoryResponse.class);
+            response.setOrderNumber(payment.getOrder().getOrderNumber());
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<PaymentHistoryResponse> paymentHistoryHandWritten() {
+        List<PaymentHistoryResponse> responses = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            responses.add(PaymentMapper.toHistoryResponse(payment));
+        }
+        return responses;
+    }
+}
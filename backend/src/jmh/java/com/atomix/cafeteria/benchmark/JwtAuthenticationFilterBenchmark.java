@@ -0,0 +1,63 @@
+package com.atomix.cafeteria.benchmark;
+
+import com.atomix.cafeteria.security.JwtAuthenticationFilter;
+import com.atomix.cafeteria.security.JwtUtils;
+import com.atomix.cafeteria.security.UserPrincipal;
+import com.atomix.cafeteria.security.UserPrincipalCache;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through JwtAuthenticationFilter: header parsing,
+ * token validation, principal lookup and security context population. The
+ * user lookup stands in for the repository with a fixed principal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = JwtBenchmark.newJwtUtils(10_000);
+        UserDetailsService userDetailsService = email -> new UserPrincipal(
+            1L, email, "{noop}password", "Bench", "User", "EMPLOYEE", true, true,
+            List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE")));
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "userPrincipalCache", new UserPrincipalCache(10_000, 60_000));
+
+        request = new MockHttpServletRequest("GET", "/api/v1/menu");
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateTokenFromEmail("employee1@atomix.com"));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticateRequest() throws Exception {
+        // OncePerRequestFilter marks the request as filtered; reset so every call runs the filter
+        request.clearAttributes();
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
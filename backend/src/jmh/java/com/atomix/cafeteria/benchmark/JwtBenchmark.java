@@ -0,0 +1,70 @@
+package com.atomix.cafeteria.benchmark;
+
+import com.atomix.cafeteria.security.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtils token generation and validation. "Repeated" validates the same
+ * token every call (claims cache hit); "distinct" cycles through more tokens
+ * than the cache holds, so every call pays for the HMAC check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = "benchmarkSecretKeyForJWTThatIsLongEnoughForHMAC256Algorithm";
+
+    private static final int TOKEN_COUNT = 4096;
+    private static final int CACHE_SIZE = 256;
+
+    private JwtUtils jwtUtils;
+    private List<String> tokens;
+    private String repeatedToken;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = newJwtUtils(CACHE_SIZE);
+        tokens = new ArrayList<>(TOKEN_COUNT);
+        for (String email : BenchmarkData.emails(TOKEN_COUNT)) {
+            tokens.add(jwtUtils.generateTokenFromEmail(email));
+        }
+        repeatedToken = tokens.get(0);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateTokenFromEmail("employee1@atomix.com");
+    }
+
+    @Benchmark
+    public boolean validateRepeatedToken() {
+        return jwtUtils.validateJwtToken(repeatedToken);
+    }
+
+    @Benchmark
+    public boolean validateDistinctTokens() {
+        String token = tokens.get(next);
+        next = (next + 1) % TOKEN_COUNT;
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    static JwtUtils newJwtUtils(int cacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtils, "refreshTokenExpirationMs", 604_800_000L);
+        ReflectionTestUtils.setField(jwtUtils, "claimsCacheMaxSize", cacheSize);
+        ReflectionTestUtils.setField(jwtUtils, "claimsCacheMaxTtlMs", 300_000L);
+        return jwtUtils;
+    }
+}
@@ -0,0 +1,88 @@
+package com.atomix.cafeteria.benchmark;
+
+import com.atomix.cafeteria.websocket.LiveUpdateCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one order-status broadcast to N subscribers: the old path builds a
+ * map with an ISO timestamp string and converts it per recipient; the new
+ * path encodes once with LiveUpdateCodec and shares the bytes. The
+ * "payloadBytes" counter reports bytes serialized per broadcast.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LiveUpdateCodecBenchmark {
+
+    @Param({"1", "100"})
+    private int subscribers;
+
+    private MappingJackson2MessageConverter converter;
+    private LiveUpdateCodec codec;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        codec = new LiveUpdateCodec(objectMapper);
+    }
+
+    @Benchmark
+    public Object mapPerRecipient(Bytes bytes) {
+        Map<String, Object> update = new HashMap<>();
+        update.put("orderId", "ORD_3F9A1C22B07E4D11");
+        update.put("status", "READY");
+        update.put("timestamp", LocalDateTime.now().toString());
+
+        Message<?> last = null;
+        for (int i = 0; i < subscribers; i++) {
+            last = converter.toMessage(update, headers());
+            bytes.payloadBytes += ((byte[]) last.getPayload()).length;
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Object encodeOnce(Bytes bytes) {
+        Map<String, Object> update = new HashMap<>();
+        update.put("orderId", "ORD_3F9A1C22B07E4D11");
+        update.put("status", "READY");
+        update.put("timestamp", System.currentTimeMillis());
+
+        byte[] encoded = codec.encode(update);
+        bytes.payloadBytes += encoded.length;
+        Message<?> last = null;
+        for (int i = 0; i < subscribers; i++) {
+            last = MessageBuilder.createMessage(encoded, headers());
+        }
+        return last;
+    }
+
+    private static MessageHeaders headers() {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+}
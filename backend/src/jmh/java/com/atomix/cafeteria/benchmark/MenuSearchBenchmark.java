@@ -0,0 +1,118 @@
+package com.atomix.cafeteria.benchmark;
+
+import com.atomix.cafeteria.cache.MenuSearchIndex;
+import com.atomix.cafeteria.dto.MenuItemResponse;
+import com.atomix.cafeteria.entity.MenuItem;
+import com.atomix.cafeteria.entity.Vendor;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Menu search against an in-memory H2 database, using the SQL that
+ * MenuItemRepository.searchByNameOrDescription and findByTagsContainingIgnoreCase
+ * translate to, next to the in-process MenuSearchIndex over the same rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuSearchBenchmark {
+
+    private static final String SEARCH_SQL =
+        "SELECT m.id FROM menu_items m WHERE m.is_available = TRUE AND " +
+        "(LOWER(m.name) LIKE LOWER(CONCAT('%', ?, '%')) OR " +
+        "LOWER(m.description) LIKE LOWER(CONCAT('%', ?, '%')))";
+
+    private static final String TAG_SQL =
+        "SELECT m.id FROM menu_items m WHERE m.is_available = TRUE AND " +
+        "EXISTS (SELECT 1 FROM menu_item_tags t WHERE t.menu_item_id = m.id " +
+        "AND LOWER(t.tag) LIKE LOWER(CONCAT('%', ?, '%')))";
+
+    private static final int TERM_COUNT = 256;
+    private static final int MAX_RESULTS = 50;
+
+    @Param({"1000", "10000"})
+    private int itemCount;
+
+    private JdbcTemplate jdbcTemplate;
+    private MenuSearchIndex searchIndex;
+    private List<String> terms;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:menu_search_" + itemCount + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Same shape and indexes as V1__Initial_Schema.sql
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE menu_items (id BIGINT PRIMARY KEY, name VARCHAR(200) NOT NULL, " +
+            "description TEXT, is_available BOOLEAN DEFAULT TRUE, vendor_id BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE menu_item_tags (menu_item_id BIGINT NOT NULL, tag VARCHAR(50) NOT NULL, " +
+            "PRIMARY KEY (menu_item_id, tag))");
+        jdbcTemplate.execute("CREATE INDEX idx_menu_items_is_available ON menu_items(is_available)");
+
+        List<Vendor> vendors = BenchmarkData.vendors(50);
+        List<MenuItem> items = BenchmarkData.menuItems(vendors, itemCount);
+
+        List<Object[]> itemRows = new ArrayList<>(items.size());
+        List<Object[]> tagRows = new ArrayList<>();
+        List<MenuItemResponse> responses = new ArrayList<>(items.size());
+        for (MenuItem item : items) {
+            itemRows.add(new Object[] {item.getId(), item.getName(), item.getDescription(),
+                item.getIsAvailable(), item.getVendor().getId()});
+            for (String tag : item.getTags()) {
+                tagRows.add(new Object[] {item.getId(), tag});
+            }
+            responses.add(new MenuItemResponse(item));
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO menu_items (id, name, description, is_available, vendor_id) VALUES (?, ?, ?, ?, ?)", itemRows);
+        jdbcTemplate.batchUpdate("INSERT INTO menu_item_tags (menu_item_id, tag) VALUES (?, ?)", tagRows);
+
+        searchIndex = MenuSearchIndex.of(responses);
+        terms = BenchmarkData.searchTerms(TERM_COUNT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Benchmark
+    public List<Long> searchDatabase() {
+        String term = nextTerm();
+        return jdbcTemplate.queryForList(SEARCH_SQL, Long.class, term, term);
+    }
+
+    @Benchmark
+    public List<Long> searchIndex() {
+        return searchIndex.search(nextTerm(), EnumSet.noneOf(MenuSearchIndex.Field.class), MAX_RESULTS);
+    }
+
+    @Benchmark
+    public List<Long> searchTagDatabase() {
+        return jdbcTemplate.queryForList(TAG_SQL, Long.class, nextTerm());
+    }
+
+    @Benchmark
+    public List<Long> searchTagIndex() {
+        return searchIndex.search(nextTerm(), EnumSet.of(MenuSearchIndex.Field.TAG), MAX_RESULTS);
+    }
+
+    private String nextTerm() {
+        String term = terms.get(next);
+        next = (next + 1) % TERM_COUNT;
+        return term;
+    }
+}
@@ -0,0 +1,38 @@
+package com.atomix.cafeteria.benchmark;
+
+import com.atomix.cafeteria.entity.Payment;
+import com.atomix.cafeteria.gateway.RazorpaySignature;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Razorpay HMAC signature checked on every payment verification
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentSignatureBenchmark {
+
+    private static final int PAYMENT_COUNT = 1024;
+    private static final String KEY_SECRET = "benchmark_razorpay_key_secret";
+
+    private List<Payment> payments;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        payments = BenchmarkData.payments(PAYMENT_COUNT);
+    }
+
+    @Benchmark
+    public String sign() {
+        Payment payment = payments.get(next);
+        next = (next + 1) % PAYMENT_COUNT;
+        return RazorpaySignature.sign(KEY_SECRET, payment.getGatewayOrderId(), payment.getGatewayPaymentId());
+    }
+}
@@ -0,0 +1,57 @@
+package com.atomix.cafeteria.benchmark;
+
+import com.atomix.cafeteria.repository.OrderRepository;
+import com.atomix.cafeteria.service.KitchenQueueService;
+import com.atomix.cafeteria.service.PickupTimeEstimator;
+import com.atomix.cafeteria.websocket.LiveStatusBroker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of the ETA computed for every placed order, and of folding one
+ * completed order back into the statistics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PickupTimeEstimatorBenchmark {
+
+    private PickupTimeEstimator estimator;
+    private Map<Long, Integer> preparationTimes;
+
+    @Setup
+    public void setUp() {
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findWithItemsByVendorIdAndStatusIn(anyLong(), any())).thenReturn(List.of());
+        KitchenQueueService kitchenQueueService = new KitchenQueueService(orderRepository, mock(LiveStatusBroker.class));
+        estimator = new PickupTimeEstimator(kitchenQueueService, 0.2, 200, 5, 0.8, 2);
+
+        Random random = new Random(BenchmarkData.SEED);
+        for (int i = 0; i < 1000; i++) {
+            estimator.record(1L, List.of(10L + random.nextInt(20)), 5 + random.nextInt(25));
+        }
+        preparationTimes = Map.of(10L, 12, 11L, 8, 12L, 15);
+    }
+
+    @Benchmark
+    public int estimate() {
+        return estimator.estimateReadyInMinutes(1L, estimator.estimatePreparationMinutes(1L, preparationTimes));
+    }
+
+    @Benchmark
+    public void record() {
+        estimator.record(1L, List.of(10L, 11L), 14.5);
+    }
+}
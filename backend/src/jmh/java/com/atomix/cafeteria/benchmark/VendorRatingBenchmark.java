@@ -0,0 +1,42 @@
+package com.atomix.cafeteria.benchmark;
+
+import com.atomix.cafeteria.entity.Vendor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Running-average update in Vendor.updateRating
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VendorRatingBenchmark {
+
+    private static final int RATING_COUNT = 1024;
+
+    private Vendor vendor;
+    private double[] ratings;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        vendor = BenchmarkData.vendors(1).get(0);
+        Random random = new Random(BenchmarkData.SEED);
+        ratings = new double[RATING_COUNT];
+        for (int i = 0; i < RATING_COUNT; i++) {
+            ratings[i] = 1 + random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    public Double updateRating() {
+        vendor.updateRating(ratings[next]);
+        next = (next + 1) % RATING_COUNT;
+        return vendor.getAverageRating();
+    }
+}
@@ -0,0 +1,139 @@
+package com.atomix.cafeteria.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small concurrent cache with per-entry expiry and a hard size bound.
+ *
+ * Reads are a single ConcurrentHashMap lookup. When the cache is full, expired
+ * entries are purged first and, if that is not enough, the entries closest to
+ * expiry are evicted in one batch so the O(n) sweep is amortised over many puts.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private static final double EVICTION_FRACTION = 0.1;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedTtlCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    /**
+     * Store the value only if the key has no live entry; atomic per key
+     *
+     * @return true if stored, false if a live entry was already present
+     */
+    public boolean putIfAbsent(K key, V value, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) {
+            return false;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        Entry<V> fresh = new Entry<>(value, expiresAtMillis);
+        Entry<V> stored = entries.compute(key, (k, existing) ->
+            existing != null && existing.expiresAtMillis > now ? existing : fresh);
+        return stored == fresh;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private synchronized void makeRoom() {
+        if (entries.size() < maxSize) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        entries.forEach((key, entry) -> {
+            if (entry.expiresAtMillis <= now && entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        });
+        if (entries.size() < maxSize) {
+            return;
+        }
+
+        // Still full of live entries: drop the ones that would expire soonest
+        int toEvict = Math.max(1, (int) (maxSize * EVICTION_FRACTION));
+        List<Map.Entry<K, Entry<V>>> snapshot = new ArrayList<>(entries.entrySet());
+        snapshot.sort(Comparator.comparingLong(e -> e.getValue().expiresAtMillis));
+        for (int i = 0; i < toEvict && i < snapshot.size(); i++) {
+            Map.Entry<K, Entry<V>> candidate = snapshot.get(i);
+            if (entries.remove(candidate.getKey(), candidate.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.entity.OrderStatus;
+
+import java.util.*;
+
+/**
+ * Active orders for one vendor, in the order the kitchen should work them.
+ *
+ * Orders still to be made come first, earliest start-by time (pickup
+ * deadline minus preparation time) first; orders that are ready and waiting
+ * for pickup follow. Entries are held in a sorted set plus an id map, so
+ * insert, status changes and complete are O(log n) and the dashboard never
+ * has to sort or query.
+ */
+public class KitchenQueue {
+
+    private static final Comparator<Entry> BY_PRIORITY =
+        Comparator.comparingInt((Entry e) -> e.status == OrderStatus.READY ? 1 : 0)
+            .thenComparingLong(e -> e.startBy)
+            .thenComparingLong(e -> e.pickupDeadline)
+            .thenComparingLong(e -> e.orderId);
+
+    private final Long vendorId;
+    private final TreeSet<Entry> ordered = new TreeSet<>(BY_PRIORITY);
+    private final Map<Long, Entry> byOrderId = new HashMap<>();
+    // Orders changed while the queue was being seeded; seeding never overrides them
+    private final Set<Long> touched = new HashSet<>();
+    private final Map<Long, OrderStatus> pendingStatus = new HashMap<>();
+    private boolean seeded;
+    private int readyCount;
+
+    public KitchenQueue(Long vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    /**
+     * Load the orders that were active when the queue was created. Orders
+     * added, changed or completed since then keep their newer state.
+     */
+    public synchronized void seed(Collection<Entry> entries) {
+        for (Entry entry : entries) {
+            if (touched.contains(entry.orderId)) {
+                continue;
+            }
+            OrderStatus status = pendingStatus.get(entry.orderId);
+            insert(status != null ? entry.withStatus(status) : entry);
+        }
+        touched.clear();
+        pendingStatus.clear();
+        seeded = true;
+    }
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Add an order, or replace the queued entry for it
+     */
+    public synchronized void upsert(Entry entry) {
+        markTouched(entry.orderId);
+        insert(entry);
+    }
+
+    /**
+     * Move a queued order to a new status, keeping its timing. Returns the
+     * updated entry, or null if the order is not queued.
+     */
+    public synchronized Entry updateStatus(Long orderId, OrderStatus status) {
+        Entry current = byOrderId.get(orderId);
+        if (current == null) {
+            if (!seeded) {
+                // The order may still arrive with the seed; apply the status then
+                pendingStatus.put(orderId, status);
+            }
+            return null;
+        }
+        markTouched(orderId);
+        Entry updated = current.withStatus(status);
+        insert(updated);
+        return updated;
+    }
+
+    /**
+     * Take an order off the queue. Returns the removed entry, or null.
+     */
+    public synchronized Entry complete(Long orderId) {
+        markTouched(orderId);
+        Entry removed = byOrderId.remove(orderId);
+        if (removed != null) {
+            ordered.remove(removed);
+            if (removed.status == OrderStatus.READY) {
+                readyCount--;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * The queue in priority order
+     */
+    public synchronized List<Entry> snapshot() {
+        return new ArrayList<>(ordered);
+    }
+
+    public synchronized Entry get(Long orderId) {
+        return byOrderId.get(orderId);
+    }
+
+    public synchronized int size() {
+        return byOrderId.size();
+    }
+
+    /**
+     * Orders the kitchen still has to make, i.e. everything not yet ready
+     */
+    public synchronized int getWaitingCount() {
+        return byOrderId.size() - readyCount;
+    }
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    private void insert(Entry entry) {
+        Entry previous = byOrderId.put(entry.orderId, entry);
+        if (previous != null) {
+            ordered.remove(previous);
+            if (previous.status == OrderStatus.READY) {
+                readyCount--;
+            }
+        }
+        ordered.add(entry);
+        if (entry.status == OrderStatus.READY) {
+            readyCount++;
+        }
+    }
+
+    private void markTouched(Long orderId) {
+        if (!seeded) {
+            touched.add(orderId);
+        }
+    }
+
+    /**
+     * What a kitchen screen shows for one order. Times are epoch millis.
+     */
+    public static class Entry {
+        private final Long orderId;
+        private final String orderNumber;
+        private final OrderStatus status;
+        private final long placedAt;
+        private final long pickupDeadline;
+        private final int preparationMinutes;
+        private final long startBy;
+        private final List<String> items;
+        private final String specialInstructions;
+
+        public Entry(Long orderId, String orderNumber, OrderStatus status, long placedAt, long pickupDeadline,
+                     int preparationMinutes, List<String> items, String specialInstructions) {
+            this.orderId = orderId;
+            this.orderNumber = orderNumber;
+            this.status = status;
+            this.placedAt = placedAt;
+            this.pickupDeadline = pickupDeadline;
+            this.preparationMinutes = preparationMinutes;
+            this.startBy = pickupDeadline - preparationMinutes * 60_000L;
+            this.items = items != null ? List.copyOf(items) : List.of();
+            this.specialInstructions = specialInstructions;
+        }
+
+        Entry withStatus(OrderStatus newStatus) {
+            return new Entry(orderId, orderNumber, newStatus, placedAt, pickupDeadline,
+                preparationMinutes, items, specialInstructions);
+        }
+
+        // Getters
+
+        public Long getOrderId() {
+            return orderId;
+        }
+
+        public String getOrderNumber() {
+            return orderNumber;
+        }
+
+        public OrderStatus getStatus() {
+            return status;
+        }
+
+        public long getPlacedAt() {
+            return placedAt;
+        }
+
+        public long getPickupDeadline() {
+            return pickupDeadline;
+        }
+
+        public int getPreparationMinutes() {
+            return preparationMinutes;
+        }
+
+        /**
+         * Latest time preparation can start and still meet the pickup deadline
+         */
+        public long getStartBy() {
+            return startBy;
+        }
+
+        /**
+         * One line per order item, e.g. "2 x Masala Dosa"
+         */
+        public List<String> getItems() {
+            return items;
+        }
+
+        public String getSpecialInstructions() {
+            return specialInstructions;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.dto.MenuItemResponse;
+import com.atomix.cafeteria.entity.MenuCategory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Immutable snapshot of the menu with secondary indexes.
+ *
+ * Every list handed out is unmodifiable and ordered by item id, so callers can
+ * return them directly. Changes produce a new snapshot that shares every index
+ * bucket the change did not touch; readers holding the old snapshot are never
+ * affected.
+ */
+public final class MenuCatalog {
+
+    private static final Comparator<MenuItemResponse> BY_ID = Comparator.comparing(MenuItemResponse::getId);
+
+    private final Map<Long, MenuItemResponse> byId;
+    private final List<MenuItemResponse> all;
+    private final Map<Long, List<MenuItemResponse>> byVendor;
+    private final Map<String, List<MenuItemResponse>> byFloor;
+    private final Map<MenuCategory, List<MenuItemResponse>> byCategory;
+    // Available flag set, no time window or stock limit: always orderable
+    private final List<MenuItemResponse> alwaysAvailable;
+    // Available flag set but time-windowed or limited; checked against the clock on read
+    private final List<MenuItemResponse> conditionallyAvailable;
+
+    private MenuCatalog(Map<Long, MenuItemResponse> byId,
+                        List<MenuItemResponse> all,
+                        Map<Long, List<MenuItemResponse>> byVendor,
+                        Map<String, List<MenuItemResponse>> byFloor,
+                        Map<MenuCategory, List<MenuItemResponse>> byCategory,
+                        List<MenuItemResponse> alwaysAvailable,
+                        List<MenuItemResponse> conditionallyAvailable) {
+        this.byId = byId;
+        this.all = all;
+        this.byVendor = byVendor;
+        this.byFloor = byFloor;
+        this.byCategory = byCategory;
+        this.alwaysAvailable = alwaysAvailable;
+        this.conditionallyAvailable = conditionallyAvailable;
+    }
+
+    public static MenuCatalog empty() {
+        return of(List.of());
+    }
+
+    public static MenuCatalog of(Collection<MenuItemResponse> items) {
+        Map<Long, MenuItemResponse> byId = new HashMap<>();
+        for (MenuItemResponse item : items) {
+            byId.put(item.getId(), item);
+        }
+        List<MenuItemResponse> sorted = sortedCopy(byId.values());
+
+        return new MenuCatalog(
+            Collections.unmodifiableMap(byId),
+            sorted,
+            group(sorted, MenuItemResponse::getVendorId),
+            group(sorted, MenuItemResponse::getFloorId),
+            group(sorted, MenuItemResponse::getCategory),
+            filter(sorted, MenuCatalog::isAlwaysAvailable),
+            filter(sorted, MenuCatalog::isConditionallyAvailable)
+        );
+    }
+
+    /**
+     * New snapshot with the item added or replaced. Only the index buckets
+     * the old and new versions belong to are rebuilt.
+     */
+    public MenuCatalog withUpserted(MenuItemResponse item) {
+        MenuItemResponse previous = byId.get(item.getId());
+
+        Map<Long, MenuItemResponse> newById = new HashMap<>(byId);
+        newById.put(item.getId(), item);
+
+        return new MenuCatalog(
+            Collections.unmodifiableMap(newById),
+            replaced(all, previous, item),
+            regroup(byVendor, previous, item, MenuItemResponse::getVendorId),
+            regroup(byFloor, previous, item, MenuItemResponse::getFloorId),
+            regroup(byCategory, previous, item, MenuItemResponse::getCategory),
+            refilter(alwaysAvailable, previous, item, MenuCatalog::isAlwaysAvailable),
+            refilter(conditionallyAvailable, previous, item, MenuCatalog::isConditionallyAvailable)
+        );
+    }
+
+    /**
+     * New snapshot without the item, or this snapshot if it is not present
+     */
+    public MenuCatalog withRemoved(Long id) {
+        MenuItemResponse previous = byId.get(id);
+        if (previous == null) {
+            return this;
+        }
+
+        Map<Long, MenuItemResponse> newById = new HashMap<>(byId);
+        newById.remove(id);
+
+        return new MenuCatalog(
+            Collections.unmodifiableMap(newById),
+            replaced(all, previous, null),
+            regroup(byVendor, previous, null, MenuItemResponse::getVendorId),
+            regroup(byFloor, previous, null, MenuItemResponse::getFloorId),
+            regroup(byCategory, previous, null, MenuItemResponse::getCategory),
+            refilter(alwaysAvailable, previous, null, MenuCatalog::isAlwaysAvailable),
+            refilter(conditionallyAvailable, previous, null, MenuCatalog::isConditionallyAvailable)
+        );
+    }
+
+    public Optional<MenuItemResponse> get(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<MenuItemResponse> getAll() {
+        return all;
+    }
+
+    public List<MenuItemResponse> getByVendor(Long vendorId) {
+        return byVendor.getOrDefault(vendorId, List.of());
+    }
+
+    public List<MenuItemResponse> getByFloor(String floorId) {
+        return byFloor.getOrDefault(floorId, List.of());
+    }
+
+    public List<MenuItemResponse> getByCategory(MenuCategory category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    /**
+     * Items with the available flag set, regardless of time window or stock
+     */
+    public List<MenuItemResponse> getAvailable() {
+        if (conditionallyAvailable.isEmpty()) {
+            return alwaysAvailable;
+        }
+        return merge(alwaysAvailable, conditionallyAvailable);
+    }
+
+    /**
+     * Items orderable at the given time (flag, window and stock all checked)
+     */
+    public List<MenuItemResponse> getAvailableAt(LocalDateTime now) {
+        if (conditionallyAvailable.isEmpty()) {
+            return alwaysAvailable;
+        }
+        List<MenuItemResponse> open = new ArrayList<>();
+        for (MenuItemResponse item : conditionallyAvailable) {
+            if (item.isAvailableAt(now)) {
+                open.add(item);
+            }
+        }
+        return merge(alwaysAvailable, open);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private static boolean isAlwaysAvailable(MenuItemResponse item) {
+        return Boolean.TRUE.equals(item.getIsAvailable()) && !isConditional(item);
+    }
+
+    private static boolean isConditionallyAvailable(MenuItemResponse item) {
+        return Boolean.TRUE.equals(item.getIsAvailable()) && isConditional(item);
+    }
+
+    private static boolean isConditional(MenuItemResponse item) {
+        return item.getAvailableFrom() != null
+            || item.getAvailableUntil() != null
+            || Boolean.TRUE.equals(item.getIsLimitedQuantity());
+    }
+
+    private static List<MenuItemResponse> sortedCopy(Collection<MenuItemResponse> items) {
+        List<MenuItemResponse> list = new ArrayList<>(items);
+        list.sort(BY_ID);
+        return Collections.unmodifiableList(list);
+    }
+
+    private static List<MenuItemResponse> merge(List<MenuItemResponse> a, List<MenuItemResponse> b) {
+        List<MenuItemResponse> merged = new ArrayList<>(a.size() + b.size());
+        merged.addAll(a);
+        merged.addAll(b);
+        merged.sort(BY_ID);
+        return Collections.unmodifiableList(merged);
+    }
+
+    private static List<MenuItemResponse> filter(List<MenuItemResponse> items,
+                                                 Predicate<MenuItemResponse> predicate) {
+        List<MenuItemResponse> result = new ArrayList<>();
+        for (MenuItemResponse item : items) {
+            if (predicate.test(item)) {
+                result.add(item);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static <K> Map<K, List<MenuItemResponse>> group(List<MenuItemResponse> sorted,
+                                                           Function<MenuItemResponse, K> key) {
+        Map<K, List<MenuItemResponse>> groups = new HashMap<>();
+        for (MenuItemResponse item : sorted) {
+            K k = key.apply(item);
+            if (k != null) {
+                groups.computeIfAbsent(k, x -> new ArrayList<>()).add(item);
+            }
+        }
+        groups.replaceAll((k, list) -> Collections.unmodifiableList(list));
+        return Collections.unmodifiableMap(groups);
+    }
+
+    // Copy of the list with previous removed and item (if any) inserted in id order
+    private static List<MenuItemResponse> replaced(List<MenuItemResponse> list,
+                                                   MenuItemResponse previous,
+                                                   MenuItemResponse item) {
+        List<MenuItemResponse> copy = new ArrayList<>(list.size() + 1);
+        for (MenuItemResponse existing : list) {
+            if (previous == null || !existing.getId().equals(previous.getId())) {
+                copy.add(existing);
+            }
+        }
+        if (item != null) {
+            int index = Collections.binarySearch(copy, item, BY_ID);
+            copy.add(index < 0 ? -index - 1 : index, item);
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static <K> Map<K, List<MenuItemResponse>> regroup(Map<K, List<MenuItemResponse>> groups,
+                                                             MenuItemResponse previous,
+                                                             MenuItemResponse item,
+                                                             Function<MenuItemResponse, K> key) {
+        K oldKey = previous != null ? key.apply(previous) : null;
+        K newKey = item != null ? key.apply(item) : null;
+
+        Map<K, List<MenuItemResponse>> copy = new HashMap<>(groups);
+        if (oldKey != null) {
+            List<MenuItemResponse> bucket = replaced(copy.getOrDefault(oldKey, List.of()), previous, null);
+            if (bucket.isEmpty()) {
+                copy.remove(oldKey);
+            } else {
+                copy.put(oldKey, bucket);
+            }
+        }
+        if (newKey != null) {
+            copy.put(newKey, replaced(copy.getOrDefault(newKey, List.of()), null, item));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static List<MenuItemResponse> refilter(List<MenuItemResponse> list,
+                                                   MenuItemResponse previous,
+                                                   MenuItemResponse item,
+                                                   Predicate<MenuItemResponse> predicate) {
+        boolean wasIn = previous != null && predicate.test(previous);
+        boolean isIn = item != null && predicate.test(item);
+        if (!wasIn && !isIn) {
+            return list;
+        }
+        return replaced(list, wasIn ? previous : null, isIn ? item : null);
+    }
+}
@@ -0,0 +1,230 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.entity.MenuCategory;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Most popular menu items overall and per floor, category and vendor.
+ *
+ * Items rank by votes, then rating, then id. Each board keeps only its top
+ * {@code capacity} items in a sorted set, so reading the top N costs O(N)
+ * and a score change costs O(log K) on each of the four boards the item is
+ * on. A rising item that beats a full board's last entry replaces it. When
+ * a member of a full board falls (rating dropped, item removed or moved),
+ * an item outside the board may now outrank it, so the board is marked
+ * incomplete and rebuilt from the remembered scores on its next read.
+ */
+public class MenuLeaderboard {
+
+    private static final Comparator<Score> RANK = Comparator.comparingLong((Score s) -> s.votes).reversed()
+        .thenComparing(Comparator.comparingDouble((Score s) -> s.rating).reversed())
+        .thenComparing(s -> s.id);
+
+    private final int capacity;
+    private final Map<Long, Score> scores = new HashMap<>();
+    private final Board overall = new Board(score -> true);
+    private final Map<String, Board> byFloor = new HashMap<>();
+    private final Map<MenuCategory, Board> byCategory = new EnumMap<>(MenuCategory.class);
+    private final Map<Long, Board> byVendor = new HashMap<>();
+
+    public static MenuLeaderboard of(Collection<Score> scores, int capacity) {
+        MenuLeaderboard leaderboard = new MenuLeaderboard(capacity);
+        for (Score score : scores) {
+            leaderboard.update(score);
+        }
+        return leaderboard;
+    }
+
+    public MenuLeaderboard(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Add an item or replace its score
+     */
+    public synchronized void update(Score score) {
+        Score previous = scores.put(score.id, score);
+        List<Board> boards = boardsOf(score);
+        if (previous != null) {
+            for (Board board : boardsOf(previous)) {
+                if (!boards.contains(board)) {
+                    board.remove(previous);
+                }
+            }
+        }
+        for (Board board : boards) {
+            board.offer(previous, score);
+        }
+    }
+
+    /**
+     * Replace the vote count of a known item, keeping its rating and placement
+     *
+     * @return false if the item is not on the leaderboard
+     */
+    public synchronized boolean updateVotes(Long id, long votes) {
+        Score current = scores.get(id);
+        if (current == null) {
+            return false;
+        }
+        if (current.votes != votes) {
+            update(new Score(id, current.floorId, current.category, current.vendorId, votes, current.rating));
+        }
+        return true;
+    }
+
+    /**
+     * Replace the rating of a known item, keeping its votes and placement
+     */
+    public synchronized void updateRating(Long id, double rating) {
+        Score current = scores.get(id);
+        if (current != null && current.rating != rating) {
+            update(new Score(id, current.floorId, current.category, current.vendorId, current.votes, rating));
+        }
+    }
+
+    /**
+     * Rating of a known item, or null if it is not on the leaderboard
+     */
+    public synchronized Double getRating(Long id) {
+        Score current = scores.get(id);
+        return current != null ? current.rating : null;
+    }
+
+    public synchronized void remove(Long id) {
+        Score previous = scores.remove(id);
+        if (previous != null) {
+            for (Board board : boardsOf(previous)) {
+                board.remove(previous);
+            }
+        }
+    }
+
+    /**
+     * Ids of the top items overall, best first; at most {@code capacity}
+     */
+    public synchronized List<Long> top(int limit) {
+        return overall.top(limit);
+    }
+
+    public synchronized List<Long> topByFloor(String floorId, int limit) {
+        Board board = byFloor.get(floorId);
+        return board != null ? board.top(limit) : List.of();
+    }
+
+    public synchronized List<Long> topByCategory(MenuCategory category, int limit) {
+        Board board = byCategory.get(category);
+        return board != null ? board.top(limit) : List.of();
+    }
+
+    public synchronized List<Long> topByVendor(Long vendorId, int limit) {
+        Board board = byVendor.get(vendorId);
+        return board != null ? board.top(limit) : List.of();
+    }
+
+    private List<Board> boardsOf(Score score) {
+        List<Board> boards = new ArrayList<>(4);
+        boards.add(overall);
+        if (score.floorId != null) {
+            boards.add(byFloor.computeIfAbsent(score.floorId, floorId -> new Board(s -> floorId.equals(s.floorId))));
+        }
+        if (score.category != null) {
+            boards.add(byCategory.computeIfAbsent(score.category, category -> new Board(s -> s.category == category)));
+        }
+        if (score.vendorId != null) {
+            boards.add(byVendor.computeIfAbsent(score.vendorId, vendorId -> new Board(s -> vendorId.equals(s.vendorId))));
+        }
+        return boards;
+    }
+
+    private final class Board {
+        private final Predicate<Score> scope;
+        private TreeSet<Score> ranked = new TreeSet<>(RANK);
+        // False when an item outside the board might outrank one on it
+        private boolean complete = true;
+
+        private Board(Predicate<Score> scope) {
+            this.scope = scope;
+        }
+
+        private void offer(Score previous, Score score) {
+            boolean full = ranked.size() >= capacity;
+            if (previous != null && ranked.remove(previous)) {
+                ranked.add(score);
+                if (full && RANK.compare(score, previous) > 0) {
+                    complete = false;
+                }
+            } else if (!full) {
+                ranked.add(score);
+            } else if (RANK.compare(score, ranked.last()) < 0) {
+                ranked.add(score);
+                ranked.pollLast();
+            }
+        }
+
+        private void remove(Score previous) {
+            boolean full = ranked.size() >= capacity;
+            if (ranked.remove(previous) && full) {
+                complete = false;
+            }
+        }
+
+        private List<Long> top(int limit) {
+            if (!complete) {
+                rebuild();
+            }
+            List<Long> ids = new ArrayList<>(Math.min(Math.max(limit, 0), ranked.size()));
+            for (Score score : ranked) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                ids.add(score.id);
+            }
+            return ids;
+        }
+
+        private void rebuild() {
+            TreeSet<Score> rebuilt = new TreeSet<>(RANK);
+            for (Score score : scores.values()) {
+                if (!scope.test(score)) {
+                    continue;
+                }
+                if (rebuilt.size() < capacity) {
+                    rebuilt.add(score);
+                } else if (RANK.compare(score, rebuilt.last()) < 0) {
+                    rebuilt.add(score);
+                    rebuilt.pollLast();
+                }
+            }
+            ranked = rebuilt;
+            complete = true;
+        }
+    }
+
+    public static final class Score {
+        private final Long id;
+        private final String floorId;
+        private final MenuCategory category;
+        private final Long vendorId;
+        private final long votes;
+        private final double rating;
+
+        public Score(Long id, String floorId, MenuCategory category, Long vendorId, long votes, double rating) {
+            this.id = id;
+            this.floorId = floorId;
+            this.category = category;
+            this.vendorId = vendorId;
+            this.votes = votes;
+            this.rating = rating;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.dto.MenuItemResponse;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process inverted index over menu item name, description, tags and
+ * ingredients.
+ *
+ * Text is lower-cased, accent-folded and split on anything that is not a
+ * letter or digit. Each term maps to the items containing it, with a weight
+ * that favours name matches over tags, ingredients and description. Terms are
+ * kept sorted so prefix queries are a range scan. Word suffixes are indexed
+ * too, so a token also matches inside a word ("burger" finds "Cheeseburger"),
+ * scored below a prefix match; query tokens of four or more characters also
+ * match terms within a small edit distance.
+ *
+ * Reads are lock-free; writes for one item are serialised.
+ */
+public class MenuSearchIndex {
+
+    public enum Field {
+        NAME(1, 8), TAG(2, 4), INGREDIENT(4, 3), DESCRIPTION(8, 1);
+
+        private final int bit;
+        private final int weight;
+
+        Field(int bit, int weight) {
+            this.bit = bit;
+            this.weight = weight;
+        }
+    }
+
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.6;
+    private static final double FUZZY_MATCH = 0.4;
+    private static final double INFIX_MATCH = 0.3;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MIN_INFIX_LENGTH = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "the", "of", "with", "in", "on", "for");
+
+    // term -> item id -> posting
+    private final ConcurrentSkipListMap<String, Map<Long, Posting>> postings = new ConcurrentSkipListMap<>();
+    // proper word suffix -> item id -> posting, for matches inside a word
+    private final ConcurrentSkipListMap<String, Map<Long, Posting>> suffixes = new ConcurrentSkipListMap<>();
+    // item id -> terms it was indexed under, so an update can remove stale postings
+    private final ConcurrentHashMap<Long, Set<String>> itemTerms = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<String>> itemSuffixes = new ConcurrentHashMap<>();
+
+    public static MenuSearchIndex of(Collection<MenuItemResponse> items) {
+        MenuSearchIndex index = new MenuSearchIndex();
+        for (MenuItemResponse item : items) {
+            index.index(item);
+        }
+        return index;
+    }
+
+    /**
+     * Add or re-index an item
+     */
+    public synchronized void index(MenuItemResponse item) {
+        Map<String, Posting> terms = new HashMap<>();
+        addField(terms, item.getName(), Field.NAME);
+        addField(terms, item.getDescription(), Field.DESCRIPTION);
+        for (String tag : item.getTags()) {
+            addField(terms, tag, Field.TAG);
+        }
+        for (String ingredient : item.getIngredients()) {
+            addField(terms, ingredient, Field.INGREDIENT);
+        }
+
+        Map<String, Posting> inner = new HashMap<>();
+        terms.forEach((term, posting) -> {
+            for (int i = 1; i <= term.length() - MIN_INFIX_LENGTH; i++) {
+                Posting suffix = inner.computeIfAbsent(term.substring(i), t -> new Posting());
+                suffix.weight += posting.weight;
+                suffix.fields |= posting.fields;
+            }
+        });
+
+        remove(item.getId());
+        terms.forEach((term, posting) ->
+            postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(item.getId(), posting));
+        inner.forEach((suffix, posting) ->
+            suffixes.computeIfAbsent(suffix, t -> new ConcurrentHashMap<>()).put(item.getId(), posting));
+        itemTerms.put(item.getId(), Set.copyOf(terms.keySet()));
+        itemSuffixes.put(item.getId(), Set.copyOf(inner.keySet()));
+    }
+
+    public synchronized void remove(Long itemId) {
+        Set<String> terms = itemTerms.remove(itemId);
+        if (terms == null) {
+            return;
+        }
+        unpost(postings, terms, itemId);
+        unpost(suffixes, itemSuffixes.remove(itemId), itemId);
+    }
+
+    /**
+     * Ids of items matching every token of the query, best first. Ties keep
+     * a stable id order so paging through results is deterministic.
+     *
+     * @param fields fields to match in; empty means all
+     */
+    public List<Long> search(String query, Set<Field> fields, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        int fieldMask = fields.isEmpty() ? ~0 : fields.stream().mapToInt(f -> f.bit).reduce(0, (a, b) -> a | b);
+        double documentCount = Math.max(1, itemTerms.size());
+
+        Map<Long, Double> scores = null;
+        for (String token : tokens) {
+            Map<Long, Double> tokenScores = scoreToken(token, fieldMask, documentCount);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                // Every token must match: keep the intersection
+                Map<Long, Double> combined = new HashMap<>();
+                for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                    Double other = tokenScores.get(entry.getKey());
+                    if (other != null) {
+                        combined.put(entry.getKey(), entry.getValue() + other);
+                    }
+                }
+                scores = combined;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    public int size() {
+        return itemTerms.size();
+    }
+
+    // Best score per item for one query token across exact, prefix, infix and fuzzy term matches
+    private Map<Long, Double> scoreToken(String token, int fieldMask, double documentCount) {
+        Map<Long, Double> scores = new HashMap<>();
+
+        Map<Long, Posting> exact = postings.get(token);
+        if (exact != null) {
+            accumulate(scores, exact, EXACT_MATCH, fieldMask, documentCount);
+        }
+
+        for (Map.Entry<String, Map<Long, Posting>> entry : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+            accumulate(scores, entry.getValue(), PREFIX_MATCH, fieldMask, documentCount);
+        }
+
+        if (token.length() >= MIN_INFIX_LENGTH) {
+            for (Map<Long, Posting> items : suffixes.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                accumulate(scores, items, INFIX_MATCH, fieldMask, documentCount);
+            }
+        }
+
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            int maxDistance = token.length() >= 8 ? 2 : 1;
+            // Typos rarely hit the first letter; restricting to it keeps the scan small
+            String first = token.substring(0, 1);
+            for (Map.Entry<String, Map<Long, Posting>> entry : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String term = entry.getKey();
+                if (term.startsWith(token) || Math.abs(term.length() - token.length()) > maxDistance) {
+                    continue;
+                }
+                if (editDistance(token, term, maxDistance) <= maxDistance) {
+                    accumulate(scores, entry.getValue(), FUZZY_MATCH, fieldMask, documentCount);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void unpost(Map<String, Map<Long, Posting>> index, Set<String> terms, Long itemId) {
+        for (String term : terms) {
+            index.computeIfPresent(term, (t, items) -> {
+                items.remove(itemId);
+                return items.isEmpty() ? null : items;
+            });
+        }
+    }
+
+    private static void accumulate(Map<Long, Double> scores, Map<Long, Posting> items, double quality,
+                                   int fieldMask, double documentCount) {
+        double idf = Math.log(1 + documentCount / items.size());
+        for (Map.Entry<Long, Posting> entry : items.entrySet()) {
+            Posting posting = entry.getValue();
+            if ((posting.fields & fieldMask) == 0) {
+                continue;
+            }
+            double score = posting.weight * quality * idf;
+            scores.merge(entry.getKey(), score, Math::max);
+        }
+    }
+
+    private static void addField(Map<String, Posting> terms, String text, Field field) {
+        for (String token : tokenize(text)) {
+            Posting posting = terms.computeIfAbsent(token, t -> new Posting());
+            posting.weight += field.weight;
+            posting.fields |= field.bit;
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Levenshtein distance, giving up early once every cell in a row exceeds max
+    static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static class Posting {
+        private int weight;
+        private int fields;
+    }
+}
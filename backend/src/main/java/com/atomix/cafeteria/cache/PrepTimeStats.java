@@ -0,0 +1,73 @@
+package com.atomix.cafeteria.cache;
+
+/**
+ * Streaming statistics over observed preparation times, in minutes.
+ *
+ * Keeps an exponentially weighted moving average over every sample and a
+ * per-minute histogram over the most recent window of samples, so a
+ * quantile is a scan of a fixed number of buckets and recording a sample
+ * is O(1). Nothing here ever looks at past orders.
+ */
+public class PrepTimeStats {
+
+    /**
+     * Samples above this many minutes are counted in the last bucket
+     */
+    public static final int MAX_MINUTES = 180;
+
+    private final double alpha;
+    private final int[] window;
+    private final int[] histogram = new int[MAX_MINUTES + 1];
+    private int next;
+    private int size;
+    private double ewma;
+    private long sampleCount;
+
+    public PrepTimeStats(double alpha, int windowSize) {
+        this.alpha = alpha;
+        this.window = new int[windowSize];
+    }
+
+    public synchronized void record(double minutes) {
+        double sample = Math.max(0.0, minutes);
+        ewma = sampleCount == 0 ? sample : alpha * sample + (1 - alpha) * ewma;
+        sampleCount++;
+
+        int bucket = (int) Math.min(MAX_MINUTES, Math.ceil(sample));
+        if (size == window.length) {
+            histogram[window[next]]--;
+        } else {
+            size++;
+        }
+        window[next] = bucket;
+        histogram[bucket]++;
+        next = (next + 1) % window.length;
+    }
+
+    /**
+     * Smallest whole number of minutes that at least the given fraction of
+     * recent samples finished within, or -1 if there are none
+     */
+    public synchronized int quantile(double q) {
+        if (size == 0) {
+            return -1;
+        }
+        int target = Math.max(1, (int) Math.ceil(q * size));
+        int seen = 0;
+        for (int minutes = 0; minutes <= MAX_MINUTES; minutes++) {
+            seen += histogram[minutes];
+            if (seen >= target) {
+                return minutes;
+            }
+        }
+        return MAX_MINUTES;
+    }
+
+    public synchronized double getEwma() {
+        return ewma;
+    }
+
+    public synchronized long getSampleCount() {
+        return sampleCount;
+    }
+}
@@ -0,0 +1,160 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.entity.VendorStatus;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Token index over vendor name, description and contact person.
+ *
+ * Only the fields needed to match, filter and rank are held, so a search
+ * resolves to an ordered id list and the caller loads just one page of
+ * vendors. Every suffix of every word is indexed, so a query token matches
+ * anywhere inside a word ("burger" finds "Cheeseburger Hut"), as the
+ * LIKE '%term%' fallback in VendorRepository does; every token must match.
+ * Results are ranked by average rating, then name.
+ */
+public class VendorSearchIndex {
+
+    private static final Comparator<Entry> BY_RATING =
+        Comparator.comparingDouble((Entry e) -> e.averageRating).reversed()
+            .thenComparing(e -> e.sortName)
+            .thenComparing(e -> e.id);
+
+    // Word suffix -> vendors with a word ending in it
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public static VendorSearchIndex of(Collection<Entry> entries) {
+        VendorSearchIndex index = new VendorSearchIndex();
+        for (Entry entry : entries) {
+            index.index(entry);
+        }
+        return index;
+    }
+
+    public synchronized void index(Entry entry) {
+        remove(entry.id);
+        for (String suffix : entry.suffixes) {
+            postings.computeIfAbsent(suffix, t -> ConcurrentHashMap.newKeySet()).add(entry.id);
+        }
+        entries.put(entry.id, entry);
+    }
+
+    public synchronized void remove(Long vendorId) {
+        Entry previous = entries.remove(vendorId);
+        if (previous == null) {
+            return;
+        }
+        for (String suffix : previous.suffixes) {
+            postings.computeIfPresent(suffix, (t, ids) -> {
+                ids.remove(vendorId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * One page of matching vendor ids plus the total number of matches
+     */
+    public Result search(String query, boolean activeOnly, int offset, int limit) {
+        List<String> tokens = MenuSearchIndex.tokenize(query);
+
+        Collection<Entry> candidates;
+        if (tokens.isEmpty()) {
+            candidates = entries.values();
+        } else {
+            Set<Long> matched = null;
+            for (String token : tokens) {
+                Set<Long> ids = new HashSet<>();
+                for (Set<Long> posting : postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                    ids.addAll(posting);
+                }
+                if (matched == null) {
+                    matched = ids;
+                } else {
+                    matched.retainAll(ids);
+                }
+                if (matched.isEmpty()) {
+                    return new Result(List.of(), 0);
+                }
+            }
+            candidates = new ArrayList<>(matched.size());
+            for (Long id : matched) {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    candidates.add(entry);
+                }
+            }
+        }
+
+        List<Entry> hits = new ArrayList<>(candidates.size());
+        for (Entry entry : candidates) {
+            if (!activeOnly || entry.active) {
+                hits.add(entry);
+            }
+        }
+        hits.sort(BY_RATING);
+
+        List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, hits.size() - offset)));
+        for (int i = offset; i < hits.size() && i < offset + limit; i++) {
+            page.add(hits.get(i).id);
+        }
+        return new Result(page, hits.size());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Searchable fields of one vendor
+     */
+    public static final class Entry {
+        private final Long id;
+        private final String sortName;
+        private final double averageRating;
+        private final boolean active;
+        private final Set<String> suffixes;
+
+        public Entry(Long id, String name, String description, String contactPerson,
+                     Double averageRating, Boolean isActive, VendorStatus status) {
+            this.id = id;
+            this.sortName = name != null ? name.toLowerCase(Locale.ROOT) : "";
+            this.averageRating = averageRating != null ? averageRating : 0.0;
+            // Same rule as VendorRepository.searchActiveVendors
+            this.active = Boolean.TRUE.equals(isActive) && status == VendorStatus.APPROVED;
+
+            Set<String> tokens = new HashSet<>(MenuSearchIndex.tokenize(name));
+            tokens.addAll(MenuSearchIndex.tokenize(description));
+            tokens.addAll(MenuSearchIndex.tokenize(contactPerson));
+            Set<String> suffixes = new HashSet<>();
+            for (String token : tokens) {
+                for (int i = 0; i < token.length(); i++) {
+                    suffixes.add(token.substring(i));
+                }
+            }
+            this.suffixes = Set.copyOf(suffixes);
+        }
+    }
+
+    public static final class Result {
+        private final List<Long> ids;
+        private final long total;
+
+        private Result(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
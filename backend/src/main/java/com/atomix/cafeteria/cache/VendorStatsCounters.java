@@ -0,0 +1,138 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.entity.VendorStatus;
+import com.atomix.cafeteria.entity.VendorType;
+
+import java.util.*;
+
+/**
+ * Vendor counts by status and by type, kept as counters.
+ *
+ * The status, type and active flag of every vendor are remembered, so an
+ * update replaces the vendor's old contribution with its new one and the
+ * same write applied twice changes nothing. Each change also rebuilds the
+ * stats map, which readers get as an immutable snapshot.
+ */
+public class VendorStatsCounters {
+
+    private final Map<Long, Entry> vendors = new HashMap<>();
+    private final EnumMap<VendorStatus, Long> byStatus = new EnumMap<>(VendorStatus.class);
+    // Active vendors only, as in the original type breakdown
+    private final EnumMap<VendorType, Long> activeByType = new EnumMap<>(VendorType.class);
+    private long activeApproved;
+
+    private volatile Map<String, Object> snapshot;
+
+    public static VendorStatsCounters of(Map<Long, Entry> vendors) {
+        VendorStatsCounters counters = new VendorStatsCounters();
+        vendors.forEach(counters::add);
+        counters.snapshot = counters.buildSnapshot();
+        return counters;
+    }
+
+    private VendorStatsCounters() {
+    }
+
+    public synchronized void put(Long vendorId, Entry entry) {
+        Entry previous = vendors.get(vendorId);
+        if (entry.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            subtract(vendorId, previous);
+        }
+        add(vendorId, entry);
+        snapshot = buildSnapshot();
+    }
+
+    public synchronized void remove(Long vendorId) {
+        Entry previous = vendors.get(vendorId);
+        if (previous != null) {
+            subtract(vendorId, previous);
+            snapshot = buildSnapshot();
+        }
+    }
+
+    /**
+     * Same keys and values as the statistics queries used to return
+     */
+    public Map<String, Object> getStats() {
+        return snapshot;
+    }
+
+    /**
+     * Whether both hold the same counts, e.g. the live counters and a fresh load
+     */
+    public boolean sameCountsAs(VendorStatsCounters other) {
+        return getStats().equals(other.getStats());
+    }
+
+    private void add(Long vendorId, Entry entry) {
+        vendors.put(vendorId, entry);
+        adjust(entry, 1);
+    }
+
+    private void subtract(Long vendorId, Entry entry) {
+        vendors.remove(vendorId);
+        adjust(entry, -1);
+    }
+
+    private void adjust(Entry entry, long delta) {
+        if (entry.status != null) {
+            byStatus.merge(entry.status, delta, Long::sum);
+        }
+        if (entry.active && entry.type != null) {
+            activeByType.merge(entry.type, delta, Long::sum);
+        }
+        if (entry.active && entry.status == VendorStatus.APPROVED) {
+            activeApproved += delta;
+        }
+    }
+
+    private Map<String, Object> buildSnapshot() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalVendors", (long) vendors.size());
+        stats.put("activeVendors", activeApproved);
+        stats.put("pendingApproval", byStatus.getOrDefault(VendorStatus.PENDING, 0L));
+        stats.put("approvedVendors", byStatus.getOrDefault(VendorStatus.APPROVED, 0L));
+        stats.put("rejectedVendors", byStatus.getOrDefault(VendorStatus.REJECTED, 0L));
+        stats.put("suspendedVendors", byStatus.getOrDefault(VendorStatus.SUSPENDED, 0L));
+
+        Map<String, Long> vendorTypeStats = new HashMap<>();
+        activeByType.forEach((type, count) -> {
+            if (count > 0) {
+                vendorTypeStats.put(type.getDisplayName(), count);
+            }
+        });
+        stats.put("vendorTypeStatistics", Collections.unmodifiableMap(vendorTypeStats));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    public static final class Entry {
+        private final VendorStatus status;
+        private final VendorType type;
+        private final boolean active;
+
+        public Entry(VendorStatus status, VendorType type, Boolean active) {
+            this.status = status;
+            this.type = type;
+            this.active = Boolean.TRUE.equals(active);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry other)) {
+                return false;
+            }
+            return status == other.status && type == other.type && active == other.active;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, type, active);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.atomix.cafeteria.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-key deltas summed in memory and written behind in batches.
+ *
+ * Adding a delta is one ConcurrentHashMap merge, so writers never wait on a
+ * database row. A flush drains every non-empty delta, sorts the batch by a
+ * fixed key order (so flushes from several instances lock rows in the same
+ * order and cannot deadlock) and hands it to a writer. If the writer throws,
+ * the batch is merged back and the next flush retries it. Flushes are
+ * serialized; {@link #locked} runs other work under the same lock.
+ *
+ * A drained delta stays visible to {@link #read} until it is written or put
+ * back. Moving a key's delta between pending, in flight and written happens
+ * under that key's map lock, and so does a read, so a reader never sees a
+ * delta twice or not at all.
+ */
+public class WriteBehindBuffer<K, D> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    private final String name;
+    private final BinaryOperator<D> merge;
+    private final Predicate<D> isEmpty;
+    private final Comparator<K> keyOrder;
+    private final ConcurrentHashMap<K, D> pending = new ConcurrentHashMap<>();
+    // Only touched inside a pending.compute on the same key
+    private final Map<K, D> inFlight = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    public WriteBehindBuffer(String name, BinaryOperator<D> merge, Predicate<D> isEmpty, Comparator<K> keyOrder) {
+        this.name = name;
+        this.merge = merge;
+        this.isEmpty = isEmpty;
+        this.keyOrder = keyOrder;
+    }
+
+    public void add(K key, D delta) {
+        pending.merge(key, delta, merge);
+    }
+
+    /**
+     * Apply a reader to the delta not yet written for a key (pending plus in
+     * flight, or null), atomically with the flush moving it along
+     */
+    public <R> R read(K key, Function<D, R> reader) {
+        List<R> result = new ArrayList<>(1);
+        pending.compute(key, (k, delta) -> {
+            D unwritten = inFlight.get(k);
+            result.add(reader.apply(delta == null ? unwritten : unwritten == null ? delta : merge.apply(unwritten, delta)));
+            return delta;
+        });
+        return result.get(0);
+    }
+
+    public void discard(K key) {
+        pending.remove(key);
+    }
+
+    public void discardIf(Predicate<K> filter) {
+        pending.keySet().removeIf(filter);
+    }
+
+    /**
+     * Drain the buffer and pass the batch, in key order, to the writer
+     *
+     * @return what the writer returned; null if there was nothing to write or the writer failed
+     */
+    public <R> R flush(Function<List<Map.Entry<K, D>>, R> writer) {
+        return flush(writer, (key, delta) -> { });
+    }
+
+    /**
+     * As {@link #flush(Function)}; once the writer returns, onWritten runs
+     * for each entry under its key's lock, so {@link #read} sees the delta
+     * either in flight or applied by onWritten, never both
+     */
+    public <R> R flush(Function<List<Map.Entry<K, D>>, R> writer, BiConsumer<K, D> onWritten) {
+        synchronized (flushLock) {
+            List<Map.Entry<K, D>> batch = drain();
+            if (batch.isEmpty()) {
+                return null;
+            }
+            R result;
+            try {
+                result = writer.apply(batch);
+            } catch (RuntimeException e) {
+                logger.warn("Flushing {} {} failed: {}", batch.size(), name, e.getMessage());
+                batch.forEach(entry -> pending.compute(entry.getKey(), (key, delta) -> {
+                    inFlight.remove(key);
+                    return delta == null ? entry.getValue() : merge.apply(entry.getValue(), delta);
+                }));
+                return null;
+            }
+            batch.forEach(entry -> pending.compute(entry.getKey(), (key, delta) -> {
+                inFlight.remove(key);
+                onWritten.accept(key, entry.getValue());
+                return delta;
+            }));
+            return result;
+        }
+    }
+
+    /**
+     * Run an action that must not interleave with a flush
+     */
+    public <R> R locked(Supplier<R> action) {
+        synchronized (flushLock) {
+            return action.get();
+        }
+    }
+
+    private List<Map.Entry<K, D>> drain() {
+        List<Map.Entry<K, D>> batch = new ArrayList<>();
+        for (K key : pending.keySet()) {
+            pending.computeIfPresent(key, (k, delta) -> {
+                if (!isEmpty.test(delta)) {
+                    inFlight.put(k, delta);
+                    batch.add(Map.entry(k, delta));
+                }
+                return null;
+            });
+        }
+        batch.sort(Map.Entry.comparingByKey(keyOrder));
+        return batch;
+    }
+}
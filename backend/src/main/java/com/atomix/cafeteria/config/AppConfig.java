@@ -1,21 +0,0 @@
-package com.atomix.cafeteria.config;
-
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class AppConfig {
-
-    @Bean
-    public ModelMapper modelMapper() {
-        ModelMapper mapper = new ModelMapper();
-        
-        // Configure mapping for Vendor entities
-        mapper.getConfiguration()
-            .setFieldMatchingEnabled(true)
-            .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
-            
-        return mapper;
-    }
-} 
\ No newline at end of file
@@ -7,6 +7,8 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+
 @Component
 public class DataLoader implements CommandLineRunner {
 
@@ -33,7 +35,7 @@ public class DataLoader implements CommandLineRunner {
             admin.setFloorId("ALL");
             admin.setDepartment("IT");
             admin.setEmployeeId("EMP001");
-            admin.setFoodCardBalance(1000.0);
+            admin.setFoodCardBalance(new BigDecimal("1000.00"));
             admin.setIsActive(true);
             admin.setEmailVerified(true);
 
@@ -46,7 +48,7 @@ public class DataLoader implements CommandLineRunner {
             employee1.setFloorId("F1");
             employee1.setDepartment("Engineering");
             employee1.setEmployeeId("EMP002");
-            employee1.setFoodCardBalance(250.0);
+            employee1.setFoodCardBalance(new BigDecimal("250.00"));
             employee1.setIsActive(true);
             employee1.setEmailVerified(true);
 
@@ -59,7 +61,7 @@ public class DataLoader implements CommandLineRunner {
             employee2.setFloorId("F2");
             employee2.setDepartment("HR");
             employee2.setEmployeeId("EMP003");
-            employee2.setFoodCardBalance(300.0);
+            employee2.setFoodCardBalance(new BigDecimal("300.00"));
             employee2.setIsActive(true);
             employee2.setEmailVerified(true);
 
@@ -72,7 +74,7 @@ public class DataLoader implements CommandLineRunner {
             manager.setFloorId("ALL");
             manager.setDepartment("Cafeteria");
             manager.setEmployeeId("MGR001");
-            manager.setFoodCardBalance(500.0);
+            manager.setFoodCardBalance(new BigDecimal("500.00"));
             manager.setIsActive(true);
             manager.setEmailVerified(true);
 
@@ -85,7 +87,7 @@ public class DataLoader implements CommandLineRunner {
             vendor.setFloorId("F1");
             vendor.setDepartment("Food Services");
             vendor.setEmployeeId("VND001");
-            vendor.setFoodCardBalance(0.0);
+            vendor.setFoodCardBalance(BigDecimal.ZERO);
             vendor.setIsActive(true);
             vendor.setEmailVerified(true);
 
@@ -0,0 +1,46 @@
+package com.atomix.cafeteria.config;
+
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.gateway.FakePaymentGateway;
+import com.atomix.cafeteria.gateway.PaymentGateway;
+import com.atomix.cafeteria.gateway.RazorpayPaymentGateway;
+import com.atomix.cafeteria.gateway.StripePaymentGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gateways behind PaymentGatewayClient. app.payment.gateway.mode=fake swaps
+ * both for in-process fakes so payments can be load-tested offline.
+ */
+@Configuration
+public class PaymentGatewayConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.payment.gateway.mode", havingValue = "live", matchIfMissing = true)
+    public PaymentGateway razorpayGateway(@Value("${app.payment.razorpay.key-id:}") String keyId,
+                                          @Value("${app.payment.razorpay.key-secret:}") String keySecret) {
+        return new RazorpayPaymentGateway(keyId, keySecret);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.payment.gateway.mode", havingValue = "live", matchIfMissing = true)
+    public PaymentGateway stripeGateway(@Value("${app.payment.stripe.secret-key:}") String secretKey) {
+        return new StripePaymentGateway(secretKey);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.payment.gateway.mode", havingValue = "fake")
+    public PaymentGateway fakeRazorpayGateway(@Value("${app.payment.gateway.fake.latency-ms:150}") long latencyMs,
+                                              @Value("${app.payment.gateway.fake.failure-rate:0.0}") double failureRate) {
+        return new FakePaymentGateway(PaymentMethod.RAZORPAY, latencyMs, failureRate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.payment.gateway.mode", havingValue = "fake")
+    public PaymentGateway fakeStripeGateway(@Value("${app.payment.gateway.fake.latency-ms:150}") long latencyMs,
+                                            @Value("${app.payment.gateway.fake.failure-rate:0.0}") double failureRate) {
+        return new FakePaymentGateway(PaymentMethod.STRIPE, latencyMs, failureRate);
+    }
+}
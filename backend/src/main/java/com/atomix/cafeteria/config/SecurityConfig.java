@@ -70,6 +70,7 @@ public class SecurityConfig {
                 .requestMatchers("/test/**").permitAll()  // Test endpoints
                 .requestMatchers("/api/v1/test/**").permitAll()  // API v1 test endpoints
                 .requestMatchers("/api/v1/health").permitAll()  // Health check
+                .requestMatchers("/payments/webhook/**").permitAll()  // Authenticated by gateway signature
                 
                 // Admin only endpoints
                 .requestMatchers("/users/statistics").hasAnyRole("ADMIN", "CAFETERIA_MANAGER")
@@ -22,6 +22,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @Tag(name = "Authentication V1", description = "Authentication management APIs v1")
@@ -103,7 +105,7 @@ public class AuthV1Controller {
         user.setDepartment(signupRequest.getDepartment());
         user.setEmployeeId(signupRequest.getEmployeeId());
         user.setPhoneNumber(signupRequest.getPhoneNumber());
-        user.setFoodCardBalance(0.0); // Default balance
+        user.setFoodCardBalance(BigDecimal.ZERO); // Default balance
 
         User result = userRepository.save(user);
 
@@ -0,0 +1,142 @@
+package com.atomix.cafeteria.controller;
+
+import com.atomix.cafeteria.cache.KitchenQueue;
+import com.atomix.cafeteria.dto.OrderRequest;
+import com.atomix.cafeteria.dto.OrderResponse;
+import com.atomix.cafeteria.dto.OrderStatusUpdateRequest;
+import com.atomix.cafeteria.security.KitchenAccess;
+import com.atomix.cafeteria.security.UserPrincipal;
+import com.atomix.cafeteria.service.KitchenQueueService;
+import com.atomix.cafeteria.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/orders")
+@Tag(name = "Order Management", description = "APIs for placing and tracking orders")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class OrderController {
+    
+    private final OrderService orderService;
+    private final KitchenQueueService kitchenQueueService;
+    private final KitchenAccess kitchenAccess;
+    
+    public OrderController(OrderService orderService, KitchenQueueService kitchenQueueService,
+                           KitchenAccess kitchenAccess) {
+        this.orderService = orderService;
+        this.kitchenQueueService = kitchenQueueService;
+        this.kitchenAccess = kitchenAccess;
+    }
+    
+    @Operation(summary = "Place order", description = "Place a new order for the current user")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Order placed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid order request"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping
+    public ResponseEntity<OrderResponse> placeOrder(
+            @Parameter(description = "Order details") @Valid @RequestBody OrderRequest request,
+            Authentication authentication) {
+        
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        OrderResponse response = orderService.placeOrder(userPrincipal.getId(), request);
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(summary = "Place multiple orders", description = "Place several orders at once; either all are placed or none")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Orders placed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid order request"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderResponse>> placeOrders(
+            @Parameter(description = "Orders to place") @Valid @RequestBody List<@Valid OrderRequest> requests,
+            Authentication authentication) {
+        
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        List<OrderResponse> responses = orderService.placeOrders(userPrincipal.getId(), requests);
+        return ResponseEntity.ok(responses);
+    }
+    
+    @Operation(summary = "Get my orders", description = "Get the current user's orders, newest first")
+    @GetMapping("/my")
+    public ResponseEntity<Page<OrderResponse>> getMyOrders(
+            @Parameter(description = "Pagination information") Pageable pageable,
+            Authentication authentication) {
+        
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        Page<OrderResponse> orders = orderService.getUserOrders(userPrincipal.getId(), pageable);
+        return ResponseEntity.ok(orders);
+    }
+    
+    @Operation(summary = "Get order", description = "Get order details by order number")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Order retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    @GetMapping("/{orderNumber}")
+    public ResponseEntity<OrderResponse> getOrder(
+            @Parameter(description = "Order number") @PathVariable String orderNumber,
+            Authentication authentication) {
+        
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        OrderResponse response = orderService.getOrder(orderNumber);
+        
+        if (!userPrincipal.getId().equals(response.getUserId())
+                && !kitchenAccess.canView(authentication, response.getVendorId())) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(summary = "Get kitchen queue", description = "Active orders for a vendor in preparation order (that vendor or staff only); changes stream on /topic/kitchen/{vendorId}")
+    @GetMapping("/kitchen/{vendorId}")
+    @PreAuthorize("@kitchenAccess.canView(authentication, #vendorId)")
+    public ResponseEntity<List<KitchenQueue.Entry>> getKitchenQueue(
+            @Parameter(description = "Vendor ID") @PathVariable Long vendorId) {
+        
+        return ResponseEntity.ok(kitchenQueueService.getQueue(vendorId));
+    }
+    
+    @Operation(summary = "Update order status", description = "Move an order through its lifecycle (its vendor or staff only)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Order status updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid status transition"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PatchMapping("/{id}/status")
+    @PreAuthorize("@kitchenAccess.canManageOrder(authentication, #id)")
+    public ResponseEntity<OrderResponse> updateOrderStatus(
+            @Parameter(description = "Order ID") @PathVariable Long id,
+            @Parameter(description = "New status") @Valid @RequestBody OrderStatusUpdateRequest request) {
+        
+        OrderResponse response = orderService.updateOrderStatus(id, request);
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(summary = "Cancel order", description = "Cancel one of the current user's pending or confirmed orders")
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<OrderResponse> cancelOrder(
+            @Parameter(description = "Order ID") @PathVariable Long id,
+            @Parameter(description = "Cancellation reason") @RequestParam(required = false) String reason,
+            Authentication authentication) {
+        
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        OrderResponse response = orderService.cancelOrder(id, userPrincipal.getId(), reason);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,8 +1,14 @@
 package com.atomix.cafeteria.controller;
 
 import com.atomix.cafeteria.dto.*;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.gateway.CircuitBreaker;
+import com.atomix.cafeteria.gateway.PaymentGatewayClient;
 import com.atomix.cafeteria.security.UserPrincipal;
+import com.atomix.cafeteria.service.PaymentAnalyticsService;
+import com.atomix.cafeteria.service.PaymentReconciler;
 import com.atomix.cafeteria.service.PaymentService;
+import com.atomix.cafeteria.service.PaymentWebhookIngestor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,12 +17,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/payments")
@@ -25,9 +36,19 @@ import java.math.BigDecimal;
 public class PaymentController {
     
     private final PaymentService paymentService;
+    private final PaymentWebhookIngestor webhookIngestor;
+    private final PaymentGatewayClient gatewayClient;
+    private final PaymentReconciler paymentReconciler;
+    private final PaymentAnalyticsService paymentAnalyticsService;
     
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, PaymentWebhookIngestor webhookIngestor,
+                             PaymentGatewayClient gatewayClient, PaymentReconciler paymentReconciler,
+                             PaymentAnalyticsService paymentAnalyticsService) {
         this.paymentService = paymentService;
+        this.webhookIngestor = webhookIngestor;
+        this.gatewayClient = gatewayClient;
+        this.paymentReconciler = paymentReconciler;
+        this.paymentAnalyticsService = paymentAnalyticsService;
     }
     
     @Operation(summary = "Create payment order", description = "Create a new payment order for Razorpay/Stripe or process food card payment")
@@ -38,14 +59,14 @@ public class PaymentController {
         @ApiResponse(responseCode = "500", description = "Payment gateway error")
     })
     @PostMapping("/create")
-    public ResponseEntity<PaymentResponse> createPayment(
+    public CompletableFuture<ResponseEntity<PaymentResponse>> createPayment(
             @Parameter(description = "Payment request details") @Valid @RequestBody PaymentRequest request,
             Authentication authentication) {
         
+        // Completed asynchronously, so no request thread waits on the gateway
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        PaymentResponse response = paymentService.createPayment(request, userPrincipal.getId());
-        
-        return ResponseEntity.ok(response);
+        return paymentService.createPayment(request, userPrincipal.getId())
+            .thenApply(ResponseEntity::ok);
     }
     
     @Operation(summary = "Verify payment", description = "Verify payment from gateway callback and update payment status")
@@ -56,11 +77,11 @@ public class PaymentController {
         @ApiResponse(responseCode = "500", description = "Verification error")
     })
     @PostMapping("/verify")
-    public ResponseEntity<PaymentResponse> verifyPayment(
+    public CompletableFuture<ResponseEntity<PaymentResponse>> verifyPayment(
             @Parameter(description = "Payment verification details") @Valid @RequestBody PaymentVerificationRequest request) {
         
-        PaymentResponse response = paymentService.verifyPayment(request);
-        return ResponseEntity.ok(response);
+        return paymentService.verifyPayment(request)
+            .thenApply(ResponseEntity::ok);
     }
     
     @Operation(summary = "Get payment details", description = "Get payment details by payment ID")
@@ -91,6 +112,36 @@ public class PaymentController {
         return ResponseEntity.ok(history);
     }
     
+    @Operation(summary = "Scroll payment history", description = "Get current user's payment history newest first from a cursor; pass nextCursor back for the following page")
+    @ApiResponse(responseCode = "200", description = "Payment history retrieved successfully")
+    @GetMapping("/history/scroll")
+    public ResponseEntity<PaymentHistoryPageResponse> scrollPaymentHistory(
+            @Parameter(description = "Cursor from the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        PaymentHistoryPageResponse history = paymentService.getPaymentHistoryPage(userPrincipal.getId(), cursor, size);
+        
+        return ResponseEntity.ok(history);
+    }
+    
+    @Operation(summary = "Scroll user payment history", description = "Get specific user's payment history from a cursor (Admin/Manager only)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payment history retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/history/{userId}/scroll")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CAFETERIA_MANAGER')")
+    public ResponseEntity<PaymentHistoryPageResponse> scrollUserPaymentHistory(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Cursor from the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        
+        PaymentHistoryPageResponse history = paymentService.getPaymentHistoryPage(userId, cursor, size);
+        return ResponseEntity.ok(history);
+    }
+    
     @Operation(summary = "Get user payment history", description = "Get paginated payment history for specific user (Admin/Manager only)")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Payment history retrieved successfully"),
@@ -114,7 +165,7 @@ public class PaymentController {
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @PostMapping("/topup")
-    public ResponseEntity<PaymentResponse> topUpFoodCard(
+    public CompletableFuture<ResponseEntity<PaymentResponse>> topUpFoodCard(
             @Parameter(description = "Top-up amount and payment method") @Valid @RequestBody FoodCardTopUpRequest request,
             Authentication authentication) {
         
@@ -127,8 +178,8 @@ public class PaymentController {
         paymentRequest.setPaymentType(com.atomix.cafeteria.entity.PaymentType.FOOD_CARD_TOPUP);
         paymentRequest.setDescription("Food Card Top-up - ₹" + request.getAmount());
         
-        PaymentResponse response = paymentService.createPayment(paymentRequest, userPrincipal.getId());
-        return ResponseEntity.ok(response);
+        return paymentService.createPayment(paymentRequest, userPrincipal.getId())
+            .thenApply(ResponseEntity::ok);
     }
     
     @Operation(summary = "Get food card balance", description = "Get current user's food card balance")
@@ -145,6 +196,19 @@ public class PaymentController {
         return ResponseEntity.ok(response);
     }
     
+    @Operation(summary = "Get food card transactions", description = "Get paginated food card ledger entries for current user")
+    @ApiResponse(responseCode = "200", description = "Food card transactions retrieved successfully")
+    @GetMapping("/foodcard/transactions")
+    public ResponseEntity<Page<FoodCardTransactionResponse>> getFoodCardTransactions(
+            @Parameter(description = "Pagination information") Pageable pageable,
+            Authentication authentication) {
+        
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        Page<FoodCardTransactionResponse> transactions = paymentService.getFoodCardTransactions(userPrincipal.getId(), pageable);
+        
+        return ResponseEntity.ok(transactions);
+    }
+    
     @Operation(summary = "Get user food card balance", description = "Get specific user's food card balance (Admin/Manager only)")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Food card balance retrieved successfully"),
@@ -165,18 +229,31 @@ public class PaymentController {
         return ResponseEntity.ok(response);
     }
     
-    @Operation(summary = "Payment webhook", description = "Webhook endpoint for payment gateway callbacks")
-    @ApiResponse(responseCode = "200", description = "Webhook processed successfully")
+    @Operation(summary = "Payment webhook", description = "Webhook endpoint for payment gateway callbacks; events are verified, queued and applied asynchronously")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Webhook accepted (or already received)"),
+        @ApiResponse(responseCode = "400", description = "Unknown gateway or unreadable event"),
+        @ApiResponse(responseCode = "401", description = "Invalid signature"),
+        @ApiResponse(responseCode = "503", description = "Inbox full, gateway should retry")
+    })
     @PostMapping("/webhook/{gateway}")
     public ResponseEntity<String> paymentWebhook(
             @Parameter(description = "Payment gateway (razorpay/stripe)") @PathVariable String gateway,
-            @RequestBody String payload,
-            @RequestHeader("X-Razorpay-Signature") String signature) {
+            @RequestBody byte[] payload,
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String razorpaySignature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String razorpayEventId,
+            @RequestHeader(value = "Stripe-Signature", required = false) String stripeSignature) {
         
-        // TODO: Implement webhook processing for automatic payment verification
-        // This would handle payment status updates from Razorpay/Stripe
+        // Raw bytes, since signatures cover the body exactly as sent
+        String signature = "stripe".equalsIgnoreCase(gateway) ? stripeSignature : razorpaySignature;
+        PaymentWebhookIngestor.Result result = webhookIngestor.accept(gateway, payload, signature, razorpayEventId);
         
-        return ResponseEntity.ok("Webhook received");
+        return switch (result) {
+            case ACCEPTED, DUPLICATE -> ResponseEntity.ok("Webhook received");
+            case UNAUTHORIZED -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid signature");
+            case INVALID -> ResponseEntity.badRequest().body("Invalid webhook");
+            case BUSY -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Busy, retry later");
+        };
     }
     
     @Operation(summary = "Health check", description = "Check payment gateway connectivity")
@@ -184,13 +261,62 @@ public class PaymentController {
     @GetMapping("/health")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PaymentHealthResponse> healthCheck() {
-        // TODO: Implement health check for payment gateways
-        
         PaymentHealthResponse response = new PaymentHealthResponse();
-        response.setRazorpayStatus("UP");
-        response.setStripeStatus("UP");
+        response.setRazorpayStatus(statusOf(PaymentMethod.RAZORPAY));
+        response.setStripeStatus(statusOf(PaymentMethod.STRIPE));
         response.setTimestamp(java.time.LocalDateTime.now());
         
         return ResponseEntity.ok(response);
     }
+    
+    @Operation(summary = "Reconciliation stats", description = "Throughput and outcomes of the stale pending payment reconciler")
+    @ApiResponse(responseCode = "200", description = "Reconciliation stats retrieved successfully")
+    @GetMapping("/reconciliation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReconciliationStatsResponse> getReconciliationStats() {
+        return ResponseEntity.ok(paymentReconciler.getStats());
+    }
+    
+    @Operation(summary = "Payment totals by status", description = "Count and total of all payments per status, from the daily rollups")
+    @ApiResponse(responseCode = "200", description = "Payment statistics retrieved successfully")
+    @GetMapping("/analytics/status")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CAFETERIA_MANAGER')")
+    public ResponseEntity<List<PaymentStatusSummaryResponse>> getPaymentStatusSummary() {
+        return ResponseEntity.ok(paymentAnalyticsService.getStatusSummary());
+    }
+    
+    @Operation(summary = "Daily payment summary", description = "Count and total of payments created per day in a date range, from the daily rollups")
+    @ApiResponse(responseCode = "200", description = "Daily payment summary retrieved successfully")
+    @GetMapping("/analytics/daily")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CAFETERIA_MANAGER')")
+    public ResponseEntity<List<DailyPaymentSummaryResponse>> getDailyPaymentSummary(
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        return ResponseEntity.ok(paymentAnalyticsService.getDailySummary(startDate, endDate));
+    }
+    
+    @Operation(summary = "Rebuild payment rollups", description = "Recompute the daily rollups for a date range from the payments table")
+    @ApiResponse(responseCode = "200", description = "Rollups rebuilt")
+    @PostMapping("/analytics/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> rebuildPaymentRollups(
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        int rows = paymentAnalyticsService.rebuild(startDate, endDate);
+        return ResponseEntity.ok("Rebuilt " + rows + " rollup rows");
+    }
+    
+    private String statusOf(PaymentMethod method) {
+        CircuitBreaker.State state = gatewayClient.getCircuitState(method);
+        if (state == null) {
+            return "NOT_CONFIGURED";
+        }
+        return switch (state) {
+            case CLOSED -> "UP";
+            case HALF_OPEN -> "DEGRADED";
+            case OPEN -> "DOWN";
+        };
+    }
 } 
\ No newline at end of file
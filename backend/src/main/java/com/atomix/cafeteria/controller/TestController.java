@@ -6,6 +6,7 @@ import com.atomix.cafeteria.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -48,7 +49,7 @@ public class TestController {
             testUser.setFloorId("F1");
             testUser.setDepartment("Test");
             testUser.setEmployeeId("TEST001");
-            testUser.setFoodCardBalance(100.0);
+            testUser.setFoodCardBalance(new BigDecimal("100.00"));
             testUser.setIsActive(true);
             testUser.setEmailVerified(true);
 
@@ -2,6 +2,7 @@ package com.atomix.cafeteria.controller;
 
 import com.atomix.cafeteria.dto.UserDTO;
 import com.atomix.cafeteria.entity.UserRole;
+import com.atomix.cafeteria.security.UserPrincipalCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,6 +17,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/users")
@@ -26,6 +28,12 @@ public class UserController {
     // TODO: Inject UserService when created
     // private final UserService userService;
     
+    private final UserPrincipalCache userPrincipalCache;
+    
+    public UserController(UserPrincipalCache userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
+    }
+    
     @Operation(summary = "Get all users", description = "Retrieve a paginated list of all users")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved users"),
@@ -146,4 +154,12 @@ public class UserController {
         // TODO: Implement when UserService is available
         return ResponseEntity.ok("{}");
     }
-} 
\ No newline at end of file
+    
+    @Operation(summary = "Get principal cache statistics", description = "Get hit/miss counters for the authenticated-principal cache")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    @GetMapping("/principal-cache/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getPrincipalCacheStatistics() {
+        return ResponseEntity.ok(userPrincipalCache.getStatistics());
+    }
+}
@@ -0,0 +1,45 @@
+package com.atomix.cafeteria.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class DailyPaymentSummaryResponse {
+    
+    private LocalDate date;
+    private long paymentCount;
+    private BigDecimal totalAmount;
+    
+    // Constructors
+    public DailyPaymentSummaryResponse() {}
+    
+    public DailyPaymentSummaryResponse(LocalDate date, long paymentCount, BigDecimal totalAmount) {
+        this.date = date;
+        this.paymentCount = paymentCount;
+        this.totalAmount = totalAmount;
+    }
+    
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+    
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
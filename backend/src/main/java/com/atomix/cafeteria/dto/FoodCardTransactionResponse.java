@@ -0,0 +1,88 @@
+package com.atomix.cafeteria.dto;
+
+import com.atomix.cafeteria.entity.FoodCardTransaction;
+import com.atomix.cafeteria.entity.FoodCardTransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class FoodCardTransactionResponse {
+    
+    private Long id;
+    private FoodCardTransactionType transactionType;
+    private BigDecimal amount;
+    private BigDecimal balanceAfter;
+    private String paymentId;
+    private String description;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public FoodCardTransactionResponse() {}
+    
+    public FoodCardTransactionResponse(FoodCardTransaction transaction) {
+        this.id = transaction.getId();
+        this.transactionType = transaction.getTransactionType();
+        this.amount = transaction.getAmount();
+        this.balanceAfter = transaction.getBalanceAfter();
+        this.paymentId = transaction.getPaymentId();
+        this.description = transaction.getDescription();
+        this.createdAt = transaction.getCreatedAt();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public FoodCardTransactionType getTransactionType() {
+        return transactionType;
+    }
+    
+    public void setTransactionType(FoodCardTransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+    
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+    
+    public String getPaymentId() {
+        return paymentId;
+    }
+    
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
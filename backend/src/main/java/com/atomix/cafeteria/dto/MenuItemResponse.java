@@ -0,0 +1,244 @@
+package com.atomix.cafeteria.dto;
+
+import com.atomix.cafeteria.entity.MenuCategory;
+import com.atomix.cafeteria.entity.MenuItem;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Read-only view of a menu item. Instances are immutable so they can be
+ * shared between requests straight out of the menu catalog.
+ */
+public final class MenuItemResponse {
+    
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final MenuCategory category;
+    private final String categoryDisplayName;
+    private final String imageUrl;
+    private final Boolean isAvailable;
+    private final Integer preparationTime;
+    private final Long vendorId;
+    private final String floorId;
+    private final Integer calories;
+    private final Integer proteinGrams;
+    private final Integer fatGrams;
+    private final Integer carbsGrams;
+    private final List<String> ingredients;
+    private final List<String> tags;
+    private final Integer votesCount;
+    private final BigDecimal rating;
+    private final Integer ratingCount;
+    private final Integer quantityAvailable;
+    private final Boolean isLimitedQuantity;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime availableFrom;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime availableUntil;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime createdAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime updatedAt;
+    
+    
+    // Constructors
+    public MenuItemResponse(MenuItem menuItem) {
+        this(menuItem, menuItem.getTags(), menuItem.getIngredients());
+    }
+    
+    /**
+     * Build with tags and ingredients supplied separately, so a bulk load can
+     * fetch the element collections in one query each instead of per item.
+     * Only the vendor id is read from the lazy vendor association.
+     */
+    public MenuItemResponse(MenuItem menuItem, List<String> tags, List<String> ingredients) {
+        this.id = menuItem.getId();
+        this.name = menuItem.getName();
+        this.description = menuItem.getDescription();
+        this.price = menuItem.getPrice();
+        this.category = menuItem.getCategory();
+        this.categoryDisplayName = menuItem.getCategory() != null ? menuItem.getCategory().getDisplayName() : "";
+        this.imageUrl = menuItem.getImageUrl();
+        this.isAvailable = menuItem.getIsAvailable();
+        this.preparationTime = menuItem.getPreparationTime();
+        this.vendorId = menuItem.getVendor() != null ? menuItem.getVendor().getId() : null;
+        this.floorId = menuItem.getFloorId();
+        this.calories = menuItem.getCalories();
+        this.proteinGrams = menuItem.getProteinGrams();
+        this.fatGrams = menuItem.getFatGrams();
+        this.carbsGrams = menuItem.getCarbsGrams();
+        this.ingredients = ingredients != null ? List.copyOf(ingredients) : List.of();
+        this.tags = tags != null ? List.copyOf(tags) : List.of();
+        this.votesCount = menuItem.getVotesCount();
+        this.rating = menuItem.getRating();
+        this.ratingCount = menuItem.getRatingCount();
+        this.quantityAvailable = menuItem.getQuantityAvailable();
+        this.isLimitedQuantity = menuItem.getIsLimitedQuantity();
+        this.availableFrom = menuItem.getAvailableFrom();
+        this.availableUntil = menuItem.getAvailableUntil();
+        this.createdAt = menuItem.getCreatedAt();
+        this.updatedAt = menuItem.getUpdatedAt();
+    }
+    
+    private MenuItemResponse(MenuItemResponse source, Integer votesCount) {
+        this.id = source.id;
+        this.name = source.name;
+        this.description = source.description;
+        this.price = source.price;
+        this.category = source.category;
+        this.categoryDisplayName = source.categoryDisplayName;
+        this.imageUrl = source.imageUrl;
+        this.isAvailable = source.isAvailable;
+        this.preparationTime = source.preparationTime;
+        this.vendorId = source.vendorId;
+        this.floorId = source.floorId;
+        this.calories = source.calories;
+        this.proteinGrams = source.proteinGrams;
+        this.fatGrams = source.fatGrams;
+        this.carbsGrams = source.carbsGrams;
+        this.ingredients = source.ingredients;
+        this.tags = source.tags;
+        this.votesCount = votesCount;
+        this.rating = source.rating;
+        this.ratingCount = source.ratingCount;
+        this.quantityAvailable = source.quantityAvailable;
+        this.isLimitedQuantity = source.isLimitedQuantity;
+        this.availableFrom = source.availableFrom;
+        this.availableUntil = source.availableUntil;
+        this.createdAt = source.createdAt;
+        this.updatedAt = source.updatedAt;
+    }
+    
+    /**
+     * Copy with a different vote count, e.g. live votes not yet flushed to the row
+     */
+    public MenuItemResponse withVotesCount(Integer votesCount) {
+        return Objects.equals(this.votesCount, votesCount) ? this : new MenuItemResponse(this, votesCount);
+    }
+    
+    /**
+     * Same rule as MenuItem#isCurrentlyAvailable, evaluated at the given time
+     */
+    public boolean isAvailableAt(LocalDateTime now) {
+        if (!Boolean.TRUE.equals(isAvailable)) return false;
+        if (availableFrom != null && now.isBefore(availableFrom)) return false;
+        if (availableUntil != null && now.isAfter(availableUntil)) return false;
+        if (Boolean.TRUE.equals(isLimitedQuantity) && (quantityAvailable == null || quantityAvailable <= 0)) return false;
+        return true;
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+    
+    public MenuCategory getCategory() {
+        return category;
+    }
+    
+    public String getCategoryDisplayName() {
+        return categoryDisplayName;
+    }
+    
+    public String getImageUrl() {
+        return imageUrl;
+    }
+    
+    public Boolean getIsAvailable() {
+        return isAvailable;
+    }
+    
+    public Integer getPreparationTime() {
+        return preparationTime;
+    }
+    
+    public Long getVendorId() {
+        return vendorId;
+    }
+    
+    public String getFloorId() {
+        return floorId;
+    }
+    
+    public Integer getCalories() {
+        return calories;
+    }
+    
+    public Integer getProteinGrams() {
+        return proteinGrams;
+    }
+    
+    public Integer getFatGrams() {
+        return fatGrams;
+    }
+    
+    public Integer getCarbsGrams() {
+        return carbsGrams;
+    }
+    
+    public List<String> getIngredients() {
+        return ingredients;
+    }
+    
+    public List<String> getTags() {
+        return tags;
+    }
+    
+    public Integer getVotesCount() {
+        return votesCount;
+    }
+    
+    public BigDecimal getRating() {
+        return rating;
+    }
+    
+    public Integer getRatingCount() {
+        return ratingCount;
+    }
+    
+    public Integer getQuantityAvailable() {
+        return quantityAvailable;
+    }
+    
+    public Boolean getIsLimitedQuantity() {
+        return isLimitedQuantity;
+    }
+    
+    public LocalDateTime getAvailableFrom() {
+        return availableFrom;
+    }
+    
+    public LocalDateTime getAvailableUntil() {
+        return availableUntil;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
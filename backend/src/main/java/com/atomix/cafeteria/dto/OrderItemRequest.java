@@ -0,0 +1,49 @@
+package com.atomix.cafeteria.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class OrderItemRequest {
+    
+    @NotNull(message = "Menu item is required")
+    private Long menuItemId;
+    
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+    
+    private String specialInstructions;
+    
+    // Constructors
+    public OrderItemRequest() {}
+    
+    public OrderItemRequest(Long menuItemId, Integer quantity) {
+        this.menuItemId = menuItemId;
+        this.quantity = quantity;
+    }
+    
+    // Getters and Setters
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+    
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+    
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+    
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+}
@@ -0,0 +1,96 @@
+package com.atomix.cafeteria.dto;
+
+import com.atomix.cafeteria.entity.OrderItem;
+
+import java.math.BigDecimal;
+
+public class OrderItemResponse {
+    
+    private Long id;
+    private Long menuItemId;
+    private String menuItemName;
+    private String menuItemImageUrl;
+    private Integer quantity;
+    private BigDecimal price;
+    private BigDecimal totalPrice;
+    private String specialInstructions;
+    
+    // Constructors
+    public OrderItemResponse() {}
+    
+    public OrderItemResponse(OrderItem item) {
+        this.id = item.getId();
+        this.menuItemId = item.getMenuItem() != null ? item.getMenuItem().getId() : null;
+        this.menuItemName = item.getMenuItemName();
+        this.menuItemImageUrl = item.getMenuItemImageUrl();
+        this.quantity = item.getQuantity();
+        this.price = item.getPrice();
+        this.totalPrice = item.getTotalPrice();
+        this.specialInstructions = item.getSpecialInstructions();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+    
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+    
+    public String getMenuItemName() {
+        return menuItemName;
+    }
+    
+    public void setMenuItemName(String menuItemName) {
+        this.menuItemName = menuItemName;
+    }
+    
+    public String getMenuItemImageUrl() {
+        return menuItemImageUrl;
+    }
+    
+    public void setMenuItemImageUrl(String menuItemImageUrl) {
+        this.menuItemImageUrl = menuItemImageUrl;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+    
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+    
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+    
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+    
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+    
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+}
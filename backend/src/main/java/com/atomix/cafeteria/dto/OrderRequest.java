@@ -0,0 +1,63 @@
+package com.atomix.cafeteria.dto;
+
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class OrderRequest {
+    
+    @NotEmpty(message = "Order must contain at least one item")
+    @Valid
+    private List<OrderItemRequest> items;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime pickupTime;
+    
+    private PaymentMethod paymentMethod;
+    
+    private String specialInstructions;
+    
+    // Constructors
+    public OrderRequest() {}
+    
+    public OrderRequest(List<OrderItemRequest> items) {
+        this.items = items;
+    }
+    
+    // Getters and Setters
+    public List<OrderItemRequest> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<OrderItemRequest> items) {
+        this.items = items;
+    }
+    
+    public LocalDateTime getPickupTime() {
+        return pickupTime;
+    }
+    
+    public void setPickupTime(LocalDateTime pickupTime) {
+        this.pickupTime = pickupTime;
+    }
+    
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+    
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+    
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+    
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+}
@@ -0,0 +1,269 @@
+package com.atomix.cafeteria.dto;
+
+import com.atomix.cafeteria.entity.Order;
+import com.atomix.cafeteria.entity.OrderStatus;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class OrderResponse {
+    
+    private Long id;
+    private String orderNumber;
+    private Long userId;
+    private Long vendorId;
+    private OrderStatus status;
+    private String statusDisplayName;
+    private BigDecimal totalAmount;
+    private BigDecimal discountAmount;
+    private BigDecimal taxAmount;
+    private LocalDateTime pickupTime;
+    private PaymentStatus paymentStatus;
+    private PaymentMethod paymentMethod;
+    private String specialInstructions;
+    private Integer estimatedPreparationTime;
+    // Set when the order is placed: preparation time plus the wait for orders ahead of it
+    private Integer estimatedReadyInMinutes;
+    private Integer totalItems;
+    private List<OrderItemResponse> items;
+    private LocalDateTime createdAt;
+    private LocalDateTime orderConfirmedAt;
+    private LocalDateTime preparationStartedAt;
+    private LocalDateTime readyAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime cancelledAt;
+    private String cancellationReason;
+    
+    // Constructors
+    public OrderResponse() {}
+    
+    /**
+     * Build from an order whose items are already loaded (placement path or
+     * an entity-graph query); only the user and vendor ids are read from the
+     * lazy associations, which does not initialize them.
+     */
+    public OrderResponse(Order order) {
+        this.id = order.getId();
+        this.orderNumber = order.getOrderNumber();
+        this.userId = order.getUser() != null ? order.getUser().getId() : null;
+        this.vendorId = order.getVendor() != null ? order.getVendor().getId() : null;
+        this.status = order.getStatus();
+        this.statusDisplayName = order.getStatus() != null ? order.getStatus().getDisplayName() : "";
+        this.totalAmount = order.getTotalAmount();
+        this.discountAmount = order.getDiscountAmount();
+        this.taxAmount = order.getTaxAmount();
+        this.pickupTime = order.getPickupTime();
+        this.paymentStatus = order.getPaymentStatus();
+        this.paymentMethod = order.getPaymentMethod();
+        this.specialInstructions = order.getSpecialInstructions();
+        this.estimatedPreparationTime = order.getEstimatedPreparationTime();
+        this.totalItems = order.getTotalItems();
+        this.items = order.getOrderItems().stream()
+            .map(OrderItemResponse::new)
+            .collect(Collectors.toList());
+        this.createdAt = order.getCreatedAt();
+        this.orderConfirmedAt = order.getOrderConfirmedAt();
+        this.preparationStartedAt = order.getPreparationStartedAt();
+        this.readyAt = order.getReadyAt();
+        this.completedAt = order.getCompletedAt();
+        this.cancelledAt = order.getCancelledAt();
+        this.cancellationReason = order.getCancellationReason();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+    
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getVendorId() {
+        return vendorId;
+    }
+    
+    public void setVendorId(Long vendorId) {
+        this.vendorId = vendorId;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+    
+    public String getStatusDisplayName() {
+        return statusDisplayName;
+    }
+    
+    public void setStatusDisplayName(String statusDisplayName) {
+        this.statusDisplayName = statusDisplayName;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public BigDecimal getDiscountAmount() {
+        return discountAmount;
+    }
+    
+    public void setDiscountAmount(BigDecimal discountAmount) {
+        this.discountAmount = discountAmount;
+    }
+    
+    public BigDecimal getTaxAmount() {
+        return taxAmount;
+    }
+    
+    public void setTaxAmount(BigDecimal taxAmount) {
+        this.taxAmount = taxAmount;
+    }
+    
+    public LocalDateTime getPickupTime() {
+        return pickupTime;
+    }
+    
+    public void setPickupTime(LocalDateTime pickupTime) {
+        this.pickupTime = pickupTime;
+    }
+    
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+    
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+    
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+    
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+    
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+    
+    public Integer getEstimatedPreparationTime() {
+        return estimatedPreparationTime;
+    }
+    
+    public void setEstimatedPreparationTime(Integer estimatedPreparationTime) {
+        this.estimatedPreparationTime = estimatedPreparationTime;
+    }
+    
+    public Integer getEstimatedReadyInMinutes() {
+        return estimatedReadyInMinutes;
+    }
+    
+    public void setEstimatedReadyInMinutes(Integer estimatedReadyInMinutes) {
+        this.estimatedReadyInMinutes = estimatedReadyInMinutes;
+    }
+    
+    public Integer getTotalItems() {
+        return totalItems;
+    }
+    
+    public void setTotalItems(Integer totalItems) {
+        this.totalItems = totalItems;
+    }
+    
+    public List<OrderItemResponse> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<OrderItemResponse> items) {
+        this.items = items;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getOrderConfirmedAt() {
+        return orderConfirmedAt;
+    }
+    
+    public void setOrderConfirmedAt(LocalDateTime orderConfirmedAt) {
+        this.orderConfirmedAt = orderConfirmedAt;
+    }
+    
+    public LocalDateTime getPreparationStartedAt() {
+        return preparationStartedAt;
+    }
+    
+    public void setPreparationStartedAt(LocalDateTime preparationStartedAt) {
+        this.preparationStartedAt = preparationStartedAt;
+    }
+    
+    public LocalDateTime getReadyAt() {
+        return readyAt;
+    }
+    
+    public void setReadyAt(LocalDateTime readyAt) {
+        this.readyAt = readyAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+    
+    public LocalDateTime getCancelledAt() {
+        return cancelledAt;
+    }
+    
+    public void setCancelledAt(LocalDateTime cancelledAt) {
+        this.cancelledAt = cancelledAt;
+    }
+    
+    public String getCancellationReason() {
+        return cancellationReason;
+    }
+    
+    public void setCancellationReason(String cancellationReason) {
+        this.cancellationReason = cancellationReason;
+    }
+}
@@ -0,0 +1,36 @@
+package com.atomix.cafeteria.dto;
+
+import com.atomix.cafeteria.entity.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+
+public class OrderStatusUpdateRequest {
+    
+    @NotNull(message = "Status is required")
+    private OrderStatus status;
+    
+    private String reason; // Used for cancellations
+    
+    // Constructors
+    public OrderStatusUpdateRequest() {}
+    
+    public OrderStatusUpdateRequest(OrderStatus status) {
+        this.status = status;
+    }
+    
+    // Getters and Setters
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+    
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
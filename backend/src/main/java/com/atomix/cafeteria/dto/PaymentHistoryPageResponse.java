@@ -0,0 +1,44 @@
+package com.atomix.cafeteria.dto;
+
+import java.util.List;
+
+public class PaymentHistoryPageResponse {
+    
+    private List<PaymentHistoryResponse> payments;
+    private String nextCursor; // Null on the last page
+    private boolean hasMore;
+    
+    // Constructors
+    public PaymentHistoryPageResponse() {}
+    
+    public PaymentHistoryPageResponse(List<PaymentHistoryResponse> payments, String nextCursor) {
+        this.payments = payments;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+    
+    // Getters and Setters
+    public List<PaymentHistoryResponse> getPayments() {
+        return payments;
+    }
+    
+    public void setPayments(List<PaymentHistoryResponse> payments) {
+        this.payments = payments;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
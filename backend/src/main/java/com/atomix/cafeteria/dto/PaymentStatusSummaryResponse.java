@@ -0,0 +1,46 @@
+package com.atomix.cafeteria.dto;
+
+import com.atomix.cafeteria.entity.PaymentStatus;
+
+import java.math.BigDecimal;
+
+public class PaymentStatusSummaryResponse {
+    
+    private PaymentStatus paymentStatus;
+    private long paymentCount;
+    private BigDecimal totalAmount;
+    
+    // Constructors
+    public PaymentStatusSummaryResponse() {}
+    
+    public PaymentStatusSummaryResponse(PaymentStatus paymentStatus, long paymentCount, BigDecimal totalAmount) {
+        this.paymentStatus = paymentStatus;
+        this.paymentCount = paymentCount;
+        this.totalAmount = totalAmount;
+    }
+    
+    // Getters and Setters
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+    
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+    
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
@@ -0,0 +1,92 @@
+package com.atomix.cafeteria.dto;
+
+import java.time.LocalDateTime;
+
+public class ReconciliationStatsResponse {
+    
+    private long runs;
+    private long scanned;
+    private long completed;
+    private long failed;
+    private long unresolved;
+    private LocalDateTime lastRunAt;
+    private long lastRunDurationMs;
+    private int lastRunScanned;
+    private double lastRunPaymentsPerSecond;
+    
+    // Constructors
+    public ReconciliationStatsResponse() {}
+    
+    // Getters and Setters
+    public long getRuns() {
+        return runs;
+    }
+    
+    public void setRuns(long runs) {
+        this.runs = runs;
+    }
+    
+    public long getScanned() {
+        return scanned;
+    }
+    
+    public void setScanned(long scanned) {
+        this.scanned = scanned;
+    }
+    
+    public long getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+    
+    public long getUnresolved() {
+        return unresolved;
+    }
+    
+    public void setUnresolved(long unresolved) {
+        this.unresolved = unresolved;
+    }
+    
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+    
+    public void setLastRunAt(LocalDateTime lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+    
+    public long getLastRunDurationMs() {
+        return lastRunDurationMs;
+    }
+    
+    public void setLastRunDurationMs(long lastRunDurationMs) {
+        this.lastRunDurationMs = lastRunDurationMs;
+    }
+    
+    public int getLastRunScanned() {
+        return lastRunScanned;
+    }
+    
+    public void setLastRunScanned(int lastRunScanned) {
+        this.lastRunScanned = lastRunScanned;
+    }
+    
+    public double getLastRunPaymentsPerSecond() {
+        return lastRunPaymentsPerSecond;
+    }
+    
+    public void setLastRunPaymentsPerSecond(double lastRunPaymentsPerSecond) {
+        this.lastRunPaymentsPerSecond = lastRunPaymentsPerSecond;
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -33,7 +34,7 @@ public class UserDTO {
     private String employeeId;
     private Boolean isActive;
     private Boolean emailVerified;
-    private Double foodCardBalance;
+    private BigDecimal foodCardBalance;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -144,11 +145,11 @@ public class UserDTO {
         this.emailVerified = emailVerified;
     }
     
-    public Double getFoodCardBalance() {
+    public BigDecimal getFoodCardBalance() {
         return foodCardBalance;
     }
     
-    public void setFoodCardBalance(Double foodCardBalance) {
+    public void setFoodCardBalance(BigDecimal foodCardBalance) {
         this.foodCardBalance = foodCardBalance;
     }
     
@@ -0,0 +1,133 @@
+package com.atomix.cafeteria.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only food card ledger entry. Rows are never updated; the running
+ * balance lives on users.food_card_balance and is changed atomically alongside
+ * each insert.
+ */
+@Entity
+@Table(name = "food_card_transactions", indexes = {
+    @Index(name = "idx_food_card_tx_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_food_card_tx_payment_id", columnList = "payment_id")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class FoodCardTransaction {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Plain column rather than a relation so ledger writes never load the User
+    @NotNull
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, updatable = false)
+    private FoodCardTransactionType transactionType;
+    
+    // Signed: positive for credits, negative for debits
+    @NotNull
+    @Column(name = "amount", nullable = false, updatable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(name = "balance_after", updatable = false, precision = 10, scale = 2)
+    private BigDecimal balanceAfter;
+    
+    @Column(name = "payment_id", updatable = false)
+    private String paymentId;
+    
+    @Column(name = "description", updatable = false)
+    private String description;
+    
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public FoodCardTransaction() {}
+    
+    public FoodCardTransaction(Long userId, FoodCardTransactionType transactionType, BigDecimal amount,
+                               BigDecimal balanceAfter, String paymentId, String description) {
+        this.userId = userId;
+        this.transactionType = transactionType;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.paymentId = paymentId;
+        this.description = description;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public FoodCardTransactionType getTransactionType() {
+        return transactionType;
+    }
+    
+    public void setTransactionType(FoodCardTransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+    
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+    
+    public String getPaymentId() {
+        return paymentId;
+    }
+    
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,18 @@
+package com.atomix.cafeteria.entity;
+
+public enum FoodCardTransactionType {
+    TOPUP("Top-up"),
+    DEBIT("Order Payment"),
+    REFUND("Refund"),
+    ADJUSTMENT("Manual Adjustment");
+    
+    private final String displayName;
+    
+    FoodCardTransactionType(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -84,21 +84,24 @@ public class MenuItem {
     private List<String> tags = new ArrayList<>();
     
     // Voting and rating
+    // Only MenuVoteService's relative UPDATE changes it; a full-row save would write back a stale count
     @PositiveOrZero
-    @Column(name = "votes_count")
+    @Column(name = "votes_count", updatable = false)
     private Integer votesCount = 0;
     
+    // Rating aggregates are only changed by RatingAggregationService's in-place UPDATE
     @DecimalMin(value = "0.0")
-    @Column
+    @Column(updatable = false)
     private BigDecimal rating = BigDecimal.ZERO;
     
     @PositiveOrZero
-    @Column(name = "rating_count")
+    @Column(name = "rating_count", updatable = false)
     private Integer ratingCount = 0;
     
     // Inventory tracking
+    // Set on insert and by MenuItemRepository.setStock; reservation flushes adjust it in place
     @PositiveOrZero
-    @Column(name = "quantity_available")
+    @Column(name = "quantity_available", updatable = false)
     private Integer quantityAvailable;
     
     @Column(name = "is_limited_quantity")
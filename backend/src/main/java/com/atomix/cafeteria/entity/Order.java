@@ -17,8 +17,10 @@ import java.util.List;
 @EntityListeners(AuditingEntityListener.class)
 public class Order {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can batch order inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "order_number", unique = true, nullable = false)
@@ -11,8 +11,10 @@ import java.math.BigDecimal;
 @Table(name = "order_items")
 public class OrderItem {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can batch item inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
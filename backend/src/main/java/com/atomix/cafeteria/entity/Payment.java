@@ -11,8 +11,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
-@EntityListeners(AuditingEntityListener.class)
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_payments_gateway_payment_id", columnList = "gateway_payment_id"),
+    @Index(name = "idx_payments_gateway_order_id", columnList = "gateway_order_id"),
+    @Index(name = "idx_payments_status_id", columnList = "payment_status, id"),
+    @Index(name = "idx_payments_user_created_id", columnList = "user_id, created_at, id")
+})
+@EntityListeners({AuditingEntityListener.class, PaymentEntityListener.class})
 public class Payment {
     
     @Id
@@ -101,6 +106,15 @@ public class Payment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Checked on every update, so two callers settling the same payment cannot both commit
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
+    // Status as last read from or written to the database, so listeners can see transitions
+    @Transient
+    private PaymentStatus persistedStatus;
+    
     // Constructors
     public Payment() {}
     
@@ -298,6 +312,25 @@ public class Payment {
         this.updatedAt = updatedAt;
     }
     
+    /**
+     * Status the row had in the database before the current flush. Entity
+     * listeners run before the callback below updates it.
+     */
+    public Long getVersion() {
+        return version;
+    }
+    
+    public PaymentStatus getPersistedStatus() {
+        return persistedStatus;
+    }
+    
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedStatus() {
+        this.persistedStatus = paymentStatus;
+    }
+    
     // Utility methods
     public boolean isSuccessful() {
         return paymentStatus == PaymentStatus.COMPLETED;
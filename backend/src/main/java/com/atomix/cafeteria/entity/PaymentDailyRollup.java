@@ -0,0 +1,111 @@
+package com.atomix.cafeteria.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Count and total of the payments created on one day that currently have
+ * one status, method and type. Maintained incrementally by
+ * PaymentAnalyticsService so dashboards never group the payments table.
+ */
+@Entity
+@Table(name = "payment_daily_rollups",
+    uniqueConstraints = @UniqueConstraint(name = "uk_payment_rollups_day_dims",
+        columnNames = {"rollup_date", "payment_status", "payment_method", "payment_type"}))
+public class PaymentDailyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Column(name = "rollup_date", nullable = false, updatable = false)
+    private LocalDate rollupDate;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false, updatable = false)
+    private PaymentStatus paymentStatus;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false, updatable = false)
+    private PaymentMethod paymentMethod;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type", nullable = false, updatable = false)
+    private PaymentType paymentType;
+    
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+    
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public PaymentDailyRollup() {}
+    
+    public PaymentDailyRollup(LocalDate rollupDate, PaymentStatus paymentStatus, PaymentMethod paymentMethod,
+                              PaymentType paymentType, long paymentCount, BigDecimal totalAmount) {
+        this.rollupDate = rollupDate;
+        this.paymentStatus = paymentStatus;
+        this.paymentMethod = paymentMethod;
+        this.paymentType = paymentType;
+        this.paymentCount = paymentCount;
+        this.totalAmount = totalAmount;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+    
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+    
+    public PaymentType getPaymentType() {
+        return paymentType;
+    }
+    
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+    
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.atomix.cafeteria.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on Payment that publishes a PaymentStatusChangedEvent for
+ * every insert and status change, whichever code path made it. Consumers
+ * handle it after commit with @TransactionalEventListener.
+ */
+@Component
+public class PaymentEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PaymentEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void paymentCreated(Payment payment) {
+        if (payment.getCreatedAt() != null) {
+            eventPublisher.publishEvent(new PaymentStatusChangedEvent(payment, null));
+        }
+    }
+
+    @PostUpdate
+    public void paymentUpdated(Payment payment) {
+        // Runs before Payment's own callback, so the persisted status is still the old one
+        PaymentStatus from = payment.getPersistedStatus();
+        if (payment.getCreatedAt() != null && from != null && from != payment.getPaymentStatus()) {
+            eventPublisher.publishEvent(new PaymentStatusChangedEvent(payment, from));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.atomix.cafeteria.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published by PaymentEntityListener when a payment row is inserted or its
+ * status changes, inside the transaction that wrote it. previousStatus is
+ * null for an insert. Values are copied off the entity so after-commit
+ * listeners never touch a detached Payment.
+ */
+public class PaymentStatusChangedEvent {
+
+    private final LocalDate createdDay;
+    private final PaymentStatus previousStatus;
+    private final PaymentStatus status;
+    private final PaymentMethod paymentMethod;
+    private final PaymentType paymentType;
+    private final BigDecimal amount;
+
+    public PaymentStatusChangedEvent(Payment payment, PaymentStatus previousStatus) {
+        this.createdDay = payment.getCreatedAt().toLocalDate();
+        this.previousStatus = previousStatus;
+        this.status = payment.getPaymentStatus();
+        this.paymentMethod = payment.getPaymentMethod();
+        this.paymentType = payment.getPaymentType();
+        this.amount = payment.getAmount();
+    }
+
+    public LocalDate getCreatedDay() {
+        return createdDay;
+    }
+
+    public PaymentStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public PaymentStatus getStatus() {
+        return status;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public PaymentType getPaymentType() {
+        return paymentType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,215 @@
+package com.atomix.cafeteria.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inbox row for one payment gateway webhook event.
+ *
+ * The (gateway, event_id) unique key is the idempotency store: a redelivered
+ * event finds its row and is never applied twice. Rows start as RECEIVED and
+ * move to PROCESSED, IGNORED or FAILED once applied to the payment.
+ */
+@Entity
+@Table(name = "payment_webhook_events",
+    uniqueConstraints = @UniqueConstraint(name = "uk_webhook_events_gateway_event", columnNames = {"gateway", "event_id"}),
+    indexes = @Index(name = "idx_webhook_events_status_received", columnList = "status, received_at"))
+public class PaymentWebhookEvent {
+    
+    // Pooled sequence so a batch of events is one JDBC batch insert
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_webhook_events_seq")
+    @SequenceGenerator(name = "payment_webhook_events_seq", sequenceName = "payment_webhook_events_id_seq", allocationSize = 50)
+    private Long id;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "gateway", nullable = false, updatable = false)
+    private PaymentMethod gateway;
+    
+    @NotNull
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private String eventId;
+    
+    @Column(name = "event_type", updatable = false)
+    private String eventType;
+    
+    // Our payment_id, when the gateway echoes it back (Razorpay receipt/notes, Stripe metadata)
+    @Column(name = "payment_reference", updatable = false)
+    private String paymentReference;
+    
+    @Column(name = "gateway_payment_id", updatable = false)
+    private String gatewayPaymentId;
+    
+    @Column(name = "gateway_order_id", updatable = false)
+    private String gatewayOrderId;
+    
+    // Amount in the smallest currency unit, as the gateway reports it
+    @Column(name = "amount_minor", updatable = false)
+    private Long amountMinor;
+    
+    @Column(name = "failure_reason", updatable = false)
+    private String failureReason;
+    
+    @Column(name = "payload", columnDefinition = "TEXT", updatable = false)
+    private String payload;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private WebhookEventStatus status = WebhookEventStatus.RECEIVED;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "last_error")
+    private String lastError;
+    
+    @NotNull
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+    
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+    
+    // Constructors
+    public PaymentWebhookEvent() {}
+    
+    public PaymentWebhookEvent(PaymentMethod gateway, String eventId, String eventType, String payload) {
+        this.gateway = gateway;
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.receivedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Idempotency key, unique across gateways
+     */
+    public String getIdempotencyKey() {
+        return gateway + ":" + eventId;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public PaymentMethod getGateway() {
+        return gateway;
+    }
+    
+    public void setGateway(PaymentMethod gateway) {
+        this.gateway = gateway;
+    }
+    
+    public String getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+    
+    public String getPaymentReference() {
+        return paymentReference;
+    }
+    
+    public void setPaymentReference(String paymentReference) {
+        this.paymentReference = paymentReference;
+    }
+    
+    public String getGatewayPaymentId() {
+        return gatewayPaymentId;
+    }
+    
+    public void setGatewayPaymentId(String gatewayPaymentId) {
+        this.gatewayPaymentId = gatewayPaymentId;
+    }
+    
+    public String getGatewayOrderId() {
+        return gatewayOrderId;
+    }
+    
+    public void setGatewayOrderId(String gatewayOrderId) {
+        this.gatewayOrderId = gatewayOrderId;
+    }
+    
+    public Long getAmountMinor() {
+        return amountMinor;
+    }
+    
+    public void setAmountMinor(Long amountMinor) {
+        this.amountMinor = amountMinor;
+    }
+    
+    public String getFailureReason() {
+        return failureReason;
+    }
+    
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public WebhookEventStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(WebhookEventStatus status) {
+        this.status = status;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+    
+    public void setReceivedAt(LocalDateTime receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+    
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+    
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+}
@@ -0,0 +1,91 @@
+package com.atomix.cafeteria.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One submitted rating for a vendor or menu item.
+ *
+ * Rows are only ever inserted. The averages on vendors and menu_items are
+ * folded from these by RatingAggregationService, so every rating stays on
+ * record even though the averages are written in batches.
+ */
+@Entity
+@Table(name = "rating_events",
+    indexes = @Index(name = "idx_rating_events_target", columnList = "target_type, target_id, created_at"))
+public class RatingEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, updatable = false)
+    private RatingTarget targetType;
+    
+    @NotNull
+    @Column(name = "target_id", nullable = false, updatable = false)
+    private Long targetId;
+    
+    @NotNull
+    @Column(nullable = false, updatable = false, precision = 3, scale = 2)
+    private BigDecimal rating;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public RatingEvent() {}
+    
+    public RatingEvent(RatingTarget targetType, Long targetId, BigDecimal rating) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.rating = rating;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public RatingTarget getTargetType() {
+        return targetType;
+    }
+    
+    public void setTargetType(RatingTarget targetType) {
+        this.targetType = targetType;
+    }
+    
+    public Long getTargetId() {
+        return targetId;
+    }
+    
+    public void setTargetId(Long targetId) {
+        this.targetId = targetId;
+    }
+    
+    public BigDecimal getRating() {
+        return rating;
+    }
+    
+    public void setRating(BigDecimal rating) {
+        this.rating = rating;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
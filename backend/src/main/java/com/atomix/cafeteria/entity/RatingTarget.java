@@ -0,0 +1,6 @@
+package com.atomix.cafeteria.entity;
+
+public enum RatingTarget {
+    VENDOR,
+    MENU_ITEM
+}
@@ -1,5 +1,6 @@
 package com.atomix.cafeteria.entity;
 
+import com.atomix.cafeteria.security.UserPrincipalCacheListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,12 +9,13 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
 @Table(name = "users")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserPrincipalCacheListener.class})
 public class User {
     
     @Id
@@ -78,8 +80,12 @@ public class User {
     private String providerId;
     
     // Food card balance for employees
-    @Column(name = "food_card_balance")
-    private Double foodCardBalance = 0.0;
+    @Column(name = "food_card_balance", precision = 10, scale = 2)
+    private BigDecimal foodCardBalance = BigDecimal.ZERO;
+    
+    // Email as last read from or written to the database, so listeners can see a change
+    @Transient
+    private String persistedEmail;
     
     // Constructors
     public User() {}
@@ -229,11 +235,22 @@ public class User {
         this.providerId = providerId;
     }
     
-    public Double getFoodCardBalance() {
+    public BigDecimal getFoodCardBalance() {
         return foodCardBalance;
     }
     
-    public void setFoodCardBalance(Double foodCardBalance) {
+    public void setFoodCardBalance(BigDecimal foodCardBalance) {
         this.foodCardBalance = foodCardBalance;
     }
+    
+    public String getPersistedEmail() {
+        return persistedEmail;
+    }
+    
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedEmail() {
+        this.persistedEmail = email;
+    }
 } 
\ No newline at end of file
@@ -74,11 +74,11 @@ public class Vendor {
     @Column(name = "temporary_end_date")
     private LocalDateTime temporaryEndDate;
     
-    // Rating and reviews
-    @Column(name = "average_rating")
+    // Rating and reviews; only RatingAggregationService's in-place UPDATE changes them
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating = 0.0;
     
-    @Column(name = "total_reviews")
+    @Column(name = "total_reviews", updatable = false)
     private Integer totalReviews = 0;
     
     // Menu items relationship
@@ -0,0 +1,8 @@
+package com.atomix.cafeteria.entity;
+
+public enum WebhookEventStatus {
+    RECEIVED,
+    PROCESSED,
+    IGNORED,
+    FAILED
+}
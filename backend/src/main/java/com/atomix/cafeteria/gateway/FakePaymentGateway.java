@@ -0,0 +1,77 @@
+package com.atomix.cafeteria.gateway;
+
+import com.atomix.cafeteria.cache.BoundedTtlCache;
+import com.atomix.cafeteria.entity.PaymentMethod;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for a gateway, for load tests without the network.
+ *
+ * Calls sleep for a configurable latency and fail at a configurable rate.
+ * Every order is paid at once: a Razorpay order "order_fake_N" is paid by
+ * "pay_fake_N", and a Stripe intent "pi_fake_N" reports succeeded.
+ */
+public class FakePaymentGateway implements PaymentGateway {
+
+    private static final long TTL_MS = 3_600_000;
+
+    private final PaymentMethod method;
+    private final long latencyMs;
+    private final double failureRate;
+    private final AtomicLong sequence = new AtomicLong();
+    private final BoundedTtlCache<String, Long> amounts = new BoundedTtlCache<>(100_000);
+
+    public FakePaymentGateway(PaymentMethod method, long latencyMs, double failureRate) {
+        this.method = method;
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public PaymentMethod getMethod() {
+        return method;
+    }
+
+    @Override
+    public GatewayOrder createOrder(String paymentId, long amountMinor, String currency, Long userId) throws Exception {
+        simulateCall();
+        long n = sequence.incrementAndGet();
+        if (method == PaymentMethod.STRIPE) {
+            String intentId = "pi_fake_" + n;
+            amounts.put(intentId, amountMinor, System.currentTimeMillis() + TTL_MS);
+            return new GatewayOrder(null, intentId, intentId + "_secret_fake");
+        }
+        amounts.put("pay_fake_" + n, amountMinor, System.currentTimeMillis() + TTL_MS);
+        return new GatewayOrder("order_fake_" + n, null, null);
+    }
+
+    @Override
+    public GatewayPayment fetchPayment(String gatewayPaymentId) throws Exception {
+        simulateCall();
+        Long amount = amounts.get(gatewayPaymentId);
+        if (amount == null) {
+            return new GatewayPayment(gatewayPaymentId, "failed", false, 0);
+        }
+        String status = method == PaymentMethod.STRIPE ? "succeeded" : "captured";
+        return new GatewayPayment(gatewayPaymentId, status, true, amount);
+    }
+
+    @Override
+    public GatewayPayment fetchOrder(String gatewayOrderId) throws Exception {
+        if (method == PaymentMethod.STRIPE) {
+            return fetchPayment(gatewayOrderId.replace("_secret_fake", ""));
+        }
+        return fetchPayment(gatewayOrderId.replace("order_fake_", "pay_fake_"));
+    }
+
+    private void simulateCall() throws Exception {
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new RuntimeException("Simulated " + method + " gateway failure");
+        }
+    }
+}
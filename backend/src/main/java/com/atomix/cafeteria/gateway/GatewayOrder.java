@@ -0,0 +1,40 @@
+package com.atomix.cafeteria.gateway;
+
+/**
+ * What a gateway returns when an order or payment intent is created
+ */
+public class GatewayOrder {
+
+    private final String gatewayOrderId;
+    private final String gatewayPaymentId;
+    private final String clientSecret;
+
+    public GatewayOrder(String gatewayOrderId, String gatewayPaymentId, String clientSecret) {
+        this.gatewayOrderId = gatewayOrderId;
+        this.gatewayPaymentId = gatewayPaymentId;
+        this.clientSecret = clientSecret;
+    }
+
+    // Getters
+
+    /**
+     * Razorpay order id; null for Stripe
+     */
+    public String getGatewayOrderId() {
+        return gatewayOrderId;
+    }
+
+    /**
+     * Stripe payment intent id; null for Razorpay until the customer pays
+     */
+    public String getGatewayPaymentId() {
+        return gatewayPaymentId;
+    }
+
+    /**
+     * Stripe client secret for the frontend; null for Razorpay
+     */
+    public String getClientSecret() {
+        return clientSecret;
+    }
+}
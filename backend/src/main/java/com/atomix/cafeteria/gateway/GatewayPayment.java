@@ -0,0 +1,43 @@
+package com.atomix.cafeteria.gateway;
+
+/**
+ * A payment as the gateway reports it
+ */
+public class GatewayPayment {
+
+    private final String gatewayPaymentId;
+    private final String status;
+    private final boolean paid;
+    private final long amountMinor;
+
+    public GatewayPayment(String gatewayPaymentId, String status, boolean paid, long amountMinor) {
+        this.gatewayPaymentId = gatewayPaymentId;
+        this.status = status;
+        this.paid = paid;
+        this.amountMinor = amountMinor;
+    }
+
+    // Getters
+
+    public String getGatewayPaymentId() {
+        return gatewayPaymentId;
+    }
+
+    /**
+     * Raw gateway status, e.g. "captured" or "succeeded"
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * True once the money has been captured
+     */
+    public boolean isPaid() {
+        return paid;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+}
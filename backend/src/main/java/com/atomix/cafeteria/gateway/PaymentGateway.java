@@ -0,0 +1,30 @@
+package com.atomix.cafeteria.gateway;
+
+import com.atomix.cafeteria.entity.PaymentMethod;
+
+/**
+ * Blocking calls to one payment gateway. Callers never use these directly;
+ * PaymentGatewayClient runs them off the request thread, outside any
+ * transaction, behind a bulkhead, timeout and circuit breaker.
+ */
+public interface PaymentGateway {
+
+    PaymentMethod getMethod();
+
+    /**
+     * Create the gateway-side order or payment intent for one of our payments
+     */
+    GatewayOrder createOrder(String paymentId, long amountMinor, String currency, Long userId) throws Exception;
+
+    /**
+     * Current state of a payment at the gateway
+     */
+    GatewayPayment fetchPayment(String gatewayPaymentId) throws Exception;
+
+    /**
+     * Current state of the payment behind a gateway order, for payments
+     * that never reported a gateway payment id. The result has a null
+     * gateway payment id if nothing has been attempted yet.
+     */
+    GatewayPayment fetchOrder(String gatewayOrderId) throws Exception;
+}
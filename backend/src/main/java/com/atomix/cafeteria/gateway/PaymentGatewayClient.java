@@ -0,0 +1,134 @@
+package com.atomix.cafeteria.gateway;
+
+import com.atomix.cafeteria.entity.PaymentMethod;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Runs gateway calls on virtual threads and hands back futures, so no
+ * request thread, transaction or database connection waits on the network.
+ *
+ * Each gateway gets its own bulkhead (a cap on calls in flight, so a slow
+ * Stripe cannot starve Razorpay), a timeout and a circuit breaker. Refused
+ * and failed calls complete the future with a RuntimeException whose
+ * message is safe to record as a failure reason.
+ */
+@Component
+public class PaymentGatewayClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentGatewayClient.class);
+
+    private final Map<PaymentMethod, Lane> lanes = new EnumMap<>(PaymentMethod.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMs;
+
+    public PaymentGatewayClient(List<PaymentGateway> gateways,
+                                @Value("${app.payment.gateway.max-concurrent-calls:50}") int maxConcurrentCalls,
+                                @Value("${app.payment.gateway.timeout-ms:5000}") long timeoutMs,
+                                @Value("${app.payment.gateway.circuit.failure-threshold:5}") int failureThreshold,
+                                @Value("${app.payment.gateway.circuit.open-ms:30000}") long openMs) {
+        this.timeoutMs = timeoutMs;
+        for (PaymentGateway gateway : gateways) {
+            lanes.put(gateway.getMethod(), new Lane(gateway, new Semaphore(maxConcurrentCalls),
+                new CircuitBreaker(failureThreshold, openMs)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean supports(PaymentMethod method) {
+        return lanes.containsKey(method);
+    }
+
+    public CompletableFuture<GatewayOrder> createOrder(PaymentMethod method, String paymentId, long amountMinor,
+                                                       String currency, Long userId) {
+        return call(method, gateway -> gateway.createOrder(paymentId, amountMinor, currency, userId));
+    }
+
+    public CompletableFuture<GatewayPayment> fetchPayment(PaymentMethod method, String gatewayPaymentId) {
+        return call(method, gateway -> gateway.fetchPayment(gatewayPaymentId));
+    }
+
+    public CompletableFuture<GatewayPayment> fetchOrder(PaymentMethod method, String gatewayOrderId) {
+        return call(method, gateway -> gateway.fetchOrder(gatewayOrderId));
+    }
+
+    /**
+     * Circuit state for a gateway, or null if it is not configured
+     */
+    public CircuitBreaker.State getCircuitState(PaymentMethod method) {
+        Lane lane = lanes.get(method);
+        return lane != null ? lane.breaker.getState() : null;
+    }
+
+    private <T> CompletableFuture<T> call(PaymentMethod method, GatewayCall<T> call) {
+        Lane lane = lanes.get(method);
+        if (lane == null) {
+            return CompletableFuture.failedFuture(new RuntimeException("No gateway configured for " + method.getDisplayName()));
+        }
+        if (!lane.bulkhead.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RuntimeException(method.getDisplayName() + " is busy, please retry"));
+        }
+        if (!lane.breaker.tryAcquire(System.currentTimeMillis())) {
+            lane.bulkhead.release();
+            return CompletableFuture.failedFuture(new RuntimeException(method.getDisplayName() + " is temporarily unavailable"));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(call.call(lane.gateway));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                // Held until the call really ends, so the bulkhead bounds calls in flight even past a timeout
+                lane.bulkhead.release();
+            }
+        });
+
+        // Continue on a virtual thread, never on the timeout scheduler
+        return result.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).handleAsync((value, error) -> {
+            if (error == null) {
+                lane.breaker.onSuccess();
+                return value;
+            }
+            lane.breaker.onFailure(System.currentTimeMillis());
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                task.cancel(true);
+                logger.warn("{} call timed out after {} ms", method.getDisplayName(), timeoutMs);
+                throw new CompletionException(new RuntimeException(method.getDisplayName() + " did not respond in time"));
+            }
+            logger.warn("{} call failed: {}", method.getDisplayName(), cause.getMessage());
+            throw new CompletionException(cause);
+        }, executor);
+    }
+
+    @FunctionalInterface
+    private interface GatewayCall<T> {
+        T call(PaymentGateway gateway) throws Exception;
+    }
+
+    private static class Lane {
+        private final PaymentGateway gateway;
+        private final Semaphore bulkhead;
+        private final CircuitBreaker breaker;
+
+        private Lane(PaymentGateway gateway, Semaphore bulkhead, CircuitBreaker breaker) {
+            this.gateway = gateway;
+            this.bulkhead = bulkhead;
+            this.breaker = breaker;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.atomix.cafeteria.gateway;
+
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.razorpay.Order;
+import com.razorpay.Payment;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import org.json.JSONObject;
+
+import java.util.List;
+
+public class RazorpayPaymentGateway implements PaymentGateway {
+
+    private final String keyId;
+    private final String keySecret;
+    private volatile RazorpayClient client;
+
+    public RazorpayPaymentGateway(String keyId, String keySecret) {
+        this.keyId = keyId;
+        this.keySecret = keySecret;
+    }
+
+    @Override
+    public PaymentMethod getMethod() {
+        return PaymentMethod.RAZORPAY;
+    }
+
+    @Override
+    public GatewayOrder createOrder(String paymentId, long amountMinor, String currency, Long userId) throws RazorpayException {
+        JSONObject orderRequest = new JSONObject();
+        orderRequest.put("amount", amountMinor);
+        orderRequest.put("currency", currency);
+        orderRequest.put("receipt", paymentId);
+
+        Order order = client().orders.create(orderRequest);
+        return new GatewayOrder(order.get("id"), null, null);
+    }
+
+    @Override
+    public GatewayPayment fetchPayment(String gatewayPaymentId) throws RazorpayException {
+        return toGatewayPayment(client().payments.fetch(gatewayPaymentId));
+    }
+
+    @Override
+    public GatewayPayment fetchOrder(String gatewayOrderId) throws RazorpayException {
+        // An order collects one payment per attempt; a captured one settles it
+        List<Payment> attempts = client().orders.fetchPayments(gatewayOrderId);
+        Payment latest = null;
+        for (Payment payment : attempts) {
+            if ("captured".equals(payment.get("status"))) {
+                return toGatewayPayment(payment);
+            }
+            latest = payment;
+        }
+        return latest != null ? toGatewayPayment(latest) : new GatewayPayment(null, "created", false, 0);
+    }
+
+    private static GatewayPayment toGatewayPayment(Payment payment) {
+        String status = payment.get("status");
+        Number amount = payment.get("amount");
+        return new GatewayPayment(payment.get("id"), status, "captured".equals(status), amount.longValue());
+    }
+
+    private RazorpayClient client() throws RazorpayException {
+        RazorpayClient current = client;
+        if (current == null) {
+            synchronized (this) {
+                if (client == null) {
+                    client = new RazorpayClient(keyId, keySecret);
+                }
+                current = client;
+            }
+        }
+        return current;
+    }
+}
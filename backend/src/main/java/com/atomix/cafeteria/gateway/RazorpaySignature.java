@@ -0,0 +1,39 @@
+package com.atomix.cafeteria.gateway;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Signature Razorpay Checkout returns with a successful payment: hex
+ * HMAC-SHA256 of "orderId|paymentId" under the API key secret.
+ */
+public final class RazorpaySignature {
+
+    private RazorpaySignature() {
+    }
+
+    public static String sign(String keySecret, String orderId, String paymentId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(keySecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal((orderId + "|" + paymentId).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("HmacSHA256 is not available", e);
+        }
+    }
+
+    /**
+     * Constant-time check of a signature sent back by the client
+     */
+    public static boolean matches(String keySecret, String orderId, String paymentId, String signature) {
+        if (signature == null) {
+            return false;
+        }
+        String expected = sign(keySecret, orderId, paymentId);
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII), signature.getBytes(StandardCharsets.US_ASCII));
+    }
+}
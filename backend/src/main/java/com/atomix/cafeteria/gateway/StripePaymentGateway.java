@@ -0,0 +1,49 @@
+package com.atomix.cafeteria.gateway;
+
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCreateParams;
+
+public class StripePaymentGateway implements PaymentGateway {
+
+    // Per-request key rather than the global Stripe.apiKey
+    private final RequestOptions requestOptions;
+
+    public StripePaymentGateway(String secretKey) {
+        this.requestOptions = RequestOptions.builder().setApiKey(secretKey).build();
+    }
+
+    @Override
+    public PaymentMethod getMethod() {
+        return PaymentMethod.STRIPE;
+    }
+
+    @Override
+    public GatewayOrder createOrder(String paymentId, long amountMinor, String currency, Long userId) throws StripeException {
+        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
+            .setAmount(amountMinor)
+            .setCurrency(currency.toLowerCase())
+            .putMetadata("payment_id", paymentId)
+            .putMetadata("user_id", String.valueOf(userId))
+            .build();
+
+        PaymentIntent paymentIntent = PaymentIntent.create(params, requestOptions);
+        return new GatewayOrder(null, paymentIntent.getId(), paymentIntent.getClientSecret());
+    }
+
+    @Override
+    public GatewayPayment fetchPayment(String gatewayPaymentId) throws StripeException {
+        PaymentIntent paymentIntent = PaymentIntent.retrieve(gatewayPaymentId, requestOptions);
+        return new GatewayPayment(gatewayPaymentId, paymentIntent.getStatus(),
+            "succeeded".equals(paymentIntent.getStatus()), paymentIntent.getAmount());
+    }
+
+    @Override
+    public GatewayPayment fetchOrder(String gatewayOrderId) throws StripeException {
+        // Stripe payments keep the client secret here, which starts with the intent id
+        int end = gatewayOrderId.indexOf("_secret_");
+        return fetchPayment(end > 0 ? gatewayOrderId.substring(0, end) : gatewayOrderId);
+    }
+}
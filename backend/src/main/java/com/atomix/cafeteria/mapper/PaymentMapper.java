@@ -0,0 +1,82 @@
+package com.atomix.cafeteria.mapper;
+
+import com.atomix.cafeteria.dto.PaymentHistoryResponse;
+import com.atomix.cafeteria.dto.PaymentResponse;
+import com.atomix.cafeteria.entity.Payment;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentStatus;
+import com.atomix.cafeteria.entity.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Plain getter/setter mapping from payments to their DTOs
+ */
+public final class PaymentMapper {
+
+    private PaymentMapper() {
+    }
+
+    public static PaymentResponse toResponse(Payment payment) {
+        PaymentResponse response = new PaymentResponse();
+        response.setPaymentId(payment.getPaymentId());
+        response.setGatewayPaymentId(payment.getGatewayPaymentId());
+        response.setGatewayOrderId(payment.getGatewayOrderId());
+        response.setAmount(payment.getAmount());
+        response.setPaymentMethod(payment.getPaymentMethod());
+        response.setPaymentStatus(payment.getPaymentStatus());
+        response.setPaymentType(payment.getPaymentType());
+        response.setCurrency(payment.getGatewayCurrency());
+        response.setDescription(payment.getDescription());
+        response.setFailureReason(payment.getFailureReason());
+        response.setCreatedAt(payment.getCreatedAt());
+        response.setProcessedAt(payment.getProcessedAt());
+        return response;
+    }
+
+    /**
+     * Map a history row. The order number is only read when the order is
+     * already loaded or the caller accepts the extra select.
+     */
+    public static PaymentHistoryResponse toHistoryResponse(Payment payment) {
+        PaymentHistoryResponse response = new PaymentHistoryResponse();
+        response.setId(payment.getId());
+        response.setPaymentId(payment.getPaymentId());
+        response.setAmount(payment.getAmount());
+        response.setPaymentMethod(payment.getPaymentMethod());
+        response.setPaymentStatus(payment.getPaymentStatus());
+        response.setPaymentType(payment.getPaymentType());
+        response.setDescription(payment.getDescription());
+        response.setFailureReason(payment.getFailureReason());
+        response.setRefundAmount(payment.getRefundAmount());
+        response.setCreatedAt(payment.getCreatedAt());
+        response.setProcessedAt(payment.getProcessedAt());
+        response.setFailedAt(payment.getFailedAt());
+        if (payment.getOrder() != null) {
+            response.setOrderNumber(payment.getOrder().getOrderNumber());
+        }
+        return response;
+    }
+
+    /**
+     * Map a row of PaymentRepository.findHistoryRows
+     */
+    public static PaymentHistoryResponse toHistoryResponse(Object[] row) {
+        PaymentHistoryResponse response = new PaymentHistoryResponse();
+        response.setId((Long) row[0]);
+        response.setPaymentId((String) row[1]);
+        response.setAmount((BigDecimal) row[2]);
+        response.setPaymentMethod((PaymentMethod) row[3]);
+        response.setPaymentStatus((PaymentStatus) row[4]);
+        response.setPaymentType((PaymentType) row[5]);
+        response.setDescription((String) row[6]);
+        response.setFailureReason((String) row[7]);
+        response.setRefundAmount((BigDecimal) row[8]);
+        response.setCreatedAt((LocalDateTime) row[9]);
+        response.setProcessedAt((LocalDateTime) row[10]);
+        response.setFailedAt((LocalDateTime) row[11]);
+        response.setOrderNumber((String) row[12]);
+        return response;
+    }
+}
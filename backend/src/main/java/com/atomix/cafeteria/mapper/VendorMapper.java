@@ -0,0 +1,73 @@
+package com.atomix.cafeteria.mapper;
+
+import com.atomix.cafeteria.dto.VendorRequest;
+import com.atomix.cafeteria.dto.VendorResponse;
+import com.atomix.cafeteria.entity.Vendor;
+
+import java.util.ArrayList;
+
+/**
+ * Plain getter/setter mapping between vendors and their DTOs.
+ */
+public final class VendorMapper {
+
+    private VendorMapper() {
+    }
+
+    /**
+     * @param totalMenuItems menu item count, supplied by the caller from a
+     *                       count query so the lazy menuItems collection is
+     *                       never initialized
+     */
+    public static VendorResponse toResponse(Vendor vendor, int totalMenuItems) {
+        VendorResponse response = new VendorResponse();
+        response.setId(vendor.getId());
+        response.setName(vendor.getName());
+        response.setDescription(vendor.getDescription());
+        response.setContactEmail(vendor.getContactEmail());
+        response.setContactPhone(vendor.getContactPhone());
+        response.setContactPerson(vendor.getContactPerson());
+        response.setBusinessLicense(vendor.getBusinessLicense());
+        response.setLogoUrl(vendor.getLogoUrl());
+        response.setStatus(vendor.getStatus());
+        response.setStatusDisplayName(vendor.getStatus() != null ? vendor.getStatus().getDisplayName() : null);
+        response.setIsActive(vendor.getIsActive());
+        response.setOperatingHours(vendor.getOperatingHours());
+        response.setLocationDescription(vendor.getLocationDescription());
+        response.setFloorIds(vendor.getFloorIds() != null ? new ArrayList<>(vendor.getFloorIds()) : null);
+        response.setVendorType(vendor.getVendorType());
+        response.setVendorTypeDisplayName(vendor.getVendorType() != null ? vendor.getVendorType().getDisplayName() : null);
+        response.setTemporaryStartDate(vendor.getTemporaryStartDate());
+        response.setTemporaryEndDate(vendor.getTemporaryEndDate());
+        response.setAverageRating(vendor.getAverageRating());
+        response.setTotalReviews(vendor.getTotalReviews());
+        response.setTotalMenuItems(totalMenuItems);
+        response.setIsCurrentlyActive(vendor.isCurrentlyActive());
+        response.setIsTemporary(vendor.isTemporary());
+        response.setCreatedAt(vendor.getCreatedAt());
+        response.setUpdatedAt(vendor.getUpdatedAt());
+        return response;
+    }
+
+    public static Vendor toEntity(VendorRequest request) {
+        Vendor vendor = new Vendor();
+        vendor.setName(request.getName());
+        vendor.setDescription(request.getDescription());
+        vendor.setContactEmail(request.getContactEmail());
+        vendor.setContactPhone(request.getContactPhone());
+        vendor.setContactPerson(request.getContactPerson());
+        vendor.setBusinessLicense(request.getBusinessLicense());
+        vendor.setLogoUrl(request.getLogoUrl());
+        vendor.setOperatingHours(request.getOperatingHours());
+        vendor.setLocationDescription(request.getLocationDescription());
+        if (request.getFloorIds() != null) {
+            vendor.setFloorIds(new ArrayList<>(request.getFloorIds()));
+        }
+        if (request.getVendorType() != null) {
+            vendor.setVendorType(request.getVendorType());
+        }
+        vendor.setTemporaryStartDate(request.getTemporaryStartDate());
+        vendor.setTemporaryEndDate(request.getTemporaryEndDate());
+        return vendor;
+    }
+}
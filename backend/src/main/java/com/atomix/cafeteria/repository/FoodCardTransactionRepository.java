@@ -0,0 +1,13 @@
+package com.atomix.cafeteria.repository;
+
+import com.atomix.cafeteria.entity.FoodCardTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FoodCardTransactionRepository extends JpaRepository<FoodCardTransaction, Long> {
+    
+    Page<FoodCardTransaction> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+}
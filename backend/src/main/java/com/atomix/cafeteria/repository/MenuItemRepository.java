@@ -3,11 +3,14 @@ package com.atomix.cafeteria.repository;
 import com.atomix.cafeteria.entity.MenuItem;
 import com.atomix.cafeteria.entity.MenuCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -44,9 +47,6 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     
     List<MenuItem> findByCaloriesLessThanEqual(Integer maxCalories);
     
-    @Query("SELECT m FROM MenuItem m ORDER BY m.votesCount DESC")
-    List<MenuItem> findTopByOrderByVotesCountDesc(@Param("limit") int limit);
-    
     List<MenuItem> findByRatingGreaterThanOrderByRatingDesc(Double minRating);
     
     @Query("SELECT m FROM MenuItem m WHERE m.isAvailable = true AND m.preparationTime <= :maxTime")
@@ -62,4 +62,33 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
            "m.availableFrom <= CURRENT_TIMESTAMP AND " +
            "m.availableUntil >= CURRENT_TIMESTAMP")
     List<MenuItem> findCurrentlyAvailableMenuItems();
-} 
\ No newline at end of file
+    
+    // Element collections for every item as (menuItemId, value) pairs; used to
+    // bulk-build the menu catalog without one select per item
+    @Query("SELECT m.id, t FROM MenuItem m JOIN m.tags t")
+    List<Object[]> findAllTagPairs();
+    
+    @Query("SELECT m.id, i FROM MenuItem m JOIN m.ingredients i")
+    List<Object[]> findAllIngredientPairs();
+    
+    // Fold a batch of ratings into the average in place, so concurrent flushes never overwrite each other
+    @Modifying
+    @Query("UPDATE MenuItem m SET " +
+           "m.rating = (COALESCE(m.rating, 0) * COALESCE(m.ratingCount, 0) + :sum) / (COALESCE(m.ratingCount, 0) + :count), " +
+           "m.ratingCount = COALESCE(m.ratingCount, 0) + :count, m.updatedAt = :now " +
+           "WHERE m.id = :id AND COALESCE(m.ratingCount, 0) + :count > 0")
+    int addRatings(@Param("id") Long id,
+                   @Param("sum") BigDecimal sum,
+                   @Param("count") int count,
+                   @Param("now") LocalDateTime now);
+    
+    // Absolute stock for a restock; quantity_available is not written by entity saves
+    @Modifying
+    @Query("UPDATE MenuItem m SET m.isLimitedQuantity = true, m.quantityAvailable = :quantity, m.updatedAt = :now " +
+           "WHERE m.id = :id")
+    int setStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+    
+    // (id, rating) pairs, to read back averages after addRatings
+    @Query("SELECT m.id, m.rating FROM MenuItem m WHERE m.id IN :ids")
+    List<Object[]> findRatingsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,56 @@
+package com.atomix.cafeteria.repository;
+
+import com.atomix.cafeteria.entity.Order;
+import com.atomix.cafeteria.entity.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+    
+    // Find by order number, with items for detail views
+    @EntityGraph(attributePaths = "orderItems")
+    Optional<Order> findByOrderNumber(String orderNumber);
+    
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+    
+    // Owning vendor of an order, for access checks
+    @Query("SELECT o.vendor.id FROM Order o WHERE o.id = :id")
+    Optional<Long> findVendorIdById(@Param("id") Long id);
+    
+    // Orders by user (ids only; items fetched separately to keep pagination in the database)
+    Page<Order> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    
+    // Orders by vendor and status
+    Page<Order> findByVendorIdAndStatusInOrderByCreatedAtAsc(Long vendorId, Collection<OrderStatus> statuses, Pageable pageable);
+    
+    // Active orders for a vendor's kitchen queue, loaded once per vendor
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT DISTINCT o FROM Order o WHERE o.vendor.id = :vendorId AND o.status IN :statuses")
+    List<Order> findWithItemsByVendorIdAndStatusIn(@Param("vendorId") Long vendorId,
+                                                   @Param("statuses") Collection<OrderStatus> statuses);
+    
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT DISTINCT o FROM Order o WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Count orders by status
+    long countByStatus(OrderStatus status);
+    
+    // Orders in a status since a point in time
+    @Query("SELECT o FROM Order o WHERE o.status IN :statuses AND o.createdAt >= :since ORDER BY o.createdAt ASC")
+    List<Order> findByStatusInCreatedSince(@Param("statuses") Collection<OrderStatus> statuses,
+                                          @Param("since") LocalDateTime since);
+}
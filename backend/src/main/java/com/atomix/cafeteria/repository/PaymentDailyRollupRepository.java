@@ -0,0 +1,48 @@
+package com.atomix.cafeteria.repository;
+
+import com.atomix.cafeteria.entity.PaymentDailyRollup;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentStatus;
+import com.atomix.cafeteria.entity.PaymentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PaymentDailyRollupRepository extends JpaRepository<PaymentDailyRollup, Long> {
+    
+    // Add a delta in place, so concurrent flushes never overwrite each other; returns 0 if the row does not exist yet
+    @Modifying
+    @Query("UPDATE PaymentDailyRollup r SET r.paymentCount = r.paymentCount + :count, " +
+           "r.totalAmount = r.totalAmount + :amount, r.updatedAt = :now " +
+           "WHERE r.rollupDate = :day AND r.paymentStatus = :status AND r.paymentMethod = :method AND r.paymentType = :type")
+    int increment(@Param("day") LocalDate day,
+                  @Param("status") PaymentStatus status,
+                  @Param("method") PaymentMethod method,
+                  @Param("type") PaymentType type,
+                  @Param("count") long count,
+                  @Param("amount") BigDecimal amount,
+                  @Param("now") LocalDateTime now);
+    
+    // Count and total per status over all days
+    @Query("SELECT r.paymentStatus, SUM(r.paymentCount), COALESCE(SUM(r.totalAmount), 0) FROM PaymentDailyRollup r " +
+           "GROUP BY r.paymentStatus")
+    List<Object[]> sumByStatus();
+    
+    // Count and total of payments created per day
+    @Query("SELECT r.rollupDate, SUM(r.paymentCount), COALESCE(SUM(r.totalAmount), 0) FROM PaymentDailyRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<Object[]> sumByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Modifying
+    @Query("DELETE FROM PaymentDailyRollup r WHERE r.rollupDate BETWEEN :startDate AND :endDate")
+    int deleteByRollupDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -6,6 +6,7 @@ import com.atomix.cafeteria.entity.PaymentType;
 import com.atomix.cafeteria.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,9 +30,40 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // Find by gateway order ID
     Optional<Payment> findByGatewayOrderId(String gatewayOrderId);
     
+    // Payments referred to by a batch of webhook events, with their orders
+    @EntityGraph(attributePaths = "order")
+    List<Payment> findByPaymentIdIn(Collection<String> paymentIds);
+    
+    @EntityGraph(attributePaths = "order")
+    List<Payment> findByGatewayPaymentIdIn(Collection<String> gatewayPaymentIds);
+    
+    @EntityGraph(attributePaths = "order")
+    List<Payment> findByGatewayOrderIdIn(Collection<String> gatewayOrderIds);
+    
     // Find payments by user
     Page<Payment> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
     
+    // Same, by user id and with orders, for offset-paged history
+    @EntityGraph(attributePaths = "order")
+    Page<Payment> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    
+    // Payment history rows newest first, one keyset page at a time, with the order number joined in
+    @Query("SELECT p.id, p.paymentId, p.amount, p.paymentMethod, p.paymentStatus, p.paymentType, p.description, " +
+           "p.failureReason, p.refundAmount, p.createdAt, p.processedAt, p.failedAt, o.orderNumber " +
+           "FROM Payment p LEFT JOIN p.order o WHERE p.user.id = :userId " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Object[]> findHistoryRows(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT p.id, p.paymentId, p.amount, p.paymentMethod, p.paymentStatus, p.paymentType, p.description, " +
+           "p.failureReason, p.refundAmount, p.createdAt, p.processedAt, p.failedAt, o.orderNumber " +
+           "FROM Payment p LEFT JOIN p.order o WHERE p.user.id = :userId " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Object[]> findHistoryRowsBefore(@Param("userId") Long userId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+    
     // Find payments by user and payment type
     Page<Payment> findByUserAndPaymentTypeOrderByCreatedAtDesc(User user, PaymentType paymentType, Pageable pageable);
     
@@ -51,6 +84,13 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findPendingPaymentsOlderThan(@Param("status") PaymentStatus status, 
                                               @Param("dateTime") LocalDateTime dateTime);
     
+    // Same, one keyset page at a time in id order
+    @Query("SELECT p FROM Payment p WHERE p.paymentStatus = :status AND p.createdAt < :dateTime AND p.id > :afterId ORDER BY p.id")
+    List<Payment> findPendingPaymentsOlderThan(@Param("status") PaymentStatus status, 
+                                              @Param("dateTime") LocalDateTime dateTime,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+    
     // Get total successful payment amount by user
     @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.user = :user AND p.paymentStatus = :status")
     BigDecimal getTotalSuccessfulPaymentAmount(@Param("user") User user, @Param("status") PaymentStatus status);
@@ -67,16 +107,14 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // Count payments by payment type
     long countByPaymentType(PaymentType paymentType);
     
-    // Get payment statistics
-    @Query("SELECT p.paymentStatus, COUNT(p), COALESCE(SUM(p.amount), 0) FROM Payment p GROUP BY p.paymentStatus")
-    List<Object[]> getPaymentStatistics();
-    
-    // Get daily payment summary
-    @Query("SELECT DATE(p.createdAt), COUNT(p), COALESCE(SUM(p.amount), 0) FROM Payment p " +
-           "WHERE p.createdAt BETWEEN :startDate AND :endDate " +
-           "GROUP BY DATE(p.createdAt) ORDER BY DATE(p.createdAt)")
-    List<Object[]> getDailyPaymentSummary(@Param("startDate") LocalDateTime startDate, 
-                                        @Param("endDate") LocalDateTime endDate);
+    // Payments per created day, status, method and type, for rebuilding the analytics rollups;
+    // dashboards read PaymentDailyRollupRepository instead of grouping this table
+    @Query("SELECT CAST(p.createdAt AS LocalDate), p.paymentStatus, p.paymentMethod, p.paymentType, " +
+           "COUNT(p), COALESCE(SUM(p.amount), 0) FROM Payment p " +
+           "WHERE p.createdAt >= :startDate AND p.createdAt < :endDate " +
+           "GROUP BY CAST(p.createdAt AS LocalDate), p.paymentStatus, p.paymentMethod, p.paymentType")
+    List<Object[]> getDailyRollupRows(@Param("startDate") LocalDateTime startDate, 
+                                     @Param("endDate") LocalDateTime endDate);
     
     // Find payments that need refund processing
     @Query("SELECT p FROM Payment p WHERE p.paymentStatus = :status AND p.refundAmount > 0")
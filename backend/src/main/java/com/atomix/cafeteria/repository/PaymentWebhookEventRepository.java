@@ -0,0 +1,31 @@
+package com.atomix.cafeteria.repository;
+
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentWebhookEvent;
+import com.atomix.cafeteria.entity.WebhookEventStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+    
+    // Event ids of a batch that are already in the inbox
+    @Query("SELECT e.eventId FROM PaymentWebhookEvent e WHERE e.gateway = :gateway AND e.eventId IN :eventIds")
+    List<String> findExistingEventIds(@Param("gateway") PaymentMethod gateway,
+                                      @Param("eventIds") Collection<String> eventIds);
+    
+    // Events left unapplied, e.g. by a restart between storing and applying
+    @Query("SELECT e FROM PaymentWebhookEvent e WHERE e.status = :status AND e.receivedAt < :before " +
+           "AND e.attempts < :maxAttempts ORDER BY e.receivedAt ASC")
+    List<PaymentWebhookEvent> findStale(@Param("status") WebhookEventStatus status,
+                                        @Param("before") LocalDateTime before,
+                                        @Param("maxAttempts") int maxAttempts,
+                                        Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.atomix.cafeteria.repository;
+
+import com.atomix.cafeteria.entity.RatingEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RatingEventRepository extends JpaRepository<RatingEvent, Long> {
+}
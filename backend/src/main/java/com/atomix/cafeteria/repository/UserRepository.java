@@ -5,10 +5,12 @@ import com.atomix.cafeteria.entity.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,5 +59,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findUsersWithPositiveFoodCardBalance();
     
     @Query("SELECT SUM(u.foodCardBalance) FROM User u WHERE u.isActive = true")
-    Double getTotalFoodCardBalance();
+    BigDecimal getTotalFoodCardBalance();
+    
+    // Balance read path that does not hydrate the full User entity
+    @Query("SELECT COALESCE(u.foodCardBalance, 0) FROM User u WHERE u.id = :userId")
+    Optional<BigDecimal> findFoodCardBalanceById(@Param("userId") Long userId);
+    
+    // Atomic balance updates used by FoodCardLedgerService; never read-modify-write the entity
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.foodCardBalance = COALESCE(u.foodCardBalance, 0) + :amount WHERE u.id = :userId")
+    int creditFoodCardBalance(@Param("userId") Long userId, @Param("amount") BigDecimal amount);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.foodCardBalance = u.foodCardBalance - :amount " +
+           "WHERE u.id = :userId AND u.foodCardBalance >= :amount")
+    int debitFoodCardBalance(@Param("userId") Long userId, @Param("amount") BigDecimal amount);
 } 
\ No newline at end of file
@@ -6,11 +6,13 @@ import com.atomix.cafeteria.entity.VendorType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -63,6 +65,24 @@ public interface VendorRepository extends JpaRepository<Vendor, Long> {
            "LOWER(v.contactPerson) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Vendor> searchVendors(@Param("searchTerm") String searchTerm);
     
+    @Query(value = "SELECT v FROM Vendor v WHERE " +
+                   "LOWER(v.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(v.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(v.contactPerson) LIKE LOWER(CONCAT('%', :searchTerm, '%'))",
+           countQuery = "SELECT COUNT(v) FROM Vendor v WHERE " +
+                        "LOWER(v.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(v.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(v.contactPerson) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    Page<Vendor> searchVendors(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    // Searchable columns only, for building the in-memory vendor search index
+    @Query("SELECT v.id, v.name, v.description, v.contactPerson, v.averageRating, v.isActive, v.status FROM Vendor v")
+    List<Object[]> findSearchIndexRows();
+    
+    // Counted columns only, for building the in-memory vendor statistics
+    @Query("SELECT v.id, v.status, v.vendorType, v.isActive FROM Vendor v")
+    List<Object[]> findStatsRows();
+    
     @Query("SELECT v FROM Vendor v WHERE " +
            "(LOWER(v.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(v.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -96,6 +116,10 @@ public interface VendorRepository extends JpaRepository<Vendor, Long> {
     @Query("SELECT v.vendorType, COUNT(v) FROM Vendor v WHERE v.isActive = true GROUP BY v.vendorType")
     List<Object[]> getVendorTypeStatistics();
     
+    // Menu item counts as (vendorId, count) rows, without loading the items
+    @Query("SELECT m.vendor.id, COUNT(m) FROM MenuItem m WHERE m.vendor.id IN :vendorIds GROUP BY m.vendor.id")
+    List<Object[]> countMenuItemsByVendorIds(@Param("vendorIds") Collection<Long> vendorIds);
+    
     // Vendor approval queue
     @Query("SELECT v FROM Vendor v WHERE v.status = 'PENDING' ORDER BY v.createdAt ASC")
     Page<Vendor> findPendingApprovalVendors(Pageable pageable);
@@ -103,4 +127,15 @@ public interface VendorRepository extends JpaRepository<Vendor, Long> {
     // Recent vendors
     @Query("SELECT v FROM Vendor v ORDER BY v.createdAt DESC")
     Page<Vendor> findRecentVendors(Pageable pageable);
-} 
\ No newline at end of file
+    
+    // Fold a batch of ratings into the average in place, so concurrent flushes never overwrite each other
+    @Modifying
+    @Query("UPDATE Vendor v SET " +
+           "v.averageRating = (COALESCE(v.averageRating, 0.0) * COALESCE(v.totalReviews, 0) + :sum) / (COALESCE(v.totalReviews, 0) + :count), " +
+           "v.totalReviews = COALESCE(v.totalReviews, 0) + :count, v.updatedAt = :now " +
+           "WHERE v.id = :id AND COALESCE(v.totalReviews, 0) + :count > 0")
+    int addRatings(@Param("id") Long id,
+                   @Param("sum") double sum,
+                   @Param("count") int count,
+                   @Param("now") LocalDateTime now);
+} 
@@ -1,5 +1,6 @@
 package com.atomix.cafeteria.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,6 +29,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                    HttpServletResponse response, 
@@ -35,10 +39,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = parseJwt(request);
             
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String email = jwtUtils.getEmailFromJwtToken(jwt);
+            // Single verification per request; repeat tokens are served from the claims cache
+            Claims claims = jwt != null ? jwtUtils.getValidatedClaims(jwt) : null;
+            
+            if (claims != null) {
+                String email = claims.getSubject();
                 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                UserDetails userDetails = userPrincipalCache.get(email);
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(email);
+                    if (userDetails instanceof UserPrincipal principal) {
+                        userPrincipalCache.put(principal);
+                    }
+                }
                 
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
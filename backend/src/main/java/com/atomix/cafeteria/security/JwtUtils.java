@@ -1,5 +1,6 @@
 package com.atomix.cafeteria.security;
 
+import com.atomix.cafeteria.cache.BoundedTtlCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -9,6 +10,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 
 @Component
@@ -24,8 +29,59 @@ public class JwtUtils {
     @Value("${app.jwt.refresh-expiration}")
     private long refreshTokenExpirationMs;
 
+    @Value("${app.jwt.cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    @Value("${app.jwt.cache.max-ttl-ms:300000}")
+    private long claimsCacheMaxTtlMs;
+
+    // Built lazily so a weak configured secret still fails on first use, not at startup
+    private volatile SecretKey signingKey;
+    private volatile JwtParser jwtParser;
+    private volatile BoundedTtlCache<String, Claims> verifiedClaimsCache;
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            synchronized (this) {
+                key = signingKey;
+                if (key == null) {
+                    key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+                    signingKey = key;
+                }
+            }
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            synchronized (this) {
+                parser = jwtParser;
+                if (parser == null) {
+                    parser = Jwts.parser()
+                            .verifyWith(getSigningKey())
+                            .build();
+                    jwtParser = parser;
+                }
+            }
+        }
+        return parser;
+    }
+
+    private BoundedTtlCache<String, Claims> getClaimsCache() {
+        BoundedTtlCache<String, Claims> cache = verifiedClaimsCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = verifiedClaimsCache;
+                if (cache == null) {
+                    cache = new BoundedTtlCache<>(claimsCacheMaxSize);
+                    verifiedClaimsCache = cache;
+                }
+            }
+        }
+        return cache;
     }
 
     public String generateJwtToken(Authentication authentication) {
@@ -51,22 +107,28 @@ public class JwtUtils {
                 .compact();
     }
 
-    public String getEmailFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
-    }
+    /**
+     * Verify the token and return its claims, or null if it is not valid.
+     * Verified claims are cached by token hash until the token expires, so a
+     * token presented on many requests is HMAC-checked only once.
+     */
+    public Claims getValidatedClaims(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            logger.error("JWT claims string is empty");
+            return null;
+        }
+
+        String cacheKey = hashToken(authToken);
+        BoundedTtlCache<String, Claims> cache = getClaimsCache();
+        Claims cached = cache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
 
-    public boolean validateJwtToken(String authToken) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            Claims claims = getParser().parseSignedClaims(authToken).getPayload();
+            cache.put(cacheKey, claims, cacheExpiryFor(claims));
+            return claims;
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -76,17 +138,26 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    public String getEmailFromJwtToken(String token) {
+        Claims claims = getValidatedClaims(token);
+        if (claims == null) {
+            // Preserve the old contract of throwing on an unusable token
+            return getParser().parseSignedClaims(token).getPayload().getSubject();
+        }
+        return claims.getSubject();
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return getValidatedClaims(authToken) != null;
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return claims.getExpiration().before(new Date());
+            Claims claims = getValidatedClaims(token);
+            return claims == null || claims.getExpiration().before(new Date());
         } catch (Exception e) {
             return true;
         }
@@ -94,14 +165,34 @@ public class JwtUtils {
 
     public Date getExpirationDateFromToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return claims.getExpiration();
+            Claims claims = getValidatedClaims(token);
+            return claims != null ? claims.getExpiration() : null;
         } catch (Exception e) {
             return null;
         }
     }
-} 
\ No newline at end of file
+
+    public long getClaimsCacheHitCount() {
+        return getClaimsCache().getHitCount();
+    }
+
+    public long getClaimsCacheMissCount() {
+        return getClaimsCache().getMissCount();
+    }
+
+    private long cacheExpiryFor(Claims claims) {
+        long ceiling = System.currentTimeMillis() + claimsCacheMaxTtlMs;
+        Date expiration = claims.getExpiration();
+        return expiration != null ? Math.min(expiration.getTime(), ceiling) : ceiling;
+    }
+
+    private static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.atomix.cafeteria.security;
+
+import com.atomix.cafeteria.repository.OrderRepository;
+import com.atomix.cafeteria.repository.VendorRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Decides who may watch a vendor's kitchen queue or handle its orders:
+ * staff, and the vendor whose contact email is the signed-in user's. Shared
+ * by the REST endpoints and the STOMP subscriptions to the queue, so both
+ * apply the same rule.
+ */
+@Component("kitchenAccess")
+public class KitchenAccess {
+
+    private static final Set<String> STAFF_ROLES = Set.of("ROLE_ADMIN", "ROLE_CAFETERIA_MANAGER");
+
+    private final VendorRepository vendorRepository;
+    private final OrderRepository orderRepository;
+
+    public KitchenAccess(VendorRepository vendorRepository, OrderRepository orderRepository) {
+        this.vendorRepository = vendorRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    public boolean canView(Authentication authentication, Long vendorId) {
+        if (authentication == null || !authentication.isAuthenticated() || vendorId == null) {
+            return false;
+        }
+        boolean staff = false;
+        boolean vendor = false;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            staff |= STAFF_ROLES.contains(authority.getAuthority());
+            vendor |= "ROLE_VENDOR".equals(authority.getAuthority());
+        }
+        if (staff) {
+            return true;
+        }
+        return vendor && vendorRepository.findById(vendorId)
+            .map(v -> authentication.getName().equals(v.getContactEmail()))
+            .orElse(false);
+    }
+
+    /**
+     * Whether the user may move an order through its lifecycle: staff, or
+     * the vendor the order was placed with. Staff pass for unknown orders so
+     * the service can answer 404.
+     */
+    public boolean canManageOrder(Authentication authentication, Long orderId) {
+        if (isStaff(authentication)) {
+            return true;
+        }
+        return orderId != null && orderRepository.findVendorIdById(orderId)
+            .map(vendorId -> canView(authentication, vendorId))
+            .orElse(false);
+    }
+
+    private static boolean isStaff(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+            && authentication.getAuthorities().stream().anyMatch(a -> STAFF_ROLES.contains(a.getAuthority()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.atomix.cafeteria.security;
+
+import com.atomix.cafeteria.cache.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Short-lived cache of authenticated principals keyed by email.
+ *
+ * Lets JwtAuthenticationFilter skip the users-table lookup for most requests.
+ * Entries are dropped when the backing User row changes (see
+ * UserPrincipalCacheListener) and otherwise expire after the configured TTL.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final BoundedTtlCache<String, UserPrincipal> cache;
+    private final long ttlMs;
+
+    public UserPrincipalCache(@Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+                              @Value("${app.security.principal-cache.ttl-ms:60000}") long ttlMs) {
+        this.cache = new BoundedTtlCache<>(maxSize);
+        this.ttlMs = ttlMs;
+    }
+
+    public UserPrincipal get(String email) {
+        if (email == null) {
+            return null;
+        }
+        return cache.get(normalize(email));
+    }
+
+    public void put(UserPrincipal principal) {
+        if (principal == null || principal.getEmail() == null) {
+            return;
+        }
+        cache.put(normalize(principal.getEmail()), principal, System.currentTimeMillis() + ttlMs);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(normalize(email));
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public Map<String, Object> getStatistics() {
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+        long lookups = hits + misses;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", cache.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", cache.getEvictionCount());
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        return stats;
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase();
+    }
+}
@@ -0,0 +1,60 @@
+package com.atomix.cafeteria.security;
+
+import com.atomix.cafeteria.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that evicts cached principals whenever a User row is written,
+ * covering registration, profile and role changes, and food card updates.
+ *
+ * Eviction waits for the commit: evicting earlier would let a concurrent
+ * login cache the row as it was before the write. An email change evicts
+ * both the old and the new address.
+ */
+public class UserPrincipalCacheListener {
+
+    // Optional so JPA slice tests without the security beans still work
+    @Autowired
+    private ObjectProvider<UserPrincipalCache> principalCacheProvider;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        if (principalCacheProvider == null) {
+            return;
+        }
+        UserPrincipalCache cache = principalCacheProvider.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        // Runs before User's own callback, so the persisted email is still the old one
+        String previousEmail = user.getPersistedEmail();
+        String email = user.getEmail();
+        afterCommit(() -> {
+            cache.invalidate(email);
+            if (previousEmail != null && !previousEmail.equalsIgnoreCase(email)) {
+                cache.invalidate(previousEmail);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
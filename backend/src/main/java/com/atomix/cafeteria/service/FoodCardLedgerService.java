@@ -0,0 +1,105 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.FoodCardTransaction;
+import com.atomix.cafeteria.entity.FoodCardTransactionType;
+import com.atomix.cafeteria.repository.FoodCardTransactionRepository;
+import com.atomix.cafeteria.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Food card ledger: every balance change is a single conditional UPDATE on
+ * users.food_card_balance plus an append-only food_card_transactions row, in
+ * the caller's transaction. Concurrent top-ups and payments therefore only
+ * hold the row lock for the duration of one UPDATE and cannot lose writes.
+ */
+@Service
+@Transactional
+public class FoodCardLedgerService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FoodCardLedgerService.class);
+    
+    private final UserRepository userRepository;
+    private final FoodCardTransactionRepository transactionRepository;
+    
+    public FoodCardLedgerService(UserRepository userRepository,
+                                 FoodCardTransactionRepository transactionRepository) {
+        this.userRepository = userRepository;
+        this.transactionRepository = transactionRepository;
+    }
+    
+    /**
+     * Add funds to a user's food card
+     */
+    public FoodCardTransaction credit(Long userId, BigDecimal amount, FoodCardTransactionType type,
+                                      String paymentId, String description) {
+        BigDecimal normalized = normalize(amount);
+        
+        int updated = userRepository.creditFoodCardBalance(userId, normalized);
+        if (updated == 0) {
+            throw new RuntimeException("User not found");
+        }
+        
+        FoodCardTransaction entry = append(userId, type, normalized, paymentId, description);
+        logger.info("Credited {} to food card for user: {} ({})", normalized, userId, type);
+        return entry;
+    }
+    
+    /**
+     * Deduct funds from a user's food card.
+     *
+     * @return false if the balance is insufficient (or the user does not exist); nothing is written in that case
+     */
+    public boolean debit(Long userId, BigDecimal amount, String paymentId, String description) {
+        BigDecimal normalized = normalize(amount);
+        
+        int updated = userRepository.debitFoodCardBalance(userId, normalized);
+        if (updated == 0) {
+            logger.warn("Food card debit of {} rejected for user: {}", normalized, userId);
+            return false;
+        }
+        
+        append(userId, FoodCardTransactionType.DEBIT, normalized.negate(), paymentId, description);
+        logger.info("Debited {} from food card for user: {}", normalized, userId);
+        return true;
+    }
+    
+    /**
+     * Current balance, read as a single column without loading the User entity
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(Long userId) {
+        return userRepository.findFoodCardBalanceById(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<FoodCardTransaction> getTransactions(Long userId, Pageable pageable) {
+        return transactionRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, pageable);
+    }
+    
+    private FoodCardTransaction append(Long userId, FoodCardTransactionType type, BigDecimal signedAmount,
+                                       String paymentId, String description) {
+        // Same transaction as the UPDATE, so this sees our own write and the row is still locked
+        BigDecimal balanceAfter = userRepository.findFoodCardBalanceById(userId).orElse(null);
+        
+        FoodCardTransaction entry = new FoodCardTransaction(
+            userId, type, signedAmount, balanceAfter, paymentId, description
+        );
+        return transactionRepository.save(entry);
+    }
+    
+    private BigDecimal normalize(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new RuntimeException("Food card amount must be positive");
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
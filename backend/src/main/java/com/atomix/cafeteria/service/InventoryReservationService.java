@@ -0,0 +1,315 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.MenuItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reserves stock of limited-quantity menu items without touching the database.
+ *
+ * Each limited item gets an in-memory counter seeded from menu_items the first
+ * time it is ordered. Reserving is a CAS decrement on that counter, so two
+ * orders for the last portion can never both succeed. Every change is also
+ * added to a per-item delta which a scheduled job writes back to menu_items
+ * as one JDBC batch of relative updates; ordering therefore never takes a
+ * row lock on a hot item.
+ *
+ * A reservation is held under the order number. It is confirmed when the
+ * order is paid or accepted, released when the order is cancelled or its
+ * payment fails, and released automatically if still unconfirmed after the
+ * TTL. An expired reservation is remembered for a while so that a late
+ * payment or acceptance can take its stock again through ensureHeld, and
+ * is refused if the stock has been sold in the meantime.
+ */
+@Service
+public class InventoryReservationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InventoryReservationService.class);
+    
+    private static final String FLUSH_SQL =
+        "UPDATE menu_items SET quantity_available = GREATEST(COALESCE(quantity_available, 0) + ?, 0) WHERE id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final long reservationTtlMs;
+    private final long confirmedRetentionMs;
+    
+    private final ConcurrentHashMap<Long, StockCounter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Reservation> reservations = new ConcurrentHashMap<>();
+    
+    public InventoryReservationService(JdbcTemplate jdbcTemplate,
+                                       @Value("${app.inventory.reservation-ttl-ms:900000}") long reservationTtlMs,
+                                       @Value("${app.inventory.confirmed-retention-ms:86400000}") long confirmedRetentionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationTtlMs = reservationTtlMs;
+        this.confirmedRetentionMs = confirmedRetentionMs;
+    }
+    
+    /**
+     * Reserve stock for one order. Items that are not limited-quantity are
+     * ignored. Either every limited line is reserved or none is.
+     *
+     * @param quantities menu item to quantity ordered
+     * @return the item that ran out, or null if the reservation succeeded
+     */
+    public MenuItem reserve(String reservationKey, Map<MenuItem, Integer> quantities) {
+        Map<Long, Integer> taken = new HashMap<>();
+        
+        for (Map.Entry<MenuItem, Integer> entry : quantities.entrySet()) {
+            MenuItem menuItem = entry.getKey();
+            if (!Boolean.TRUE.equals(menuItem.getIsLimitedQuantity())) {
+                continue;
+            }
+            
+            StockCounter counter = counters.computeIfAbsent(menuItem.getId(),
+                id -> new StockCounter(menuItem.getQuantityAvailable() != null ? menuItem.getQuantityAvailable() : 0));
+            
+            if (!counter.tryTake(entry.getValue())) {
+                // Undo the lines already taken for this order
+                taken.forEach((id, quantity) -> counters.get(id).giveBack(quantity));
+                return menuItem;
+            }
+            taken.merge(menuItem.getId(), entry.getValue(), Integer::sum);
+        }
+        
+        if (!taken.isEmpty()) {
+            reservations.put(reservationKey, new Reservation(taken, System.currentTimeMillis() + reservationTtlMs));
+        }
+        return null;
+    }
+    
+    /**
+     * Make sure an order's stock is held before it is paid or accepted. A
+     * reservation that expired takes its stock again and is held for another
+     * TTL, so if the caller's transaction rolls back it simply expires again.
+     *
+     * @return false if the reservation expired and its items have sold out
+     */
+    public boolean ensureHeld(String reservationKey) {
+        Reservation reservation = reservations.get(reservationKey);
+        if (reservation == null || reservation.state.get() != State.EXPIRED) {
+            // Held, confirmed, or nothing limited was ordered
+            return true;
+        }
+        synchronized (reservation) {
+            if (reservation.state.get() != State.EXPIRED) {
+                return true;
+            }
+            Map<Long, Integer> taken = new HashMap<>();
+            for (Map.Entry<Long, Integer> line : reservation.quantities.entrySet()) {
+                StockCounter counter = counters.get(line.getKey());
+                if (counter == null || !counter.tryTake(line.getValue())) {
+                    taken.forEach((id, quantity) -> counters.get(id).giveBack(quantity));
+                    return false;
+                }
+                taken.put(line.getKey(), line.getValue());
+            }
+            reservation.expiresAt = System.currentTimeMillis() + reservationTtlMs;
+            reservation.state.set(State.HELD);
+            return true;
+        }
+    }
+    
+    /**
+     * Make a reservation permanent (payment succeeded or the vendor accepted
+     * the order). Call ensureHeld first, inside the transaction.
+     */
+    public void confirm(String reservationKey) {
+        Reservation reservation = reservations.get(reservationKey);
+        if (reservation != null && reservation.state.compareAndSet(State.HELD, State.CONFIRMED)) {
+            reservation.expiresAt = System.currentTimeMillis() + confirmedRetentionMs;
+        }
+    }
+    
+    /**
+     * Return reserved stock (order cancelled or payment failed). Safe to call
+     * more than once; stock is only returned the first time.
+     */
+    public void release(String reservationKey) {
+        Reservation reservation = reservations.remove(reservationKey);
+        if (reservation == null) {
+            return;
+        }
+        State previous = reservation.state.getAndSet(State.RELEASED);
+        if (previous == State.HELD || previous == State.CONFIRMED) {
+            returnStock(reservation);
+            logger.debug("Released inventory reservation {}", reservationKey);
+        }
+    }
+    
+    /**
+     * Forget a finished order's reservation without returning stock
+     */
+    public void complete(String reservationKey) {
+        reservations.remove(reservationKey);
+    }
+    
+    /**
+     * Reset the counter of an item whose stock was set directly (restock or
+     * edit) to the committed quantity. Units still held by open orders are
+     * counted as part of that quantity: they are taken off what can be sold
+     * now and come back if those orders are released, so a release never
+     * lifts stock above what was set. Any delta not yet flushed is discarded
+     * because the new absolute value supersedes it. Call after commit.
+     */
+    public void rebase(Long menuItemId, int quantity) {
+        StockCounter counter = counters.get(menuItemId);
+        if (counter == null) {
+            // The next order seeds the counter from the row
+            return;
+        }
+        int outstanding = 0;
+        for (Reservation reservation : reservations.values()) {
+            State state = reservation.state.get();
+            if (state == State.HELD || state == State.CONFIRMED) {
+                outstanding += reservation.quantities.getOrDefault(menuItemId, 0);
+            }
+        }
+        counter.reset(quantity - outstanding, -outstanding);
+    }
+    
+    /**
+     * Drop the counter of a deleted item. Call after commit.
+     */
+    public void evict(Long menuItemId) {
+        counters.remove(menuItemId);
+    }
+    
+    /**
+     * Units currently available for a limited item, or null if no counter is loaded
+     */
+    public Integer getAvailable(Long menuItemId) {
+        StockCounter counter = counters.get(menuItemId);
+        return counter != null ? Math.max(counter.available.get(), 0) : null;
+    }
+    
+    /**
+     * Write accumulated stock changes back to menu_items in one JDBC batch
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.flush-interval-ms:2000}")
+    public void flush() {
+        List<Object[]> updates = new ArrayList<>();
+        List<Map.Entry<StockCounter, Integer>> drained = new ArrayList<>();
+        
+        counters.forEach((menuItemId, counter) -> {
+            int delta = counter.pendingDelta.getAndSet(0);
+            if (delta != 0) {
+                updates.add(new Object[]{delta, menuItemId});
+                drained.add(Map.entry(counter, delta));
+            }
+        });
+        
+        if (updates.isEmpty()) {
+            return;
+        }
+        
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, updates);
+            logger.debug("Flushed stock changes for {} menu items", updates.size());
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next run retries them
+            drained.forEach(entry -> entry.getKey().pendingDelta.addAndGet(entry.getValue()));
+            logger.error("Failed to flush inventory changes: ", e);
+        }
+    }
+    
+    /**
+     * Release held reservations past their TTL and forget old confirmed and
+     * expired ones
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.sweep-interval-ms:30000}")
+    public void expireReservations() {
+        long now = System.currentTimeMillis();
+        int released = 0;
+        
+        for (Map.Entry<String, Reservation> entry : reservations.entrySet()) {
+            Reservation reservation = entry.getValue();
+            if (reservation.expiresAt > now) {
+                continue;
+            }
+            // CAS so a confirmation racing with expiry keeps its stock
+            if (reservation.state.compareAndSet(State.HELD, State.EXPIRED)) {
+                returnStock(reservation);
+                // Kept so ensureHeld can take the stock again for a late payment
+                reservation.expiresAt = now + confirmedRetentionMs;
+                released++;
+            } else if (reservation.state.get() != State.HELD) {
+                reservations.remove(entry.getKey(), reservation);
+            }
+        }
+        
+        if (released > 0) {
+            logger.info("Released {} expired inventory reservations", released);
+        }
+    }
+    
+    private void returnStock(Reservation reservation) {
+        reservation.quantities.forEach((menuItemId, quantity) -> {
+            StockCounter counter = counters.get(menuItemId);
+            if (counter != null) {
+                counter.giveBack(quantity);
+            }
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+    
+    private enum State {
+        HELD, CONFIRMED, EXPIRED, RELEASED
+    }
+    
+    private static class Reservation {
+        private final Map<Long, Integer> quantities;
+        private final AtomicReference<State> state = new AtomicReference<>(State.HELD);
+        private volatile long expiresAt;
+        
+        private Reservation(Map<Long, Integer> quantities, long expiresAt) {
+            this.quantities = quantities;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    private static class StockCounter {
+        private final AtomicInteger available;
+        private final AtomicInteger pendingDelta = new AtomicInteger();
+        
+        private StockCounter(int initial) {
+            this.available = new AtomicInteger(initial);
+        }
+        
+        private boolean tryTake(int quantity) {
+            while (true) {
+                int current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    pendingDelta.addAndGet(-quantity);
+                    return true;
+                }
+            }
+        }
+        
+        private void giveBack(int quantity) {
+            available.addAndGet(quantity);
+            pendingDelta.addAndGet(quantity);
+        }
+        
+        private void reset(int newAvailable, int newPendingDelta) {
+            available.set(newAvailable);
+            pendingDelta.set(newPendingDelta);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.KitchenQueue;
+import com.atomix.cafeteria.entity.Order;
+import com.atomix.cafeteria.entity.OrderItem;
+import com.atomix.cafeteria.entity.OrderStatus;
+import com.atomix.cafeteria.repository.OrderRepository;
+import com.atomix.cafeteria.websocket.LiveStatusBroker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one KitchenQueue per vendor and streams its changes to
+ * /topic/kitchen/{vendorId}.
+ *
+ * A vendor's queue is loaded with a single indexed query the first time it
+ * is asked for; callers arriving during that load wait for it rather than
+ * see a partial queue. From then on it is kept current by placements and
+ * committed status changes, so kitchen screens never query the orders table.
+ */
+@Service
+public class KitchenQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KitchenQueueService.class);
+
+    static final Set<OrderStatus> ACTIVE_STATUSES =
+        EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.READY);
+
+    private final OrderRepository orderRepository;
+    private final LiveStatusBroker liveStatusBroker;
+    // Installed as soon as a load starts, so changes committed during the load are kept
+    private final ConcurrentHashMap<Long, KitchenQueue> queues = new ConcurrentHashMap<>();
+    // Completed once the queue is seeded; readers only ever see loaded queues
+    private final ConcurrentHashMap<Long, CompletableFuture<KitchenQueue>> loads = new ConcurrentHashMap<>();
+
+    public KitchenQueueService(OrderRepository orderRepository, LiveStatusBroker liveStatusBroker) {
+        this.orderRepository = orderRepository;
+        this.liveStatusBroker = liveStatusBroker;
+    }
+
+    public static String topic(Long vendorId) {
+        return "/topic/kitchen/" + vendorId;
+    }
+
+    /**
+     * A vendor's active orders in the order the kitchen should work them
+     */
+    public List<KitchenQueue.Entry> getQueue(Long vendorId) {
+        return queueFor(vendorId).snapshot();
+    }
+
+    /**
+     * Number of a vendor's orders still to be made, or 0 if nobody has opened
+     * the vendor's queue yet. Never loads the queue, so it is safe to call
+     * while placing orders.
+     */
+    public int getWaitingCount(Long vendorId) {
+        KitchenQueue queue = queues.get(vendorId);
+        return queue != null && queue.isSeeded() ? queue.getWaitingCount() : 0;
+    }
+
+    /**
+     * Queue newly placed orders once the placing transaction commits. Called
+     * inside that transaction, so entries are built while items are loaded.
+     */
+    public void ordersPlaced(List<Order> orders) {
+        Map<Long, List<KitchenQueue.Entry>> byVendor = new HashMap<>();
+        for (Order order : orders) {
+            if (order.getVendor() != null && order.getId() != null) {
+                byVendor.computeIfAbsent(order.getVendor().getId(), id -> new ArrayList<>()).add(toEntry(order));
+            }
+        }
+        if (byVendor.isEmpty()) {
+            return;
+        }
+
+        TransactionCallbacks.afterCommit(() -> byVendor.forEach((vendorId, entries) -> {
+            KitchenQueue queue = queues.get(vendorId);
+            if (queue == null) {
+                return; // Not loaded yet; the first load will read these orders
+            }
+            for (KitchenQueue.Entry entry : entries) {
+                queue.upsert(entry);
+                publishUpsert(vendorId, entry);
+            }
+        }));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getVendorId() == null || event.getOrderId() == null) {
+            return;
+        }
+        KitchenQueue queue = queues.get(event.getVendorId());
+        if (queue == null) {
+            return;
+        }
+
+        if (ACTIVE_STATUSES.contains(event.getStatus())) {
+            KitchenQueue.Entry updated = queue.updateStatus(event.getOrderId(), event.getStatus());
+            if (updated != null) {
+                publishUpsert(event.getVendorId(), updated);
+            }
+        } else if (queue.complete(event.getOrderId()) != null) {
+            publishRemove(event.getVendorId(), event.getOrderId(), event.getStatus());
+        }
+    }
+
+    private KitchenQueue queueFor(Long vendorId) {
+        CompletableFuture<KitchenQueue> load = loads.get(vendorId);
+        if (load == null) {
+            CompletableFuture<KitchenQueue> started = new CompletableFuture<>();
+            load = loads.putIfAbsent(vendorId, started);
+            if (load == null) {
+                load = started;
+                load(vendorId, started);
+            }
+        }
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private void load(Long vendorId, CompletableFuture<KitchenQueue> load) {
+        // Installed before loading, so changes committed meanwhile are kept
+        // and win over the rows read here
+        KitchenQueue created = new KitchenQueue(vendorId);
+        queues.put(vendorId, created);
+        try {
+            List<KitchenQueue.Entry> entries = orderRepository
+                .findWithItemsByVendorIdAndStatusIn(vendorId, ACTIVE_STATUSES).stream()
+                .map(KitchenQueueService::toEntry)
+                .collect(Collectors.toList());
+            created.seed(entries);
+            logger.info("Loaded kitchen queue for vendor {} with {} active orders", vendorId, entries.size());
+            load.complete(created);
+        } catch (RuntimeException e) {
+            // Let the next caller try again
+            queues.remove(vendorId, created);
+            loads.remove(vendorId, load);
+            load.completeExceptionally(e);
+        }
+    }
+
+    private void publishUpsert(Long vendorId, KitchenQueue.Entry entry) {
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("type", "UPSERT");
+        change.put("vendorId", vendorId);
+        change.put("order", entry);
+        change.put("timestamp", System.currentTimeMillis());
+        publish(vendorId, entry.getOrderId(), change);
+    }
+
+    private void publishRemove(Long vendorId, Long orderId, OrderStatus status) {
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("type", "REMOVE");
+        change.put("vendorId", vendorId);
+        change.put("orderId", orderId);
+        change.put("status", status.name());
+        change.put("timestamp", System.currentTimeMillis());
+        publish(vendorId, orderId, change);
+    }
+
+    // Each change carries the order's full state, so queued changes to one order coalesce
+    private void publish(Long vendorId, Long orderId, Map<String, Object> change) {
+        liveStatusBroker.publish(topic(vendorId), "kitchen-" + vendorId, "order:" + orderId, change);
+    }
+
+    static KitchenQueue.Entry toEntry(Order order) {
+        int preparationMinutes = order.getEstimatedPreparationTime() != null ? order.getEstimatedPreparationTime() : 0;
+        long placedAt = order.getCreatedAt() != null ? toEpochMillis(order.getCreatedAt()) : System.currentTimeMillis();
+        // Orders without a pickup time are wanted as soon as they can be made
+        long pickupDeadline = order.getPickupTime() != null
+            ? toEpochMillis(order.getPickupTime())
+            : placedAt + preparationMinutes * 60_000L;
+
+        List<String> items = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem item : order.getOrderItems()) {
+            items.add(item.getQuantity() + " x " + item.getMenuItemName());
+        }
+        return new KitchenQueue.Entry(order.getId(), order.getOrderNumber(), order.getStatus(), placedAt,
+            pickupDeadline, preparationMinutes, items, order.getSpecialInstructions());
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,149 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.MenuCatalog;
+import com.atomix.cafeteria.cache.MenuSearchIndex;
+import com.atomix.cafeteria.dto.MenuItemResponse;
+import com.atomix.cafeteria.entity.MenuItem;
+import com.atomix.cafeteria.repository.MenuItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current {@link MenuCatalog} snapshot and the matching
+ * {@link MenuSearchIndex}.
+ *
+ * The first read loads the whole menu with three queries (items, tags,
+ * ingredients); after that reads are a volatile field read. MenuService
+ * pushes each committed write into the snapshot, and a periodic reload picks
+ * up anything changed outside it (bulk scripts, stock flushes, votes,
+ * rating flushes).
+ */
+@Service
+public class MenuCatalogService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MenuCatalogService.class);
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+    
+    private final MenuItemRepository menuItemRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    
+    private volatile MenuCatalog catalog;
+    private volatile MenuSearchIndex searchIndex;
+    // Bumped on every incremental change so a concurrent full reload can tell it raced one
+    private final AtomicLong changeCount = new AtomicLong();
+    
+    public MenuCatalogService(MenuItemRepository menuItemRepository, PlatformTransactionManager transactionManager) {
+        this.menuItemRepository = menuItemRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Current snapshot, loading it on first use
+     */
+    public MenuCatalog getCatalog() {
+        MenuCatalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null) {
+                    reload();
+                    current = catalog;
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Search index over the current catalog, loading it on first use
+     */
+    public MenuSearchIndex getSearchIndex() {
+        getCatalog();
+        return searchIndex;
+    }
+    
+    /**
+     * Apply a saved item to the snapshot once the surrounding transaction
+     * commits. The view is built now, while the item's collections can still
+     * be read.
+     */
+    public void upsertAfterCommit(MenuItem menuItem) {
+        MenuItemResponse view = new MenuItemResponse(menuItem);
+        TransactionCallbacks.afterCommit(() -> upsert(view));
+    }
+    
+    public void removeAfterCommit(Long menuItemId) {
+        TransactionCallbacks.afterCommit(() -> remove(menuItemId));
+    }
+    
+    /**
+     * Rebuild the snapshot from the database
+     */
+    @Scheduled(initialDelayString = "${app.menu.catalog.refresh-interval-ms:300000}",
+               fixedDelayString = "${app.menu.catalog.refresh-interval-ms:300000}")
+    public void reload() {
+        for (int attempt = 1; attempt <= MAX_RELOAD_ATTEMPTS; attempt++) {
+            long changesBefore = changeCount.get();
+            MenuCatalog loaded = readOnlyTransaction.execute(status -> load());
+            MenuSearchIndex index = MenuSearchIndex.of(loaded.getAll());
+            
+            synchronized (this) {
+                if (changeCount.get() == changesBefore || attempt == MAX_RELOAD_ATTEMPTS) {
+                    searchIndex = index;
+                    catalog = loaded;
+                    logger.debug("Menu catalog loaded with {} items", loaded.size());
+                    return;
+                }
+            }
+            // An incremental change landed while loading and may be missing from the result
+        }
+    }
+    
+    private MenuCatalog load() {
+        List<MenuItem> items = menuItemRepository.findAll();
+        Map<Long, List<String>> tags = groupPairs(menuItemRepository.findAllTagPairs());
+        Map<Long, List<String>> ingredients = groupPairs(menuItemRepository.findAllIngredientPairs());
+        
+        List<MenuItemResponse> views = new ArrayList<>(items.size());
+        for (MenuItem item : items) {
+            views.add(new MenuItemResponse(
+                item,
+                tags.getOrDefault(item.getId(), List.of()),
+                ingredients.getOrDefault(item.getId(), List.of())
+            ));
+        }
+        return MenuCatalog.of(views);
+    }
+    
+    private static Map<Long, List<String>> groupPairs(List<Object[]> pairs) {
+        Map<Long, List<String>> grouped = new HashMap<>();
+        for (Object[] pair : pairs) {
+            grouped.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        return grouped;
+    }
+    
+    private synchronized void upsert(MenuItemResponse view) {
+        changeCount.incrementAndGet();
+        if (catalog != null) {
+            searchIndex.index(view);
+            catalog = catalog.withUpserted(view);
+        }
+    }
+    
+    private synchronized void remove(Long menuItemId) {
+        changeCount.incrementAndGet();
+        if (catalog != null) {
+            searchIndex.remove(menuItemId);
+            catalog = catalog.withRemoved(menuItemId);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.atomix.cafeteria.service;
+
+import java.util.Map;
+
+/**
+ * Published by RatingAggregationService after a flush has committed new
+ * menu item ratings, with the averages as stored.
+ */
+public class MenuItemRatingsChangedEvent {
+
+    private final Map<Long, Double> ratings;
+
+    public MenuItemRatingsChangedEvent(Map<Long, Double> ratings) {
+        this.ratings = Map.copyOf(ratings);
+    }
+
+    /**
+     * Menu item id to its new average rating
+     */
+    public Map<Long, Double> getRatings() {
+        return ratings;
+    }
+}
@@ -0,0 +1,155 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.MenuCatalog;
+import com.atomix.cafeteria.cache.MenuLeaderboard;
+import com.atomix.cafeteria.dto.MenuItemResponse;
+import com.atomix.cafeteria.entity.MenuCategory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Owns the {@link MenuLeaderboard} behind the popular menu item lists.
+ *
+ * Built on first use from the menu catalog and the live vote counts, then
+ * kept current by every counted vote and every rating flush. Items added,
+ * moved between floors, categories or vendors, or deleted outside
+ * MenuService are picked up by a periodic rebuild. Limits beyond the
+ * leaderboard size fall back to ranking the whole catalog.
+ */
+@Service
+public class MenuLeaderboardService {
+
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+
+    private final MenuCatalogService menuCatalogService;
+    private final MenuVoteService menuVoteService;
+    private final int size;
+
+    private volatile MenuLeaderboard leaderboard;
+    private final AtomicLong changeCount = new AtomicLong();
+
+    public MenuLeaderboardService(MenuCatalogService menuCatalogService,
+                                  MenuVoteService menuVoteService,
+                                  @Value("${app.menu.leaderboard.size:50}") int size) {
+        this.menuCatalogService = menuCatalogService;
+        this.menuVoteService = menuVoteService;
+        this.size = size;
+    }
+
+    public List<MenuItemResponse> getPopular(int limit) {
+        return ranked(limit, board -> board.top(limit), MenuCatalog::getAll);
+    }
+
+    public List<MenuItemResponse> getPopularByFloor(String floorId, int limit) {
+        return ranked(limit, board -> board.topByFloor(floorId, limit), catalog -> catalog.getByFloor(floorId));
+    }
+
+    public List<MenuItemResponse> getPopularByCategory(MenuCategory category, int limit) {
+        return ranked(limit, board -> board.topByCategory(category, limit), catalog -> catalog.getByCategory(category));
+    }
+
+    public List<MenuItemResponse> getPopularByVendor(Long vendorId, int limit) {
+        return ranked(limit, board -> board.topByVendor(vendorId, limit), catalog -> catalog.getByVendor(vendorId));
+    }
+
+    /**
+     * Re-rank an item after one of its votes was counted
+     */
+    public void onVote(MenuItemResponse item) {
+        MenuLeaderboard.Score score = scoreOf(item, null);
+        // Known items keep the rating they have, which may be newer than the catalog's
+        apply(current -> {
+            if (!current.updateVotes(item.getId(), menuVoteService.getVotes(item))) {
+                current.update(score);
+            }
+        });
+    }
+
+    @EventListener
+    public void onRatingsChanged(MenuItemRatingsChangedEvent event) {
+        apply(current -> event.getRatings().forEach(current::updateRating));
+    }
+
+    public void removeAfterCommit(Long menuItemId) {
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.remove(menuItemId)));
+    }
+
+    @Scheduled(initialDelayString = "${app.menu.leaderboard.refresh-interval-ms:300000}",
+               fixedDelayString = "${app.menu.leaderboard.refresh-interval-ms:300000}")
+    public void rebuild() {
+        for (int attempt = 1; attempt <= MAX_RELOAD_ATTEMPTS; attempt++) {
+            long changesBefore = changeCount.get();
+            MenuLeaderboard previous = leaderboard;
+            List<MenuItemResponse> items = menuCatalogService.getCatalog().getAll();
+            List<MenuLeaderboard.Score> scores = new ArrayList<>(items.size());
+            for (MenuItemResponse item : items) {
+                // Ratings flushed since the catalog was last reloaded are only on the current leaderboard
+                scores.add(scoreOf(item, previous != null ? previous.getRating(item.getId()) : null));
+            }
+            MenuLeaderboard built = MenuLeaderboard.of(scores, size);
+
+            synchronized (this) {
+                // A vote or rating that landed mid-build may be missing from it; build again rather than lose it
+                if (changeCount.get() == changesBefore || attempt == MAX_RELOAD_ATTEMPTS) {
+                    leaderboard = built;
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<MenuItemResponse> ranked(int limit,
+                                          Function<MenuLeaderboard, List<Long>> top,
+                                          Function<MenuCatalog, List<MenuItemResponse>> scope) {
+        MenuCatalog catalog = menuCatalogService.getCatalog();
+        if (limit > size) {
+            return menuVoteService.getMostVoted(scope.apply(catalog), limit);
+        }
+
+        List<Long> ids = top.apply(getLeaderboard());
+        List<MenuItemResponse> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            catalog.get(id).map(menuVoteService::withLiveVotes).ifPresent(items::add);
+        }
+        return items;
+    }
+
+    /**
+     * @param knownRating the item's rating on the leaderboard, preferred over the catalog's; null if not on it
+     */
+    private MenuLeaderboard.Score scoreOf(MenuItemResponse item, Double knownRating) {
+        double rating = knownRating != null ? knownRating
+            : item.getRating() != null ? item.getRating().doubleValue() : 0.0;
+        return new MenuLeaderboard.Score(item.getId(), item.getFloorId(), item.getCategory(), item.getVendorId(),
+            menuVoteService.getVotes(item), rating);
+    }
+
+    private MenuLeaderboard getLeaderboard() {
+        MenuLeaderboard current = leaderboard;
+        if (current == null) {
+            synchronized (this) {
+                current = leaderboard;
+                if (current == null) {
+                    rebuild();
+                    current = leaderboard;
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized void apply(Consumer<MenuLeaderboard> change) {
+        changeCount.incrementAndGet();
+        if (leaderboard != null) {
+            change.accept(leaderboard);
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package com.atomix.cafeteria.service;
 
+import com.atomix.cafeteria.cache.MenuCatalog;
+import com.atomix.cafeteria.cache.MenuSearchIndex;
+import com.atomix.cafeteria.dto.MenuItemResponse;
 import com.atomix.cafeteria.entity.MenuItem;
 import com.atomix.cafeteria.entity.MenuCategory;
+import com.atomix.cafeteria.entity.RatingTarget;
 import com.atomix.cafeteria.repository.MenuItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -19,8 +30,28 @@ public class MenuService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
-    public List<MenuItem> getAllMenuItems() {
-        return menuItemRepository.findAll();
+    @Autowired
+    private InventoryReservationService inventoryReservationService;
+
+    @Autowired
+    private MenuCatalogService menuCatalogService;
+
+    @Autowired
+    private RatingAggregationService ratingAggregationService;
+
+    @Autowired
+    private MenuVoteService menuVoteService;
+
+    @Autowired
+    private MenuLeaderboardService menuLeaderboardService;
+
+    @Value("${app.menu.search.max-results:100}")
+    private int searchMaxResults;
+
+    // Catalog reads are served from the in-memory snapshot and need no transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> getAllMenuItems() {
+        return menuCatalogService.getCatalog().getAll();
     }
 
     public Page<MenuItem> getAllMenuItems(Pageable pageable) {
@@ -31,28 +62,81 @@ public class MenuService {
         return menuItemRepository.findById(id);
     }
 
-    public List<MenuItem> getMenuItemsByCategory(MenuCategory category) {
-        return menuItemRepository.findByCategory(category);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<MenuItemResponse> getMenuItem(Long id) {
+        return menuCatalogService.getCatalog().get(id);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> getMenuItemsByCategory(MenuCategory category) {
+        return menuCatalogService.getCatalog().getByCategory(category);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> getMenuItemsByVendor(Long vendorId) {
+        return menuCatalogService.getCatalog().getByVendor(vendorId);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> getMenuItemsByFloor(String floorId) {
+        return menuCatalogService.getCatalog().getByFloor(floorId);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> getAvailableMenuItems() {
+        return menuCatalogService.getCatalog().getAvailable();
+    }
+
+    /**
+     * Items that can be ordered right now (availability window and stock checked)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> getCurrentlyAvailableMenuItems() {
+        return menuCatalogService.getCatalog().getAvailableAt(LocalDateTime.now());
     }
 
-    public List<MenuItem> getMenuItemsByVendor(Long vendorId) {
-        return menuItemRepository.findByVendorId(vendorId);
+    /**
+     * Ranked full-text search over name, description, tags and ingredients.
+     * Tokens match by prefix and tolerate small typos; only available items
+     * are returned.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> searchMenuItems(String searchTerm) {
+        return search(searchTerm, EnumSet.noneOf(MenuSearchIndex.Field.class));
     }
 
-    public List<MenuItem> getMenuItemsByFloor(String floorId) {
-        return menuItemRepository.findByFloorId(floorId);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> searchMenuItemsByTag(String tag) {
+        return search(tag, EnumSet.of(MenuSearchIndex.Field.TAG));
     }
 
-    public List<MenuItem> getAvailableMenuItems() {
-        return menuItemRepository.findByIsAvailableTrue();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> searchMenuItemsByIngredient(String ingredient) {
+        return search(ingredient, EnumSet.of(MenuSearchIndex.Field.INGREDIENT));
     }
 
-    public List<MenuItem> searchMenuItems(String searchTerm) {
-        return menuItemRepository.searchByNameOrDescription(searchTerm);
+    private List<MenuItemResponse> search(String query, Set<MenuSearchIndex.Field> fields) {
+        MenuCatalog catalog = menuCatalogService.getCatalog();
+        List<Long> ids = menuCatalogService.getSearchIndex().search(query, fields, searchMaxResults);
+
+        List<MenuItemResponse> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            catalog.get(id)
+                .filter(item -> Boolean.TRUE.equals(item.getIsAvailable()))
+                .ifPresent(results::add);
+        }
+        return results;
     }
 
     public MenuItem saveMenuItem(MenuItem menuItem) {
-        return menuItemRepository.save(menuItem);
+        boolean created = menuItem.getId() == null;
+        MenuItem saved = menuItemRepository.save(menuItem);
+        if (created) {
+            // Stock is only written on insert here; restockMenuItem changes it later
+            rebaseStockAfterCommit(saved);
+        }
+        menuCatalogService.upsertAfterCommit(saved);
+        return saved;
     }
 
     public MenuItem updateMenuItem(Long id, MenuItem menuItemDetails) {
@@ -73,13 +157,46 @@ public class MenuService {
         menuItem.setIngredients(menuItemDetails.getIngredients());
         menuItem.setTags(menuItemDetails.getTags());
 
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        menuCatalogService.upsertAfterCommit(saved);
+        return saved;
     }
 
     public void deleteMenuItem(Long id) {
         MenuItem menuItem = menuItemRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Menu item not found with id: " + id));
         menuItemRepository.delete(menuItem);
+        TransactionCallbacks.afterCommit(() -> {
+            inventoryReservationService.evict(id);
+            menuVoteService.evict(id);
+        });
+        menuLeaderboardService.removeAfterCommit(id);
+        menuCatalogService.removeAfterCommit(id);
+    }
+
+    /**
+     * Set the stock of a limited-quantity item
+     */
+    public MenuItem restockMenuItem(Long id, int quantity) {
+        if (quantity < 0) {
+            throw new RuntimeException("Quantity cannot be negative");
+        }
+        MenuItem menuItem = menuItemRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Menu item not found with id: " + id));
+
+        menuItemRepository.setStock(id, quantity, LocalDateTime.now());
+        menuItem.setIsLimitedQuantity(true);
+        menuItem.setQuantityAvailable(quantity);
+        MenuItem saved = menuItemRepository.saveAndFlush(menuItem);
+        rebaseStockAfterCommit(saved);
+        menuCatalogService.upsertAfterCommit(saved);
+        return saved;
+    }
+
+    private void rebaseStockAfterCommit(MenuItem menuItem) {
+        Long id = menuItem.getId();
+        int quantity = menuItem.getQuantityAvailable() != null ? menuItem.getQuantityAvailable() : 0;
+        TransactionCallbacks.afterCommit(() -> inventoryReservationService.rebase(id, quantity));
     }
 
     public MenuItem updateAvailability(Long id, boolean isAvailable) {
@@ -87,19 +204,62 @@ public class MenuService {
             .orElseThrow(() -> new RuntimeException("Menu item not found with id: " + id));
         
         menuItem.setIsAvailable(isAvailable);
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        menuCatalogService.upsertAfterCommit(saved);
+        return saved;
     }
 
-    public MenuItem voteForMenuItem(Long id) {
-        MenuItem menuItem = menuItemRepository.findById(id)
+    /**
+     * Count a user's vote; repeat votes by the same user within the dedup
+     * window are ignored. Votes reach menu_items with the next vote flush.
+     *
+     * @return the item with its live vote count
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MenuItemResponse voteForMenuItem(Long id, Long userId) {
+        MenuItemResponse item = menuCatalogService.getCatalog().get(id)
             .orElseThrow(() -> new RuntimeException("Menu item not found with id: " + id));
-        
-        menuItem.incrementVotes();
-        return menuItemRepository.save(menuItem);
+
+        if (menuVoteService.vote(item, userId)) {
+            menuLeaderboardService.onVote(item);
+        }
+        return menuVoteService.withLiveVotes(item);
+    }
+
+    /**
+     * Record a 1.0-5.0 rating; the item's rating and rating count include it
+     * from the next rating flush. Like the rest of MenuService this is a
+     * service API; no menu controller exposes it yet.
+     */
+    public void rateMenuItem(Long id, BigDecimal rating) {
+        if (!menuItemRepository.existsById(id)) {
+            throw new RuntimeException("Menu item not found with id: " + id);
+        }
+        ratingAggregationService.record(RatingTarget.MENU_ITEM, id, rating);
+    }
+
+    /**
+     * Most voted items by live vote count, ties broken by rating; served
+     * from the leaderboard in O(limit)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> getPopularMenuItems(int limit) {
+        return menuLeaderboardService.getPopular(limit);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> getPopularMenuItemsByFloor(String floorId, int limit) {
+        return menuLeaderboardService.getPopularByFloor(floorId, limit);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> getPopularMenuItemsByCategory(MenuCategory category, int limit) {
+        return menuLeaderboardService.getPopularByCategory(category, limit);
     }
 
-    public List<MenuItem> getPopularMenuItems(int limit) {
-        return menuItemRepository.findTopByOrderByVotesCountDesc(limit);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MenuItemResponse> getPopularMenuItemsByVendor(Long vendorId, int limit) {
+        return menuLeaderboardService.getPopularByVendor(vendorId, limit);
     }
 
     public List<MenuItem> getHighlyRatedMenuItems() {
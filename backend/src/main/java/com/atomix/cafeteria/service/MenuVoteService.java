@@ -0,0 +1,152 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.BoundedTtlCache;
+import com.atomix.cafeteria.cache.WriteBehindBuffer;
+import com.atomix.cafeteria.dto.MenuItemResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts menu item votes without touching the database per vote.
+ *
+ * A vote is a dedup check and an in-memory increment, so a voting window
+ * of clicks never touches the database. A user's vote for an item is
+ * counted once per dedup-ttl-ms; the dedup set lives in memory and is
+ * bounded, so it does not survive a restart. A scheduled job writes the
+ * accumulated votes to menu_items as one JDBC batch of relative updates.
+ *
+ * Live counts (the row's count as last written here plus votes not yet
+ * flushed) are served from memory. Items nobody has voted for since startup
+ * report the count from the menu catalog.
+ */
+@Service
+public class MenuVoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuVoteService.class);
+
+    private static final String FLUSH_SQL =
+        "UPDATE menu_items SET votes_count = COALESCE(votes_count, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final BoundedTtlCache<String, Boolean> recentVotes;
+    private final long dedupTtlMs;
+
+    private final ConcurrentHashMap<Long, VoteCounter> counters = new ConcurrentHashMap<>();
+    private final WriteBehindBuffer<Long, Long> pending =
+        new WriteBehindBuffer<Long, Long>("menu vote counts", Long::sum, votes -> votes == 0, Comparator.naturalOrder());
+
+    public MenuVoteService(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.menu.votes.dedup-ttl-ms:86400000}") long dedupTtlMs,
+                           @Value("${app.menu.votes.dedup-max-size:200000}") int dedupMaxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.dedupTtlMs = dedupTtlMs;
+        this.recentVotes = new BoundedTtlCache<>(dedupMaxSize);
+    }
+
+    /**
+     * Count a user's vote for an item
+     *
+     * @return false if the user already voted for it within the dedup window
+     */
+    public boolean vote(MenuItemResponse item, Long userId) {
+        if (!recentVotes.putIfAbsent(item.getId() + ":" + userId, Boolean.TRUE, System.currentTimeMillis() + dedupTtlMs)) {
+            return false;
+        }
+        counters.computeIfAbsent(item.getId(), id -> new VoteCounter(votesOf(item)));
+        pending.add(item.getId(), 1L);
+        return true;
+    }
+
+    /**
+     * Live vote count for an item, including votes not yet flushed
+     */
+    public long getVotes(MenuItemResponse item) {
+        VoteCounter counter = counters.get(item.getId());
+        if (counter == null) {
+            return votesOf(item);
+        }
+        // persisted and the unwritten votes are read together, so a vote mid-flush is counted exactly once
+        return pending.read(item.getId(), unwritten -> counter.persisted + (unwritten != null ? unwritten : 0));
+    }
+
+    /**
+     * The item with its live vote count
+     */
+    public MenuItemResponse withLiveVotes(MenuItemResponse item) {
+        return item.withVotesCount((int) getVotes(item));
+    }
+
+    /**
+     * The most voted items by live count, ties broken by id
+     */
+    public List<MenuItemResponse> getMostVoted(Collection<MenuItemResponse> items, int limit) {
+        List<MenuItemResponse> live = new ArrayList<>(items.size());
+        for (MenuItemResponse item : items) {
+            live.add(withLiveVotes(item));
+        }
+        live.sort(Comparator.comparing(MenuItemResponse::getVotesCount, Comparator.reverseOrder())
+            .thenComparing(MenuItemResponse::getId));
+        return live.subList(0, Math.min(Math.max(limit, 0), live.size()));
+    }
+
+    /**
+     * Forget a deleted item's counter; unflushed votes for it are dropped
+     */
+    public void evict(Long menuItemId) {
+        counters.remove(menuItemId);
+        pending.discard(menuItemId);
+    }
+
+    /**
+     * Write accumulated votes to menu_items in one JDBC batch
+     */
+    @Scheduled(fixedDelayString = "${app.menu.votes.flush-interval-ms:2000}")
+    public void flush() {
+        pending.flush(batch -> {
+            List<Object[]> updates = new ArrayList<>(batch.size());
+            for (Map.Entry<Long, Long> entry : batch) {
+                updates.add(new Object[]{entry.getValue(), entry.getKey()});
+            }
+            // One transaction, so a failed batch is retried whole rather than partly applied twice
+            transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, updates));
+            logger.debug("Flushed votes for {} menu items", updates.size());
+            return null;
+        }, (menuItemId, votes) -> {
+            VoteCounter counter = counters.get(menuItemId);
+            if (counter != null) {
+                counter.persisted += votes;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static long votesOf(MenuItemResponse item) {
+        return item.getVotesCount() != null ? item.getVotesCount() : 0;
+    }
+
+    private static class VoteCounter {
+        // Only written by flush(), under the write-behind buffer's lock for the item
+        private volatile long persisted;
+
+        private VoteCounter(long persisted) {
+            this.persisted = persisted;
+        }
+    }
+}
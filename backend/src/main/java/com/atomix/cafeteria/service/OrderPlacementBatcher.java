@@ -0,0 +1,191 @@
+package com.atomix.cafeteria.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Micro-batches single order placements under burst load.
+ *
+ * Requests queue up while the previous batch is committing; the worker then
+ * drains up to max-size of them (waiting at most max-wait-ms for more to
+ * arrive) and places them in one transaction. At low load a batch is just one
+ * order, so latency only grows when there is contention to amortise.
+ */
+@Component
+public class OrderPlacementBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPlacementBatcher.class);
+
+    private final OrderPlacementService placementService;
+    private final BlockingQueue<Pending> queue;
+    private final int maxBatchSize;
+    private final long maxWaitMs;
+    private final long submitTimeoutMs;
+    private final long placementTimeoutMs;
+    private final boolean enabled;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderPlacementBatcher(OrderPlacementService placementService,
+                                 @Value("${app.orders.batch.enabled:true}") boolean enabled,
+                                 @Value("${app.orders.batch.max-size:50}") int maxBatchSize,
+                                 @Value("${app.orders.batch.max-wait-ms:5}") long maxWaitMs,
+                                 @Value("${app.orders.batch.queue-capacity:5000}") int queueCapacity,
+                                 @Value("${app.orders.batch.submit-timeout-ms:10000}") long submitTimeoutMs,
+                                 @Value("${app.orders.batch.placement-timeout-ms:60000}") long placementTimeoutMs) {
+        this.placementService = placementService;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitMs = maxWaitMs;
+        this.submitTimeoutMs = submitTimeoutMs;
+        this.placementTimeoutMs = placementTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runLoop, "order-placement-batcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Place one order, sharing a transaction with whatever else is queued.
+     * Blocks the caller until its batch has committed. If the order is still
+     * queued after submit-timeout-ms it is withdrawn and the caller told to
+     * retry; once its batch has started the caller waits for the outcome, so
+     * a retry can never duplicate an order that went on to commit. Should
+     * that batch not finish within placement-timeout-ms the caller is told
+     * to check its orders rather than to retry.
+     */
+    public OrderPlacementService.Result place(OrderPlacementService.Command command) {
+        if (!enabled || !running) {
+            return placementService.placeOrders(List.of(command)).get(0);
+        }
+
+        Pending pending = new Pending(command);
+        try {
+            if (!queue.offer(pending, submitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Order service is busy, please retry");
+            }
+            try {
+                return pending.future.get(submitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (queue.remove(pending)) {
+                    throw new RuntimeException("Order service is busy, please retry");
+                }
+                // Already being placed; its batch completes the future
+                try {
+                    return pending.future.get(placementTimeoutMs, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException stuck) {
+                    throw new RuntimeException("Order is taking too long to place, please check your orders before retrying");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while placing order", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Failed to place order", cause);
+        }
+    }
+
+    private void runLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                Pending first = queue.take();
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+
+                process(batch);
+            } catch (InterruptedException e) {
+                // Interrupted while filling the batch, so nothing in it was placed
+                batch.forEach(p -> p.future.completeExceptionally(new RuntimeException("Order service is shutting down")));
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Unexpected error in order placement batcher: ", e);
+                batch.forEach(p -> p.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        // Fail anything still queued at shutdown rather than leaving callers hanging
+        Pending leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.future.completeExceptionally(new RuntimeException("Order service is shutting down"));
+        }
+    }
+
+    private void process(List<Pending> batch) {
+        List<OrderPlacementService.Command> commands = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            commands.add(pending.command);
+        }
+
+        try {
+            List<OrderPlacementService.Result> results = placementService.placeOrders(commands);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            // The shared transaction failed at flush; isolate the culprit by retrying one by one
+            logger.warn("Batch of {} orders failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (Pending pending : batch) {
+                try {
+                    pending.future.complete(placementService.placeOrders(List.of(pending.command)).get(0));
+                } catch (RuntimeException single) {
+                    pending.future.completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private static class Pending {
+        private final OrderPlacementService.Command command;
+        private final CompletableFuture<OrderPlacementService.Result> future = new CompletableFuture<>();
+
+        private Pending(OrderPlacementService.Command command) {
+            this.command = command;
+        }
+    }
+}
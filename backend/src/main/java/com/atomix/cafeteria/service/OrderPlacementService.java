@@ -0,0 +1,277 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.dto.OrderItemRequest;
+import com.atomix.cafeteria.dto.OrderRequest;
+import com.atomix.cafeteria.dto.OrderResponse;
+import com.atomix.cafeteria.entity.*;
+import com.atomix.cafeteria.repository.MenuItemRepository;
+import com.atomix.cafeteria.repository.OrderRepository;
+import com.atomix.cafeteria.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Places many orders in one transaction.
+ *
+ * Menu items for the whole batch are loaded with a single IN query and each
+ * one is snapshotted (name, price, image) once. Orders and items use pooled
+ * sequence ids, so the flush at commit is a handful of JDBC batch inserts
+ * instead of one round trip per row. Invalid orders are rejected up front and
+ * never poison the rest of the batch. Limited-quantity items are reserved in
+ * memory and the reservations are returned if the transaction rolls back.
+ */
+@Service
+public class OrderPlacementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPlacementService.class);
+
+    private final OrderRepository orderRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final UserRepository userRepository;
+    private final InventoryReservationService inventoryReservationService;
+    private final KitchenQueueService kitchenQueueService;
+    private final PickupTimeEstimator pickupTimeEstimator;
+
+    public OrderPlacementService(OrderRepository orderRepository,
+                                 MenuItemRepository menuItemRepository,
+                                 UserRepository userRepository,
+                                 InventoryReservationService inventoryReservationService,
+                                 KitchenQueueService kitchenQueueService,
+                                 PickupTimeEstimator pickupTimeEstimator) {
+        this.orderRepository = orderRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.userRepository = userRepository;
+        this.inventoryReservationService = inventoryReservationService;
+        this.kitchenQueueService = kitchenQueueService;
+        this.pickupTimeEstimator = pickupTimeEstimator;
+    }
+
+    /**
+     * Place a batch of orders. Results are returned in the same order as the commands.
+     */
+    @Transactional
+    public List<Result> placeOrders(List<Command> commands) {
+        Map<Long, MenuItemSnapshot> snapshots = loadSnapshots(commands);
+
+        List<Result> results = new ArrayList<>(commands.size());
+        List<Order> toSave = new ArrayList<>(commands.size());
+
+        for (Command command : commands) {
+            try {
+                Order order = buildOrder(command, snapshots);
+                toSave.add(order);
+                results.add(Result.success(order, pickupTimeEstimator.estimateReadyInMinutes(
+                    order.getVendor() != null ? order.getVendor().getId() : null, order.getEstimatedPreparationTime())));
+            } catch (RuntimeException e) {
+                results.add(Result.failure(e.getMessage()));
+            }
+        }
+
+        if (!toSave.isEmpty()) {
+            releaseReservationsOnRollback(toSave);
+            orderRepository.saveAll(toSave);
+            orderRepository.flush();
+            kitchenQueueService.ordersPlaced(toSave);
+        }
+
+        // Map while the session is open; items are already in memory
+        for (Result result : results) {
+            if (result.order != null) {
+                result.response = new OrderResponse(result.order);
+                result.response.setEstimatedReadyInMinutes(result.readyInMinutes);
+            }
+        }
+
+        logger.debug("Placed {} of {} orders in one transaction", toSave.size(), commands.size());
+        return results;
+    }
+
+    private void releaseReservationsOnRollback(List<Order> orders) {
+        List<String> orderNumbers = orders.stream().map(Order::getOrderNumber).collect(Collectors.toList());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    orderNumbers.forEach(inventoryReservationService::release);
+                }
+            }
+        });
+    }
+
+    private Map<Long, MenuItemSnapshot> loadSnapshots(List<Command> commands) {
+        Set<Long> menuItemIds = new HashSet<>();
+        for (Command command : commands) {
+            if (command.request.getItems() != null) {
+                for (OrderItemRequest item : command.request.getItems()) {
+                    if (item.getMenuItemId() != null) {
+                        menuItemIds.add(item.getMenuItemId());
+                    }
+                }
+            }
+        }
+
+        return menuItemRepository.findAllById(menuItemIds).stream()
+            .collect(Collectors.toMap(MenuItem::getId, MenuItemSnapshot::new, (a, b) -> a));
+    }
+
+    private Order buildOrder(Command command, Map<Long, MenuItemSnapshot> snapshots) {
+        OrderRequest request = command.request;
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new RuntimeException("Order must contain at least one item");
+        }
+
+        Long vendorId = null;
+        Map<Long, Integer> preparationTimes = new HashMap<>();
+        List<OrderItem> items = new ArrayList<>(request.getItems().size());
+        Map<MenuItem, Integer> quantities = new HashMap<>();
+
+        for (OrderItemRequest itemRequest : request.getItems()) {
+            if (itemRequest.getQuantity() == null || itemRequest.getQuantity() <= 0) {
+                throw new RuntimeException("Quantity must be positive");
+            }
+
+            MenuItemSnapshot snapshot = snapshots.get(itemRequest.getMenuItemId());
+            if (snapshot == null) {
+                throw new RuntimeException("Menu item not found with id: " + itemRequest.getMenuItemId());
+            }
+            if (!snapshot.available) {
+                throw new RuntimeException("Menu item is not available: " + snapshot.name);
+            }
+            if (vendorId == null) {
+                vendorId = snapshot.vendorId;
+            } else if (!vendorId.equals(snapshot.vendorId)) {
+                throw new RuntimeException("All items in an order must belong to the same vendor");
+            }
+
+            OrderItem item = new OrderItem();
+            item.setMenuItem(snapshot.menuItem);
+            item.setQuantity(itemRequest.getQuantity());
+            item.setPrice(snapshot.price);
+            item.setMenuItemName(snapshot.name);
+            item.setMenuItemDescription(snapshot.description);
+            item.setMenuItemImageUrl(snapshot.imageUrl);
+            item.setSpecialInstructions(itemRequest.getSpecialInstructions());
+            items.add(item);
+            quantities.merge(snapshot.menuItem, itemRequest.getQuantity(), Integer::sum);
+            preparationTimes.put(snapshot.menuItem.getId(), snapshot.preparationTime);
+        }
+
+        Order order = new Order();
+        order.setOrderNumber(generateOrderNumber());
+        order.setUser(userRepository.getReferenceById(command.userId));
+        order.setVendor(snapshots.get(request.getItems().get(0).getMenuItemId()).menuItem.getVendor());
+        order.setStatus(OrderStatus.PENDING);
+        order.setPickupTime(request.getPickupTime());
+        order.setPaymentMethod(request.getPaymentMethod());
+        order.setSpecialInstructions(request.getSpecialInstructions());
+        order.setEstimatedPreparationTime(pickupTimeEstimator.estimatePreparationMinutes(vendorId, preparationTimes));
+        for (OrderItem item : items) {
+            order.addOrderItem(item);
+        }
+        order.setTotalAmount(order.calculateTotalAmount());
+
+        // Last step, so nothing after it can fail and strand the reservation
+        MenuItem soldOut = inventoryReservationService.reserve(order.getOrderNumber(), quantities);
+        if (soldOut != null) {
+            throw new RuntimeException("Menu item is sold out: " + soldOut.getName());
+        }
+
+        return order;
+    }
+
+    private String generateOrderNumber() {
+        return "ORD_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
+    }
+
+    /**
+     * One order to place on behalf of a user
+     */
+    public static class Command {
+        private final Long userId;
+        private final OrderRequest request;
+
+        public Command(Long userId, OrderRequest request) {
+            this.userId = userId;
+            this.request = request;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public OrderRequest getRequest() {
+            return request;
+        }
+    }
+
+    /**
+     * Outcome of one command: either a placed order or a rejection reason
+     */
+    public static class Result {
+        private final Order order;
+        private final Integer readyInMinutes;
+        private final String error;
+        private OrderResponse response;
+
+        private Result(Order order, Integer readyInMinutes, String error) {
+            this.order = order;
+            this.readyInMinutes = readyInMinutes;
+            this.error = error;
+        }
+
+        static Result success(Order order, int readyInMinutes) {
+            return new Result(order, readyInMinutes, null);
+        }
+
+        static Result failure(String error) {
+            return new Result(null, null, error);
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        public Order getOrder() {
+            return order;
+        }
+
+        public OrderResponse getResponse() {
+            return response;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    // Values copied off the MenuItem once per batch
+    private static class MenuItemSnapshot {
+        private final MenuItem menuItem;
+        private final Long vendorId;
+        private final String name;
+        private final String description;
+        private final String imageUrl;
+        private final BigDecimal price;
+        private final int preparationTime;
+        private final boolean available;
+
+        private MenuItemSnapshot(MenuItem menuItem) {
+            this.menuItem = menuItem;
+            this.vendorId = menuItem.getVendor() != null ? menuItem.getVendor().getId() : null;
+            this.name = menuItem.getName();
+            this.description = menuItem.getDescription();
+            this.imageUrl = menuItem.getImageUrl();
+            this.price = menuItem.getPrice();
+            this.preparationTime = menuItem.getPreparationTime() != null ? menuItem.getPreparationTime() : 0;
+            this.available = Boolean.TRUE.equals(menuItem.getIsAvailable());
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.dto.OrderRequest;
+import com.atomix.cafeteria.dto.OrderResponse;
+import com.atomix.cafeteria.dto.OrderStatusUpdateRequest;
+import com.atomix.cafeteria.entity.Order;
+import com.atomix.cafeteria.entity.OrderStatus;
+import com.atomix.cafeteria.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class OrderService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
+    
+    // Allowed forward moves; anything else is rejected
+    private static final Map<OrderStatus, Set<OrderStatus>> ALLOWED_TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    
+    static {
+        ALLOWED_TRANSITIONS.put(OrderStatus.PENDING, EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.CANCELLED));
+        ALLOWED_TRANSITIONS.put(OrderStatus.CONFIRMED, EnumSet.of(OrderStatus.PREPARING, OrderStatus.CANCELLED));
+        ALLOWED_TRANSITIONS.put(OrderStatus.PREPARING, EnumSet.of(OrderStatus.READY));
+        ALLOWED_TRANSITIONS.put(OrderStatus.READY, EnumSet.of(OrderStatus.COMPLETED));
+        ALLOWED_TRANSITIONS.put(OrderStatus.COMPLETED, EnumSet.of(OrderStatus.REFUNDED));
+        ALLOWED_TRANSITIONS.put(OrderStatus.CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        ALLOWED_TRANSITIONS.put(OrderStatus.REFUNDED, EnumSet.noneOf(OrderStatus.class));
+    }
+    
+    private final OrderRepository orderRepository;
+    private final OrderPlacementService placementService;
+    private final OrderPlacementBatcher placementBatcher;
+    private final InventoryReservationService inventoryReservationService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public OrderService(OrderRepository orderRepository,
+                        OrderPlacementService placementService,
+                        OrderPlacementBatcher placementBatcher,
+                        InventoryReservationService inventoryReservationService,
+                        ApplicationEventPublisher eventPublisher) {
+        this.orderRepository = orderRepository;
+        this.placementService = placementService;
+        this.placementBatcher = placementBatcher;
+        this.inventoryReservationService = inventoryReservationService;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    /**
+     * Place a single order. Runs outside a transaction because the batcher
+     * commits it together with other concurrent placements.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderResponse placeOrder(Long userId, OrderRequest request) {
+        OrderPlacementService.Result result = placementBatcher.place(new OrderPlacementService.Command(userId, request));
+        if (!result.isSuccess()) {
+            throw new RuntimeException(result.getError());
+        }
+        
+        logger.info("Order {} placed for user {}", result.getResponse().getOrderNumber(), userId);
+        return result.getResponse();
+    }
+    
+    /**
+     * Place several orders for one user in a single transaction.
+     * All orders are validated first; if any is invalid none are saved.
+     */
+    public List<OrderResponse> placeOrders(Long userId, List<OrderRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new RuntimeException("At least one order is required");
+        }
+        
+        List<OrderPlacementService.Command> commands = requests.stream()
+            .map(request -> new OrderPlacementService.Command(userId, request))
+            .collect(Collectors.toList());
+        
+        List<OrderPlacementService.Result> results = placementService.placeOrders(commands);
+        for (int i = 0; i < results.size(); i++) {
+            if (!results.get(i).isSuccess()) {
+                // Joined the caller's transaction, so throwing here rolls back the whole batch
+                throw new RuntimeException("Order " + (i + 1) + ": " + results.get(i).getError());
+            }
+        }
+        
+        logger.info("Placed {} orders for user {}", results.size(), userId);
+        return results.stream()
+            .map(OrderPlacementService.Result::getResponse)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Get order by order number
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse getOrder(String orderNumber) {
+        Order order = orderRepository.findByOrderNumber(orderNumber)
+            .orElseThrow(() -> new RuntimeException("Order not found with number: " + orderNumber));
+        return new OrderResponse(order);
+    }
+    
+    /**
+     * Get the user's orders, newest first. The page is selected without a
+     * collection fetch so LIMIT/OFFSET stay in SQL, then items for that page
+     * are loaded in one query.
+     */
+    @Transactional(readOnly = true)
+    public Page<OrderResponse> getUserOrders(Long userId, Pageable pageable) {
+        Page<Order> page = orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        if (page.isEmpty()) {
+            return page.map(OrderResponse::new);
+        }
+        
+        List<Long> ids = page.getContent().stream().map(Order::getId).collect(Collectors.toList());
+        Map<Long, Order> withItems = orderRepository.findWithItemsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Order::getId, Function.identity()));
+        
+        List<OrderResponse> content = ids.stream()
+            .map(id -> new OrderResponse(withItems.get(id)))
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, page.getTotalElements());
+    }
+    
+    /**
+     * Move an order to a new status, stamping the matching timestamp
+     */
+    public OrderResponse updateOrderStatus(Long orderId, OrderStatusUpdateRequest request) {
+        Order order = orderRepository.findWithItemsById(orderId)
+            .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+        
+        OrderStatus current = order.getStatus();
+        OrderStatus target = request.getStatus();
+        if (!ALLOWED_TRANSITIONS.getOrDefault(current, Collections.emptySet()).contains(target)) {
+            throw new RuntimeException("Cannot change order status from " + current + " to " + target);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        order.setStatus(target);
+        switch (target) {
+            case CONFIRMED -> {
+                if (!inventoryReservationService.ensureHeld(order.getOrderNumber())) {
+                    throw new RuntimeException("Items in order " + order.getOrderNumber() + " sold out after its reservation expired");
+                }
+                order.setOrderConfirmedAt(now);
+                TransactionCallbacks.afterCommit(() -> inventoryReservationService.confirm(order.getOrderNumber()));
+            }
+            case PREPARING -> order.setPreparationStartedAt(now);
+            case READY -> {
+                order.setReadyAt(now);
+                if (order.getPreparationStartedAt() != null) {
+                    order.setActualPreparationTime(
+                        (int) Duration.between(order.getPreparationStartedAt(), now).toMinutes());
+                }
+            }
+            case COMPLETED -> {
+                order.setCompletedAt(now);
+                TransactionCallbacks.afterCommit(() -> inventoryReservationService.complete(order.getOrderNumber()));
+            }
+            case CANCELLED -> {
+                order.setCancelledAt(now);
+                order.setCancellationReason(request.getReason());
+                TransactionCallbacks.afterCommit(() -> inventoryReservationService.release(order.getOrderNumber()));
+            }
+            default -> { }
+        }
+        
+        Order saved = orderRepository.save(order);
+        // Delivered to the owner's /user/queue/orders once this transaction commits
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(saved, current));
+        logger.info("Order {} moved from {} to {}", saved.getOrderNumber(), current, target);
+        return new OrderResponse(saved);
+    }
+    
+    /**
+     * Cancel an order on behalf of the user who placed it
+     */
+    public OrderResponse cancelOrder(Long orderId, Long userId, String reason) {
+        Order order = orderRepository.findWithItemsById(orderId)
+            .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+        
+        if (!order.getUser().getId().equals(userId)) {
+            throw new RuntimeException("Access denied to order: " + orderId);
+        }
+        if (!order.canBeCancelled()) {
+            throw new RuntimeException("Order can no longer be cancelled");
+        }
+        
+        OrderStatusUpdateRequest request = new OrderStatusUpdateRequest(OrderStatus.CANCELLED);
+        request.setReason(reason);
+        return updateOrderStatus(orderId, request);
+    }
+}
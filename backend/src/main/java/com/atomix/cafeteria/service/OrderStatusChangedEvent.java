@@ -0,0 +1,140 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.Order;
+import com.atomix.cafeteria.entity.OrderItem;
+import com.atomix.cafeteria.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Published by OrderService inside the transaction that changes an order's
+ * status. Everything is copied off the entity up front so listeners running
+ * after commit never touch a detached Order. Times are epoch millis.
+ */
+public class OrderStatusChangedEvent {
+
+    private final Long orderId;
+    private final String orderNumber;
+    private final Long userId;
+    private final String userEmail;
+    private final Long vendorId;
+    private final List<Long> menuItemIds;
+    private final OrderStatus previousStatus;
+    private final OrderStatus status;
+    private final Integer estimatedPreparationTime;
+    private final String cancellationReason;
+    private final Long confirmedAt;
+    private final Long preparationStartedAt;
+    private final Long readyAt;
+    private final Long completedAt;
+    private final Long cancelledAt;
+    private final long occurredAt;
+
+    public OrderStatusChangedEvent(Order order, OrderStatus previousStatus) {
+        this.orderId = order.getId();
+        this.orderNumber = order.getOrderNumber();
+        this.userId = order.getUser() != null ? order.getUser().getId() : null;
+        this.userEmail = order.getUser() != null ? order.getUser().getEmail() : null;
+        this.vendorId = order.getVendor() != null ? order.getVendor().getId() : null;
+        this.menuItemIds = menuItemIdsOf(order);
+        this.previousStatus = previousStatus;
+        this.status = order.getStatus();
+        this.estimatedPreparationTime = order.getEstimatedPreparationTime();
+        this.cancellationReason = order.getCancellationReason();
+        this.confirmedAt = toEpochMillis(order.getOrderConfirmedAt());
+        this.preparationStartedAt = toEpochMillis(order.getPreparationStartedAt());
+        this.readyAt = toEpochMillis(order.getReadyAt());
+        this.completedAt = toEpochMillis(order.getCompletedAt());
+        this.cancelledAt = toEpochMillis(order.getCancelledAt());
+        this.occurredAt = System.currentTimeMillis();
+    }
+
+    private static List<Long> menuItemIdsOf(Order order) {
+        List<Long> ids = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem item : order.getOrderItems()) {
+            if (item.getMenuItem() != null && !ids.contains(item.getMenuItem().getId())) {
+                ids.add(item.getMenuItem().getId());
+            }
+        }
+        return List.copyOf(ids);
+    }
+
+    private static Long toEpochMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : null;
+    }
+
+    // Getters
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Principal name of the owner, which is what user destinations resolve on
+     */
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    /**
+     * Distinct menu items in the order
+     */
+    public List<Long> getMenuItemIds() {
+        return menuItemIds;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Integer getEstimatedPreparationTime() {
+        return estimatedPreparationTime;
+    }
+
+    public String getCancellationReason() {
+        return cancellationReason;
+    }
+
+    public Long getConfirmedAt() {
+        return confirmedAt;
+    }
+
+    public Long getPreparationStartedAt() {
+        return preparationStartedAt;
+    }
+
+    public Long getReadyAt() {
+        return readyAt;
+    }
+
+    public Long getCompletedAt() {
+        return completedAt;
+    }
+
+    public Long getCancelledAt() {
+        return cancelledAt;
+    }
+
+    public long getOccurredAt() {
+        return occurredAt;
+    }
+}
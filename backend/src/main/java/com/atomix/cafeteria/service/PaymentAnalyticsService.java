@@ -0,0 +1,197 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.WriteBehindBuffer;
+import com.atomix.cafeteria.dto.DailyPaymentSummaryResponse;
+import com.atomix.cafeteria.dto.PaymentStatusSummaryResponse;
+import com.atomix.cafeteria.entity.PaymentDailyRollup;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentStatus;
+import com.atomix.cafeteria.entity.PaymentStatusChangedEvent;
+import com.atomix.cafeteria.entity.PaymentType;
+import com.atomix.cafeteria.repository.PaymentDailyRollupRepository;
+import com.atomix.cafeteria.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Payment dashboards served from payment_daily_rollups: one row per created
+ * day, status, method and type holding a count and a total. Dashboard reads
+ * cost O(days) whatever the size of the payments table.
+ *
+ * Each committed insert and status change (PaymentStatusChangedEvent)
+ * arrives here as a delta. Deltas are summed in memory per rollup row and written
+ * behind every flush-interval-ms as in-place increments, so payment
+ * transactions never wait on a shared rollup row. Dashboards therefore lag
+ * by at most one flush. Deltas still in memory at a crash are lost;
+ * POST /payments/analytics/rebuild recomputes a date range from the
+ * payments table, and an empty rollup table is backfilled at startup.
+ */
+@Service
+public class PaymentAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentAnalyticsService.class);
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator.comparing((RollupKey k) -> k.day)
+        .thenComparing(k -> k.status).thenComparing(k -> k.method).thenComparing(k -> k.type);
+
+    private final PaymentDailyRollupRepository rollupRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final WriteBehindBuffer<RollupKey, Delta> pending =
+        new WriteBehindBuffer<>("payment rollup deltas", Delta::plus, Delta::isZero, KEY_ORDER);
+
+    public PaymentAnalyticsService(PaymentDailyRollupRepository rollupRepository,
+                                   PaymentRepository paymentRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.paymentRepository = paymentRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        if (event.getPreviousStatus() != null) {
+            record(event.getCreatedDay(), event.getPreviousStatus(), event.getPaymentMethod(), event.getPaymentType(),
+                -1, event.getAmount().negate());
+        }
+        record(event.getCreatedDay(), event.getStatus(), event.getPaymentMethod(), event.getPaymentType(), 1, event.getAmount());
+    }
+
+    /**
+     * Add a committed change to the rollup row for (day, status, method, type)
+     */
+    void record(LocalDate day, PaymentStatus status, PaymentMethod method, PaymentType type, long count, BigDecimal amount) {
+        pending.add(new RollupKey(day, status, method, type), new Delta(count, amount));
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment.analytics.flush-interval-ms:5000}")
+    public void flush() {
+        pending.flush(batch -> {
+            transaction.executeWithoutResult(status -> apply(batch));
+            return null;
+        });
+    }
+
+    public List<PaymentStatusSummaryResponse> getStatusSummary() {
+        return readOnlyTransaction.execute(status -> rollupRepository.sumByStatus().stream()
+            .map(row -> new PaymentStatusSummaryResponse((PaymentStatus) row[0], ((Number) row[1]).longValue(), (BigDecimal) row[2]))
+            .collect(Collectors.toList()));
+    }
+
+    public List<DailyPaymentSummaryResponse> getDailySummary(LocalDate startDate, LocalDate endDate) {
+        return readOnlyTransaction.execute(status -> rollupRepository.sumByDay(startDate, endDate).stream()
+            .map(row -> new DailyPaymentSummaryResponse((LocalDate) row[0], ((Number) row[1]).longValue(), (BigDecimal) row[2]))
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * Recompute the rollups for a date range from the payments table.
+     * Changes committed while it runs may be counted twice, so run it when
+     * payments are quiet.
+     */
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        // Must not interleave with a flush
+        return pending.locked(() -> {
+            // Pending deltas for the range are already in the payments table
+            pending.discardIf(key -> !key.day.isBefore(startDate) && !key.day.isAfter(endDate));
+
+            Integer rows = transaction.execute(status -> {
+                rollupRepository.deleteByRollupDateBetween(startDate, endDate);
+                List<PaymentDailyRollup> rollups = new ArrayList<>();
+                for (Object[] row : paymentRepository.getDailyRollupRows(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())) {
+                    rollups.add(new PaymentDailyRollup((LocalDate) row[0], (PaymentStatus) row[1], (PaymentMethod) row[2],
+                        (PaymentType) row[3], ((Number) row[4]).longValue(), (BigDecimal) row[5]));
+                }
+                rollupRepository.saveAll(rollups);
+                return rollups.size();
+            });
+            logger.info("Rebuilt payment rollups from {} to {}: {} rows", startDate, endDate, rows);
+            return rows != null ? rows : 0;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Boolean empty = readOnlyTransaction.execute(status -> rollupRepository.count() == 0 && paymentRepository.count() > 0);
+        if (Boolean.TRUE.equals(empty)) {
+            rebuild(EPOCH, LocalDate.now());
+        }
+    }
+
+    private void apply(List<Map.Entry<RollupKey, Delta>> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<RollupKey, Delta> entry : batch) {
+            RollupKey key = entry.getKey();
+            Delta delta = entry.getValue();
+            int updated = rollupRepository.increment(key.day, key.status, key.method, key.type, delta.count, delta.amount, now);
+            if (updated == 0) {
+                rollupRepository.save(new PaymentDailyRollup(key.day, key.status, key.method, key.type, delta.count, delta.amount));
+            }
+        }
+    }
+
+    private static final class RollupKey {
+        private final LocalDate day;
+        private final PaymentStatus status;
+        private final PaymentMethod method;
+        private final PaymentType type;
+
+        private RollupKey(LocalDate day, PaymentStatus status, PaymentMethod method, PaymentType type) {
+            this.day = day;
+            this.status = status;
+            this.method = method;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RollupKey other)) {
+                return false;
+            }
+            return day.equals(other.day) && status == other.status && method == other.method && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, status, method, type);
+        }
+    }
+
+    private static final class Delta {
+        private final long count;
+        private final BigDecimal amount;
+
+        private Delta(long count, BigDecimal amount) {
+            this.count = count;
+            this.amount = amount;
+        }
+
+        private Delta plus(Delta other) {
+            return new Delta(count + other.count, amount.add(other.amount));
+        }
+
+        private boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+}
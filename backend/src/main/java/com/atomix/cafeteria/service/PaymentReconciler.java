@@ -0,0 +1,321 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.dto.ReconciliationStatsResponse;
+import com.atomix.cafeteria.entity.Payment;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentStatus;
+import com.atomix.cafeteria.gateway.GatewayPayment;
+import com.atomix.cafeteria.gateway.PaymentGatewayClient;
+import com.atomix.cafeteria.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Settles payments left PENDING because the customer walked away, the
+ * verify call never came or a webhook was lost.
+ *
+ * Each run pages through pending payments older than stale-after-ms in id
+ * order (keyset, so a page costs the same however far in it is), asks the
+ * gateways about a whole page in parallel with at most max-concurrent-lookups
+ * calls in flight, and then applies the page in one transaction so the row
+ * updates go out as JDBC batches. Paid payments are completed; payments the
+ * gateway reports as failed, or still unpaid after abandon-after-ms, are
+ * failed. Payments the gateway could not be asked about are left for the
+ * next run.
+ */
+@Component
+public class PaymentReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciler.class);
+    private static final Set<String> FAILED_GATEWAY_STATUSES = Set.of("failed", "canceled");
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final PaymentGatewayClient gatewayClient;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore lookups;
+    private final int pageSize;
+    private final long staleAfterMs;
+    private final long abandonAfterMs;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder scanned = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder unresolved = new LongAdder();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunDurationMs;
+    private volatile int lastRunScanned;
+
+    public PaymentReconciler(PaymentRepository paymentRepository,
+                             PaymentService paymentService,
+                             PaymentGatewayClient gatewayClient,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.payment.reconciliation.page-size:200}") int pageSize,
+                             @Value("${app.payment.reconciliation.max-concurrent-lookups:8}") int maxConcurrentLookups,
+                             @Value("${app.payment.reconciliation.stale-after-ms:1800000}") long staleAfterMs,
+                             @Value("${app.payment.reconciliation.abandon-after-ms:86400000}") long abandonAfterMs) {
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.gatewayClient = gatewayClient;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.lookups = new Semaphore(Math.max(1, maxConcurrentLookups));
+        this.pageSize = Math.max(1, pageSize);
+        this.staleAfterMs = staleAfterMs;
+        this.abandonAfterMs = abandonAfterMs;
+    }
+
+    @Scheduled(initialDelayString = "${app.payment.reconciliation.interval-ms:300000}",
+               fixedDelayString = "${app.payment.reconciliation.interval-ms:300000}")
+    public void reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            reconcile(LocalDateTime.now());
+        } catch (Exception e) {
+            logger.error("Payment reconciliation failed: ", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * One pass over every stale pending payment; returns how many were looked at
+     */
+    int reconcile(LocalDateTime now) {
+        long started = System.nanoTime();
+        LocalDateTime staleBefore = now.minus(Duration.ofMillis(staleAfterMs));
+        LocalDateTime abandonBefore = now.minus(Duration.ofMillis(abandonAfterMs));
+        int total = 0;
+        int settled = 0;
+
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            List<PendingPayment> page = readOnlyTransaction.execute(status ->
+                paymentRepository.findPendingPaymentsOlderThan(PaymentStatus.PENDING, staleBefore, cursor, PageRequest.of(0, pageSize))
+                    .stream().map(PendingPayment::new).collect(Collectors.toList()));
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+
+            Map<Long, Resolution> resolutions = resolve(page, abandonBefore);
+            settled += apply(resolutions);
+            total += page.size();
+            unresolved.add(page.size() - resolutions.size());
+            afterId = page.get(page.size() - 1).id;
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+
+        long durationMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        runs.increment();
+        scanned.add(total);
+        lastRunAt = now;
+        lastRunDurationMs = durationMs;
+        lastRunScanned = total;
+        if (total > 0) {
+            logger.info("Reconciled {} stale pending payments in {} ms, {} settled", total, durationMs, settled);
+        }
+        return total;
+    }
+
+    public ReconciliationStatsResponse getStats() {
+        ReconciliationStatsResponse stats = new ReconciliationStatsResponse();
+        stats.setRuns(runs.sum());
+        stats.setScanned(scanned.sum());
+        stats.setCompleted(completed.sum());
+        stats.setFailed(failed.sum());
+        stats.setUnresolved(unresolved.sum());
+        stats.setLastRunAt(lastRunAt);
+        stats.setLastRunDurationMs(lastRunDurationMs);
+        stats.setLastRunScanned(lastRunScanned);
+        stats.setLastRunPaymentsPerSecond(lastRunDurationMs > 0 ? lastRunScanned * 1000.0 / lastRunDurationMs : lastRunScanned);
+        return stats;
+    }
+
+    /**
+     * Ask the gateways about a page in parallel. Payments with no answer
+     * yet are missing from the result.
+     */
+    private Map<Long, Resolution> resolve(List<PendingPayment> page, LocalDateTime abandonBefore) {
+        Map<Long, CompletableFuture<Resolution>> lookupsById = new LinkedHashMap<>();
+        for (PendingPayment payment : page) {
+            lookupsById.put(payment.id, lookup(payment, abandonBefore));
+        }
+
+        Map<Long, Resolution> resolutions = new LinkedHashMap<>();
+        for (Map.Entry<Long, CompletableFuture<Resolution>> lookup : lookupsById.entrySet()) {
+            Resolution resolution = lookup.getValue().join();
+            if (resolution != null) {
+                resolutions.put(lookup.getKey(), resolution);
+            }
+        }
+        return resolutions;
+    }
+
+    private CompletableFuture<Resolution> lookup(PendingPayment payment, LocalDateTime abandonBefore) {
+        boolean abandoned = payment.createdAt.isBefore(abandonBefore);
+        if (!gatewayClient.supports(payment.method) || (payment.gatewayPaymentId == null && payment.gatewayOrderId == null)) {
+            // Nothing to ask; the gateway order was never created
+            return CompletableFuture.completedFuture(abandoned ? Resolution.failed("Payment abandoned") : null);
+        }
+
+        try {
+            lookups.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<GatewayPayment> call = payment.gatewayPaymentId != null
+            ? gatewayClient.fetchPayment(payment.method, payment.gatewayPaymentId)
+            : gatewayClient.fetchOrder(payment.method, payment.gatewayOrderId);
+        return call.handle((gatewayPayment, error) -> {
+            lookups.release();
+            if (error != null) {
+                logger.debug("Could not reconcile payment {}: {}", payment.paymentId, error.getMessage());
+                return null;
+            }
+            return resolutionOf(payment, gatewayPayment, abandoned);
+        });
+    }
+
+    static Resolution resolutionOf(PendingPayment payment, GatewayPayment gatewayPayment, boolean abandoned) {
+        if (gatewayPayment.isPaid()) {
+            if (gatewayPayment.getAmountMinor() != payment.amountMinor) {
+                logger.warn("Gateway amount {} does not match payment {}, leaving it pending",
+                    gatewayPayment.getAmountMinor(), payment.paymentId);
+                return null;
+            }
+            return Resolution.completed(gatewayPayment.getGatewayPaymentId());
+        }
+        if (FAILED_GATEWAY_STATUSES.contains(gatewayPayment.getStatus())) {
+            return Resolution.failed("Payment " + gatewayPayment.getStatus() + " at gateway");
+        }
+        return abandoned ? Resolution.failed("Payment abandoned") : null;
+    }
+
+    /**
+     * Apply a page of resolutions in one transaction, falling back to one
+     * transaction per payment if the batch fails. Returns how many settled.
+     */
+    private int apply(Map<Long, Resolution> resolutions) {
+        if (resolutions.isEmpty()) {
+            return 0;
+        }
+        try {
+            Integer settled = transaction.execute(status -> applyInTransaction(resolutions));
+            return settled != null ? settled : 0;
+        } catch (RuntimeException e) {
+            logger.warn("Settling {} payments failed, retrying individually: {}", resolutions.size(), e.getMessage());
+        }
+
+        int settled = 0;
+        for (Map.Entry<Long, Resolution> resolution : resolutions.entrySet()) {
+            try {
+                Integer one = transaction.execute(status -> applyInTransaction(Map.of(resolution.getKey(), resolution.getValue())));
+                settled += one != null ? one : 0;
+            } catch (RuntimeException e) {
+                unresolved.increment();
+                logger.error("Could not settle payment {}: {}", resolution.getKey(), e.getMessage());
+            }
+        }
+        return settled;
+    }
+
+    private int applyInTransaction(Map<Long, Resolution> resolutions) {
+        int settled = 0;
+        for (Payment payment : paymentRepository.findAllById(resolutions.keySet())) {
+            // A webhook or verify call may have settled it since the page was read
+            if (!payment.isPending()) {
+                continue;
+            }
+            Resolution resolution = resolutions.get(payment.getId());
+            if (resolution.completed) {
+                if (payment.getGatewayPaymentId() == null) {
+                    payment.setGatewayPaymentId(resolution.gatewayPaymentId);
+                }
+                paymentService.processSuccessfulPayment(payment);
+                completed.increment();
+            } else {
+                paymentService.markPaymentFailed(payment, resolution.reason);
+                failed.increment();
+            }
+            settled++;
+        }
+        return settled;
+    }
+
+    /**
+     * The fields a lookup needs, copied out so no entity outlives its transaction
+     */
+    static class PendingPayment {
+        private final Long id;
+        private final String paymentId;
+        private final PaymentMethod method;
+        private final String gatewayPaymentId;
+        private final String gatewayOrderId;
+        private final long amountMinor;
+        private final LocalDateTime createdAt;
+
+        PendingPayment(Payment payment) {
+            this.id = payment.getId();
+            this.paymentId = payment.getPaymentId();
+            this.method = payment.getPaymentMethod();
+            this.gatewayPaymentId = payment.getGatewayPaymentId();
+            this.gatewayOrderId = payment.getGatewayOrderId();
+            this.amountMinor = payment.getAmount().multiply(BigDecimal.valueOf(100)).longValue();
+            this.createdAt = payment.getCreatedAt();
+        }
+    }
+
+    static class Resolution {
+        private final boolean completed;
+        private final String gatewayPaymentId;
+        private final String reason;
+
+        private Resolution(boolean completed, String gatewayPaymentId, String reason) {
+            this.completed = completed;
+            this.gatewayPaymentId = gatewayPaymentId;
+            this.reason = reason;
+        }
+
+        static Resolution completed(String gatewayPaymentId) {
+            return new Resolution(true, gatewayPaymentId, null);
+        }
+
+        static Resolution failed(String reason) {
+            return new Resolution(false, null, reason);
+        }
+
+        boolean isCompleted() {
+            return completed;
+        }
+
+        String getReason() {
+            return reason;
+        }
+    }
+}
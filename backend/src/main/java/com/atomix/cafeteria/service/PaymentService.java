@@ -2,43 +2,50 @@ package com.atomix.cafeteria.service;
 
 import com.atomix.cafeteria.dto.*;
 import com.atomix.cafeteria.entity.*;
+import com.atomix.cafeteria.gateway.GatewayOrder;
+import com.atomix.cafeteria.gateway.GatewayPayment;
+import com.atomix.cafeteria.gateway.PaymentGatewayClient;
+import com.atomix.cafeteria.gateway.RazorpaySignature;
+import com.atomix.cafeteria.mapper.PaymentMapper;
+import com.atomix.cafeteria.repository.OrderRepository;
 import com.atomix.cafeteria.repository.PaymentRepository;
 import com.atomix.cafeteria.repository.UserRepository;
-import com.razorpay.Order;
-import com.razorpay.Payment;
-import com.razorpay.RazorpayClient;
-import com.razorpay.RazorpayException;
-import com.stripe.Stripe;
-import com.stripe.exception.StripeException;
-import com.stripe.model.PaymentIntent;
-import com.stripe.param.PaymentIntentCreateParams;
-import org.json.JSONObject;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class PaymentService {
     
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
     
     private final PaymentRepository paymentRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final FoodCardLedgerService foodCardLedgerService;
+    private final OrderRepository orderRepository;
+    private final InventoryReservationService inventoryReservationService;
     
     @Value("${app.payment.razorpay.key-id}")
     private String razorpayKeyId;
@@ -49,52 +56,69 @@ public class PaymentService {
     @Value("${app.payment.stripe.public-key}")
     private String stripePublicKey;
     
-    @Value("${app.payment.stripe.secret-key}")
-    private String stripeSecretKey;
-    
-    private RazorpayClient razorpayClient;
+    private final PaymentGatewayClient gatewayClient;
+    private final TransactionTemplate transactionTemplate;
     
     public PaymentService(PaymentRepository paymentRepository, 
                          UserRepository userRepository, 
-                         ModelMapper modelMapper) {
+                         FoodCardLedgerService foodCardLedgerService,
+                         OrderRepository orderRepository,
+                         InventoryReservationService inventoryReservationService,
+                         PaymentGatewayClient gatewayClient,
+                         PlatformTransactionManager transactionManager) {
         this.paymentRepository = paymentRepository;
         this.userRepository = userRepository;
-        this.modelMapper = modelMapper;
+        this.foodCardLedgerService = foodCardLedgerService;
+        this.orderRepository = orderRepository;
+        this.inventoryReservationService = inventoryReservationService;
+        this.gatewayClient = gatewayClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
     
-    private RazorpayClient getRazorpayClient() throws RazorpayException {
-        if (razorpayClient == null) {
-            razorpayClient = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
+    /**
+     * Create a new payment order.
+     *
+     * The payment row is written in its own short transaction; the gateway
+     * call then runs through PaymentGatewayClient with no transaction open,
+     * and the row is completed in a second transaction when it returns.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<PaymentResponse> createPayment(PaymentRequest request, Long userId) {
+        logger.info("Creating payment for user: {} with amount: {}", userId, request.getAmount());
+    
+        PaymentResponse response = transactionTemplate.execute(status -> insertPayment(request, userId));
+        if (response.getPaymentStatus() != PaymentStatus.PENDING || !gatewayClient.supports(request.getPaymentMethod())) {
+            return CompletableFuture.completedFuture(response);
         }
-        return razorpayClient;
-    }
     
-    private void initializeStripe() {
-        Stripe.apiKey = stripeSecretKey;
+        String paymentId = response.getPaymentId();
+        return gatewayClient.createOrder(request.getPaymentMethod(), paymentId, toMinorUnits(request.getAmount()), "INR", userId)
+            .handle((order, error) -> transactionTemplate.execute(status -> error == null
+                ? completeGatewayOrder(paymentId, order, response)
+                : failGatewayOrder(paymentId, unwrap(error), response)));
     }
     
-    /**
-     * Create a new payment order
-     */
-    public PaymentResponse createPayment(PaymentRequest request, Long userId) {
-        logger.info("Creating payment for user: {} with amount: {}", userId, request.getAmount());
-        
+    private PaymentResponse insertPayment(PaymentRequest request, Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
-        
+    
         // Generate unique payment ID
         String paymentId = generatePaymentId();
-        
+    
         // Create payment entity
         com.atomix.cafeteria.entity.Payment payment = new com.atomix.cafeteria.entity.Payment(
             paymentId, user, request.getAmount(), request.getPaymentMethod(), request.getPaymentType()
         );
         payment.setDescription(request.getDescription());
         payment.setGatewayCurrency("INR");
-        
+        if (request.getOrderId() != null) {
+            payment.setOrder(orderRepository.findById(request.getOrderId())
+                .orElseThrow(() -> new RuntimeException("Order not found")));
+        }
+    
         // Save payment
         payment = paymentRepository.save(payment);
-        
+    
         PaymentResponse response = new PaymentResponse();
         response.setPaymentId(paymentId);
         response.setAmount(request.getAmount());
@@ -104,248 +128,295 @@ public class PaymentService {
         response.setCurrency("INR");
         response.setDescription(request.getDescription());
         response.setCreatedAt(payment.getCreatedAt());
-        
-        try {
-            // Create gateway order based on payment method
-            if (request.getPaymentMethod() == PaymentMethod.RAZORPAY) {
-                createRazorpayOrder(payment, response);
-            } else if (request.getPaymentMethod() == PaymentMethod.STRIPE) {
-                createStripePaymentIntent(payment, response);
-            } else if (request.getPaymentMethod() == PaymentMethod.FOOD_CARD) {
-                // Handle food card payment immediately
+    
+        if (request.getPaymentMethod() == PaymentMethod.FOOD_CARD) {
+            // Handle food card payment immediately; no gateway involved
+            try {
                 return processFoodCardPayment(payment, response);
+            } catch (Exception e) {
+                return failGatewayOrder(payment, e, response);
             }
-        } catch (Exception e) {
-            logger.error("Error creating payment gateway order: ", e);
-            payment.setPaymentStatus(PaymentStatus.FAILED);
-            payment.setFailureReason(e.getMessage());
-            payment.setFailedAt(LocalDateTime.now());
-            paymentRepository.save(payment);
-            
-            response.setPaymentStatus(PaymentStatus.FAILED);
-            response.setFailureReason(e.getMessage());
         }
-        
         return response;
     }
     
-    private void createRazorpayOrder(com.atomix.cafeteria.entity.Payment payment, PaymentResponse response) throws RazorpayException {
-        RazorpayClient client = getRazorpayClient();
-        
-        // Convert amount to paise (Razorpay uses smallest currency unit)
-        int amountInPaise = payment.getAmount().multiply(BigDecimal.valueOf(100)).intValue();
-        
-        JSONObject orderRequest = new JSONObject();
-        orderRequest.put("amount", amountInPaise);
-        orderRequest.put("currency", "INR");
-        orderRequest.put("receipt", payment.getPaymentId());
-        
-        Order order = client.orders.create(orderRequest);
-        
-        // Update payment with Razorpay order details
-        payment.setGatewayOrderId(order.get("id"));
-        payment.setGatewayReceipt(payment.getPaymentId());
+    private PaymentResponse completeGatewayOrder(String paymentId, GatewayOrder order, PaymentResponse response) {
+        com.atomix.cafeteria.entity.Payment payment = paymentRepository.findByPaymentId(paymentId)
+            .orElseThrow(() -> new RuntimeException("Payment not found"));
+    
+        if (payment.getPaymentMethod() == PaymentMethod.STRIPE) {
+            // Update payment with Stripe payment intent details
+            payment.setGatewayPaymentId(order.getGatewayPaymentId());
+            payment.setGatewayOrderId(order.getClientSecret());
+    
+            // Set response data for frontend
+            response.setGatewayPaymentId(order.getGatewayPaymentId());
+            response.setClientSecret(order.getClientSecret());
+            response.setStripePublicKey(stripePublicKey);
+        } else {
+            // Update payment with Razorpay order details
+            payment.setGatewayOrderId(order.getGatewayOrderId());
+            payment.setGatewayReceipt(payment.getPaymentId());
+    
+            // Set response data for frontend
+            response.setGatewayOrderId(order.getGatewayOrderId());
+            response.setRazorpayKeyId(razorpayKeyId);
+        }
         paymentRepository.save(payment);
-        
-        // Set response data for frontend
-        response.setGatewayOrderId(order.get("id"));
-        response.setRazorpayKeyId(razorpayKeyId);
-        
-        logger.info("Created Razorpay order: {} for payment: {}", order.get("id"), payment.getPaymentId());
+    
+        logger.info("Created {} order for payment: {}", payment.getPaymentMethod().getDisplayName(), paymentId);
+        return response;
     }
     
-    private void createStripePaymentIntent(com.atomix.cafeteria.entity.Payment payment, PaymentResponse response) throws StripeException {
-        initializeStripe();
-        
-        // Convert amount to paise (Stripe uses smallest currency unit)
-        long amountInPaise = payment.getAmount().multiply(BigDecimal.valueOf(100)).longValue();
-        
-        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
-            .setAmount(amountInPaise)
-            .setCurrency("inr")
-            .putMetadata("payment_id", payment.getPaymentId())
-            .putMetadata("user_id", payment.getUser().getId().toString())
-            .build();
-        
-        PaymentIntent paymentIntent = PaymentIntent.create(params);
-        
-        // Update payment with Stripe payment intent details
-        payment.setGatewayPaymentId(paymentIntent.getId());
-        payment.setGatewayOrderId(paymentIntent.getClientSecret());
-        paymentRepository.save(payment);
-        
-        // Set response data for frontend
-        response.setGatewayPaymentId(paymentIntent.getId());
-        response.setClientSecret(paymentIntent.getClientSecret());
-        response.setStripePublicKey(stripePublicKey);
-        
-        logger.info("Created Stripe PaymentIntent: {} for payment: {}", paymentIntent.getId(), payment.getPaymentId());
+    private PaymentResponse failGatewayOrder(String paymentId, Throwable error, PaymentResponse response) {
+        com.atomix.cafeteria.entity.Payment payment = paymentRepository.findByPaymentId(paymentId)
+            .orElseThrow(() -> new RuntimeException("Payment not found"));
+        return failGatewayOrder(payment, error, response);
     }
     
+    private PaymentResponse failGatewayOrder(com.atomix.cafeteria.entity.Payment payment, Throwable error, PaymentResponse response) {
+        logger.error("Error creating payment gateway order: ", error);
+        payment.setPaymentStatus(PaymentStatus.FAILED);
+        payment.setFailureReason(error.getMessage());
+        payment.setFailedAt(LocalDateTime.now());
+        paymentRepository.save(payment);
+        releaseOrderInventory(payment);
+    
+        response.setPaymentStatus(PaymentStatus.FAILED);
+        response.setFailureReason(error.getMessage());
+        return response;
+    }
     private PaymentResponse processFoodCardPayment(com.atomix.cafeteria.entity.Payment payment, PaymentResponse response) {
-        User user = payment.getUser();
+        Long userId = payment.getUser().getId();
         
         if (payment.getPaymentType() == PaymentType.FOOD_CARD_TOPUP) {
             throw new RuntimeException("Cannot use food card for food card top-up");
         }
         
-        // Check if user has sufficient balance
-        BigDecimal currentBalance = BigDecimal.valueOf(user.getFoodCardBalance());
-        if (currentBalance.compareTo(payment.getAmount()) < 0) {
+        // Conditional debit: fails atomically if the balance is insufficient
+        boolean debited = foodCardLedgerService.debit(
+            userId, payment.getAmount(), payment.getPaymentId(), payment.getDescription()
+        );
+        if (!debited) {
             payment.setPaymentStatus(PaymentStatus.FAILED);
             payment.setFailureReason("Insufficient food card balance");
             payment.setFailedAt(LocalDateTime.now());
             paymentRepository.save(payment);
+            releaseOrderInventory(payment);
             
             response.setPaymentStatus(PaymentStatus.FAILED);
             response.setFailureReason("Insufficient food card balance");
             return response;
         }
         
-        // Deduct amount from food card balance
-        user.setFoodCardBalance(currentBalance.subtract(payment.getAmount()).doubleValue());
-        userRepository.save(user);
-        
         // Mark payment as successful
         payment.setPaymentStatus(PaymentStatus.COMPLETED);
         payment.setProcessedAt(LocalDateTime.now());
         paymentRepository.save(payment);
+        confirmOrderInventory(payment);
         
         response.setPaymentStatus(PaymentStatus.COMPLETED);
         response.setProcessedAt(payment.getProcessedAt());
         
-        logger.info("Processed food card payment: {} for user: {}", payment.getPaymentId(), user.getId());
+        logger.info("Processed food card payment: {} for user: {}", payment.getPaymentId(), userId);
         return response;
     }
     
     /**
-     * Verify and process payment from gateway callback
+     * Verify and process payment from gateway callback. The gateway lookup
+     * runs outside any transaction; if the gateway cannot be reached the
+     * payment stays pending for the webhook or reconciliation to settle.
      */
-    public PaymentResponse verifyPayment(PaymentVerificationRequest request) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<PaymentResponse> verifyPayment(PaymentVerificationRequest request) {
         logger.info("Verifying payment: {}", request.getPaymentId());
-        
-        com.atomix.cafeteria.entity.Payment payment = paymentRepository.findByPaymentId(request.getPaymentId())
-            .orElseThrow(() -> new RuntimeException("Payment not found"));
-        
-        try {
-            boolean verified = false;
-            
-            if (payment.getPaymentMethod() == PaymentMethod.RAZORPAY) {
-                verified = verifyRazorpayPayment(request, payment);
-            } else if (payment.getPaymentMethod() == PaymentMethod.STRIPE) {
-                verified = verifyStripePayment(request, payment);
-            }
-            
-            if (verified) {
-                return processSuccessfulPayment(payment);
-            } else {
-                return markPaymentFailed(payment, "Payment verification failed");
-            }
-        } catch (Exception e) {
-            logger.error("Error verifying payment: ", e);
-            return markPaymentFailed(payment, e.getMessage());
+    
+        com.atomix.cafeteria.entity.Payment payment = transactionTemplate.execute(status ->
+            paymentRepository.findByPaymentId(request.getPaymentId())
+                .orElseThrow(() -> new RuntimeException("Payment not found")));
+        String paymentId = payment.getPaymentId();
+    
+        if (!gatewayClient.supports(payment.getPaymentMethod())
+                || (payment.getPaymentMethod() == PaymentMethod.RAZORPAY && !razorpaySignatureMatches(request, payment))) {
+            return CompletableFuture.completedFuture(inTransaction(paymentId,
+                p -> markPaymentFailed(p, "Payment verification failed")));
         }
+    
+        return gatewayClient.fetchPayment(payment.getPaymentMethod(), request.getGatewayPaymentId())
+            .handle((gatewayPayment, error) -> inTransaction(paymentId, p -> {
+                if (error != null) {
+                    PaymentResponse response = PaymentMapper.toResponse(p);
+                    response.setFailureReason("Could not reach the payment gateway; the payment stays pending until confirmed");
+                    return response;
+                }
+                return applyVerification(request, p, gatewayPayment);
+            }));
     }
     
-    private boolean verifyRazorpayPayment(PaymentVerificationRequest request, com.atomix.cafeteria.entity.Payment payment) throws Exception {
-        // Verify signature
-        String signature = generateRazorpaySignature(request.getGatewayOrderId(), request.getGatewayPaymentId());
-        
-        if (!signature.equals(request.getGatewaySignature())) {
-            logger.warn("Razorpay signature verification failed for payment: {}", payment.getPaymentId());
-            return false;
-        }
-        
-        // Fetch payment details from Razorpay
-        RazorpayClient client = getRazorpayClient();
-        Payment razorpayPayment = client.payments.fetch(request.getGatewayPaymentId());
-        
+    private PaymentResponse applyVerification(PaymentVerificationRequest request,
+                                              com.atomix.cafeteria.entity.Payment payment,
+                                              GatewayPayment gatewayPayment) {
         // Verify payment status and amount
-        String status = razorpayPayment.get("status");
-        int amountPaise = razorpayPayment.get("amount");
-        BigDecimal amount = BigDecimal.valueOf(amountPaise).divide(BigDecimal.valueOf(100));
-        
-        if (!"captured".equals(status) || !amount.equals(payment.getAmount())) {
-            logger.warn("Razorpay payment verification failed - status: {}, amount: {}", status, amount);
-            return false;
+        if (!gatewayPayment.isPaid() || gatewayPayment.getAmountMinor() != toMinorUnits(payment.getAmount())) {
+            logger.warn("{} payment verification failed - status: {}, amount: {}", payment.getPaymentMethod().getDisplayName(),
+                gatewayPayment.getStatus(), gatewayPayment.getAmountMinor());
+            return markPaymentFailed(payment, "Payment verification failed");
         }
-        
-        // Update payment with gateway details
-        payment.setGatewayPaymentId(request.getGatewayPaymentId());
-        payment.setGatewaySignature(request.getGatewaySignature());
-        
-        return true;
+    
+        if (payment.getPaymentMethod() == PaymentMethod.RAZORPAY) {
+            // Update payment with gateway details
+            payment.setGatewayPaymentId(request.getGatewayPaymentId());
+            payment.setGatewaySignature(request.getGatewaySignature());
+        }
+        return processSuccessfulPayment(payment);
     }
     
-    private boolean verifyStripePayment(PaymentVerificationRequest request, com.atomix.cafeteria.entity.Payment payment) throws StripeException {
-        initializeStripe();
-        
-        PaymentIntent paymentIntent = PaymentIntent.retrieve(request.getGatewayPaymentId());
-        
-        // Verify payment status and amount
-        long amountPaise = paymentIntent.getAmount();
-        BigDecimal amount = BigDecimal.valueOf(amountPaise).divide(BigDecimal.valueOf(100));
-        
-        if (!"succeeded".equals(paymentIntent.getStatus()) || !amount.equals(payment.getAmount())) {
-            logger.warn("Stripe payment verification failed - status: {}, amount: {}", paymentIntent.getStatus(), amount);
-            return false;
+    private boolean razorpaySignatureMatches(PaymentVerificationRequest request, com.atomix.cafeteria.entity.Payment payment) {
+        if (RazorpaySignature.matches(razorpayKeySecret, request.getGatewayOrderId(), request.getGatewayPaymentId(),
+                request.getGatewaySignature())) {
+            return true;
         }
-        
-        return true;
+        logger.warn("Razorpay signature verification failed for payment: {}", payment.getPaymentId());
+        return false;
+    }
+    
+    private PaymentResponse inTransaction(String paymentId, Function<com.atomix.cafeteria.entity.Payment, PaymentResponse> action) {
+        try {
+            return transactionTemplate.execute(status -> action.apply(loadPayment(paymentId)));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // A webhook or reconciliation settled it first; report what they settled it to
+            logger.info("Payment {} was settled concurrently", paymentId);
+            return transactionTemplate.execute(status -> PaymentMapper.toResponse(loadPayment(paymentId)));
+        }
+    }
+    
+    private com.atomix.cafeteria.entity.Payment loadPayment(String paymentId) {
+        return paymentRepository.findByPaymentId(paymentId)
+            .orElseThrow(() -> new RuntimeException("Payment not found"));
     }
     
-    private PaymentResponse processSuccessfulPayment(com.atomix.cafeteria.entity.Payment payment) {
+    private static long toMinorUnits(BigDecimal amount) {
+        return amount.multiply(BigDecimal.valueOf(100)).longValue();
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+    // Package-private for PaymentWebhookProcessor
+    PaymentResponse processSuccessfulPayment(com.atomix.cafeteria.entity.Payment payment) {
+        if (payment.isSuccessful()) {
+            // Already applied (e.g. a repeated verify call); never credit twice
+            return PaymentMapper.toResponse(payment);
+        }
+        if (!holdOrderInventory(payment)) {
+            // The amount was captured, so this failure needs a refund
+            return markPaymentFailed(payment, "Items sold out after the order's reservation expired");
+        }
+        
         payment.setPaymentStatus(PaymentStatus.COMPLETED);
         payment.setProcessedAt(LocalDateTime.now());
+        // Flushed before crediting: the version check waits on and then fails
+        // against any concurrent caller that settled this payment first
+        paymentRepository.saveAndFlush(payment);
         
         // If this is a food card top-up, add amount to user's balance
         if (payment.getPaymentType() == PaymentType.FOOD_CARD_TOPUP) {
-            User user = payment.getUser();
-            BigDecimal currentBalance = BigDecimal.valueOf(user.getFoodCardBalance());
-            user.setFoodCardBalance(currentBalance.add(payment.getAmount()).doubleValue());
-            userRepository.save(user);
-            logger.info("Added {} to food card balance for user: {}", payment.getAmount(), user.getId());
+            foodCardLedgerService.credit(
+                payment.getUser().getId(), payment.getAmount(), FoodCardTransactionType.TOPUP,
+                payment.getPaymentId(), payment.getDescription()
+            );
         }
         
-        paymentRepository.save(payment);
+        confirmOrderInventory(payment);
         
-        PaymentResponse response = modelMapper.map(payment, PaymentResponse.class);
+        PaymentResponse response = PaymentMapper.toResponse(payment);
         logger.info("Payment processed successfully: {}", payment.getPaymentId());
         
         return response;
     }
     
-    private PaymentResponse markPaymentFailed(com.atomix.cafeteria.entity.Payment payment, String reason) {
+    // Package-private for PaymentWebhookProcessor
+    PaymentResponse markPaymentFailed(com.atomix.cafeteria.entity.Payment payment, String reason) {
         payment.setPaymentStatus(PaymentStatus.FAILED);
         payment.setFailureReason(reason);
         payment.setFailedAt(LocalDateTime.now());
         paymentRepository.save(payment);
+        releaseOrderInventory(payment);
         
-        PaymentResponse response = modelMapper.map(payment, PaymentResponse.class);
+        PaymentResponse response = PaymentMapper.toResponse(payment);
         logger.warn("Payment marked as failed: {} - {}", payment.getPaymentId(), reason);
         
         return response;
     }
     
+    // A reservation that expired before the payment landed takes its stock again, or fails the payment
+    private boolean holdOrderInventory(com.atomix.cafeteria.entity.Payment payment) {
+        return payment.getOrder() == null
+            || inventoryReservationService.ensureHeld(payment.getOrder().getOrderNumber());
+    }
+    
+    // Stock reserved for a paid order is kept; a failed payment gives it back. Both
+    // wait for the commit so a rollback leaves the counters alone.
+    private void confirmOrderInventory(com.atomix.cafeteria.entity.Payment payment) {
+        if (payment.getOrder() != null) {
+            String orderNumber = payment.getOrder().getOrderNumber();
+            TransactionCallbacks.afterCommit(() -> inventoryReservationService.confirm(orderNumber));
+        }
+    }
+    
+    private void releaseOrderInventory(com.atomix.cafeteria.entity.Payment payment) {
+        if (payment.getOrder() != null) {
+            String orderNumber = payment.getOrder().getOrderNumber();
+            TransactionCallbacks.afterCommit(() -> inventoryReservationService.release(orderNumber));
+        }
+    }
+    
     /**
      * Get payment history for a user
      */
     public Page<PaymentHistoryResponse> getPaymentHistory(Long userId, Pageable pageable) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        Page<com.atomix.cafeteria.entity.Payment> payments = paymentRepository.findByUserOrderByCreatedAtDesc(user, pageable);
+        // Orders come with the page, so the order numbers cost no extra selects
+        Page<com.atomix.cafeteria.entity.Payment> payments = paymentRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
         
         return payments.map(payment -> {
-            PaymentHistoryResponse response = modelMapper.map(payment, PaymentHistoryResponse.class);
-            if (payment.getOrder() != null) {
-                response.setOrderNumber(payment.getOrder().getOrderNumber());
-                // response.setVendorName(payment.getOrder().getVendor().getName()); // Uncomment when Vendor entity is complete
-            }
+            PaymentHistoryResponse response = PaymentMapper.toHistoryResponse(payment);
+            // response.setVendorName(payment.getOrder().getVendor().getName()); // Uncomment when Vendor entity is complete
             return response;
         });
     }
     
+    /**
+     * Get payment history newest first, a page at a time from a cursor.
+     * Each page is one index seek on (user_id, created_at, id) however deep
+     * it is, with no count query; pass the returned nextCursor to continue.
+     */
+    @Transactional(readOnly = true)
+    public PaymentHistoryPageResponse getPaymentHistoryPage(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        // One extra row tells whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        
+        List<Object[]> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = paymentRepository.findHistoryRows(userId, limit);
+        } else {
+            PaymentHistoryCursor position = PaymentHistoryCursor.decode(cursor);
+            rows = paymentRepository.findHistoryRowsBefore(userId, position.getCreatedAt(), position.getId(), limit);
+        }
+        
+        List<PaymentHistoryResponse> payments = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (int i = 0; i < rows.size() && i < pageSize; i++) {
+            payments.add(PaymentMapper.toHistoryResponse(rows.get(i)));
+        }
+        
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            PaymentHistoryResponse last = payments.get(payments.size() - 1);
+            nextCursor = new PaymentHistoryCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new PaymentHistoryPageResponse(payments, nextCursor);
+    }
+    
     /**
      * Get payment by ID
      */
@@ -353,38 +424,28 @@ public class PaymentService {
         com.atomix.cafeteria.entity.Payment payment = paymentRepository.findByPaymentId(paymentId)
             .orElseThrow(() -> new RuntimeException("Payment not found"));
         
-        return modelMapper.map(payment, PaymentResponse.class);
+        return PaymentMapper.toResponse(payment);
     }
     
     /**
      * Get user's food card balance
      */
+    @Transactional(readOnly = true)
     public BigDecimal getFoodCardBalance(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        return BigDecimal.valueOf(user.getFoodCardBalance());
+        return foodCardLedgerService.getBalance(userId);
+    }
+    
+    /**
+     * Get user's food card ledger entries, newest first
+     */
+    @Transactional(readOnly = true)
+    public Page<FoodCardTransactionResponse> getFoodCardTransactions(Long userId, Pageable pageable) {
+        return foodCardLedgerService.getTransactions(userId, pageable)
+            .map(FoodCardTransactionResponse::new);
     }
     
     // Utility methods
     private String generatePaymentId() {
         return "PAY_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
     }
-    
-    private String generateRazorpaySignature(String orderId, String paymentId) throws Exception {
-        String payload = orderId + "|" + paymentId;
-        Mac mac = Mac.getInstance("HmacSHA256");
-        mac.init(new SecretKeySpec(razorpayKeySecret.getBytes(), "HmacSHA256"));
-        byte[] hash = mac.doFinal(payload.getBytes());
-        
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : hash) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
-        }
-        return hexString.toString();
-    }
 } 
\ No newline at end of file
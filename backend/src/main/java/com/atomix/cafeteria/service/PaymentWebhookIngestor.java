@@ -0,0 +1,307 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.BoundedTtlCache;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentWebhookEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Receives payment gateway webhooks without blocking the HTTP thread.
+ *
+ * The request thread only checks the signature, parses the event, drops
+ * recently seen event ids and queues the event; the gateway gets its answer
+ * in well under a millisecond. Worker threads then write each batch to the
+ * payment_webhook_events inbox and apply it to the payments. Events for the
+ * same payment always land on the same worker, so they apply in arrival
+ * order. Events stored but not applied (a crash, a failed batch) are picked
+ * up again by a periodic sweep of the inbox.
+ *
+ * Acknowledged events only live in memory until their batch is stored, so a
+ * crash in that window loses them; the gateway will not redeliver, but the
+ * payment is still settled by /payments/verify or reconciliation.
+ */
+@Component
+public class PaymentWebhookIngestor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentWebhookIngestor.class);
+
+    public enum Result {
+        ACCEPTED,
+        DUPLICATE,
+        UNAUTHORIZED,
+        INVALID,
+        BUSY
+    }
+
+    private final PaymentWebhookVerifier verifier;
+    private final PaymentWebhookProcessor processor;
+    private final ObjectMapper objectMapper;
+    private final BoundedTtlCache<String, Boolean> recentEvents;
+    private final List<BlockingQueue<PaymentWebhookEvent>> queues;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long dedupTtlMs;
+    private final long sweepAgeMs;
+
+    private volatile boolean running;
+    private final List<Thread> workers = new ArrayList<>();
+
+    public PaymentWebhookIngestor(PaymentWebhookVerifier verifier,
+                                  PaymentWebhookProcessor processor,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.payment.webhook.workers:2}") int workerCount,
+                                  @Value("${app.payment.webhook.batch-size:100}") int batchSize,
+                                  @Value("${app.payment.webhook.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${app.payment.webhook.max-attempts:5}") int maxAttempts,
+                                  @Value("${app.payment.webhook.dedup-max-size:100000}") int dedupMaxSize,
+                                  @Value("${app.payment.webhook.dedup-ttl-ms:86400000}") long dedupTtlMs,
+                                  @Value("${app.payment.webhook.sweep-age-ms:60000}") long sweepAgeMs) {
+        this.verifier = verifier;
+        this.processor = processor;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.dedupTtlMs = dedupTtlMs;
+        this.sweepAgeMs = sweepAgeMs;
+        this.recentEvents = new BoundedTtlCache<>(dedupMaxSize);
+        int shards = Math.max(1, workerCount);
+        this.queues = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            queues.add(new ArrayBlockingQueue<>(Math.max(1, queueCapacity / shards)));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < queues.size(); i++) {
+            BlockingQueue<PaymentWebhookEvent> queue = queues.get(i);
+            Thread worker = new Thread(() -> runLoop(queue), "payment-webhook-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Verify and queue one webhook delivery
+     *
+     * @param gateway   path segment, "razorpay" or "stripe"
+     * @param body      raw request body, exactly as signed
+     * @param signature the gateway's signature header
+     * @param eventId   event id header, for gateways that send one outside the body
+     */
+    public Result accept(String gateway, byte[] body, String signature, String eventId) {
+        PaymentMethod method = gatewayOf(gateway);
+        if (method == null) {
+            return Result.INVALID;
+        }
+        if (!verifier.verify(method, body, signature)) {
+            logger.warn("Rejected {} webhook with an invalid signature", gateway);
+            return Result.UNAUTHORIZED;
+        }
+
+        PaymentWebhookEvent event;
+        try {
+            event = parse(method, body, eventId);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Rejected unreadable {} webhook: {}", gateway, e.getMessage());
+            return Result.INVALID;
+        }
+        if (event == null) {
+            return Result.INVALID;
+        }
+
+        String key = event.getIdempotencyKey();
+        if (recentEvents.get(key) != null) {
+            return Result.DUPLICATE;
+        }
+        if (!running) {
+            // Not started or shutting down: store and apply inline
+            process(List.of(event));
+            return Result.ACCEPTED;
+        }
+        if (!queueFor(event).offer(event)) {
+            // The gateway retries on 5xx, which is the backpressure we want
+            return Result.BUSY;
+        }
+        recentEvents.put(key, Boolean.TRUE, System.currentTimeMillis() + dedupTtlMs);
+        return Result.ACCEPTED;
+    }
+
+    /**
+     * Re-apply inbox events that were stored but never applied
+     */
+    @Scheduled(fixedDelayString = "${app.payment.webhook.sweep-interval-ms:60000}")
+    public void sweep() {
+        List<Long> stale = processor.findStale(LocalDateTime.now().minus(Duration.ofMillis(sweepAgeMs)), maxAttempts, batchSize);
+        if (!stale.isEmpty()) {
+            logger.info("Retrying {} unapplied webhook events", stale.size());
+            apply(stale);
+        }
+    }
+
+    public int getQueuedEvents() {
+        int total = 0;
+        for (BlockingQueue<PaymentWebhookEvent> queue : queues) {
+            total += queue.size();
+        }
+        return total;
+    }
+
+    private void runLoop(BlockingQueue<PaymentWebhookEvent> queue) {
+        while (running) {
+            try {
+                // A fresh list per batch, since the processor may keep a reference to it
+                List<PaymentWebhookEvent> batch = new ArrayList<>(batchSize);
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Unexpected error in payment webhook worker: ", e);
+            }
+        }
+        // Store whatever is still queued so the sweep applies it after restart
+        List<PaymentWebhookEvent> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            store(batch);
+        }
+    }
+
+    private void process(List<PaymentWebhookEvent> batch) {
+        List<Long> stored = store(batch);
+        if (!stored.isEmpty()) {
+            apply(stored);
+        }
+    }
+
+    private List<Long> store(List<PaymentWebhookEvent> batch) {
+        try {
+            return processor.store(batch);
+        } catch (RuntimeException e) {
+            logger.warn("Storing {} webhook events failed, retrying individually: {}", batch.size(), e.getMessage());
+        }
+
+        List<Long> stored = new ArrayList<>(batch.size());
+        for (PaymentWebhookEvent event : batch) {
+            try {
+                stored.addAll(processor.store(List.of(event)));
+            } catch (RuntimeException e) {
+                // Let a redelivery through, since this one never reached the inbox
+                recentEvents.invalidate(event.getIdempotencyKey());
+                logger.error("Could not store webhook event {}: {}", event.getIdempotencyKey(), e.getMessage());
+            }
+        }
+        return stored;
+    }
+
+    private void apply(List<Long> eventIds) {
+        try {
+            processor.apply(eventIds);
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("Applying {} webhook events failed, retrying individually: {}", eventIds.size(), e.getMessage());
+        }
+
+        for (Long eventId : eventIds) {
+            try {
+                processor.apply(List.of(eventId));
+            } catch (RuntimeException e) {
+                processor.recordFailure(eventId, e.getMessage(), maxAttempts);
+            }
+        }
+    }
+
+    private BlockingQueue<PaymentWebhookEvent> queueFor(PaymentWebhookEvent event) {
+        String key = event.getGatewayPaymentId() != null ? event.getGatewayPaymentId()
+            : event.getGatewayOrderId() != null ? event.getGatewayOrderId()
+            : event.getPaymentReference() != null ? event.getPaymentReference()
+            : event.getEventId();
+        return queues.get(Math.floorMod(key.hashCode(), queues.size()));
+    }
+
+    private static PaymentMethod gatewayOf(String gateway) {
+        if ("razorpay".equalsIgnoreCase(gateway)) {
+            return PaymentMethod.RAZORPAY;
+        }
+        if ("stripe".equalsIgnoreCase(gateway)) {
+            return PaymentMethod.STRIPE;
+        }
+        return null;
+    }
+
+    PaymentWebhookEvent parse(PaymentMethod gateway, byte[] body, String eventIdHeader) throws IOException {
+        JsonNode root = objectMapper.readTree(body);
+        String payload = new String(body, StandardCharsets.UTF_8);
+
+        if (gateway == PaymentMethod.RAZORPAY) {
+            String type = text(root.path("event"));
+            JsonNode payment = root.path("payload").path("payment").path("entity");
+            JsonNode order = root.path("payload").path("order").path("entity");
+            String gatewayPaymentId = text(payment.path("id"));
+            // Razorpay puts the event id in a header; fall back to something stable per delivery
+            String eventId = eventIdHeader != null && !eventIdHeader.isBlank() ? eventIdHeader
+                : gatewayPaymentId != null ? type + ":" + gatewayPaymentId : null;
+            if (type == null || eventId == null) {
+                return null;
+            }
+
+            PaymentWebhookEvent event = new PaymentWebhookEvent(gateway, eventId, type, payload);
+            event.setGatewayPaymentId(gatewayPaymentId);
+            event.setGatewayOrderId(firstText(payment.path("order_id"), order.path("id")));
+            event.setPaymentReference(firstText(order.path("receipt"), payment.path("notes").path("payment_id")));
+            event.setAmountMinor(payment.hasNonNull("amount") ? payment.get("amount").asLong() : null);
+            event.setFailureReason(PaymentWebhookProcessor.truncate(text(payment.path("error_description"))));
+            return event;
+        }
+
+        String eventId = text(root.path("id"));
+        String type = text(root.path("type"));
+        if (eventId == null || type == null) {
+            return null;
+        }
+        JsonNode intent = root.path("data").path("object");
+        PaymentWebhookEvent event = new PaymentWebhookEvent(gateway, eventId, type, payload);
+        event.setGatewayPaymentId(text(intent.path("id")));
+        event.setPaymentReference(text(intent.path("metadata").path("payment_id")));
+        event.setAmountMinor(intent.hasNonNull("amount") ? intent.get("amount").asLong() : null);
+        event.setFailureReason(PaymentWebhookProcessor.truncate(text(intent.path("last_payment_error").path("message"))));
+        return event;
+    }
+
+    private static String firstText(JsonNode first, JsonNode second) {
+        String value = text(first);
+        return value != null ? value : text(second);
+    }
+
+    private static String text(JsonNode node) {
+        return node.isValueNode() && !node.isNull() ? node.asText() : null;
+    }
+}
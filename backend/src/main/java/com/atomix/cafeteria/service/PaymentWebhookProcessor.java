@@ -0,0 +1,213 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.Payment;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentWebhookEvent;
+import com.atomix.cafeteria.entity.WebhookEventStatus;
+import com.atomix.cafeteria.repository.PaymentRepository;
+import com.atomix.cafeteria.repository.PaymentWebhookEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional half of webhook ingestion: writes events to the inbox and
+ * applies stored events to their payments, a batch per transaction.
+ */
+@Service
+public class PaymentWebhookProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentWebhookProcessor.class);
+
+    enum Outcome { SUCCEEDED, FAILED, IGNORED }
+
+    private final PaymentWebhookEventRepository eventRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+
+    public PaymentWebhookProcessor(PaymentWebhookEventRepository eventRepository,
+                                   PaymentRepository paymentRepository,
+                                   PaymentService paymentService) {
+        this.eventRepository = eventRepository;
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+    }
+
+    /**
+     * Insert the events that are not in the inbox yet and return their ids.
+     * Events already stored (redeliveries) are skipped.
+     */
+    @Transactional
+    public List<Long> store(List<PaymentWebhookEvent> events) {
+        Map<String, PaymentWebhookEvent> unique = new LinkedHashMap<>();
+        for (PaymentWebhookEvent event : events) {
+            unique.putIfAbsent(event.getIdempotencyKey(), event);
+        }
+
+        Map<PaymentMethod, List<String>> idsByGateway = unique.values().stream()
+            .collect(Collectors.groupingBy(PaymentWebhookEvent::getGateway,
+                Collectors.mapping(PaymentWebhookEvent::getEventId, Collectors.toList())));
+        for (Map.Entry<PaymentMethod, List<String>> gateway : idsByGateway.entrySet()) {
+            for (String existing : eventRepository.findExistingEventIds(gateway.getKey(), gateway.getValue())) {
+                unique.remove(gateway.getKey() + ":" + existing);
+            }
+        }
+        if (unique.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(unique.size());
+        for (PaymentWebhookEvent saved : eventRepository.saveAll(unique.values())) {
+            ids.add(saved.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Apply stored events to their payments in one transaction. Payments
+     * are loaded with at most three IN queries for the whole batch.
+     */
+    @Transactional
+    public void apply(List<Long> eventIds) {
+        List<PaymentWebhookEvent> events = eventRepository.findAllById(eventIds).stream()
+            .filter(e -> e.getStatus() == WebhookEventStatus.RECEIVED)
+            .sorted(Comparator.comparing(PaymentWebhookEvent::getId))
+            .collect(Collectors.toList());
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Map<String, Payment> byPaymentId = load(events, PaymentWebhookEvent::getPaymentReference,
+            paymentRepository::findByPaymentIdIn, Payment::getPaymentId);
+        Map<String, Payment> byGatewayPaymentId = load(events, PaymentWebhookEvent::getGatewayPaymentId,
+            paymentRepository::findByGatewayPaymentIdIn, Payment::getGatewayPaymentId);
+        Map<String, Payment> byGatewayOrderId = load(events, PaymentWebhookEvent::getGatewayOrderId,
+            paymentRepository::findByGatewayOrderIdIn, Payment::getGatewayOrderId);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (PaymentWebhookEvent event : events) {
+            Payment payment = firstNonNull(
+                byPaymentId.get(event.getPaymentReference()),
+                byGatewayPaymentId.get(event.getGatewayPaymentId()),
+                byGatewayOrderId.get(event.getGatewayOrderId()));
+            event.setAttempts(event.getAttempts() + 1);
+            event.setStatus(applyTo(event, payment));
+            event.setProcessedAt(now);
+        }
+    }
+
+    /**
+     * Record a failed attempt; the event is retried by the sweep until it
+     * runs out of attempts
+     */
+    @Transactional
+    public void recordFailure(Long eventId, String error, int maxAttempts) {
+        eventRepository.findById(eventId).ifPresent(event -> {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(truncate(error));
+            if (event.getAttempts() >= maxAttempts) {
+                event.setStatus(WebhookEventStatus.FAILED);
+                logger.error("Giving up on webhook event {} after {} attempts: {}",
+                    event.getIdempotencyKey(), event.getAttempts(), error);
+            }
+        });
+    }
+
+    /**
+     * Ids of events still waiting to be applied that were received before the cutoff
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findStale(LocalDateTime receivedBefore, int maxAttempts, int limit) {
+        return eventRepository.findStale(WebhookEventStatus.RECEIVED, receivedBefore, maxAttempts, PageRequest.of(0, limit))
+            .stream().map(PaymentWebhookEvent::getId).collect(Collectors.toList());
+    }
+
+    private WebhookEventStatus applyTo(PaymentWebhookEvent event, Payment payment) {
+        Outcome outcome = outcomeOf(event);
+        if (outcome == Outcome.IGNORED) {
+            return WebhookEventStatus.IGNORED;
+        }
+        if (payment == null) {
+            event.setLastError("No matching payment");
+            return WebhookEventStatus.FAILED;
+        }
+        if (payment.getPaymentMethod() != event.getGateway()) {
+            event.setLastError("Payment " + payment.getPaymentId() + " does not use " + event.getGateway());
+            return WebhookEventStatus.FAILED;
+        }
+
+        if (outcome == Outcome.SUCCEEDED) {
+            if (event.getAmountMinor() != null
+                    && payment.getAmount().multiply(BigDecimal.valueOf(100)).longValue() != event.getAmountMinor()) {
+                event.setLastError("Amount mismatch for payment " + payment.getPaymentId());
+                logger.warn("Webhook {} amount {} does not match payment {}", event.getIdempotencyKey(),
+                    event.getAmountMinor(), payment.getPaymentId());
+                return WebhookEventStatus.FAILED;
+            }
+            if (payment.getGatewayPaymentId() == null) {
+                payment.setGatewayPaymentId(event.getGatewayPaymentId());
+            }
+            paymentService.processSuccessfulPayment(payment);
+            return WebhookEventStatus.PROCESSED;
+        }
+
+        // A failed attempt never overrides a payment that has already settled
+        if (!payment.isPending()) {
+            return WebhookEventStatus.IGNORED;
+        }
+        paymentService.markPaymentFailed(payment,
+            event.getFailureReason() != null ? event.getFailureReason() : "Payment failed at gateway");
+        return WebhookEventStatus.PROCESSED;
+    }
+
+    static Outcome outcomeOf(PaymentWebhookEvent event) {
+        String type = event.getEventType() != null ? event.getEventType() : "";
+        if (event.getGateway() == PaymentMethod.RAZORPAY) {
+            return switch (type) {
+                case "payment.captured", "order.paid" -> Outcome.SUCCEEDED;
+                case "payment.failed" -> Outcome.FAILED;
+                default -> Outcome.IGNORED;
+            };
+        }
+        return switch (type) {
+            case "payment_intent.succeeded" -> Outcome.SUCCEEDED;
+            case "payment_intent.payment_failed", "payment_intent.canceled" -> Outcome.FAILED;
+            default -> Outcome.IGNORED;
+        };
+    }
+
+    private static Map<String, Payment> load(List<PaymentWebhookEvent> events,
+                                             Function<PaymentWebhookEvent, String> reference,
+                                             Function<Collection<String>, List<Payment>> query,
+                                             Function<Payment, String> key) {
+        Set<String> references = events.stream().map(reference).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (references.isEmpty()) {
+            return Map.of();
+        }
+        return query.apply(references).stream()
+            .filter(p -> key.apply(p) != null)
+            .collect(Collectors.toMap(key, Function.identity(), (a, b) -> a));
+    }
+
+    static String truncate(String value) {
+        return value != null && value.length() > 255 ? value.substring(0, 255) : value;
+    }
+
+    @SafeVarargs
+    private static <T> T firstNonNull(T... values) {
+        for (T value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
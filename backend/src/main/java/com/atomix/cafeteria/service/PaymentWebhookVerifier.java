@@ -0,0 +1,108 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.PaymentMethod;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Checks gateway webhook signatures against the raw request body.
+ *
+ * Razorpay sends hex HMAC-SHA256 of the body in X-Razorpay-Signature.
+ * Stripe sends "t=timestamp,v1=signature" in Stripe-Signature, signing
+ * "timestamp.body"; events older than the tolerance are rejected as replays.
+ * Comparisons are constant-time, and a gateway without a configured secret
+ * accepts nothing.
+ */
+@Component
+public class PaymentWebhookVerifier {
+
+    private final byte[] razorpaySecret;
+    private final byte[] stripeSecret;
+    private final long stripeToleranceSeconds;
+
+    public PaymentWebhookVerifier(@Value("${app.payment.razorpay.webhook-secret:}") String razorpaySecret,
+                                  @Value("${app.payment.stripe.webhook-secret:}") String stripeSecret,
+                                  @Value("${app.payment.stripe.webhook-tolerance-seconds:300}") long stripeToleranceSeconds) {
+        this.razorpaySecret = razorpaySecret.getBytes(StandardCharsets.UTF_8);
+        this.stripeSecret = stripeSecret.getBytes(StandardCharsets.UTF_8);
+        this.stripeToleranceSeconds = stripeToleranceSeconds;
+    }
+
+    public boolean verify(PaymentMethod gateway, byte[] body, String signatureHeader) {
+        if (signatureHeader == null || signatureHeader.isBlank()) {
+            return false;
+        }
+        return switch (gateway) {
+            case RAZORPAY -> verifyRazorpay(body, signatureHeader);
+            case STRIPE -> verifyStripe(body, signatureHeader, System.currentTimeMillis() / 1000);
+            default -> false;
+        };
+    }
+
+    boolean verifyRazorpay(byte[] body, String signature) {
+        if (razorpaySecret.length == 0) {
+            return false;
+        }
+        return matches(hmacHex(razorpaySecret, body), signature.trim());
+    }
+
+    boolean verifyStripe(byte[] body, String header, long nowSeconds) {
+        if (stripeSecret.length == 0) {
+            return false;
+        }
+
+        String timestamp = null;
+        for (String part : header.split(",")) {
+            String[] pair = part.trim().split("=", 2);
+            if (pair.length == 2 && "t".equals(pair[0])) {
+                timestamp = pair[1];
+            }
+        }
+        if (timestamp == null) {
+            return false;
+        }
+        try {
+            if (Math.abs(nowSeconds - Long.parseLong(timestamp)) > stripeToleranceSeconds) {
+                return false;
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        byte[] prefix = (timestamp + ".").getBytes(StandardCharsets.UTF_8);
+        byte[] signed = new byte[prefix.length + body.length];
+        System.arraycopy(prefix, 0, signed, 0, prefix.length);
+        System.arraycopy(body, 0, signed, prefix.length, body.length);
+        String expected = hmacHex(stripeSecret, signed);
+
+        // Several v1 signatures are sent while a secret is being rolled
+        for (String part : header.split(",")) {
+            String[] pair = part.trim().split("=", 2);
+            if (pair.length == 2 && "v1".equals(pair[0]) && matches(expected, pair[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String hmacHex(byte[] secret, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(data));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static boolean matches(String expected, String actual) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII), actual.getBytes(StandardCharsets.US_ASCII));
+    }
+}
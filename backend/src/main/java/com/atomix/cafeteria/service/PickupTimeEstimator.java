@@ -0,0 +1,118 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.PrepTimeStats;
+import com.atomix.cafeteria.entity.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates how long an order will take to make and to be ready.
+ *
+ * Every order that reaches READY feeds its measured preparation time into
+ * running statistics for its vendor and for each of its menu items. The
+ * preparation estimate is the slowest item's recent quantile (or its
+ * configured preparation time until enough samples exist), scaled by how the
+ * vendor's moving average compares to its recent median. The ready-in
+ * estimate adds the wait for orders already in the vendor's kitchen queue.
+ * It reads only in-memory state.
+ */
+@Service
+public class PickupTimeEstimator {
+
+    private static final double MIN_LOAD_FACTOR = 0.5;
+    private static final double MAX_LOAD_FACTOR = 2.0;
+
+    private final KitchenQueueService kitchenQueueService;
+    private final ConcurrentHashMap<Long, PrepTimeStats> vendorStats = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, PrepTimeStats> menuItemStats = new ConcurrentHashMap<>();
+    private final double alpha;
+    private final int windowSize;
+    private final int minSamples;
+    private final double quantile;
+    private final int kitchenParallelism;
+
+    public PickupTimeEstimator(KitchenQueueService kitchenQueueService,
+                               @Value("${app.orders.eta.ewma-alpha:0.2}") double alpha,
+                               @Value("${app.orders.eta.window:200}") int windowSize,
+                               @Value("${app.orders.eta.min-samples:5}") int minSamples,
+                               @Value("${app.orders.eta.quantile:0.8}") double quantile,
+                               @Value("${app.orders.eta.kitchen-parallelism:2}") int kitchenParallelism) {
+        this.kitchenQueueService = kitchenQueueService;
+        this.alpha = alpha;
+        this.windowSize = windowSize;
+        this.minSamples = minSamples;
+        this.quantile = quantile;
+        this.kitchenParallelism = Math.max(1, kitchenParallelism);
+    }
+
+    /**
+     * Minutes the kitchen will need to make an order for these items, not
+     * counting the orders ahead of it
+     *
+     * @param preparationTimes configured preparation time per menu item id
+     */
+    public int estimatePreparationMinutes(Long vendorId, Map<Long, Integer> preparationTimes) {
+        double preparation = 0;
+        for (Map.Entry<Long, Integer> item : preparationTimes.entrySet()) {
+            preparation = Math.max(preparation, itemMinutes(item.getKey(), item.getValue()));
+        }
+
+        PrepTimeStats vendor = vendorStats.get(vendorId);
+        boolean vendorKnown = vendor != null && vendor.getSampleCount() >= minSamples;
+        if (vendorKnown) {
+            // Above 1 when the kitchen has recently been slower than usual
+            double median = Math.max(1, vendor.quantile(0.5));
+            preparation *= Math.min(MAX_LOAD_FACTOR, Math.max(MIN_LOAD_FACTOR, vendor.getEwma() / median));
+        }
+        return (int) Math.ceil(preparation);
+    }
+
+    /**
+     * Minutes until a new order should be ready: its preparation time plus
+     * the wait for the vendor's orders already in the kitchen
+     */
+    public int estimateReadyInMinutes(Long vendorId, int preparationMinutes) {
+        PrepTimeStats vendor = vendorStats.get(vendorId);
+        double perOrder = vendor != null && vendor.getSampleCount() >= minSamples ? vendor.getEwma() : preparationMinutes;
+        double wait = (double) kitchenQueueService.getWaitingCount(vendorId) / kitchenParallelism * perOrder;
+        return (int) Math.ceil(preparationMinutes + wait);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getStatus() != OrderStatus.READY
+                || event.getPreparationStartedAt() == null || event.getReadyAt() == null) {
+            return;
+        }
+        record(event.getVendorId(), event.getMenuItemIds(), (event.getReadyAt() - event.getPreparationStartedAt()) / 60_000.0);
+    }
+
+    /**
+     * Fold one measured preparation time into the vendor and item statistics
+     */
+    public void record(Long vendorId, Iterable<Long> menuItemIds, double minutes) {
+        if (vendorId != null) {
+            statsFor(vendorStats, vendorId).record(minutes);
+        }
+        for (Long menuItemId : menuItemIds) {
+            statsFor(menuItemStats, menuItemId).record(minutes);
+        }
+    }
+
+    private double itemMinutes(Long menuItemId, Integer configured) {
+        PrepTimeStats stats = menuItemStats.get(menuItemId);
+        if (stats != null && stats.getSampleCount() >= minSamples) {
+            return stats.quantile(quantile);
+        }
+        return configured != null ? configured : 0;
+    }
+
+    private PrepTimeStats statsFor(ConcurrentHashMap<Long, PrepTimeStats> stats, Long id) {
+        return stats.computeIfAbsent(id, key -> new PrepTimeStats(alpha, windowSize));
+    }
+}
@@ -0,0 +1,181 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.WriteBehindBuffer;
+import com.atomix.cafeteria.entity.RatingEvent;
+import com.atomix.cafeteria.entity.RatingTarget;
+import com.atomix.cafeteria.repository.MenuItemRepository;
+import com.atomix.cafeteria.repository.RatingEventRepository;
+import com.atomix.cafeteria.repository.VendorRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Rating ingestion for vendors and menu items.
+ *
+ * A rating is one insert into the append-only rating_events table; the
+ * rated row is not touched, so a burst of ratings never queues on it. Once
+ * the insert commits, the rating is added to an in-memory sum and count for
+ * its target. Every flush-interval-ms those are folded into
+ * vendors.average_rating/total_reviews and menu_items.rating/rating_count,
+ * one in-place UPDATE per rated target, so no rating is lost to a
+ * read-modify-write race. Averages therefore lag by at most one flush.
+ * Once the flush commits, rated vendors are re-indexed for search and new
+ * menu item averages are published as a {@link MenuItemRatingsChangedEvent}.
+ * Sums still in memory at a crash are lost from the averages but not from
+ * rating_events.
+ */
+@Service
+public class RatingAggregationService {
+
+    private static final BigDecimal MIN_RATING = BigDecimal.ONE;
+    private static final BigDecimal MAX_RATING = new BigDecimal("5");
+    private static final Comparator<TargetKey> KEY_ORDER = Comparator.comparing((TargetKey k) -> k.target)
+        .thenComparing(k -> k.targetId);
+
+    private final RatingEventRepository ratingEventRepository;
+    private final VendorRepository vendorRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final VendorSearchService vendorSearchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final WriteBehindBuffer<TargetKey, Delta> pending =
+        new WriteBehindBuffer<>("rating sums", Delta::plus, Delta::isEmpty, KEY_ORDER);
+
+    public RatingAggregationService(RatingEventRepository ratingEventRepository,
+                                    VendorRepository vendorRepository,
+                                    MenuItemRepository menuItemRepository,
+                                    VendorSearchService vendorSearchService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager) {
+        this.ratingEventRepository = ratingEventRepository;
+        this.vendorRepository = vendorRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.vendorSearchService = vendorSearchService;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Store a 1.0-5.0 rating in the caller's transaction; the target's
+     * average picks it up at the next flush after commit.
+     */
+    public void record(RatingTarget target, Long targetId, BigDecimal rating) {
+        if (rating == null || rating.compareTo(MIN_RATING) < 0 || rating.compareTo(MAX_RATING) > 0) {
+            throw new RuntimeException("Rating must be between 1.0 and 5.0");
+        }
+        BigDecimal rounded = rating.setScale(2, RoundingMode.HALF_UP);
+        ratingEventRepository.save(new RatingEvent(target, targetId, rounded));
+
+        TargetKey key = new TargetKey(target, targetId);
+        long hundredths = rounded.unscaledValue().longValue();
+        TransactionCallbacks.afterCommit(() -> pending.add(key, new Delta(1, hundredths)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.rating.flush-interval-ms:5000}")
+    public void flush() {
+        Map<Long, Double> menuItemRatings = pending.flush(batch -> transaction.execute(status -> apply(batch)));
+        if (menuItemRatings != null && !menuItemRatings.isEmpty()) {
+            eventPublisher.publishEvent(new MenuItemRatingsChangedEvent(menuItemRatings));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * @return the new average of every menu item updated
+     */
+    private Map<Long, Double> apply(List<Map.Entry<TargetKey, Delta>> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> vendorIds = new ArrayList<>();
+        List<Long> menuItemIds = new ArrayList<>();
+        for (Map.Entry<TargetKey, Delta> entry : batch) {
+            TargetKey key = entry.getKey();
+            Delta delta = entry.getValue();
+            int updated = key.target == RatingTarget.VENDOR
+                ? vendorRepository.addRatings(key.targetId, delta.sum / 100.0, (int) delta.count, now)
+                : menuItemRepository.addRatings(key.targetId, BigDecimal.valueOf(delta.sum, 2), (int) delta.count, now);
+            if (updated == 0) {
+                // Deleted since it was rated
+                pending.discard(key);
+            } else if (key.target == RatingTarget.VENDOR) {
+                vendorIds.add(key.targetId);
+            } else {
+                menuItemIds.add(key.targetId);
+            }
+        }
+
+        if (!vendorIds.isEmpty()) {
+            // The search index ranks vendors by average rating
+            vendorRepository.findAllById(vendorIds).forEach(vendorSearchService::indexAfterCommit);
+        }
+
+        Map<Long, Double> ratings = new HashMap<>();
+        if (!menuItemIds.isEmpty()) {
+            for (Object[] row : menuItemRepository.findRatingsByIdIn(menuItemIds)) {
+                if (row[1] != null) {
+                    ratings.put((Long) row[0], ((BigDecimal) row[1]).doubleValue());
+                }
+            }
+        }
+        return ratings;
+    }
+
+    private static final class TargetKey {
+        private final RatingTarget target;
+        private final Long targetId;
+
+        private TargetKey(RatingTarget target, Long targetId) {
+            this.target = target;
+            this.targetId = targetId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TargetKey other)) {
+                return false;
+            }
+            return target == other.target && targetId.equals(other.targetId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(target, targetId);
+        }
+    }
+
+    /**
+     * Count and sum (in hundredths) of the ratings not yet flushed for one target
+     */
+    private static final class Delta {
+        private final long count;
+        private final long sum;
+
+        private Delta(long count, long sum) {
+            this.count = count;
+            this.sum = sum;
+        }
+
+        private Delta plus(Delta other) {
+            return new Delta(count + other.count, sum + other.sum);
+        }
+
+        private boolean isEmpty() {
+            return count == 0 && sum == 0;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.VendorSearchIndex;
+import com.atomix.cafeteria.entity.Vendor;
+import com.atomix.cafeteria.entity.VendorStatus;
+import com.atomix.cafeteria.repository.VendorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Owns the in-memory {@link VendorSearchIndex}.
+ *
+ * Built on first use from a single projection query, kept current by
+ * VendorService after each committed write, and rebuilt periodically to pick
+ * up changes made elsewhere.
+ */
+@Service
+public class VendorSearchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VendorSearchService.class);
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+    
+    private final VendorRepository vendorRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    
+    private volatile VendorSearchIndex index;
+    private final AtomicLong changeCount = new AtomicLong();
+    
+    public VendorSearchService(VendorRepository vendorRepository, PlatformTransactionManager transactionManager) {
+        this.vendorRepository = vendorRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * One page of matching vendor ids, best rated first
+     */
+    public VendorSearchIndex.Result search(String searchTerm, boolean activeOnly, int page, int size) {
+        return getIndex().search(searchTerm, activeOnly, page * size, size);
+    }
+    
+    public void indexAfterCommit(Vendor vendor) {
+        VendorSearchIndex.Entry entry = new VendorSearchIndex.Entry(
+            vendor.getId(), vendor.getName(), vendor.getDescription(), vendor.getContactPerson(),
+            vendor.getAverageRating(), vendor.getIsActive(), vendor.getStatus()
+        );
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.index(entry)));
+    }
+    
+    public void removeAfterCommit(Long vendorId) {
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.remove(vendorId)));
+    }
+    
+    @Scheduled(initialDelayString = "${app.vendor.search.refresh-interval-ms:300000}",
+               fixedDelayString = "${app.vendor.search.refresh-interval-ms:300000}")
+    public void reload() {
+        for (int attempt = 1; attempt <= MAX_RELOAD_ATTEMPTS; attempt++) {
+            long changesBefore = changeCount.get();
+            List<Object[]> rows = readOnlyTransaction.execute(status -> vendorRepository.findSearchIndexRows());
+            
+            List<VendorSearchIndex.Entry> entries = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                entries.add(new VendorSearchIndex.Entry(
+                    (Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    (Double) row[4], (Boolean) row[5], (VendorStatus) row[6]
+                ));
+            }
+            VendorSearchIndex loaded = VendorSearchIndex.of(entries);
+            
+            synchronized (this) {
+                if (changeCount.get() == changesBefore || attempt == MAX_RELOAD_ATTEMPTS) {
+                    index = loaded;
+                    logger.debug("Vendor search index loaded with {} vendors", loaded.size());
+                    return;
+                }
+            }
+        }
+    }
+    
+    private VendorSearchIndex getIndex() {
+        VendorSearchIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    reload();
+                    current = index;
+                }
+            }
+        }
+        return current;
+    }
+    
+    private synchronized void apply(Consumer<VendorSearchIndex> change) {
+        changeCount.incrementAndGet();
+        if (index != null) {
+            change.accept(index);
+        }
+    }
+}
@@ -1,25 +1,35 @@
 package com.atomix.cafeteria.service;
 
+import com.atomix.cafeteria.cache.VendorSearchIndex;
 import com.atomix.cafeteria.dto.*;
+import com.atomix.cafeteria.entity.RatingTarget;
 import com.atomix.cafeteria.entity.Vendor;
 import com.atomix.cafeteria.entity.VendorStatus;
 import com.atomix.cafeteria.entity.VendorType;
+import com.atomix.cafeteria.mapper.VendorMapper;
 import com.atomix.cafeteria.repository.VendorRepository;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,12 +39,20 @@ public class VendorService {
     private static final Logger logger = LoggerFactory.getLogger(VendorService.class);
     
     private final VendorRepository vendorRepository;
-    private final ModelMapper modelMapper;
+    private final VendorSearchService vendorSearchService;
+    private final VendorStatsService vendorStatsService;
+    private final RatingAggregationService ratingAggregationService;
+    
+    @Value("${app.vendor.search.index-enabled:true}")
+    private boolean searchIndexEnabled;
     
     @Autowired
-    public VendorService(VendorRepository vendorRepository, ModelMapper modelMapper) {
+    public VendorService(VendorRepository vendorRepository, VendorSearchService vendorSearchService,
+                         VendorStatsService vendorStatsService, RatingAggregationService ratingAggregationService) {
         this.vendorRepository = vendorRepository;
-        this.modelMapper = modelMapper;
+        this.vendorSearchService = vendorSearchService;
+        this.vendorStatsService = vendorStatsService;
+        this.ratingAggregationService = ratingAggregationService;
     }
     
     /**
@@ -64,7 +82,7 @@ public class VendorService {
             logger.debug("Duplicate check passed, proceeding with entity creation");
             
             // Create vendor entity
-            Vendor vendor = modelMapper.map(request, Vendor.class);
+            Vendor vendor = VendorMapper.toEntity(request);
             vendor.setStatus(VendorStatus.PENDING);
             vendor.setIsActive(true);
             vendor.setAverageRating(0.0);
@@ -74,6 +92,8 @@ public class VendorService {
             
             // Save vendor
             vendor = vendorRepository.save(vendor);
+            vendorSearchService.indexAfterCommit(vendor);
+            vendorStatsService.recordAfterCommit(vendor);
             
             logger.info("Successfully created vendor with ID: {}", vendor.getId());
             return mapToVendorResponse(vendor);
@@ -107,7 +127,7 @@ public class VendorService {
         Pageable pageable = PageRequest.of(page, size, sort);
         
         Page<Vendor> vendors = vendorRepository.findAll(pageable);
-        return vendors.map(this::mapToVendorResponse);
+        return mapPage(vendors);
     }
     
     /**
@@ -117,7 +137,7 @@ public class VendorService {
     public Page<VendorResponse> getVendorsByStatus(VendorStatus status, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<Vendor> vendors = vendorRepository.findByStatus(status, pageable);
-        return vendors.map(this::mapToVendorResponse);
+        return mapPage(vendors);
     }
     
     /**
@@ -127,7 +147,7 @@ public class VendorService {
     public Page<VendorResponse> getCurrentlyActiveVendors(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Vendor> vendors = vendorRepository.findCurrentlyActiveVendors(LocalDateTime.now(), pageable);
-        return vendors.map(this::mapToVendorResponse);
+        return mapPage(vendors);
     }
     
     /**
@@ -137,7 +157,7 @@ public class VendorService {
     public Page<VendorResponse> getVendorsByType(VendorType type, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("name"));
         Page<Vendor> vendors = vendorRepository.findByVendorType(type, pageable);
-        return vendors.map(this::mapToVendorResponse);
+        return mapPage(vendors);
     }
     
     /**
@@ -152,9 +172,7 @@ public class VendorService {
             vendors = vendorRepository.findByFloorId(floorId);
         }
         
-        return vendors.stream()
-            .map(this::mapToVendorResponse)
-            .collect(Collectors.toList());
+        return mapVendors(vendors);
     }
     
     /**
@@ -162,23 +180,30 @@ public class VendorService {
      */
     @Transactional(readOnly = true)
     public Page<VendorResponse> searchVendors(String searchTerm, boolean activeOnly, int page, int size) {
-        if (activeOnly) {
-            Pageable pageable = PageRequest.of(page, size, Sort.by("averageRating").descending());
-            Page<Vendor> vendors = vendorRepository.searchActiveVendors(searchTerm, pageable);
-            return vendors.map(this::mapToVendorResponse);
-        } else {
-            List<Vendor> vendors = vendorRepository.searchVendors(searchTerm);
-            // Convert to Page manually for consistency
-            int start = (int) PageRequest.of(page, size).getOffset();
-            int end = Math.min((start + size), vendors.size());
-            List<Vendor> subList = vendors.subList(start, end);
-            
-            return new org.springframework.data.domain.PageImpl<>(
-                subList.stream().map(this::mapToVendorResponse).collect(Collectors.toList()),
-                PageRequest.of(page, size),
-                vendors.size()
-            );
+        Pageable pageable = PageRequest.of(page, size);
+        
+        if (!searchIndexEnabled) {
+            Pageable ranked = PageRequest.of(page, size, Sort.by("averageRating").descending().and(Sort.by("name")));
+            Page<Vendor> vendors = activeOnly
+                ? vendorRepository.searchActiveVendors(searchTerm, ranked)
+                : vendorRepository.searchVendors(searchTerm, ranked);
+            return mapPage(vendors);
+        }
+        
+        // The index ranks and pages ids; only the vendors on this page are loaded
+        VendorSearchIndex.Result result = vendorSearchService.search(searchTerm, activeOnly, page, size);
+        if (result.getIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.getTotal());
         }
+        
+        Map<Long, Vendor> vendorsById = vendorRepository.findAllById(result.getIds()).stream()
+            .collect(Collectors.toMap(Vendor::getId, Function.identity()));
+        List<Vendor> ordered = result.getIds().stream()
+            .map(vendorsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        
+        return new PageImpl<>(mapVendors(ordered), pageable, result.getTotal());
     }
     
     /**
@@ -220,6 +245,8 @@ public class VendorService {
         vendor.setTemporaryEndDate(request.getTemporaryEndDate());
         
         vendor = vendorRepository.save(vendor);
+        vendorSearchService.indexAfterCommit(vendor);
+        vendorStatsService.recordAfterCommit(vendor);
         
         logger.info("Updated vendor with ID: {}", id);
         return mapToVendorResponse(vendor);
@@ -238,6 +265,8 @@ public class VendorService {
         vendor.setStatus(request.getStatus());
         
         vendor = vendorRepository.save(vendor);
+        vendorSearchService.indexAfterCommit(vendor);
+        vendorStatsService.recordAfterCommit(vendor);
         
         logger.info("Updated vendor status from {} to {} for vendor ID: {}", 
                    oldStatus, request.getStatus(), id);
@@ -256,6 +285,8 @@ public class VendorService {
         
         vendor.setIsActive(!vendor.getIsActive());
         vendor = vendorRepository.save(vendor);
+        vendorSearchService.indexAfterCommit(vendor);
+        vendorStatsService.recordAfterCommit(vendor);
         
         logger.info("Toggled vendor active status to {} for vendor ID: {}", vendor.getIsActive(), id);
         return mapToVendorResponse(vendor);
@@ -271,11 +302,13 @@ public class VendorService {
             .orElseThrow(() -> new RuntimeException("Vendor not found with ID: " + id));
         
         // Check if vendor has associated menu items
-        if (!vendor.getMenuItems().isEmpty()) {
+        if (!vendorRepository.countMenuItemsByVendorIds(List.of(id)).isEmpty()) {
             throw new RuntimeException("Cannot delete vendor with existing menu items. Please remove all menu items first.");
         }
         
         vendorRepository.delete(vendor);
+        vendorSearchService.removeAfterCommit(id);
+        vendorStatsService.removeAfterCommit(id);
         logger.info("Deleted vendor with ID: {}", id);
     }
     
@@ -286,7 +319,7 @@ public class VendorService {
     public Page<VendorResponse> getPendingApprovalVendors(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Vendor> vendors = vendorRepository.findPendingApprovalVendors(pageable);
-        return vendors.map(this::mapToVendorResponse);
+        return mapPage(vendors);
     }
     
     /**
@@ -296,33 +329,16 @@ public class VendorService {
     public Page<VendorResponse> getHighRatedVendors(Double minRating, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Vendor> vendors = vendorRepository.findHighRatedActiveVendors(minRating, pageable);
-        return vendors.map(this::mapToVendorResponse);
+        return mapPage(vendors);
     }
     
     /**
      * Get vendor statistics
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> getVendorStatistics() {
-        Map<String, Object> stats = new java.util.HashMap<>();
-        
-        stats.put("totalVendors", vendorRepository.count());
-        stats.put("activeVendors", vendorRepository.countActiveVendors());
-        stats.put("pendingApproval", vendorRepository.countByStatus(VendorStatus.PENDING));
-        stats.put("approvedVendors", vendorRepository.countByStatus(VendorStatus.APPROVED));
-        stats.put("rejectedVendors", vendorRepository.countByStatus(VendorStatus.REJECTED));
-        stats.put("suspendedVendors", vendorRepository.countByStatus(VendorStatus.SUSPENDED));
-        
-        // Vendor type statistics
-        List<Object[]> typeStats = vendorRepository.getVendorTypeStatistics();
-        Map<String, Long> vendorTypeStats = typeStats.stream()
-            .collect(Collectors.toMap(
-                arr -> ((VendorType) arr[0]).getDisplayName(),
-                arr -> (Long) arr[1]
-            ));
-        stats.put("vendorTypeStatistics", vendorTypeStats);
-        
-        return stats;
+        // Served from in-memory counters, without even taking a connection
+        return vendorStatsService.getStats();
     }
     
     /**
@@ -336,6 +352,8 @@ public class VendorService {
             vendor.setIsActive(false);
             vendor.setStatus(VendorStatus.INACTIVE);
             vendorRepository.save(vendor);
+            vendorSearchService.indexAfterCommit(vendor);
+            vendorStatsService.recordAfterCommit(vendor);
             logger.info("Marked expired temporary vendor as inactive: {}", vendor.getName());
         }
         
@@ -345,7 +363,8 @@ public class VendorService {
     }
     
     /**
-     * Update vendor rating
+     * Update vendor rating. The rating is recorded now; the vendor's average
+     * and review count include it from the next rating flush.
      */
     public VendorResponse updateVendorRating(Long vendorId, Double rating) {
         logger.info("Updating rating for vendor ID: {} with rating: {}", vendorId, rating);
@@ -357,10 +376,10 @@ public class VendorService {
         Vendor vendor = vendorRepository.findById(vendorId)
             .orElseThrow(() -> new RuntimeException("Vendor not found with ID: " + vendorId));
         
-        vendor.updateRating(rating);
-        vendor = vendorRepository.save(vendor);
+        // The vendor row is not written here, so concurrent ratings never contend on it
+        ratingAggregationService.record(RatingTarget.VENDOR, vendorId, BigDecimal.valueOf(rating));
         
-        logger.info("Updated vendor rating. New average: {}, Total reviews: {}", 
+        logger.info("Recorded vendor rating. Current average: {}, Total reviews: {}", 
                    vendor.getAverageRating(), vendor.getTotalReviews());
         
         return mapToVendorResponse(vendor);
@@ -381,15 +400,36 @@ public class VendorService {
     }
     
     private VendorResponse mapToVendorResponse(Vendor vendor) {
-        VendorResponse response = modelMapper.map(vendor, VendorResponse.class);
+        return mapVendors(List.of(vendor)).get(0);
+    }
+    
+    private Page<VendorResponse> mapPage(Page<Vendor> vendors) {
+        return new PageImpl<>(mapVendors(vendors.getContent()), vendors.getPageable(), vendors.getTotalElements());
+    }
+    
+    // One grouped count query per list instead of loading every vendor's menu items
+    private List<VendorResponse> mapVendors(List<Vendor> vendors) {
+        List<VendorResponse> responses = new ArrayList<>(vendors.size());
+        if (vendors.isEmpty()) {
+            return responses;
+        }
         
-        // Set computed fields
-        response.setStatusDisplayName(vendor.getStatus().getDisplayName());
-        response.setVendorTypeDisplayName(vendor.getVendorType().getDisplayName());
-        response.setIsCurrentlyActive(vendor.isCurrentlyActive());
-        response.setIsTemporary(vendor.isTemporary());
-        response.setTotalMenuItems(vendor.getMenuItems().size());
+        List<Long> ids = new ArrayList<>(vendors.size());
+        for (Vendor vendor : vendors) {
+            if (vendor.getId() != null) {
+                ids.add(vendor.getId());
+            }
+        }
+        Map<Long, Integer> counts = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Object[] row : vendorRepository.countMenuItemsByVendorIds(ids)) {
+                counts.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+        }
         
-        return response;
+        for (Vendor vendor : vendors) {
+            responses.add(VendorMapper.toResponse(vendor, counts.getOrDefault(vendor.getId(), 0)));
+        }
+        return responses;
     }
 } 
\ No newline at end of file
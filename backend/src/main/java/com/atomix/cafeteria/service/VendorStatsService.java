@@ -0,0 +1,113 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.VendorStatsCounters;
+import com.atomix.cafeteria.entity.Vendor;
+import com.atomix.cafeteria.entity.VendorStatus;
+import com.atomix.cafeteria.entity.VendorType;
+import com.atomix.cafeteria.repository.VendorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Owns the in-memory {@link VendorStatsCounters} behind the vendor
+ * statistics endpoint, so serving it costs no queries.
+ *
+ * Loaded on first use from one projection query, kept current by
+ * VendorService after each committed write, and re-verified periodically
+ * against the database; drift (a write made outside VendorService) is
+ * logged and corrected.
+ */
+@Service
+public class VendorStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VendorStatsService.class);
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+
+    private final VendorRepository vendorRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile VendorStatsCounters counters;
+    private final AtomicLong changeCount = new AtomicLong();
+
+    public VendorStatsService(VendorRepository vendorRepository, PlatformTransactionManager transactionManager) {
+        this.vendorRepository = vendorRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Map<String, Object> getStats() {
+        return getCounters().getStats();
+    }
+
+    public void recordAfterCommit(Vendor vendor) {
+        Long vendorId = vendor.getId();
+        VendorStatsCounters.Entry entry = new VendorStatsCounters.Entry(vendor.getStatus(), vendor.getVendorType(), vendor.getIsActive());
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.put(vendorId, entry)));
+    }
+
+    public void removeAfterCommit(Long vendorId) {
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.remove(vendorId)));
+    }
+
+    @Scheduled(initialDelayString = "${app.vendor.stats.verify-interval-ms:600000}",
+               fixedDelayString = "${app.vendor.stats.verify-interval-ms:600000}")
+    public void verify() {
+        VendorStatsCounters previous = counters;
+        VendorStatsCounters loaded = reload();
+        if (previous != null && loaded != null && !previous.sameCountsAs(loaded)) {
+            logger.warn("Vendor statistics drifted from the database, corrected: {} -> {}", previous.getStats(), loaded.getStats());
+        }
+    }
+
+    private VendorStatsCounters reload() {
+        for (int attempt = 1; attempt <= MAX_RELOAD_ATTEMPTS; attempt++) {
+            long changesBefore = changeCount.get();
+            List<Object[]> rows = readOnlyTransaction.execute(status -> vendorRepository.findStatsRows());
+
+            Map<Long, VendorStatsCounters.Entry> vendors = new HashMap<>(rows.size() * 2);
+            for (Object[] row : rows) {
+                vendors.put((Long) row[0], new VendorStatsCounters.Entry((VendorStatus) row[1], (VendorType) row[2], (Boolean) row[3]));
+            }
+            VendorStatsCounters loaded = VendorStatsCounters.of(vendors);
+
+            synchronized (this) {
+                // A write that landed mid-load may be missing from it; load again rather than lose it
+                if (changeCount.get() == changesBefore || attempt == MAX_RELOAD_ATTEMPTS) {
+                    counters = loaded;
+                    return loaded;
+                }
+            }
+        }
+        return null;
+    }
+
+    private VendorStatsCounters getCounters() {
+        VendorStatsCounters current = counters;
+        if (current == null) {
+            synchronized (this) {
+                current = counters;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized void apply(Consumer<VendorStatsCounters> change) {
+        changeCount.incrementAndGet();
+        if (counters != null) {
+            change.accept(counters);
+        }
+    }
+}
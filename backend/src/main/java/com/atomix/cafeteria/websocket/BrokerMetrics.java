@@ -0,0 +1,98 @@
+package com.atomix.cafeteria.websocket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the live-status broker. Kept separate from LiveStatusBroker
+ * so WebSocketConfig can register the outbound interceptor without
+ * depending on the messaging template.
+ */
+@Component
+public class BrokerMetrics {
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder encodedBytes = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+
+    private final ChannelInterceptor outboundInterceptor = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                delivered.increment();
+            }
+            return message;
+        }
+    };
+
+    void recordPublished() {
+        published.increment();
+    }
+
+    void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    void recordDispatched(int bytes) {
+        dispatched.increment();
+        encodedBytes.add(bytes);
+    }
+
+    /**
+     * Counts every MESSAGE frame handed to the client outbound channel, i.e.
+     * one per subscriber reached by a broadcast.
+     */
+    public ChannelInterceptor getOutboundInterceptor() {
+        return outboundInterceptor;
+    }
+
+    // Getters
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getDispatchedCount() {
+        return dispatched.sum();
+    }
+
+    /**
+     * Payload bytes serialized, once per dispatched update
+     */
+    public long getEncodedBytes() {
+        return encodedBytes.sum();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    /**
+     * Average number of subscribers reached per dispatched update
+     */
+    public double getFanOutRatio() {
+        long dispatchedCount = dispatched.sum();
+        return dispatchedCount == 0 ? 0.0 : (double) delivered.sum() / dispatchedCount;
+    }
+}
@@ -0,0 +1,195 @@
+package com.atomix.cafeteria.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces crowd-level updates into one publication per floor per interval.
+ *
+ * Turnstile events only touch a per-floor atomic counter. On each tick the
+ * publisher folds the current count into a rolling occupancy average,
+ * derives a trend, and broadcasts only the fields that changed since the
+ * floor's previous publication. Every message carries a sequence number; a subscriber that
+ * sees a gap (or has just joined) fetches the full snapshot from
+ * /app/crowd/{floorId} and applies deltas from there.
+ *
+ * Floor ids come from clients, so at most max-floors are tracked and a floor
+ * with no updates for idle-intervals ticks is dropped; if it comes back its
+ * next publication is full again.
+ */
+@Component
+public class CrowdAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrowdAggregator.class);
+
+    public enum Trend {
+        RISING, FALLING, STEADY
+    }
+
+    private final LiveStatusBroker liveStatusBroker;
+    private final double smoothing;
+    private final double trendThreshold;
+    private final int maxFloors;
+    private final long idleIntervals;
+    private final ConcurrentHashMap<String, FloorState> floors = new ConcurrentHashMap<>();
+
+    // Publication ticks so far; only the scheduler thread advances it
+    private volatile long tick;
+
+    public CrowdAggregator(LiveStatusBroker liveStatusBroker,
+                           @Value("${app.crowd.rolling-window:10}") int rollingWindow,
+                           @Value("${app.crowd.trend-threshold-percent:2.0}") double trendThreshold,
+                           @Value("${app.crowd.max-floors:200}") int maxFloors,
+                           @Value("${app.crowd.idle-intervals:300}") long idleIntervals) {
+        this.liveStatusBroker = liveStatusBroker;
+        // EWMA over roughly the last rolling-window ticks
+        this.smoothing = 2.0 / (Math.max(1, rollingWindow) + 1);
+        this.trendThreshold = trendThreshold;
+        this.maxFloors = maxFloors;
+        this.idleIntervals = Math.max(1, idleIntervals);
+    }
+
+    /**
+     * Set the absolute head count for a floor, e.g. from a sensor reading
+     */
+    public void record(String floorId, int currentCount, Integer maxCapacity) {
+        FloorState state = state(floorId);
+        if (maxCapacity != null && maxCapacity > 0) {
+            state.maxCapacity = maxCapacity;
+        }
+        state.count.set(Math.max(0, currentCount));
+    }
+
+    /**
+     * Apply a turnstile movement: +1 for an entry, -1 for an exit
+     */
+    public void adjust(String floorId, int delta) {
+        FloorState state = state(floorId);
+        state.count.updateAndGet(current -> Math.max(0, current + delta));
+    }
+
+    /**
+     * Full state of one floor as of its last publication, or null if the
+     * floor has never been published
+     */
+    public Map<String, Object> getSnapshot(String floorId) {
+        FloorState state = floors.get(floorId);
+        return state != null ? state.published : null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.crowd.publish-interval-ms:1000}")
+    public void publish() {
+        long now = ++tick;
+        for (Map.Entry<String, FloorState> entry : floors.entrySet()) {
+            // Touching a floor happens inside a compute too, so a live update is never dropped
+            if (floors.computeIfPresent(entry.getKey(),
+                    (id, state) -> now - state.lastTouched > idleIntervals ? null : state) == null) {
+                logger.debug("Dropped idle crowd floor {}", entry.getKey());
+                continue;
+            }
+            try {
+                publishFloor(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                logger.error("Failed to publish crowd level for floor {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    // Only the scheduler thread runs this, so the rolling fields need no locking
+    private void publishFloor(String floorId, FloorState state) {
+        int count = state.count.get();
+        int capacity = state.maxCapacity;
+        double occupancy = capacity > 0 ? count * 100.0 / capacity : 0.0;
+
+        // The average keeps moving towards the current value even on quiet ticks
+        state.rollingOccupancy = state.published == null
+            ? occupancy
+            : state.rollingOccupancy + smoothing * (occupancy - state.rollingOccupancy);
+        Trend trend = trendOf(occupancy, state.rollingOccupancy);
+
+        Map<String, Object> full = new LinkedHashMap<>();
+        full.put("floorId", floorId);
+        full.put("currentCount", count);
+        full.put("maxCapacity", capacity);
+        full.put("occupancyPercent", round(occupancy));
+        full.put("rollingOccupancyPercent", round(state.rollingOccupancy));
+        full.put("trend", trend.name());
+
+        Map<String, Object> previous = state.published;
+        Map<String, Object> delta = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : full.entrySet()) {
+            if (previous == null || !Objects.equals(previous.get(field.getKey()), field.getValue())) {
+                delta.put(field.getKey(), field.getValue());
+            }
+        }
+        if (delta.isEmpty()) {
+            // Quiet floor, or the count moved and came back within one tick
+            return;
+        }
+
+        long sequence = ++state.sequence;
+        long timestamp = System.currentTimeMillis();
+        full.put("sequence", sequence);
+        full.put("timestamp", timestamp);
+        state.published = Collections.unmodifiableMap(full);
+
+        delta.put("floorId", floorId);
+        delta.put("sequence", sequence);
+        delta.put("full", previous == null);
+        delta.put("timestamp", timestamp);
+        // Already coalesced here, and deltas must not replace each other downstream
+        liveStatusBroker.publish(LiveStatusBroker.topic("crowd", floorId), floorId, null, delta);
+    }
+
+    private Trend trendOf(double occupancy, double rolling) {
+        double difference = occupancy - rolling;
+        if (difference > trendThreshold) {
+            return Trend.RISING;
+        }
+        if (difference < -trendThreshold) {
+            return Trend.FALLING;
+        }
+        return Trend.STEADY;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    private FloorState state(String floorId) {
+        if (floorId == null || floorId.isBlank()) {
+            throw new RuntimeException("Floor id is required for crowd updates");
+        }
+        return floors.compute(floorId, (id, state) -> {
+            if (state == null) {
+                if (floors.size() >= maxFloors) {
+                    throw new RuntimeException("Too many floors reporting crowd updates");
+                }
+                state = new FloorState();
+            }
+            state.lastTouched = tick;
+            return state;
+        });
+    }
+
+    private static class FloorState {
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile int maxCapacity;
+        private volatile long lastTouched;
+
+        // Publisher-thread state
+        private double rollingOccupancy;
+        private long sequence;
+        private volatile Map<String, Object> published;
+    }
+}
@@ -0,0 +1,51 @@
+package com.atomix.cafeteria.websocket;
+
+import com.atomix.cafeteria.security.KitchenAccess;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rejects subscriptions to a vendor's kitchen queue, both the snapshot on
+ * /app/kitchen/{vendorId} and the change stream on /topic/kitchen/{vendorId},
+ * from anyone KitchenAccess does not allow.
+ */
+@Component
+public class KitchenSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final Pattern KITCHEN_DESTINATION = Pattern.compile("^/(?:app|topic)/kitchen/(\\d+)$");
+
+    private final KitchenAccess kitchenAccess;
+
+    public KitchenSubscriptionInterceptor(KitchenAccess kitchenAccess) {
+        this.kitchenAccess = kitchenAccess;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SUBSCRIBE || accessor.getDestination() == null) {
+            return message;
+        }
+        Matcher matcher = KITCHEN_DESTINATION.matcher(accessor.getDestination());
+        if (!matcher.matches()) {
+            return message;
+        }
+
+        Long vendorId = Long.valueOf(matcher.group(1));
+        Authentication authentication = accessor.getUser() instanceof Authentication user ? user : null;
+        if (!kitchenAccess.canView(authentication, vendorId)) {
+            throw new AccessDeniedException("Not allowed to watch the kitchen queue of vendor " + vendorId);
+        }
+        return message;
+    }
+}
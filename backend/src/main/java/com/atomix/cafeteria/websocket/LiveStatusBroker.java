@@ -0,0 +1,194 @@
+package com.atomix.cafeteria.websocket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sharded dispatcher for live-status broadcasts.
+ *
+ * Updates are published to per-floor topics (/topic/{kind}/{floorId}) and
+ * handed to the shard that owns the floor, so broadcasting never runs on the
+ * inbound thread and a busy floor cannot delay the others. Each shard has a
+ * bounded queue; updates that share a coalescing key replace one another
+ * while queued, so a slow shard sends only the latest value, and when a
+ * queue is full the oldest pending update is dropped.
+ */
+@Component
+public class LiveStatusBroker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveStatusBroker.class);
+
+    static final String GLOBAL_SHARD_KEY = "global";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final LiveUpdateCodec codec;
+    private final BrokerMetrics metrics;
+    private final Shard[] shards;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile boolean running;
+
+    public LiveStatusBroker(SimpMessagingTemplate messagingTemplate,
+                            LiveUpdateCodec codec,
+                            BrokerMetrics metrics,
+                            @Value("${app.notification.websocket.broker.shards:4}") int shardCount,
+                            @Value("${app.notification.websocket.broker.shard-queue-capacity:1024}") int queueCapacity) {
+        this.messagingTemplate = messagingTemplate;
+        this.codec = codec;
+        this.metrics = metrics;
+        this.shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (Shard shard : shards) {
+            shard.worker.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Shard shard : shards) {
+            shard.worker.interrupt();
+        }
+    }
+
+    /**
+     * Topic for one kind of update on one floor, or the global topic when
+     * the floor is unknown
+     */
+    public static String topic(String kind, String floorId) {
+        return floorId == null || floorId.isBlank() ? "/topic/" + kind : "/topic/" + kind + "/" + floorId;
+    }
+
+    /**
+     * Queue an update for broadcast.
+     *
+     * @param floorId     selects the shard; null goes to the global shard
+     * @param coalesceKey updates with the same key replace each other while
+     *                    queued; null means the update is always delivered
+     *                    unless it is dropped for overflow
+     */
+    public void publish(String destination, String floorId, String coalesceKey, Object payload) {
+        metrics.recordPublished();
+        if (!running) {
+            // Before startup or after shutdown: deliver inline rather than lose it
+            send(destination, payload);
+            return;
+        }
+
+        String key = coalesceKey != null ? destination + "|" + coalesceKey : "#" + sequence.incrementAndGet();
+        shardFor(floorId).enqueue(key, new Update(destination, payload));
+    }
+
+    /**
+     * Send an update straight to one user's sessions, e.g. /queue/orders.
+     * User queues have few subscribers, so they skip the shards.
+     */
+    public void sendToUser(String user, String destination, Object payload) {
+        metrics.recordPublished();
+        send(LiveUpdateCodec.userDestination(messagingTemplate.getUserDestinationPrefix(), user, destination), payload);
+    }
+
+    public int getQueuedUpdates() {
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.pending.size();
+        }
+        return total;
+    }
+
+    public List<Integer> getQueuedUpdatesPerShard() {
+        List<Integer> sizes = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            sizes.add(shard.pending.size());
+        }
+        return sizes;
+    }
+
+    private Shard shardFor(String floorId) {
+        String key = floorId != null ? floorId : GLOBAL_SHARD_KEY;
+        return shards[Math.floorMod(key.hashCode(), shards.length)];
+    }
+
+    // Encoded once here; the broker shares the bytes across every subscriber
+    private void send(String destination, Object payload) {
+        try {
+            byte[] encoded = codec.encode(payload);
+            messagingTemplate.send(destination, codec.toMessage(encoded));
+            metrics.recordDispatched(encoded.length);
+        } catch (Exception e) {
+            logger.error("Failed to broadcast to {}: {}", destination, e.getMessage());
+        }
+    }
+
+    private final class Shard {
+        private final BlockingQueue<String> pending;
+        private final ConcurrentHashMap<String, Update> latest = new ConcurrentHashMap<>();
+        private final Thread worker;
+
+        private Shard(int index, int queueCapacity) {
+            this.pending = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+            this.worker = new Thread(this::runLoop, "live-status-broker-" + index);
+            this.worker.setDaemon(true);
+        }
+
+        private void enqueue(String key, Update update) {
+            if (latest.put(key, update) != null) {
+                // Still queued; the worker will pick up the newer value
+                metrics.recordCoalesced();
+                return;
+            }
+            while (!pending.offer(key)) {
+                String oldest = pending.poll();
+                if (oldest != null && latest.remove(oldest) != null) {
+                    metrics.recordDropped();
+                }
+            }
+        }
+
+        private void runLoop() {
+            while (running) {
+                try {
+                    String key = pending.take();
+                    Update update = latest.remove(key);
+                    if (update != null) {
+                        send(update.destination, update.payload);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    logger.error("Unexpected error in live status broker: ", e);
+                }
+            }
+        }
+    }
+
+    private static class Update {
+        private final String destination;
+        private final Object payload;
+
+        private Update(String destination, Object payload) {
+            this.destination = destination;
+            this.payload = payload;
+        }
+    }
+}
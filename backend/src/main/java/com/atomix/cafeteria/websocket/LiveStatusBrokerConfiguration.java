@@ -0,0 +1,33 @@
+package com.atomix.cafeteria.websocket;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * Replaces @EnableWebSocketMessageBroker so the per-session send buffer can
+ * drop its oldest frames instead of closing the session. A browser that
+ * falls behind on a busy floor misses stale updates but stays connected; a
+ * session stuck past the send time limit is still closed.
+ */
+@Configuration
+public class LiveStatusBrokerConfiguration extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    @Override
+    @Bean
+    public WebSocketHandler subProtocolWebSocketHandler(AbstractSubscribableChannel clientInboundChannel,
+                                                        AbstractSubscribableChannel clientOutboundChannel) {
+        return new SubProtocolWebSocketHandler(clientInboundChannel, clientOutboundChannel) {
+            @Override
+            protected WebSocketSession decorateSession(WebSocketSession session) {
+                return new ConcurrentWebSocketSessionDecorator(session, getSendTimeLimit(), getSendBufferSizeLimit(),
+                        ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP);
+            }
+        };
+    }
+}
@@ -1,65 +1,124 @@
 package com.atomix.cafeteria.websocket;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import com.atomix.cafeteria.cache.KitchenQueue;
+import com.atomix.cafeteria.service.KitchenQueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Controller
 public class LiveStatusController {
 
-    @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private static final Logger logger = LoggerFactory.getLogger(LiveStatusController.class);
+
+    private final LiveStatusBroker liveStatusBroker;
+    private final CrowdAggregator crowdAggregator;
+    private final KitchenQueueService kitchenQueueService;
+
+    public LiveStatusController(LiveStatusBroker liveStatusBroker, CrowdAggregator crowdAggregator,
+                                KitchenQueueService kitchenQueueService) {
+        this.liveStatusBroker = liveStatusBroker;
+        this.crowdAggregator = crowdAggregator;
+        this.kitchenQueueService = kitchenQueueService;
+    }
 
     @MessageMapping("/status.update")
-    @SendTo("/topic/status")
-    public Map<String, Object> updateStatus(Map<String, Object> statusUpdate) {
+    public void updateStatus(Map<String, Object> statusUpdate) {
         // Add timestamp to the status update
-        statusUpdate.put("timestamp", LocalDateTime.now().toString());
-        return statusUpdate;
+        statusUpdate.put("timestamp", System.currentTimeMillis());
+        String floorId = floorIdOf(statusUpdate);
+        liveStatusBroker.publish(LiveStatusBroker.topic("status", floorId), floorId, keyOf(statusUpdate, "vendorId"), statusUpdate);
     }
 
     @MessageMapping("/crowd.update")
-    @SendTo("/topic/crowd")
-    public Map<String, Object> updateCrowdStatus(Map<String, Object> crowdUpdate) {
-        // Process crowd update and broadcast to all subscribers
-        crowdUpdate.put("timestamp", LocalDateTime.now().toString());
-        return crowdUpdate;
+    public void updateCrowdStatus(Map<String, Object> crowdUpdate) {
+        // Folded into the floor's counter; CrowdAggregator publishes the coalesced result
+        String floorId = floorIdOf(crowdUpdate);
+        if (floorId == null) {
+            logger.warn("Ignoring crowd update without floorId");
+            return;
+        }
+        Integer delta = intOf(crowdUpdate, "delta");
+        if (delta != null) {
+            crowdAggregator.adjust(floorId, delta);
+            return;
+        }
+        Integer currentCount = intOf(crowdUpdate, "currentCount");
+        if (currentCount != null) {
+            crowdAggregator.record(floorId, currentCount, intOf(crowdUpdate, "maxCapacity"));
+        }
+    }
+
+    // Full crowd state for a floor, sent once to a client subscribing to /app/crowd/{floorId}
+    @SubscribeMapping("/crowd/{floorId}")
+    public Map<String, Object> crowdSnapshot(@DestinationVariable String floorId) {
+        Map<String, Object> snapshot = crowdAggregator.getSnapshot(floorId);
+        return snapshot != null ? snapshot : Map.of("floorId", floorId);
+    }
+
+    // Current kitchen queue, sent once to a screen subscribing to /app/kitchen/{vendorId};
+    // later changes arrive on /topic/kitchen/{vendorId}. KitchenSubscriptionInterceptor
+    // has already checked the subscriber may watch this vendor.
+    @SubscribeMapping("/kitchen/{vendorId}")
+    public List<KitchenQueue.Entry> kitchenSnapshot(@DestinationVariable Long vendorId) {
+        return kitchenQueueService.getQueue(vendorId);
     }
 
     @MessageMapping("/order.update")
-    @SendTo("/topic/orders")
-    public Map<String, Object> updateOrderStatus(Map<String, Object> orderUpdate) {
-        // Process order update and broadcast
-        orderUpdate.put("timestamp", LocalDateTime.now().toString());
-        return orderUpdate;
+    public void updateOrderStatus(Map<String, Object> orderUpdate) {
+        // Process order update and broadcast; every transition is delivered
+        orderUpdate.put("timestamp", System.currentTimeMillis());
+        String floorId = floorIdOf(orderUpdate);
+        liveStatusBroker.publish(LiveStatusBroker.topic("orders", floorId), floorId, null, orderUpdate);
     }
 
     // Method to send updates programmatically
     public void sendStatusUpdate(String floorId, Map<String, Object> status) {
-        messagingTemplate.convertAndSend("/topic/status/" + floorId, status);
+        liveStatusBroker.publish(LiveStatusBroker.topic("status", floorId), floorId, keyOf(status, "vendorId"), status);
     }
 
     public void sendCrowdUpdate(String floorId, int currentCount, int maxCapacity) {
-        Map<String, Object> update = Map.of(
-            "floorId", floorId,
-            "currentCount", currentCount,
-            "maxCapacity", maxCapacity,
-            "timestamp", LocalDateTime.now().toString()
-        );
-        messagingTemplate.convertAndSend("/topic/crowd/" + floorId, update);
+        crowdAggregator.record(floorId, currentCount, maxCapacity);
     }
 
     public void sendOrderUpdate(String userId, String orderId, String status) {
         Map<String, Object> update = Map.of(
             "orderId", orderId,
             "status", status,
-            "timestamp", LocalDateTime.now().toString()
+            "timestamp", System.currentTimeMillis()
         );
-        messagingTemplate.convertAndSendToUser(userId, "/queue/orders", update);
+        liveStatusBroker.sendToUser(userId, "/queue/orders", update);
+    }
+
+    private static String floorIdOf(Map<String, Object> update) {
+        Object floorId = update.get("floorId");
+        return floorId != null ? floorId.toString() : null;
+    }
+
+    private static Integer intOf(Map<String, Object> update, String field) {
+        Object value = update.get(field);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.toString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    // Status updates coalesce per vendor when the sender names one, otherwise per topic
+    private static String keyOf(Map<String, Object> update, String field) {
+        Object value = update.get(field);
+        return value != null ? field + ":" + value : "all";
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.atomix.cafeteria.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Serializes a live update to JSON bytes once per broadcast.
+ *
+ * The resulting message carries a byte[] payload and a JSON content type,
+ * so the messaging template skips conversion and the broker hands the
+ * same buffer to every subscriber session. Timestamps in live updates are
+ * epoch-millis longs, which are shorter on the wire than ISO strings and
+ * need no formatting.
+ */
+@Component
+public class LiveUpdateCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public LiveUpdateCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] encode(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to encode live update: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Wrap already-encoded bytes in a message ready for SimpMessagingTemplate.send.
+     * Headers are left mutable so the template can stamp the destination.
+     */
+    public Message<byte[]> toMessage(byte[] encoded) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(encoded, accessor.getMessageHeaders());
+    }
+
+    /**
+     * Destination that the user destination handler resolves to the user's
+     * sessions, built the same way as convertAndSendToUser
+     */
+    public static String userDestination(String userPrefix, String user, String destination) {
+        String prefix = userPrefix.endsWith("/") ? userPrefix : userPrefix + "/";
+        return prefix + user.replace("/", "%2F") + (destination.startsWith("/") ? destination : "/" + destination);
+    }
+}
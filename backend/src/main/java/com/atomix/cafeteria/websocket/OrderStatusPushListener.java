@@ -0,0 +1,113 @@
+package com.atomix.cafeteria.websocket;
+
+import com.atomix.cafeteria.cache.BoundedTtlCache;
+import com.atomix.cafeteria.entity.OrderStatus;
+import com.atomix.cafeteria.service.OrderStatusChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes committed order status changes to the owning user's
+ * /user/queue/orders.
+ *
+ * Events are held per user for one short window and sent as a single
+ * message. Within a window only the newest event per order is kept (it
+ * carries every timestamp, so nothing is lost), and a status already
+ * delivered for an order is not sent again.
+ */
+@Component
+public class OrderStatusPushListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusPushListener.class);
+
+    static final String DESTINATION = "/queue/orders";
+
+    private final LiveStatusBroker liveStatusBroker;
+    private final ConcurrentHashMap<String, Map<String, OrderStatusChangedEvent>> pending = new ConcurrentHashMap<>();
+    private final BoundedTtlCache<String, OrderStatus> lastDelivered;
+    private final long dedupTtlMs;
+
+    public OrderStatusPushListener(LiveStatusBroker liveStatusBroker,
+                                   @Value("${app.orders.push.dedup-max-size:50000}") int dedupMaxSize,
+                                   @Value("${app.orders.push.dedup-ttl-ms:3600000}") long dedupTtlMs) {
+        this.liveStatusBroker = liveStatusBroker;
+        this.lastDelivered = new BoundedTtlCache<>(dedupMaxSize);
+        this.dedupTtlMs = dedupTtlMs;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getUserEmail() == null || event.getOrderNumber() == null) {
+            return;
+        }
+        pending.compute(event.getUserEmail(), (user, orders) -> {
+            Map<String, OrderStatusChangedEvent> batch = orders != null ? orders : new LinkedHashMap<>();
+            OrderStatusChangedEvent existing = batch.get(event.getOrderNumber());
+            if (existing == null || existing.getOccurredAt() <= event.getOccurredAt()) {
+                batch.put(event.getOrderNumber(), event);
+            }
+            return batch;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.push.window-ms:250}")
+    public void flush() {
+        for (String user : pending.keySet()) {
+            Map<String, OrderStatusChangedEvent> batch = pending.remove(user);
+            if (batch == null) {
+                continue;
+            }
+
+            List<Map<String, Object>> updates = new ArrayList<>(batch.size());
+            for (OrderStatusChangedEvent event : batch.values()) {
+                if (event.getStatus() == lastDelivered.get(event.getOrderNumber())) {
+                    continue;
+                }
+                updates.add(toPayload(event));
+                lastDelivered.put(event.getOrderNumber(), event.getStatus(), System.currentTimeMillis() + dedupTtlMs);
+            }
+            if (updates.isEmpty()) {
+                continue;
+            }
+
+            try {
+                liveStatusBroker.sendToUser(user, DESTINATION, Map.of(
+                    "orders", updates,
+                    "timestamp", System.currentTimeMillis()
+                ));
+            } catch (Exception e) {
+                logger.error("Failed to push order updates to {}: {}", user, e.getMessage());
+            }
+        }
+    }
+
+    private static Map<String, Object> toPayload(OrderStatusChangedEvent event) {
+        Map<String, Object> update = new LinkedHashMap<>();
+        update.put("orderId", event.getOrderId());
+        update.put("orderNumber", event.getOrderNumber());
+        update.put("status", event.getStatus().name());
+        update.put("previousStatus", event.getPreviousStatus() != null ? event.getPreviousStatus().name() : null);
+        update.put("estimatedPreparationTime", event.getEstimatedPreparationTime());
+        update.put("confirmedAt", event.getConfirmedAt());
+        update.put("preparationStartedAt", event.getPreparationStartedAt());
+        update.put("readyAt", event.getReadyAt());
+        update.put("completedAt", event.getCompletedAt());
+        update.put("cancelledAt", event.getCancelledAt());
+        if (event.getCancellationReason() != null) {
+            update.put("cancellationReason", event.getCancellationReason());
+        }
+        update.put("updatedAt", event.getOccurredAt());
+        return update;
+    }
+}
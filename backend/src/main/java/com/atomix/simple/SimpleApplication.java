@@ -12,6 +12,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,7 +49,7 @@ public class SimpleApplication implements CommandLineRunner {
             admin.setFloorId("ALL");
             admin.setDepartment("IT");
             admin.setEmployeeId("EMP001");
-            admin.setFoodCardBalance(1000.0);
+            admin.setFoodCardBalance(new BigDecimal("1000.00"));
             admin.setIsActive(true);
             admin.setEmailVerified(true);
             admin.setCreatedAt(java.time.LocalDateTime.now());
@@ -63,7 +64,7 @@ public class SimpleApplication implements CommandLineRunner {
             employee.setFloorId("F1");
             employee.setDepartment("Engineering");
             employee.setEmployeeId("EMP002");
-            employee.setFoodCardBalance(250.0);
+            employee.setFoodCardBalance(new BigDecimal("250.00"));
             employee.setIsActive(true);
             employee.setEmailVerified(true);
             employee.setCreatedAt(java.time.LocalDateTime.now());
@@ -108,7 +109,7 @@ public class SimpleApplication implements CommandLineRunner {
             user.setFloorId("F1");
             user.setDepartment("Test");
             user.setEmployeeId("TEST" + System.currentTimeMillis());
-            user.setFoodCardBalance(100.0);
+            user.setFoodCardBalance(new BigDecimal("100.00"));
             user.setIsActive(true);
             user.setEmailVerified(true);
             user.setCreatedAt(java.time.LocalDateTime.now());
@@ -0,0 +1,12 @@
+-- Per-day payment counts and totals by status, method and type, kept up to date incrementally
+CREATE TABLE payment_daily_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    rollup_date DATE NOT NULL,
+    payment_status VARCHAR(50) NOT NULL,
+    payment_method VARCHAR(50) NOT NULL,
+    payment_type VARCHAR(50) NOT NULL,
+    payment_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_payment_rollups_day_dims UNIQUE (rollup_date, payment_status, payment_method, payment_type)
+);
@@ -0,0 +1,10 @@
+-- Append-only log of vendor and menu item ratings; averages are folded from it in batches
+CREATE TABLE rating_events (
+    id BIGSERIAL PRIMARY KEY,
+    target_type VARCHAR(20) NOT NULL CHECK (target_type IN ('VENDOR', 'MENU_ITEM')),
+    target_id BIGINT NOT NULL,
+    rating DECIMAL(3,2) NOT NULL CHECK (rating >= 1 AND rating <= 5),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_rating_events_target ON rating_events(target_type, target_id, created_at);
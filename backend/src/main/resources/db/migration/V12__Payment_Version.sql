@@ -0,0 +1,2 @@
+-- Optimistic lock column: a payment can only be settled once, whichever of verify, webhook or reconciliation gets there first
+ALTER TABLE payments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
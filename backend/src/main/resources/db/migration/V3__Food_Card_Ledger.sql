@@ -0,0 +1,20 @@
+-- Food card ledger
+-- Version 3.0 - append-only transaction log next to users.food_card_balance
+
+CREATE TABLE food_card_transactions (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    transaction_type VARCHAR(50) NOT NULL CHECK (transaction_type IN ('TOPUP', 'DEBIT', 'REFUND', 'ADJUSTMENT')),
+    amount DECIMAL(10,2) NOT NULL,
+    balance_after DECIMAL(10,2),
+    payment_id VARCHAR(255),
+    description VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+CREATE INDEX idx_food_card_tx_user_created ON food_card_transactions(user_id, created_at);
+CREATE INDEX idx_food_card_tx_payment_id ON food_card_transactions(payment_id);
+
+-- Balance may never go negative; debits are conditional UPDATEs guarded by this invariant
+ALTER TABLE users ADD CONSTRAINT chk_users_food_card_balance CHECK (food_card_balance >= 0);
@@ -0,0 +1,4 @@
+-- Orders and order items use pooled sequence ids (allocation size 50) so
+-- Hibernate can batch their inserts; the BIGSERIAL sequences must step to match.
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
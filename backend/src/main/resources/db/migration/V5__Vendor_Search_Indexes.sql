@@ -0,0 +1,3 @@
+-- Vendor search pages are ordered by rating then name
+CREATE INDEX idx_vendors_rating_name ON vendors(average_rating DESC, name);
+CREATE INDEX idx_vendors_active_status_rating ON vendors(is_active, status, average_rating DESC);
@@ -0,0 +1,2 @@
+-- Kitchen queues load a vendor's active orders by status
+CREATE INDEX idx_orders_vendor_status ON orders(vendor_id, status);
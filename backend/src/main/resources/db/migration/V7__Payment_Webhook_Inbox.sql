@@ -0,0 +1,28 @@
+-- Inbox for payment gateway webhooks; (gateway, event_id) makes redeliveries idempotent
+CREATE TABLE payment_webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    gateway VARCHAR(50) NOT NULL,
+    event_id VARCHAR(255) NOT NULL,
+    event_type VARCHAR(255),
+    payment_reference VARCHAR(255),
+    gateway_payment_id VARCHAR(255),
+    gateway_order_id VARCHAR(255),
+    amount_minor BIGINT,
+    failure_reason VARCHAR(255),
+    payload TEXT,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RECEIVED', 'PROCESSED', 'IGNORED', 'FAILED')),
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(255),
+    received_at TIMESTAMP NOT NULL,
+    processed_at TIMESTAMP,
+    CONSTRAINT uk_webhook_events_gateway_event UNIQUE (gateway, event_id)
+);
+
+-- Events are inserted in batches with pooled sequence ids
+ALTER SEQUENCE payment_webhook_events_id_seq INCREMENT BY 50;
+
+CREATE INDEX idx_webhook_events_status_received ON payment_webhook_events(status, received_at);
+
+-- Webhooks find their payment by gateway ids
+CREATE INDEX idx_payments_gateway_payment_id ON payments(gateway_payment_id);
+CREATE INDEX idx_payments_gateway_order_id ON payments(gateway_order_id);
@@ -0,0 +1,2 @@
+-- Reconciliation pages through pending payments in id order
+CREATE INDEX idx_payments_status_id ON payments(payment_status, id);
@@ -0,0 +1,2 @@
+-- Payment history pages seek on (user_id, created_at, id) instead of sorting a user's whole history
+CREATE INDEX idx_payments_user_created_id ON payments(user_id, created_at, id);
@@ -0,0 +1,73 @@
+package com.atomix.cafeteria.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    void testGetReturnsLiveEntryAndCountsHits() {
+        // Given
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10);
+        cache.put("token", "user@example.com", System.currentTimeMillis() + 60_000);
+
+        // When
+        String value = cache.get("token");
+        String missing = cache.get("other");
+
+        // Then
+        assertThat(value).isEqualTo("user@example.com");
+        assertThat(missing).isNull();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testExpiredEntriesAreNotReturned() {
+        // Given
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10);
+        cache.put("expired", "value", System.currentTimeMillis() - 1);
+
+        // Then
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testPutIfAbsentKeepsLiveEntryAndReplacesExpiredOne() {
+        // Given
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10);
+        cache.put("expired", "old", System.currentTimeMillis() - 1);
+        cache.put("live", "first", System.currentTimeMillis() + 60_000);
+
+        // When
+        boolean replacedLive = cache.putIfAbsent("live", "second", System.currentTimeMillis() + 60_000);
+        boolean storedExpired = cache.putIfAbsent("expired", "new", System.currentTimeMillis() + 60_000);
+
+        // Then
+        assertThat(replacedLive).isFalse();
+        assertThat(storedExpired).isTrue();
+        assertThat(cache.get("live")).isEqualTo("first");
+        assertThat(cache.get("expired")).isEqualTo("new");
+    }
+
+    @Test
+    void testSizeStaysBoundedAndSoonestExpiringEntriesAreEvicted() {
+        // Given
+        BoundedTtlCache<Integer, Integer> cache = new BoundedTtlCache<>(10);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i, now + 60_000 + i);
+        }
+
+        // When
+        cache.put(99, 99, now + 120_000);
+
+        // Then
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.get(0)).isNull();
+        assertThat(cache.get(99)).isEqualTo(99);
+        assertThat(cache.getEvictionCount()).isPositive();
+    }
+}
@@ -0,0 +1,72 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.entity.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KitchenQueueTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void testOrdersAreRankedByStartByTimeWithReadyOrdersLast() {
+        // Given
+        KitchenQueue queue = new KitchenQueue(1L);
+        queue.seed(List.of());
+
+        // When
+        queue.upsert(entry(1L, OrderStatus.CONFIRMED, 30 * MINUTE, 5));   // start by 25
+        queue.upsert(entry(2L, OrderStatus.PENDING, 30 * MINUTE, 20));    // start by 10
+        queue.upsert(entry(3L, OrderStatus.READY, 0, 0));
+        queue.upsert(entry(4L, OrderStatus.PREPARING, 20 * MINUTE, 5));   // start by 15
+
+        // Then
+        assertThat(queue.snapshot()).extracting(KitchenQueue.Entry::getOrderId)
+            .containsExactly(2L, 4L, 1L, 3L);
+    }
+
+    @Test
+    void testStatusChangesAndCompleteKeepOrder() {
+        // Given
+        KitchenQueue queue = new KitchenQueue(1L);
+        queue.seed(List.of(
+            entry(1L, OrderStatus.CONFIRMED, 10 * MINUTE, 5),
+            entry(2L, OrderStatus.CONFIRMED, 20 * MINUTE, 5),
+            entry(3L, OrderStatus.CONFIRMED, 30 * MINUTE, 5)));
+
+        // When
+        queue.updateStatus(1L, OrderStatus.READY);
+        KitchenQueue.Entry removed = queue.complete(2L);
+
+        // Then
+        assertThat(removed.getOrderId()).isEqualTo(2L);
+        assertThat(queue.snapshot()).extracting(KitchenQueue.Entry::getOrderId).containsExactly(3L, 1L);
+        assertThat(queue.get(1L).getStatus()).isEqualTo(OrderStatus.READY);
+        assertThat(queue.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testChangesMadeWhileSeedingWinOverSeededRows() {
+        // Given
+        KitchenQueue queue = new KitchenQueue(1L);
+        queue.complete(1L);
+        queue.updateStatus(2L, OrderStatus.PREPARING);
+
+        // When
+        queue.seed(List.of(
+            entry(1L, OrderStatus.CONFIRMED, 10 * MINUTE, 5),
+            entry(2L, OrderStatus.CONFIRMED, 20 * MINUTE, 5)));
+
+        // Then
+        assertThat(queue.snapshot()).extracting(KitchenQueue.Entry::getOrderId).containsExactly(2L);
+        assertThat(queue.get(2L).getStatus()).isEqualTo(OrderStatus.PREPARING);
+    }
+
+    private static KitchenQueue.Entry entry(Long orderId, OrderStatus status, long pickupDeadline, int preparationMinutes) {
+        return new KitchenQueue.Entry(orderId, "ORD_" + orderId, status, 0L, pickupDeadline,
+            preparationMinutes, List.of("1 x Masala Dosa"), null);
+    }
+}
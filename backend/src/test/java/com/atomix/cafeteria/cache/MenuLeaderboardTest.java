@@ -0,0 +1,90 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.entity.MenuCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MenuLeaderboardTest {
+
+    @Test
+    void testBoardsKeepOnlyTheTopItemsInRankOrder() {
+        // Given
+        List<MenuLeaderboard.Score> scores = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            scores.add(score(id, "F1", MenuCategory.SNACKS, 1L, id * 10, 4.0));
+        }
+
+        // When
+        MenuLeaderboard leaderboard = MenuLeaderboard.of(scores, 3);
+
+        // Then
+        assertThat(leaderboard.top(5)).containsExactly(10L, 9L, 8L);
+        assertThat(leaderboard.top(2)).containsExactly(10L, 9L);
+        assertThat(leaderboard.topByFloor("F1", 3)).containsExactly(10L, 9L, 8L);
+        assertThat(leaderboard.topByFloor("F2", 3)).isEmpty();
+    }
+
+    @Test
+    void testRisingItemEntersAFullBoardAndRatingBreaksTies() {
+        // Given
+        MenuLeaderboard leaderboard = MenuLeaderboard.of(List.of(
+            score(1L, "F1", MenuCategory.SNACKS, 1L, 30, 4.0),
+            score(2L, "F1", MenuCategory.SNACKS, 1L, 20, 4.0),
+            score(3L, "F1", MenuCategory.SNACKS, 1L, 5, 4.0)
+        ), 2);
+
+        // When
+        leaderboard.updateVotes(3L, 20);
+        leaderboard.updateRating(3L, 4.5);
+
+        // Then
+        assertThat(leaderboard.top(2)).containsExactly(1L, 3L);
+        assertThat(leaderboard.topByVendor(1L, 2)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void testFallingOrRemovedMemberLetsTheNextItemIn() {
+        // Given
+        MenuLeaderboard leaderboard = MenuLeaderboard.of(List.of(
+            score(1L, "F1", MenuCategory.SNACKS, 1L, 30, 4.0),
+            score(2L, "F1", MenuCategory.SNACKS, 1L, 20, 4.0),
+            score(3L, "F1", MenuCategory.SNACKS, 1L, 10, 4.0),
+            score(4L, "F1", MenuCategory.SNACKS, 1L, 5, 4.0)
+        ), 2);
+
+        // When
+        leaderboard.remove(1L);
+        leaderboard.update(score(2L, "F1", MenuCategory.SNACKS, 1L, 20, 4.0));
+
+        // Then
+        assertThat(leaderboard.top(2)).containsExactly(2L, 3L);
+        assertThat(leaderboard.topByCategory(MenuCategory.SNACKS, 2)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void testMovedItemLeavesItsOldBoards() {
+        // Given
+        MenuLeaderboard leaderboard = MenuLeaderboard.of(List.of(
+            score(1L, "F1", MenuCategory.SNACKS, 1L, 30, 4.0),
+            score(2L, "F1", MenuCategory.SNACKS, 1L, 20, 4.0)
+        ), 5);
+
+        // When
+        leaderboard.update(score(1L, "F2", MenuCategory.SNACKS, 2L, 30, 4.0));
+
+        // Then
+        assertThat(leaderboard.topByFloor("F1", 5)).containsExactly(2L);
+        assertThat(leaderboard.topByFloor("F2", 5)).containsExactly(1L);
+        assertThat(leaderboard.topByVendor(1L, 5)).containsExactly(2L);
+        assertThat(leaderboard.top(5)).containsExactly(1L, 2L);
+    }
+
+    private static MenuLeaderboard.Score score(Long id, String floorId, MenuCategory category, Long vendorId,
+                                               long votes, double rating) {
+        return new MenuLeaderboard.Score(id, floorId, category, vendorId, votes, rating);
+    }
+}
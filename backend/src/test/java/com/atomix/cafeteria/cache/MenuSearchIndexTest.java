@@ -0,0 +1,96 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.dto.MenuItemResponse;
+import com.atomix.cafeteria.entity.MenuItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MenuSearchIndexTest {
+
+    @Test
+    void testNameMatchesRankAboveDescriptionMatches() {
+        // Given
+        MenuSearchIndex index = MenuSearchIndex.of(List.of(
+            item(1L, "Veg Sandwich", "Served with paneer dip", List.of()),
+            item(2L, "Paneer Tikka", "Grilled cottage cheese", List.of())
+        ));
+
+        // When
+        List<Long> results = index.search("paneer", Set.of(), 10);
+
+        // Then
+        assertThat(results).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void testPrefixAndTypoTolerantMatching() {
+        // Given
+        MenuSearchIndex index = MenuSearchIndex.of(List.of(
+            item(1L, "Masala Dosa", "Crispy rice crepe", List.of("south-indian")),
+            item(2L, "Cold Coffee", "Iced and sweet", List.of("beverage"))
+        ));
+
+        // Then
+        assertThat(index.search("mas", Set.of(), 10)).containsExactly(1L);
+        assertThat(index.search("cofee", Set.of(), 10)).containsExactly(2L);
+        assertThat(index.search("crispy dosa", Set.of(), 10)).containsExactly(1L);
+        assertThat(index.search("crispy coffee", Set.of(), 10)).isEmpty();
+    }
+
+    @Test
+    void testFieldRestrictionAndReindexing() {
+        // Given
+        MenuSearchIndex index = MenuSearchIndex.of(List.of(
+            item(1L, "Spicy Noodles", "Chilli garlic", List.of("spicy"))
+        ));
+
+        // When
+        index.index(item(1L, "Plain Noodles", "Mild", List.of("mild")));
+
+        // Then
+        assertThat(index.search("spicy", Set.of(), 10)).isEmpty();
+        assertThat(index.search("mild", EnumSet.of(MenuSearchIndex.Field.TAG), 10)).containsExactly(1L);
+        assertThat(index.search("noodles", EnumSet.of(MenuSearchIndex.Field.TAG), 10)).isEmpty();
+
+        index.remove(1L);
+        assertThat(index.search("noodles", Set.of(), 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void testMatchesInsideWordsRankBelowWholeWords() {
+        // Given
+        MenuSearchIndex index = MenuSearchIndex.of(List.of(
+            item(1L, "Cheeseburger", "Double patty", List.of()),
+            item(2L, "Loaded Fries", "With dip", List.of("vegburger")),
+            item(3L, "Slider Platter", "Three minis", List.of(), List.of("Hamburger bun")),
+            item(4L, "Burger Deluxe", "House special", List.of())
+        ));
+
+        // Then
+        assertThat(index.search("burger", Set.of(), 10)).containsExactly(4L, 1L, 2L, 3L);
+        assertThat(index.search("burger", EnumSet.of(MenuSearchIndex.Field.INGREDIENT), 10)).containsExactly(3L);
+        assertThat(index.search("eeseburg", Set.of(), 10)).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("cheese", Set.of(), 10)).isEmpty();
+        assertThat(index.search("eeseburg", Set.of(), 10)).isEmpty();
+    }
+
+    private MenuItemResponse item(Long id, String name, String description, List<String> tags) {
+        return item(id, name, description, tags, List.of());
+    }
+
+    private MenuItemResponse item(Long id, String name, String description, List<String> tags, List<String> ingredients) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(id);
+        menuItem.setName(name);
+        menuItem.setDescription(description);
+        return new MenuItemResponse(menuItem, tags, ingredients);
+    }
+}
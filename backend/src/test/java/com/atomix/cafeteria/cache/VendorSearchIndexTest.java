@@ -0,0 +1,67 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.entity.VendorStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorSearchIndexTest {
+
+    @Test
+    void testTokensMatchAnywhereInsideAWord() {
+        // Given
+        VendorSearchIndex index = VendorSearchIndex.of(List.of(
+            vendor(1L, "Cheeseburger Hut", "Grill", 4.0, true),
+            vendor(2L, "Burger Barn", "Fast food", 3.0, true),
+            vendor(3L, "Dosa Corner", "South Indian", 5.0, true)
+        ));
+
+        // When
+        VendorSearchIndex.Result result = index.search("burger", false, 0, 10);
+
+        // Then: like the LIKE '%term%' fallback, ranked by rating
+        assertThat(result.getIds()).containsExactly(1L, 2L);
+        assertThat(index.search("URGE", false, 0, 10).getIds()).containsExactly(1L, 2L);
+        assertThat(index.search("orner", false, 0, 10).getIds()).containsExactly(3L);
+    }
+
+    @Test
+    void testEveryTokenMustMatch() {
+        // Given
+        VendorSearchIndex index = VendorSearchIndex.of(List.of(
+            vendor(1L, "Cheeseburger Hut", "Grill", 4.0, true),
+            vendor(2L, "Burger Barn", "Fast food", 3.0, true)
+        ));
+
+        // Then
+        assertThat(index.search("burger fast", false, 0, 10).getIds()).containsExactly(2L);
+        assertThat(index.search("burger pizza", false, 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void testActiveFilterPagingAndReindexing() {
+        // Given
+        VendorSearchIndex index = VendorSearchIndex.of(List.of(
+            vendor(1L, "Tea Stall", null, 4.5, true),
+            vendor(2L, "Tea Point", null, 4.0, false),
+            vendor(3L, "Tea House", null, 3.5, true)
+        ));
+
+        // When
+        index.index(vendor(3L, "Coffee House", null, 3.5, true));
+        index.remove(1L);
+
+        // Then
+        assertThat(index.search("tea", false, 0, 10).getIds()).containsExactly(2L);
+        assertThat(index.search("tea", true, 0, 10).getTotal()).isZero();
+        assertThat(index.search("house", true, 0, 1).getIds()).containsExactly(3L);
+        assertThat(index.search("", false, 1, 1).getIds()).containsExactly(3L);
+        assertThat(index.search("", false, 0, 10).getTotal()).isEqualTo(2);
+    }
+
+    private static VendorSearchIndex.Entry vendor(Long id, String name, String description, double rating, boolean active) {
+        return new VendorSearchIndex.Entry(id, name, description, null, rating, active, VendorStatus.APPROVED);
+    }
+}
@@ -0,0 +1,68 @@
+package com.atomix.cafeteria.cache;
+
+import com.atomix.cafeteria.entity.VendorStatus;
+import com.atomix.cafeteria.entity.VendorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorStatsCountersTest {
+
+    @Test
+    void testCountsMatchTheStatisticsQueries() {
+        // Given
+        VendorStatsCounters counters = VendorStatsCounters.of(Map.of(
+            1L, new VendorStatsCounters.Entry(VendorStatus.APPROVED, VendorType.PERMANENT, true),
+            2L, new VendorStatsCounters.Entry(VendorStatus.APPROVED, VendorType.TEMPORARY, false),
+            3L, new VendorStatsCounters.Entry(VendorStatus.PENDING, VendorType.PERMANENT, true)
+        ));
+
+        // When
+        Map<String, Object> stats = counters.getStats();
+
+        // Then
+        assertThat(stats).containsEntry("totalVendors", 3L)
+            .containsEntry("activeVendors", 1L)
+            .containsEntry("approvedVendors", 2L)
+            .containsEntry("pendingApproval", 1L)
+            .containsEntry("rejectedVendors", 0L);
+        assertThat(stats.get("vendorTypeStatistics")).isEqualTo(Map.of("Permanent Vendor", 2L));
+    }
+
+    @Test
+    void testUpdateMovesVendorBetweenCounters() {
+        // Given
+        VendorStatsCounters counters = VendorStatsCounters.of(Map.of(
+            1L, new VendorStatsCounters.Entry(VendorStatus.PENDING, VendorType.SEASONAL, true)
+        ));
+
+        // When
+        counters.put(1L, new VendorStatsCounters.Entry(VendorStatus.APPROVED, VendorType.SEASONAL, true));
+        counters.put(1L, new VendorStatsCounters.Entry(VendorStatus.APPROVED, VendorType.SEASONAL, true));
+
+        // Then
+        assertThat(counters.getStats()).containsEntry("pendingApproval", 0L)
+            .containsEntry("approvedVendors", 1L)
+            .containsEntry("activeVendors", 1L)
+            .containsEntry("totalVendors", 1L);
+    }
+
+    @Test
+    void testRemovedVendorLeavesNoTypeEntry() {
+        // Given
+        VendorStatsCounters counters = VendorStatsCounters.of(Map.of(
+            1L, new VendorStatsCounters.Entry(VendorStatus.SUSPENDED, VendorType.EVENT_BASED, true)
+        ));
+
+        // When
+        counters.remove(1L);
+        counters.remove(1L);
+
+        // Then
+        assertThat(counters.getStats()).containsEntry("totalVendors", 0L).containsEntry("suspendedVendors", 0L);
+        assertThat(counters.getStats().get("vendorTypeStatistics")).isEqualTo(Map.of());
+        assertThat(counters.sameCountsAs(VendorStatsCounters.of(Map.of()))).isTrue();
+    }
+}
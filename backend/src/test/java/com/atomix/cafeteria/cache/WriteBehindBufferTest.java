@@ -0,0 +1,92 @@
+package com.atomix.cafeteria.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindBufferTest {
+
+    private final WriteBehindBuffer<String, Long> buffer =
+        new WriteBehindBuffer<String, Long>("test deltas", Long::sum, delta -> delta == 0, Comparator.naturalOrder());
+
+    @Test
+    void testDeltasForOneKeyAreMergedAndWrittenInKeyOrder() {
+        // Given
+        buffer.add("b", 2L);
+        buffer.add("a", 1L);
+        buffer.add("b", 3L);
+        buffer.add("c", 4L);
+        buffer.add("c", -4L);
+
+        // When
+        List<Map.Entry<String, Long>> written = buffer.flush(batch -> batch);
+
+        // Then
+        assertThat(written).containsExactly(Map.entry("a", 1L), Map.entry("b", 5L));
+        assertThat(buffer.<Long>read("b", unwritten -> unwritten)).isNull();
+        assertThat(buffer.<Object>flush(batch -> "unexpected")).isNull();
+    }
+
+    @Test
+    void testFailedWriteKeepsDeltasForTheNextFlush() {
+        // Given
+        buffer.add("a", 1L);
+        buffer.flush(batch -> {
+            buffer.add("a", 2L);
+            throw new IllegalStateException("Deadlock detected");
+        });
+
+        // When
+        List<Map.Entry<String, Long>> written = buffer.flush(batch -> batch);
+
+        // Then
+        assertThat(written).containsExactly(Map.entry("a", 3L));
+    }
+
+    @Test
+    void testDeltaBeingWrittenIsReadExactlyOnce() {
+        // Given
+        Map<String, Long> written = new HashMap<>();
+        buffer.add("a", 2L);
+
+        // When
+        Long duringWrite = buffer.flush(batch -> {
+            buffer.add("a", 1L);
+            return buffer.read("a", unwritten -> unwritten);
+        }, written::put);
+        Long afterWrite = buffer.read("a", unwritten -> unwritten);
+
+        // Then
+        assertThat(duringWrite).isEqualTo(3L);
+        assertThat(afterWrite).isEqualTo(1L);
+        assertThat(written).containsExactly(Map.entry("a", 2L));
+    }
+
+    @Test
+    void testDiscardedKeysAreNotWritten() {
+        // Given
+        buffer.add("day-1", 1L);
+        buffer.add("day-2", 1L);
+        buffer.add("other", 1L);
+
+        // When
+        buffer.locked(() -> {
+            buffer.discardIf(key -> key.startsWith("day-"));
+            return null;
+        });
+        List<String> written = new ArrayList<>();
+        buffer.flush(batch -> {
+            batch.forEach(entry -> written.add(entry.getKey()));
+            return null;
+        });
+
+        // Then
+        assertThat(written).containsExactly("other");
+    }
+}
@@ -0,0 +1,103 @@
+package com.atomix.cafeteria.gateway;
+
+import com.atomix.cafeteria.entity.PaymentMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentGatewayClientTest {
+
+    private PaymentGatewayClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void testFakeOrderIsPaidForItsAmount() throws Exception {
+        // Given
+        client = new PaymentGatewayClient(List.of(new FakePaymentGateway(PaymentMethod.STRIPE, 0, 0.0)), 10, 1000, 5, 30000);
+
+        // When
+        GatewayOrder order = client.createOrder(PaymentMethod.STRIPE, "PAY1", 25000, "INR", 1L).get();
+        GatewayPayment payment = client.fetchPayment(PaymentMethod.STRIPE, order.getGatewayPaymentId()).get();
+
+        // Then
+        assertThat(payment.isPaid()).isTrue();
+        assertThat(payment.getAmountMinor()).isEqualTo(25000);
+        assertThat(client.getCircuitState(PaymentMethod.STRIPE)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void testSlowGatewayTimesOut() {
+        // Given
+        client = new PaymentGatewayClient(List.of(new FakePaymentGateway(PaymentMethod.RAZORPAY, 2000, 0.0)), 10, 50, 5, 30000);
+
+        // When
+        CompletableFuture<GatewayOrder> order = client.createOrder(PaymentMethod.RAZORPAY, "PAY1", 100, "INR", 1L);
+
+        // Then
+        assertThatThrownBy(order::get)
+            .isInstanceOf(ExecutionException.class)
+            .hasMessageContaining("did not respond in time");
+    }
+
+    @Test
+    void testBulkheadRefusesCallsBeyondTheLimit() {
+        // Given
+        client = new PaymentGatewayClient(List.of(new FakePaymentGateway(PaymentMethod.RAZORPAY, 500, 0.0)), 1, 5000, 5, 30000);
+        client.createOrder(PaymentMethod.RAZORPAY, "PAY1", 100, "INR", 1L);
+
+        // When
+        CompletableFuture<GatewayOrder> second = client.createOrder(PaymentMethod.RAZORPAY, "PAY2", 100, "INR", 1L);
+
+        // Then
+        assertThat(second).isCompletedExceptionally();
+        assertThatThrownBy(second::get).hasMessageContaining("busy");
+    }
+
+    @Test
+    void testCircuitOpensAfterConsecutiveFailures() {
+        // Given
+        client = new PaymentGatewayClient(List.of(new FakePaymentGateway(PaymentMethod.STRIPE, 0, 1.0)), 10, 1000, 3, 30000);
+        for (int i = 0; i < 3; i++) {
+            client.createOrder(PaymentMethod.STRIPE, "PAY" + i, 100, "INR", 1L).exceptionally(e -> null).join();
+        }
+
+        // When
+        CompletableFuture<GatewayOrder> refused = client.createOrder(PaymentMethod.STRIPE, "PAY3", 100, "INR", 1L);
+
+        // Then
+        assertThat(client.getCircuitState(PaymentMethod.STRIPE)).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(refused::get).hasMessageContaining("temporarily unavailable");
+    }
+
+    @Test
+    void testHalfOpenCircuitClosesAfterSuccessfulTrial() {
+        // Given
+        CircuitBreaker breaker = new CircuitBreaker(2, 1000);
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+
+        // When
+        boolean refusedWhileOpen = !breaker.tryAcquire(500);
+        boolean trialAllowed = breaker.tryAcquire(1000);
+        boolean secondTrialAllowed = breaker.tryAcquire(1000);
+        breaker.onSuccess();
+
+        // Then
+        assertThat(refusedWhileOpen).isTrue();
+        assertThat(trialAllowed).isTrue();
+        assertThat(secondTrialAllowed).isFalse();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,23 @@
+package com.atomix.cafeteria.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RazorpaySignatureTest {
+
+    private static final String SIGNATURE = "444ab3353f39d9a6cd042ce01e598f3a2819f46159b58f0ff40d4eed15d8e158";
+
+    @Test
+    void testSignsOrderAndPaymentIdWithTheKeySecret() {
+        assertThat(RazorpaySignature.sign("test_secret", "order_1", "pay_1")).isEqualTo(SIGNATURE);
+    }
+
+    @Test
+    void testOnlyTheExactSignatureMatches() {
+        assertThat(RazorpaySignature.matches("test_secret", "order_1", "pay_1", SIGNATURE)).isTrue();
+        assertThat(RazorpaySignature.matches("test_secret", "order_1", "pay_2", SIGNATURE)).isFalse();
+        assertThat(RazorpaySignature.matches("other_secret", "order_1", "pay_1", SIGNATURE)).isFalse();
+        assertThat(RazorpaySignature.matches("test_secret", "order_1", "pay_1", null)).isFalse();
+    }
+}
@@ -0,0 +1,121 @@
+package com.atomix.cafeteria.repository;
+
+import com.atomix.cafeteria.config.JpaConfig;
+import com.atomix.cafeteria.entity.FoodCardTransaction;
+import com.atomix.cafeteria.entity.FoodCardTransactionType;
+import com.atomix.cafeteria.entity.User;
+import com.atomix.cafeteria.entity.UserRole;
+import com.atomix.cafeteria.service.FoodCardLedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({FoodCardLedgerService.class, JpaConfig.class})
+class FoodCardLedgerRepositoryTest {
+
+    @Autowired
+    private FoodCardLedgerService ledgerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testCreditAndDebitWriteBalanceAfterToTheLedger() {
+        // Given
+        Long userId = persistUser("ledger@example.com", BigDecimal.ZERO).getId();
+
+        // When
+        ledgerService.credit(userId, new BigDecimal("100"), FoodCardTransactionType.TOPUP, "pay_1", "Top-up");
+        boolean debited = ledgerService.debit(userId, new BigDecimal("30.25"), "pay_2", "Lunch");
+
+        // Then
+        assertThat(debited).isTrue();
+        assertThat(ledgerService.getBalance(userId)).isEqualByComparingTo("69.75");
+        List<FoodCardTransaction> ledger = ledgerService.getTransactions(userId, PageRequest.of(0, 10)).getContent();
+        assertThat(ledger).hasSize(2);
+        assertThat(ledger.get(0).getTransactionType()).isEqualTo(FoodCardTransactionType.DEBIT);
+        assertThat(ledger.get(0).getAmount()).isEqualByComparingTo("-30.25");
+        assertThat(ledger.get(0).getBalanceAfter()).isEqualByComparingTo("69.75");
+        assertThat(ledger.get(1).getAmount()).isEqualByComparingTo("100.00");
+        assertThat(ledger.get(1).getBalanceAfter()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void testOverdraftIsRejectedAndLeavesBalanceUnchanged() {
+        // Given
+        Long userId = persistUser("overdraft@example.com", new BigDecimal("20.00")).getId();
+
+        // When
+        boolean debited = ledgerService.debit(userId, new BigDecimal("50"), "pay_3", "Dinner");
+
+        // Then
+        assertThat(debited).isFalse();
+        assertThat(userRepository.debitFoodCardBalance(userId, new BigDecimal("20.01"))).isZero();
+        assertThat(ledgerService.getBalance(userId)).isEqualByComparingTo("20.00");
+        assertThat(ledgerService.getTransactions(userId, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void testBalanceConstraintFromMigrationRejectsNegativeBalance() throws IOException {
+        // Given: the test schema comes from Hibernate, so add the V3 constraint by hand.
+        // H2 commits on DDL, so the user is removed again before the constraint is dropped.
+        jdbcTemplate.execute(balanceConstraint());
+        Long userId = null;
+        try {
+            userId = persistUser("constraint@example.com", new BigDecimal("5.00")).getId();
+            Long id = userId;
+
+            // When / Then
+            assertThatThrownBy(() -> jdbcTemplate.update("UPDATE users SET food_card_balance = -1 WHERE id = ?", id))
+                .isInstanceOf(DataIntegrityViolationException.class);
+            assertThat(ledgerService.getBalance(userId)).isEqualByComparingTo("5.00");
+        } finally {
+            if (userId != null) {
+                jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+            }
+            jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT chk_users_food_card_balance");
+        }
+    }
+
+    private static String balanceConstraint() throws IOException {
+        String migration = new ClassPathResource("db/migration/V3__Food_Card_Ledger.sql")
+            .getContentAsString(StandardCharsets.UTF_8);
+        return migration.lines()
+            .filter(line -> line.contains("chk_users_food_card_balance"))
+            .findFirst()
+            .map(line -> line.replace(";", ""))
+            .orElseThrow();
+    }
+
+    private User persistUser(String email, BigDecimal balance) {
+        User user = new User();
+        user.setEmail(email);
+        user.setFirstName("Ledger");
+        user.setLastName("User");
+        user.setPassword("hashedpassword123");
+        user.setRole(UserRole.EMPLOYEE);
+        user.setIsActive(true);
+        user.setEmailVerified(false);
+        user.setFoodCardBalance(balance);
+        return userRepository.saveAndFlush(user);
+    }
+}
@@ -0,0 +1,118 @@
+package com.atomix.cafeteria.repository;
+
+import com.atomix.cafeteria.entity.MenuCategory;
+import com.atomix.cafeteria.entity.MenuItem;
+import com.atomix.cafeteria.entity.Vendor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class MenuItemRepositoryTest {
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testUpdateDoesNotOverwriteVotesFlushedAfterLoad() {
+        // Given: an item loaded by an update, then a vote flush lands
+        MenuItem item = menuItemRepository.findById(persistItem().getId()).orElseThrow();
+        jdbcTemplate.update("UPDATE menu_items SET votes_count = COALESCE(votes_count, 0) + ? WHERE id = ?", 3, item.getId());
+
+        // When
+        item.setName("Renamed");
+        menuItemRepository.saveAndFlush(item);
+
+        // Then
+        assertThat(column("votes_count", item.getId())).isEqualTo(8);
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM menu_items WHERE id = ?", String.class, item.getId()))
+            .isEqualTo("Renamed");
+    }
+
+    @Test
+    void testUpdateDoesNotOverwriteRatingsFlushedAfterLoad() {
+        // Given: an item loaded by an update, then a rating flush lands
+        MenuItem item = menuItemRepository.findById(persistItem().getId()).orElseThrow();
+        menuItemRepository.addRatings(item.getId(), new BigDecimal("4.00"), 1, LocalDateTime.now());
+
+        // When
+        item.setIsAvailable(false);
+        menuItemRepository.saveAndFlush(item);
+
+        // Then
+        assertThat(column("rating_count", item.getId())).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT rating FROM menu_items WHERE id = ?", BigDecimal.class, item.getId()))
+            .isEqualByComparingTo("4.00");
+    }
+
+    @Test
+    void testUpdateDoesNotOverwriteStockFlushedAfterLoad() {
+        // Given: an item loaded by an update, then reserved stock is flushed
+        MenuItem item = menuItemRepository.findById(persistItem().getId()).orElseThrow();
+        jdbcTemplate.update("UPDATE menu_items SET quantity_available = GREATEST(COALESCE(quantity_available, 0) + ?, 0) WHERE id = ?",
+            -4, item.getId());
+
+        // When
+        item.setPrice(new BigDecimal("90.00"));
+        menuItemRepository.saveAndFlush(item);
+
+        // Then
+        assertThat(column("quantity_available", item.getId())).isEqualTo(6);
+    }
+
+    @Test
+    void testRestockSetsStockAbsolutely() {
+        // Given
+        Long id = persistItem().getId();
+
+        // When
+        menuItemRepository.setStock(id, 25, LocalDateTime.now());
+
+        // Then
+        assertThat(column("quantity_available", id)).isEqualTo(25);
+    }
+
+    private MenuItem persistItem() {
+        LocalDateTime now = LocalDateTime.now();
+        Vendor vendor = new Vendor();
+        vendor.setName("Test Vendor");
+        vendor.setContactEmail("vendor@example.com");
+        vendor.setCreatedAt(now);
+        vendor.setUpdatedAt(now);
+        entityManager.persist(vendor);
+
+        MenuItem item = new MenuItem();
+        item.setName("Veg Burger");
+        item.setPrice(new BigDecimal("80.00"));
+        item.setCategory(MenuCategory.values()[0]);
+        item.setVendor(vendor);
+        item.setVotesCount(5);
+        item.setIsLimitedQuantity(true);
+        item.setQuantityAvailable(10);
+        item.setCreatedAt(now);
+        item.setUpdatedAt(now);
+        entityManager.persist(item);
+        entityManager.flush();
+        entityManager.clear();
+        return item;
+    }
+
+    private Integer column(String name, Long id) {
+        return jdbcTemplate.queryForObject("SELECT " + name + " FROM menu_items WHERE id = ?", Integer.class, id);
+    }
+}
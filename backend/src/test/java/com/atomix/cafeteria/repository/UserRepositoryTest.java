@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -31,7 +32,7 @@ class UserRepositoryTest {
         user.setRole(UserRole.EMPLOYEE);
         user.setIsActive(true);
         user.setEmailVerified(false);
-        user.setFoodCardBalance(0.0);
+        user.setFoodCardBalance(BigDecimal.ZERO);
         user.setCreatedAt(now);
         user.setUpdatedAt(now);
         
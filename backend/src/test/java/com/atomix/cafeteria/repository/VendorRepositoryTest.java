@@ -0,0 +1,60 @@
+package com.atomix.cafeteria.repository;
+
+import com.atomix.cafeteria.entity.Vendor;
+import com.atomix.cafeteria.entity.VendorStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class VendorRepositoryTest {
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testUpdateDoesNotOverwriteRatingsFlushedAfterLoad() {
+        // Given: a vendor loaded by a status change, then a rating flush lands
+        Vendor vendor = vendorRepository.findById(persistVendor().getId()).orElseThrow();
+        vendorRepository.addRatings(vendor.getId(), 9.0, 2, LocalDateTime.now());
+
+        // When
+        vendor.setStatus(VendorStatus.APPROVED);
+        vendorRepository.saveAndFlush(vendor);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT total_reviews FROM vendors WHERE id = ?", Integer.class, vendor.getId()))
+            .isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT average_rating FROM vendors WHERE id = ?", Double.class, vendor.getId()))
+            .isEqualTo(4.5);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM vendors WHERE id = ?", String.class, vendor.getId()))
+            .isEqualTo("APPROVED");
+    }
+
+    private Vendor persistVendor() {
+        LocalDateTime now = LocalDateTime.now();
+        Vendor vendor = new Vendor();
+        vendor.setName("Test Vendor");
+        vendor.setContactEmail("vendor@example.com");
+        vendor.setCreatedAt(now);
+        vendor.setUpdatedAt(now);
+        entityManager.persist(vendor);
+        entityManager.flush();
+        entityManager.clear();
+        return vendor;
+    }
+}
@@ -0,0 +1,71 @@
+package com.atomix.cafeteria.security;
+
+import com.atomix.cafeteria.entity.Vendor;
+import com.atomix.cafeteria.entity.VendorType;
+import com.atomix.cafeteria.repository.OrderRepository;
+import com.atomix.cafeteria.repository.VendorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class KitchenAccessTest {
+
+    private final VendorRepository vendorRepository = mock(VendorRepository.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final KitchenAccess kitchenAccess = new KitchenAccess(vendorRepository, orderRepository);
+
+    @Test
+    void testVendorMayOnlyWatchItsOwnKitchen() {
+        // Given
+        when(vendorRepository.findById(1L)).thenReturn(Optional.of(new Vendor("Dosa Corner", "dosa@atomix.com", VendorType.PERMANENT)));
+        when(vendorRepository.findById(2L)).thenReturn(Optional.of(new Vendor("Chai Point", "chai@atomix.com", VendorType.PERMANENT)));
+        Authentication vendor = authentication("dosa@atomix.com", "ROLE_VENDOR");
+
+        // When / Then
+        assertThat(kitchenAccess.canView(vendor, 1L)).isTrue();
+        assertThat(kitchenAccess.canView(vendor, 2L)).isFalse();
+    }
+
+    @Test
+    void testStaffMayWatchAnyKitchenAndEmployeesNone() {
+        // Given
+        Authentication manager = authentication("manager@atomix.com", "ROLE_CAFETERIA_MANAGER");
+        Authentication employee = authentication("dosa@atomix.com", "ROLE_EMPLOYEE");
+
+        // When / Then
+        assertThat(kitchenAccess.canView(manager, 1L)).isTrue();
+        assertThat(kitchenAccess.canView(employee, 1L)).isFalse();
+        assertThat(kitchenAccess.canView(null, 1L)).isFalse();
+        verifyNoInteractions(vendorRepository);
+    }
+
+    @Test
+    void testVendorMayOnlyManageItsOwnOrders() {
+        // Given
+        when(vendorRepository.findById(1L)).thenReturn(Optional.of(new Vendor("Dosa Corner", "dosa@atomix.com", VendorType.PERMANENT)));
+        when(vendorRepository.findById(2L)).thenReturn(Optional.of(new Vendor("Chai Point", "chai@atomix.com", VendorType.PERMANENT)));
+        when(orderRepository.findVendorIdById(10L)).thenReturn(Optional.of(1L));
+        when(orderRepository.findVendorIdById(20L)).thenReturn(Optional.of(2L));
+        Authentication vendor = authentication("dosa@atomix.com", "ROLE_VENDOR");
+        Authentication manager = authentication("manager@atomix.com", "ROLE_CAFETERIA_MANAGER");
+        Authentication employee = authentication("dosa@atomix.com", "ROLE_EMPLOYEE");
+
+        // When / Then
+        assertThat(kitchenAccess.canManageOrder(vendor, 10L)).isTrue();
+        assertThat(kitchenAccess.canManageOrder(vendor, 20L)).isFalse();
+        assertThat(kitchenAccess.canManageOrder(vendor, 30L)).isFalse();
+        assertThat(kitchenAccess.canManageOrder(manager, 20L)).isTrue();
+        assertThat(kitchenAccess.canManageOrder(employee, 10L)).isFalse();
+    }
+
+    private static Authentication authentication(String email, String role) {
+        return new UsernamePasswordAuthenticationToken(email, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.atomix.cafeteria.security;
+
+import com.atomix.cafeteria.entity.User;
+import com.atomix.cafeteria.entity.UserRole;
+import com.atomix.cafeteria.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(UserPrincipalCache.class)
+// Each save commits on its own, so after-commit eviction actually runs
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserPrincipalCacheListenerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        principalCache.invalidateAll();
+    }
+
+    @Test
+    void testEmailChangeEvictsOldAndNewAddressOnCommit() {
+        // Given
+        User user = userRepository.save(user("old@example.com"));
+        principalCache.put(UserPrincipal.create(user));
+        principalCache.put(UserPrincipal.create(user("new@example.com")));
+
+        // When
+        User loaded = userRepository.findByEmail("old@example.com").orElseThrow();
+        loaded.setEmail("new@example.com");
+        userRepository.save(loaded);
+
+        // Then
+        assertThat(principalCache.get("old@example.com")).isNull();
+        assertThat(principalCache.get("new@example.com")).isNull();
+    }
+
+    @Test
+    void testRolledBackChangeKeepsTheCachedPrincipal() {
+        // Given
+        User user = userRepository.save(user("kept@example.com"));
+        principalCache.put(UserPrincipal.create(user));
+
+        // When
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            User loaded = userRepository.findByEmail("kept@example.com").orElseThrow();
+            loaded.setFirstName("Renamed");
+            userRepository.saveAndFlush(loaded);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(principalCache.get("kept@example.com")).isNotNull();
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "hashedpassword123", "Test", "User", UserRole.EMPLOYEE);
+        user.setIsActive(true);
+        user.setEmailVerified(false);
+        user.setFoodCardBalance(BigDecimal.ZERO);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+}
@@ -0,0 +1,157 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.MenuItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class InventoryReservationServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final InventoryReservationService service = new InventoryReservationService(jdbcTemplate, 60_000, 60_000);
+
+    @Test
+    void testConcurrentReservationsNeverOversell() throws Exception {
+        // Given
+        MenuItem item = limitedItem(1L, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        // When
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String key = "ORD_" + i;
+            tasks.add(() -> {
+                if (service.reserve(key, Map.of(item, 1)) == null) {
+                    succeeded.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        executor.invokeAll(tasks);
+        executor.shutdown();
+
+        // Then
+        assertThat(succeeded.get()).isEqualTo(10);
+        assertThat(service.getAvailable(1L)).isZero();
+    }
+
+    @Test
+    void testReleaseReturnsStockOnlyOnce() {
+        // Given
+        MenuItem item = limitedItem(1L, 5);
+        service.reserve("ORD_1", Map.of(item, 3));
+
+        // When
+        service.release("ORD_1");
+        service.release("ORD_1");
+
+        // Then
+        assertThat(service.getAvailable(1L)).isEqualTo(5);
+    }
+
+    @Test
+    void testFailedReservationRollsBackEarlierLines() {
+        // Given
+        MenuItem plenty = limitedItem(1L, 5);
+        MenuItem scarce = limitedItem(2L, 1);
+        Map<MenuItem, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(plenty, 2);
+        quantities.put(scarce, 2);
+
+        // When
+        MenuItem soldOut = service.reserve("ORD_1", quantities);
+
+        // Then
+        assertThat(soldOut).isSameAs(scarce);
+        assertThat(service.getAvailable(1L)).isEqualTo(5);
+        assertThat(service.getAvailable(2L)).isEqualTo(1);
+    }
+
+    @Test
+    void testFlushWritesNetChangeInOneBatch() {
+        // Given
+        MenuItem first = limitedItem(1L, 5);
+        MenuItem second = limitedItem(2L, 5);
+        service.reserve("ORD_1", Map.of(first, 2));
+        service.reserve("ORD_2", Map.of(first, 1, second, 1));
+        service.release("ORD_2");
+
+        // When
+        service.flush();
+        service.flush();
+
+        // Then
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testExpiredReservationIsTakenAgainOnLatePayment() {
+        // Given
+        InventoryReservationService expiring = new InventoryReservationService(jdbcTemplate, 0, 60_000);
+        MenuItem item = limitedItem(1L, 5);
+        expiring.reserve("ORD_1", Map.of(item, 3));
+        expiring.expireReservations();
+
+        // When
+        boolean held = expiring.ensureHeld("ORD_1");
+        expiring.confirm("ORD_1");
+
+        // Then
+        assertThat(held).isTrue();
+        assertThat(expiring.getAvailable(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void testExpiredReservationIsRefusedOnceSoldOut() {
+        // Given
+        InventoryReservationService expiring = new InventoryReservationService(jdbcTemplate, 0, 60_000);
+        MenuItem item = limitedItem(1L, 5);
+        expiring.reserve("ORD_1", Map.of(item, 3));
+        expiring.expireReservations();
+        expiring.reserve("ORD_2", Map.of(item, 4));
+
+        // When
+        boolean held = expiring.ensureHeld("ORD_1");
+        expiring.release("ORD_1");
+
+        // Then
+        assertThat(held).isFalse();
+        assertThat(expiring.getAvailable(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void testRestockCountsOutstandingReservations() {
+        // Given
+        MenuItem item = limitedItem(1L, 5);
+        service.reserve("ORD_1", Map.of(item, 2));
+
+        // When
+        service.rebase(1L, 10);
+        int afterRestock = service.getAvailable(1L);
+        service.release("ORD_1");
+
+        // Then
+        assertThat(afterRestock).isEqualTo(8);
+        assertThat(service.getAvailable(1L)).isEqualTo(10);
+    }
+
+    private MenuItem limitedItem(Long id, int quantity) {
+        MenuItem item = new MenuItem();
+        item.setId(id);
+        item.setIsLimitedQuantity(true);
+        item.setQuantityAvailable(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,69 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.KitchenQueue;
+import com.atomix.cafeteria.entity.Order;
+import com.atomix.cafeteria.entity.OrderStatus;
+import com.atomix.cafeteria.repository.OrderRepository;
+import com.atomix.cafeteria.websocket.LiveStatusBroker;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class KitchenQueueServiceTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final KitchenQueueService service = new KitchenQueueService(orderRepository, mock(LiveStatusBroker.class));
+
+    @Test
+    void testWaitingCountNeverLoadsTheQueue() {
+        // When
+        int waiting = service.getWaitingCount(1L);
+
+        // Then
+        assertThat(waiting).isZero();
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void testCallersDuringALoadWaitForTheLoadedQueue() throws Exception {
+        // Given: the first load is held until a second caller has arrived
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch finishLoad = new CountDownLatch(1);
+        when(orderRepository.findWithItemsByVendorIdAndStatusIn(eq(1L), any())).thenAnswer(invocation -> {
+            loading.countDown();
+            finishLoad.await();
+            return List.of(order(10L));
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<List<KitchenQueue.Entry>> first = callers.submit(() -> service.getQueue(1L));
+        loading.await();
+        Future<List<KitchenQueue.Entry>> second = callers.submit(() -> service.getQueue(1L));
+        Thread.sleep(50);
+        int waitingDuringLoad = service.getWaitingCount(1L);
+        finishLoad.countDown();
+
+        // Then
+        assertThat(second.get(1, TimeUnit.SECONDS)).extracting(KitchenQueue.Entry::getOrderId).containsExactly(10L);
+        assertThat(first.get(1, TimeUnit.SECONDS)).hasSize(1);
+        assertThat(waitingDuringLoad).isZero();
+        assertThat(service.getWaitingCount(1L)).isEqualTo(1);
+        verify(orderRepository, times(1)).findWithItemsByVendorIdAndStatusIn(eq(1L), any());
+        callers.shutdown();
+    }
+
+    private static Order order(Long id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber("ORD_" + id);
+        order.setStatus(OrderStatus.CONFIRMED);
+        return order;
+    }
+}
@@ -0,0 +1,45 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.cache.MenuCatalog;
+import com.atomix.cafeteria.dto.MenuItemResponse;
+import com.atomix.cafeteria.entity.MenuItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class MenuLeaderboardServiceTest {
+
+    private final MenuCatalogService menuCatalogService = mock(MenuCatalogService.class);
+    private final MenuVoteService menuVoteService =
+        new MenuVoteService(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class), 60_000, 1_000);
+    private final MenuLeaderboardService leaderboardService = new MenuLeaderboardService(menuCatalogService, menuVoteService, 10);
+
+    @Test
+    void testRebuildKeepsRatingsNewerThanTheCatalog() {
+        // Given: the catalog still holds the ratings from before the flush
+        when(menuCatalogService.getCatalog()).thenReturn(MenuCatalog.of(List.of(item(1L, "4.00"), item(2L, "4.50"))));
+        leaderboardService.getPopular(2);
+        leaderboardService.onRatingsChanged(new MenuItemRatingsChangedEvent(Map.of(1L, 5.0)));
+
+        // When
+        leaderboardService.rebuild();
+
+        // Then
+        assertThat(leaderboardService.getPopular(2)).extracting(MenuItemResponse::getId).containsExactly(1L, 2L);
+    }
+
+    private static MenuItemResponse item(Long id, String rating) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(id);
+        menuItem.setRating(new BigDecimal(rating));
+        menuItem.setVotesCount(0);
+        return new MenuItemResponse(menuItem);
+    }
+}
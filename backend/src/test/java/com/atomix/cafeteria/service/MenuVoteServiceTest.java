@@ -0,0 +1,119 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.dto.MenuItemResponse;
+import com.atomix.cafeteria.entity.MenuItem;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class MenuVoteServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final MenuVoteService votes = new MenuVoteService(jdbcTemplate, mock(PlatformTransactionManager.class), 60_000, 1_000);
+
+    @Test
+    void testRepeatVotesByOneUserAreCountedOnce() {
+        // Given
+        MenuItemResponse item = item(1L, 10);
+
+        // When
+        boolean first = votes.vote(item, 100L);
+        boolean repeat = votes.vote(item, 100L);
+        votes.vote(item, 101L);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(repeat).isFalse();
+        assertThat(votes.getVotes(item)).isEqualTo(12);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushWritesOneBatchAndKeepsLiveCounts() {
+        // Given
+        MenuItemResponse burger = item(1L, 0);
+        MenuItemResponse salad = item(2L, 5);
+        for (long user = 1; user <= 3; user++) {
+            votes.vote(burger, user);
+        }
+        votes.vote(salad, 1L);
+
+        // When
+        votes.flush();
+        votes.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue()).extracting(row -> row[1]).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(votes.getVotes(burger)).isEqualTo(3);
+        assertThat(votes.getVotes(salad)).isEqualTo(6);
+    }
+
+    @Test
+    void testVotesBeingWrittenAreCountedOnce() {
+        // Given
+        MenuItemResponse item = item(1L, 10);
+        votes.vote(item, 1L);
+        votes.vote(item, 2L);
+        List<Long> duringWrite = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            duringWrite.add(votes.getVotes(item));
+            return new int[]{1};
+        });
+
+        // When
+        votes.flush();
+
+        // Then
+        assertThat(duringWrite).containsExactly(12L);
+        assertThat(votes.getVotes(item)).isEqualTo(12);
+    }
+
+    @Test
+    void testVotesOfAFailedFlushStayInTheLiveCount() {
+        // Given
+        MenuItemResponse item = item(1L, 0);
+        votes.vote(item, 1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("Connection refused"));
+
+        // When
+        votes.flush();
+
+        // Then
+        assertThat(votes.getVotes(item)).isEqualTo(1);
+    }
+
+    @Test
+    void testMostVotedUsesLiveCounts() {
+        // Given
+        MenuItemResponse popular = item(1L, 50);
+        MenuItemResponse rising = item(2L, 49);
+        MenuItemResponse quiet = item(3L, 1);
+        votes.vote(rising, 1L);
+        votes.vote(rising, 2L);
+
+        // When
+        List<MenuItemResponse> top = votes.getMostVoted(List.of(popular, rising, quiet), 2);
+
+        // Then
+        assertThat(top).extracting(MenuItemResponse::getId).containsExactly(2L, 1L);
+        assertThat(top.get(0).getVotesCount()).isEqualTo(51);
+    }
+
+    private static MenuItemResponse item(Long id, int votesCount) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(id);
+        menuItem.setVotesCount(votesCount);
+        return new MenuItemResponse(menuItem);
+    }
+}
@@ -0,0 +1,178 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.dto.OrderRequest;
+import com.atomix.cafeteria.entity.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OrderPlacementBatcherTest {
+
+    private final OrderPlacementService placementService = mock(OrderPlacementService.class);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private OrderPlacementBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testOrdersQueuedBehindABatchArePlacedTogether() throws Exception {
+        // Given: the first batch is held open while three more orders queue up
+        batcher = start(1_000);
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        when(placementService.placeOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderPlacementService.Command> commands = invocation.getArgument(0);
+            batchSizes.add(commands.size());
+            if (batchSizes.size() == 1) {
+                firstBatchStarted.countDown();
+                releaseFirstBatch.await();
+            }
+            return placed(commands.size());
+        });
+
+        // When
+        Future<OrderPlacementService.Result> first = callers.submit(() -> batcher.place(command(1L)));
+        firstBatchStarted.await();
+        List<Future<OrderPlacementService.Result>> queued = new ArrayList<>();
+        for (long userId = 2; userId <= 4; userId++) {
+            long id = userId;
+            queued.add(callers.submit(() -> batcher.place(command(id))));
+        }
+        Thread.sleep(100);
+        releaseFirstBatch.countDown();
+
+        // Then
+        assertThat(first.get(1, TimeUnit.SECONDS).isSuccess()).isTrue();
+        for (Future<OrderPlacementService.Result> result : queued) {
+            assertThat(result.get(1, TimeUnit.SECONDS).isSuccess()).isTrue();
+        }
+        assertThat(batchSizes).containsExactly(1, 3);
+    }
+
+    @Test
+    void testOrderInFlightPastTheTimeoutIsStillReturned() throws Exception {
+        // Given: placing takes longer than the submit timeout
+        batcher = start(50);
+        when(placementService.placeOrders(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return placed(1);
+        });
+
+        // When
+        OrderPlacementService.Result result = batcher.place(command(1L));
+
+        // Then: the caller sees the committed order rather than an error it might retry
+        assertThat(result.isSuccess()).isTrue();
+        verify(placementService, times(1)).placeOrders(anyList());
+    }
+
+    @Test
+    void testOrderStillQueuedAtTheTimeoutIsWithdrawn() throws Exception {
+        // Given: the worker is stuck on an earlier batch
+        batcher = start(50);
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        when(placementService.placeOrders(anyList())).thenAnswer(invocation -> {
+            firstBatchStarted.countDown();
+            releaseFirstBatch.await();
+            return placed(1);
+        });
+        Future<OrderPlacementService.Result> first = callers.submit(() -> batcher.place(command(1L)));
+        firstBatchStarted.await();
+
+        // When / Then
+        assertThatThrownBy(() -> batcher.place(command(2L)))
+            .hasMessageContaining("busy");
+        releaseFirstBatch.countDown();
+        assertThat(first.get(1, TimeUnit.SECONDS).isSuccess()).isTrue();
+        Thread.sleep(50);
+        verify(placementService, times(1)).placeOrders(anyList());
+    }
+
+    @Test
+    void testFailedBatchIsRetriedOrderByOrder() throws Exception {
+        // Given: the shared transaction fails because of one bad order
+        batcher = start(1_000);
+        OrderPlacementService.Command good = command(1L);
+        OrderPlacementService.Command bad = command(2L);
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        when(placementService.placeOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderPlacementService.Command> commands = invocation.getArgument(0);
+            if (firstBatchStarted.getCount() > 0) {
+                firstBatchStarted.countDown();
+                releaseFirstBatch.await();
+                return placed(commands.size());
+            }
+            if (commands.contains(bad)) {
+                throw new IllegalStateException("Constraint violation");
+            }
+            return placed(commands.size());
+        });
+        Future<OrderPlacementService.Result> blocker = callers.submit(() -> batcher.place(command(0L)));
+        firstBatchStarted.await();
+
+        // When
+        Future<OrderPlacementService.Result> goodResult = callers.submit(() -> batcher.place(good));
+        Future<OrderPlacementService.Result> badResult = callers.submit(() -> batcher.place(bad));
+        Thread.sleep(100);
+        releaseFirstBatch.countDown();
+
+        // Then
+        assertThat(blocker.get(1, TimeUnit.SECONDS).isSuccess()).isTrue();
+        assertThat(goodResult.get(1, TimeUnit.SECONDS).isSuccess()).isTrue();
+        assertThatThrownBy(() -> badResult.get(1, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testShutdownWhileFillingABatchFailsItsOrders() throws Exception {
+        // Given: the worker has taken an order and is waiting for more to join it
+        batcher = start(10_000, 200);
+        Future<OrderPlacementService.Result> result = callers.submit(() -> batcher.place(command(1L)));
+        Thread.sleep(100);
+
+        // When
+        batcher.stop();
+
+        // Then: the caller is released with an error instead of waiting forever
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+            .hasMessageContaining("shutting down");
+        verifyNoInteractions(placementService);
+    }
+
+    private OrderPlacementBatcher start(long submitTimeoutMs) {
+        return start(5, submitTimeoutMs);
+    }
+
+    private OrderPlacementBatcher start(long maxWaitMs, long submitTimeoutMs) {
+        OrderPlacementBatcher started = new OrderPlacementBatcher(placementService, true, 50, maxWaitMs, 100, submitTimeoutMs, 1_000);
+        started.start();
+        return started;
+    }
+
+    private static OrderPlacementService.Command command(Long userId) {
+        return new OrderPlacementService.Command(userId, new OrderRequest());
+    }
+
+    private static List<OrderPlacementService.Result> placed(int count) {
+        List<OrderPlacementService.Result> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(OrderPlacementService.Result.success(new Order(), 0));
+        }
+        return results;
+    }
+}
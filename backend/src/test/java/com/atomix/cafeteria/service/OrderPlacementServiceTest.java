@@ -0,0 +1,119 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.dto.OrderItemRequest;
+import com.atomix.cafeteria.dto.OrderRequest;
+import com.atomix.cafeteria.entity.MenuItem;
+import com.atomix.cafeteria.entity.Order;
+import com.atomix.cafeteria.entity.Vendor;
+import com.atomix.cafeteria.repository.MenuItemRepository;
+import com.atomix.cafeteria.repository.OrderRepository;
+import com.atomix.cafeteria.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderPlacementServiceTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final MenuItemRepository menuItemRepository = mock(MenuItemRepository.class);
+    private final InventoryReservationService inventory = mock(InventoryReservationService.class);
+    private final KitchenQueueService kitchenQueueService = mock(KitchenQueueService.class);
+    private final OrderPlacementService placementService = new OrderPlacementService(orderRepository, menuItemRepository,
+        mock(UserRepository.class), inventory, kitchenQueueService, mock(PickupTimeEstimator.class));
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInvalidOrdersAreRejectedWithoutFailingTheBatch() {
+        // Given
+        when(menuItemRepository.findAllById(any())).thenReturn(List.of(item(1L, 10L), item(2L, 20L)));
+
+        // When
+        List<OrderPlacementService.Result> results = placementService.placeOrders(List.of(
+            command(line(1L, 2)),
+            command(line(99L, 1)),
+            command(line(1L, 1), line(2L, 1))));
+
+        // Then
+        assertThat(results).extracting(OrderPlacementService.Result::isSuccess).containsExactly(true, false, false);
+        assertThat(results.get(1).getError()).contains("not found");
+        assertThat(results.get(2).getError()).contains("same vendor");
+        assertThat(results.get(0).getResponse().getTotalAmount()).isEqualByComparingTo("100.00");
+
+        ArgumentCaptor<List<Order>> saved = ArgumentCaptor.forClass(List.class);
+        verify(orderRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(1);
+        verify(kitchenQueueService).ordersPlaced(saved.getValue());
+    }
+
+    @Test
+    void testSoldOutOrderIsRejected() {
+        // Given
+        MenuItem item = item(1L, 10L);
+        when(menuItemRepository.findAllById(any())).thenReturn(List.of(item));
+        when(inventory.reserve(anyString(), anyMap())).thenReturn(item);
+
+        // When
+        List<OrderPlacementService.Result> results = placementService.placeOrders(List.of(command(line(1L, 1))));
+
+        // Then
+        assertThat(results.get(0).isSuccess()).isFalse();
+        assertThat(results.get(0).getError()).contains("sold out");
+        verify(orderRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testReservationsAreReleasedWhenTheBatchRollsBack() {
+        // Given
+        when(menuItemRepository.findAllById(any())).thenReturn(List.of(item(1L, 10L)));
+        String orderNumber = placementService.placeOrders(List.of(command(line(1L, 1)))).get(0).getOrder().getOrderNumber();
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        verify(inventory).release(orderNumber);
+    }
+
+    private static OrderPlacementService.Command command(OrderItemRequest... lines) {
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(lines));
+        return new OrderPlacementService.Command(1L, request);
+    }
+
+    private static OrderItemRequest line(Long menuItemId, int quantity) {
+        return new OrderItemRequest(menuItemId, quantity);
+    }
+
+    private static MenuItem item(Long id, Long vendorId) {
+        Vendor vendor = new Vendor();
+        vendor.setId(vendorId);
+        MenuItem item = new MenuItem();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setPrice(new BigDecimal("50.00"));
+        item.setIsAvailable(true);
+        item.setVendor(vendor);
+        return item;
+    }
+}
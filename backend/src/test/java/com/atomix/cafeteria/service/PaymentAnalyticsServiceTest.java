@@ -0,0 +1,68 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.Payment;
+import com.atomix.cafeteria.entity.PaymentDailyRollup;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentStatus;
+import com.atomix.cafeteria.entity.PaymentStatusChangedEvent;
+import com.atomix.cafeteria.entity.PaymentType;
+import com.atomix.cafeteria.entity.User;
+import com.atomix.cafeteria.repository.PaymentDailyRollupRepository;
+import com.atomix.cafeteria.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PaymentAnalyticsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 1);
+
+    private final PaymentDailyRollupRepository rollupRepository = mock(PaymentDailyRollupRepository.class);
+    private final PaymentAnalyticsService analytics = new PaymentAnalyticsService(rollupRepository,
+        mock(PaymentRepository.class), mock(PlatformTransactionManager.class));
+
+    @Test
+    void testStatusChangeThatCancelsOutWritesNothing() {
+        // Given: created PENDING and moved to COMPLETED before the flush
+        analytics.record(DAY, PaymentStatus.PENDING, PaymentMethod.STRIPE, PaymentType.FOOD_CARD_TOPUP, 1, new BigDecimal("500.00"));
+        analytics.record(DAY, PaymentStatus.PENDING, PaymentMethod.STRIPE, PaymentType.FOOD_CARD_TOPUP, -1, new BigDecimal("-500.00"));
+        analytics.record(DAY, PaymentStatus.COMPLETED, PaymentMethod.STRIPE, PaymentType.FOOD_CARD_TOPUP, 1, new BigDecimal("500.00"));
+
+        // When
+        analytics.flush();
+
+        // Then
+        ArgumentCaptor<PaymentDailyRollup> inserted = ArgumentCaptor.forClass(PaymentDailyRollup.class);
+        verify(rollupRepository).save(inserted.capture());
+        verify(rollupRepository, times(1)).increment(any(), any(), any(), any(), anyLong(), any(), any());
+        assertThat(inserted.getValue().getPaymentStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(inserted.getValue().getPaymentCount()).isEqualTo(1);
+        assertThat(inserted.getValue().getTotalAmount()).isEqualByComparingTo("500.00");
+    }
+
+    @Test
+    void testStatusChangeEventMovesThePaymentBetweenRows() {
+        // Given
+        when(rollupRepository.increment(any(), any(), any(), any(), anyLong(), any(), any())).thenReturn(1);
+        Payment payment = new Payment("PAY1", new User(), new BigDecimal("120.00"), PaymentMethod.RAZORPAY, PaymentType.ORDER_PAYMENT);
+        payment.setCreatedAt(DAY.atTime(12, 0));
+        payment.setPaymentStatus(PaymentStatus.COMPLETED);
+
+        // When
+        analytics.onPaymentStatusChanged(new PaymentStatusChangedEvent(payment, PaymentStatus.PENDING));
+        analytics.flush();
+
+        // Then
+        verify(rollupRepository).increment(eq(DAY), eq(PaymentStatus.PENDING), eq(PaymentMethod.RAZORPAY),
+            eq(PaymentType.ORDER_PAYMENT), eq(-1L), eq(new BigDecimal("-120.00")), any());
+        verify(rollupRepository).increment(eq(DAY), eq(PaymentStatus.COMPLETED), eq(PaymentMethod.RAZORPAY),
+            eq(PaymentType.ORDER_PAYMENT), eq(1L), eq(new BigDecimal("120.00")), any());
+    }
+}
@@ -0,0 +1,37 @@
+package com.atomix.cafeteria.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentHistoryCursorTest {
+
+    @Test
+    void testCursorRoundTripsWithFullPrecision() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 9, 18, 42, 7, 123_456_000);
+
+        // When
+        String token = new PaymentHistoryCursor(createdAt, 98765L).encode();
+        PaymentHistoryCursor cursor = PaymentHistoryCursor.decode(token);
+
+        // Then
+        assertThat(token).doesNotContain("/", "+", "=");
+        assertThat(cursor.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(cursor.getId()).isEqualTo(98765L);
+    }
+
+    @Test
+    void testTamperedCursorIsRejected() {
+        // Given
+        String token = "bm90LWEtY3Vyc29y";
+
+        // When / Then
+        assertThatThrownBy(() -> PaymentHistoryCursor.decode(token))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage("Invalid payment history cursor");
+    }
+}
@@ -0,0 +1,105 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.Payment;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentStatus;
+import com.atomix.cafeteria.entity.PaymentType;
+import com.atomix.cafeteria.gateway.GatewayPayment;
+import com.atomix.cafeteria.gateway.PaymentGatewayClient;
+import com.atomix.cafeteria.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PaymentReconcilerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final PaymentService paymentService = mock(PaymentService.class);
+    private final PaymentGatewayClient gatewayClient = mock(PaymentGatewayClient.class);
+    private final PaymentReconciler reconciler = new PaymentReconciler(paymentRepository, paymentService, gatewayClient,
+        mock(PlatformTransactionManager.class), 2, 4, 1_800_000, 86_400_000);
+
+    @Test
+    void testPaidPaymentsAreCompletedAndUnpaidOnesLeftPending() {
+        // Given
+        Payment paid = payment(1L, "pi_1", NOW.minusHours(1));
+        Payment unpaid = payment(2L, "pi_2", NOW.minusHours(1));
+        when(gatewayClient.supports(PaymentMethod.STRIPE)).thenReturn(true);
+        when(gatewayClient.fetchPayment(PaymentMethod.STRIPE, "pi_1"))
+            .thenReturn(CompletableFuture.completedFuture(new GatewayPayment("pi_1", "succeeded", true, 25_000)));
+        when(gatewayClient.fetchPayment(PaymentMethod.STRIPE, "pi_2"))
+            .thenReturn(CompletableFuture.completedFuture(new GatewayPayment("pi_2", "requires_payment_method", false, 25_000)));
+        when(paymentRepository.findPendingPaymentsOlderThan(eq(PaymentStatus.PENDING), any(), eq(0L), any()))
+            .thenReturn(List.of(paid, unpaid));
+        when(paymentRepository.findAllById(any())).thenReturn(List.of(paid));
+
+        // When
+        int scanned = reconciler.reconcile(NOW);
+
+        // Then
+        assertThat(scanned).isEqualTo(2);
+        verify(paymentService).processSuccessfulPayment(paid);
+        verify(paymentService, never()).markPaymentFailed(any(), any());
+        assertThat(reconciler.getStats().getCompleted()).isEqualTo(1);
+        assertThat(reconciler.getStats().getUnresolved()).isEqualTo(1);
+    }
+
+    @Test
+    void testPagesAreReadInKeysetOrder() {
+        // Given
+        Payment first = payment(1L, null, NOW.minusDays(2));
+        Payment second = payment(5L, null, NOW.minusDays(2));
+        Payment third = payment(9L, null, NOW.minusDays(2));
+        when(paymentRepository.findPendingPaymentsOlderThan(eq(PaymentStatus.PENDING), any(), eq(0L), any()))
+            .thenReturn(List.of(first, second));
+        when(paymentRepository.findPendingPaymentsOlderThan(eq(PaymentStatus.PENDING), any(), eq(5L), any()))
+            .thenReturn(List.of(third));
+        when(paymentRepository.findAllById(any())).thenReturn(List.of(first, second), List.of(third));
+
+        // When
+        int scanned = reconciler.reconcile(NOW);
+
+        // Then: no gateway reference and past the abandon age, so all three fail
+        assertThat(scanned).isEqualTo(3);
+        verify(paymentService, times(3)).markPaymentFailed(any(), eq("Payment abandoned"));
+        verify(gatewayClient, never()).fetchPayment(any(), any());
+    }
+
+    @Test
+    void testGatewayErrorsLeavePaymentsForTheNextRun() {
+        // Given
+        Payment payment = payment(1L, "pi_1", NOW.minusDays(2));
+        when(gatewayClient.supports(PaymentMethod.STRIPE)).thenReturn(true);
+        when(gatewayClient.fetchPayment(PaymentMethod.STRIPE, "pi_1"))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Stripe is temporarily unavailable")));
+        when(paymentRepository.findPendingPaymentsOlderThan(eq(PaymentStatus.PENDING), any(), eq(0L), any()))
+            .thenReturn(List.of(payment));
+
+        // When
+        reconciler.reconcile(NOW);
+
+        // Then
+        verify(paymentRepository, never()).findAllById(any());
+        verifyNoInteractions(paymentService);
+        assertThat(reconciler.getStats().getUnresolved()).isEqualTo(1);
+    }
+
+    private static Payment payment(Long id, String gatewayPaymentId, LocalDateTime createdAt) {
+        Payment payment = new Payment("PAY" + id, null, new BigDecimal("250.00"), PaymentMethod.STRIPE, PaymentType.ORDER_PAYMENT);
+        payment.setId(id);
+        payment.setPaymentStatus(PaymentStatus.PENDING);
+        payment.setGatewayPaymentId(gatewayPaymentId);
+        payment.setCreatedAt(createdAt);
+        return payment;
+    }
+}
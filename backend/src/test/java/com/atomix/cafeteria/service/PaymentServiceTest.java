@@ -0,0 +1,67 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.FoodCardTransactionType;
+import com.atomix.cafeteria.entity.Payment;
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentStatus;
+import com.atomix.cafeteria.entity.PaymentType;
+import com.atomix.cafeteria.entity.User;
+import com.atomix.cafeteria.gateway.PaymentGatewayClient;
+import com.atomix.cafeteria.repository.OrderRepository;
+import com.atomix.cafeteria.repository.PaymentRepository;
+import com.atomix.cafeteria.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PaymentServiceTest {
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final FoodCardLedgerService ledger = mock(FoodCardLedgerService.class);
+    private final PaymentService paymentService = new PaymentService(paymentRepository, mock(UserRepository.class),
+        ledger, mock(OrderRepository.class), mock(InventoryReservationService.class),
+        mock(PaymentGatewayClient.class), mock(PlatformTransactionManager.class));
+
+    @Test
+    void testSamePaymentAppliedTwiceCreditsOnce() {
+        // Given
+        Payment payment = topUp();
+
+        // When
+        paymentService.processSuccessfulPayment(payment);
+        paymentService.processSuccessfulPayment(payment);
+
+        // Then
+        assertThat(payment.getPaymentStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        verify(ledger, times(1)).credit(eq(7L), eq(new BigDecimal("250.00")), eq(FoodCardTransactionType.TOPUP),
+            eq("PAY1"), any());
+    }
+
+    @Test
+    void testPaymentSettledConcurrentlyIsNotCredited() {
+        // Given: a webhook and a verify call each hold a pending copy; the other one committed first
+        Payment staleCopy = topUp();
+        when(paymentRepository.saveAndFlush(staleCopy))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Payment.class, 1L));
+
+        // When / Then
+        assertThatThrownBy(() -> paymentService.processSuccessfulPayment(staleCopy))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verifyNoInteractions(ledger);
+    }
+
+    private static Payment topUp() {
+        User user = new User();
+        user.setId(7L);
+        Payment payment = new Payment("PAY1", user, new BigDecimal("250.00"), PaymentMethod.RAZORPAY, PaymentType.FOOD_CARD_TOPUP);
+        payment.setId(1L);
+        return payment;
+    }
+}
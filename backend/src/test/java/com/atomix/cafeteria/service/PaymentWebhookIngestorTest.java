@@ -0,0 +1,99 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.PaymentMethod;
+import com.atomix.cafeteria.entity.PaymentWebhookEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PaymentWebhookIngestorTest {
+
+    private final PaymentWebhookProcessor processor = mock(PaymentWebhookProcessor.class);
+    private final PaymentWebhookIngestor ingestor = new PaymentWebhookIngestor(StubPaymentGateway.verifier(),
+        processor, new ObjectMapper(), 2, 100, 1000, 5, 1000, 60_000, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        ingestor.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSignedRazorpayWebhookIsStoredAndApplied() {
+        // Given
+        ingestor.start();
+        when(processor.store(anyList())).thenReturn(List.of(7L));
+        byte[] body = StubPaymentGateway.razorpayPaymentCaptured("pay_1", "order_1", "PAY_1", 25_000);
+
+        // When
+        PaymentWebhookIngestor.Result result =
+            ingestor.accept("razorpay", body, StubPaymentGateway.razorpaySignature(body), "evt_rzp_1");
+
+        // Then
+        assertThat(result).isEqualTo(PaymentWebhookIngestor.Result.ACCEPTED);
+        ArgumentCaptor<List<PaymentWebhookEvent>> stored = ArgumentCaptor.forClass(List.class);
+        verify(processor, timeout(1000)).store(stored.capture());
+        verify(processor, timeout(1000)).apply(List.of(7L));
+
+        PaymentWebhookEvent event = stored.getValue().get(0);
+        assertThat(event.getGateway()).isEqualTo(PaymentMethod.RAZORPAY);
+        assertThat(event.getEventId()).isEqualTo("evt_rzp_1");
+        assertThat(event.getGatewayPaymentId()).isEqualTo("pay_1");
+        assertThat(event.getPaymentReference()).isEqualTo("PAY_1");
+        assertThat(event.getAmountMinor()).isEqualTo(25_000L);
+    }
+
+    @Test
+    void testTamperedBodyIsRejected() {
+        // Given
+        ingestor.start();
+        byte[] body = StubPaymentGateway.razorpayPaymentCaptured("pay_1", "order_1", "PAY_1", 25_000);
+        String signature = StubPaymentGateway.razorpaySignature(body);
+        byte[] tampered = StubPaymentGateway.razorpayPaymentCaptured("pay_1", "order_1", "PAY_1", 1);
+
+        // When
+        PaymentWebhookIngestor.Result result = ingestor.accept("razorpay", tampered, signature, "evt_rzp_1");
+
+        // Then
+        assertThat(result).isEqualTo(PaymentWebhookIngestor.Result.UNAUTHORIZED);
+        verifyNoInteractions(processor);
+    }
+
+    @Test
+    void testRedeliveredEventIsAcknowledgedOnce() {
+        // Given
+        ingestor.start();
+        long now = System.currentTimeMillis() / 1000;
+        byte[] body = StubPaymentGateway.stripePaymentIntentSucceeded("evt_1", "pi_1", "PAY_1", 25_000);
+        String signature = StubPaymentGateway.stripeSignature(body, now);
+
+        // When
+        PaymentWebhookIngestor.Result first = ingestor.accept("stripe", body, signature, null);
+        PaymentWebhookIngestor.Result second = ingestor.accept("stripe", body, signature, null);
+
+        // Then
+        assertThat(first).isEqualTo(PaymentWebhookIngestor.Result.ACCEPTED);
+        assertThat(second).isEqualTo(PaymentWebhookIngestor.Result.DUPLICATE);
+        verify(processor, timeout(1000).times(1)).store(anyList());
+    }
+
+    @Test
+    void testStripeSignatureOutsideToleranceIsRejected() {
+        // Given
+        PaymentWebhookVerifier verifier = StubPaymentGateway.verifier();
+        byte[] body = StubPaymentGateway.stripePaymentIntentSucceeded("evt_1", "pi_1", "PAY_1", 25_000);
+        long signedAt = 1_700_000_000L;
+        String signature = StubPaymentGateway.stripeSignature(body, signedAt);
+
+        // When / Then
+        assertThat(verifier.verifyStripe(body, signature, signedAt + 60)).isTrue();
+        assertThat(verifier.verifyStripe(body, signature, signedAt + 301)).isFalse();
+    }
+}
@@ -0,0 +1,58 @@
+package com.atomix.cafeteria.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class PickupTimeEstimatorTest {
+
+    private final KitchenQueueService kitchenQueueService = mock(KitchenQueueService.class);
+    private final PickupTimeEstimator estimator = new PickupTimeEstimator(kitchenQueueService, 0.2, 50, 5, 0.8, 2);
+
+    @Test
+    void testConfiguredPreparationTimeIsUsedUntilEnoughSamples() {
+        // Given
+        estimator.record(1L, List.of(10L), 30);
+
+        // When
+        int minutes = estimator.estimatePreparationMinutes(1L, Map.of(10L, 12, 11L, 8));
+
+        // Then
+        assertThat(minutes).isEqualTo(12);
+    }
+
+    @Test
+    void testMeasuredPreparationTimesReplaceConfiguredOnes() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            estimator.record(1L, List.of(10L), 20);
+        }
+
+        // When
+        int minutes = estimator.estimatePreparationMinutes(1L, Map.of(10L, 12));
+
+        // Then
+        assertThat(minutes).isEqualTo(20);
+    }
+
+    @Test
+    void testQueuedOrdersAddWaitingTime() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            estimator.record(1L, List.of(10L), 10);
+        }
+        when(kitchenQueueService.getWaitingCount(1L)).thenReturn(4);
+
+        // When
+        int preparation = estimator.estimatePreparationMinutes(1L, Map.of(10L, 5));
+        int readyIn = estimator.estimateReadyInMinutes(1L, preparation);
+
+        // Then: 10 minutes to make plus 4 orders ahead shared by 2 cooks at 10 minutes each
+        assertThat(preparation).isEqualTo(10);
+        assertThat(readyIn).isEqualTo(30);
+    }
+}
@@ -0,0 +1,84 @@
+package com.atomix.cafeteria.service;
+
+import com.atomix.cafeteria.entity.RatingEvent;
+import com.atomix.cafeteria.entity.RatingTarget;
+import com.atomix.cafeteria.entity.Vendor;
+import com.atomix.cafeteria.repository.MenuItemRepository;
+import com.atomix.cafeteria.repository.RatingEventRepository;
+import com.atomix.cafeteria.repository.VendorRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RatingAggregationServiceTest {
+
+    private final RatingEventRepository ratingEventRepository = mock(RatingEventRepository.class);
+    private final VendorRepository vendorRepository = mock(VendorRepository.class);
+    private final MenuItemRepository menuItemRepository = mock(MenuItemRepository.class);
+    private final VendorSearchService vendorSearchService = mock(VendorSearchService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final RatingAggregationService ratings = new RatingAggregationService(ratingEventRepository,
+        vendorRepository, menuItemRepository, vendorSearchService, eventPublisher, mock(PlatformTransactionManager.class));
+
+    @Test
+    void testRatingsForOneVendorAreFoldedIntoOneUpdateAndReindexed() {
+        // Given
+        Vendor vendor = new Vendor();
+        vendor.setId(7L);
+        when(vendorRepository.addRatings(anyLong(), anyDouble(), anyInt(), any())).thenReturn(1);
+        when(vendorRepository.findAllById(List.of(7L))).thenReturn(List.of(vendor));
+        ratings.record(RatingTarget.VENDOR, 7L, new BigDecimal("4.5"));
+        ratings.record(RatingTarget.VENDOR, 7L, new BigDecimal("3"));
+        ratings.record(RatingTarget.VENDOR, 7L, new BigDecimal("5.0"));
+
+        // When
+        ratings.flush();
+        ratings.flush();
+
+        // Then
+        verify(ratingEventRepository, times(3)).save(any(RatingEvent.class));
+        verify(vendorRepository, times(1)).addRatings(eq(7L), eq(12.5), eq(3), any());
+        verify(vendorSearchService, times(1)).indexAfterCommit(vendor);
+        verifyNoInteractions(menuItemRepository);
+    }
+
+    @Test
+    void testMenuItemRatingsAreStoredAndFlushedSeparately() {
+        // Given
+        when(menuItemRepository.addRatings(anyLong(), any(), anyInt(), any())).thenReturn(1);
+        when(menuItemRepository.findRatingsByIdIn(any()))
+            .thenReturn(List.<Object[]>of(new Object[]{3L, new BigDecimal("4.25")}, new Object[]{4L, new BigDecimal("2.00")}));
+        ratings.record(RatingTarget.MENU_ITEM, 3L, new BigDecimal("4.25"));
+        ratings.record(RatingTarget.MENU_ITEM, 4L, new BigDecimal("2"));
+
+        // When
+        ratings.flush();
+
+        // Then
+        ArgumentCaptor<RatingEvent> stored = ArgumentCaptor.forClass(RatingEvent.class);
+        verify(ratingEventRepository, times(2)).save(stored.capture());
+        assertThat(stored.getAllValues().get(0).getRating()).isEqualByComparingTo("4.25");
+        verify(menuItemRepository).addRatings(eq(3L), eq(new BigDecimal("4.25")), eq(1), any());
+        verify(menuItemRepository).addRatings(eq(4L), eq(new BigDecimal("2.00")), eq(1), any());
+        verifyNoInteractions(vendorRepository);
+        ArgumentCaptor<MenuItemRatingsChangedEvent> published = ArgumentCaptor.forClass(MenuItemRatingsChangedEvent.class);
+        verify(eventPublisher).publishEvent(published.capture());
+        assertThat(published.getValue().getRatings()).containsEntry(3L, 4.25).containsEntry(4L, 2.0);
+    }
+
+    @Test
+    void testOutOfRangeRatingIsRejected() {
+        assertThatThrownBy(() -> ratings.record(RatingTarget.MENU_ITEM, 1L, new BigDecimal("5.5")))
+            .hasMessage("Rating must be between 1.0 and 5.0");
+        verifyNoInteractions(ratingEventRepository);
+    }
+}
@@ -0,0 +1,45 @@
+package com.atomix.cafeteria.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds webhook deliveries the way Razorpay and Stripe sign them, so
+ * ingestion can be exercised without a real gateway.
+ */
+class StubPaymentGateway {
+
+    static final String RAZORPAY_SECRET = "rzp_webhook_test_secret";
+    static final String STRIPE_SECRET = "whsec_test_secret";
+
+    static byte[] razorpayPaymentCaptured(String gatewayPaymentId, String gatewayOrderId, String paymentId, long amountPaise) {
+        return ("{\"entity\":\"event\",\"event\":\"payment.captured\",\"payload\":{"
+            + "\"payment\":{\"entity\":{\"id\":\"" + gatewayPaymentId + "\",\"order_id\":\"" + gatewayOrderId + "\","
+            + "\"amount\":" + amountPaise + ",\"status\":\"captured\"}},"
+            + "\"order\":{\"entity\":{\"id\":\"" + gatewayOrderId + "\",\"receipt\":\"" + paymentId + "\"}}}}")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] stripePaymentIntentSucceeded(String eventId, String intentId, String paymentId, long amountPaise) {
+        return ("{\"id\":\"" + eventId + "\",\"type\":\"payment_intent.succeeded\",\"data\":{\"object\":{"
+            + "\"id\":\"" + intentId + "\",\"amount\":" + amountPaise + ","
+            + "\"metadata\":{\"payment_id\":\"" + paymentId + "\"}}}}")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String razorpaySignature(byte[] body) {
+        return PaymentWebhookVerifier.hmacHex(RAZORPAY_SECRET.getBytes(StandardCharsets.UTF_8), body);
+    }
+
+    static String stripeSignature(byte[] body, long timestampSeconds) {
+        byte[] prefix = (timestampSeconds + ".").getBytes(StandardCharsets.UTF_8);
+        byte[] signed = new byte[prefix.length + body.length];
+        System.arraycopy(prefix, 0, signed, 0, prefix.length);
+        System.arraycopy(body, 0, signed, prefix.length, body.length);
+        return "t=" + timestampSeconds + ",v1="
+            + PaymentWebhookVerifier.hmacHex(STRIPE_SECRET.getBytes(StandardCharsets.UTF_8), signed);
+    }
+
+    static PaymentWebhookVerifier verifier() {
+        return new PaymentWebhookVerifier(RAZORPAY_SECRET, STRIPE_SECRET, 300);
+    }
+}
@@ -0,0 +1,119 @@
+package com.atomix.cafeteria.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class CrowdAggregatorTest {
+
+    private final LiveStatusBroker broker = mock(LiveStatusBroker.class);
+    private final CrowdAggregator aggregator = new CrowdAggregator(broker, 10, 2.0, 2, 3);
+
+    @Test
+    void testManyUpdatesWithinIntervalPublishOnce() {
+        // Given
+        aggregator.record("F1", 10, 100);
+        for (int i = 0; i < 50; i++) {
+            aggregator.adjust("F1", 1);
+        }
+
+        // When
+        aggregator.publish();
+
+        // Then
+        List<Map<String, Object>> published = publishedFor("F1");
+        assertThat(published).hasSize(1);
+        assertThat(published.get(0))
+            .containsEntry("currentCount", 60)
+            .containsEntry("maxCapacity", 100)
+            .containsEntry("full", true)
+            .containsEntry("sequence", 1L);
+    }
+
+    @Test
+    void testSubsequentPublicationsCarryOnlyChangedFields() {
+        // Given
+        aggregator.record("F1", 10, 100);
+        aggregator.publish();
+
+        // When
+        aggregator.adjust("F1", 30);
+        aggregator.publish();
+
+        // Then
+        Map<String, Object> delta = publishedFor("F1").get(1);
+        assertThat(delta)
+            .containsEntry("currentCount", 40)
+            .containsEntry("trend", "RISING")
+            .containsEntry("full", false)
+            .containsEntry("sequence", 2L)
+            .doesNotContainKey("maxCapacity");
+        assertThat(aggregator.getSnapshot("F1")).containsEntry("currentCount", 40).containsKey("maxCapacity");
+    }
+
+    @Test
+    void testUnchangedFloorIsNotRepublished() {
+        // Given
+        aggregator.record("F1", 10, 100);
+        aggregator.publish();
+
+        // When
+        aggregator.adjust("F1", 1);
+        aggregator.adjust("F1", -1);
+        aggregator.publish();
+
+        // Then
+        assertThat(publishedFor("F1")).hasSize(1);
+    }
+
+    @Test
+    void testFloorsBeyondTheCapAreRejected() {
+        // Given
+        aggregator.record("F1", 10, 100);
+        aggregator.adjust("F2", 1);
+
+        // When / Then
+        assertThatThrownBy(() -> aggregator.adjust("F3", 1)).hasMessageContaining("Too many floors");
+        aggregator.adjust("F1", 1);
+        aggregator.publish();
+        assertThat(publishedFor("F3")).isEmpty();
+        assertThat(aggregator.getSnapshot("F1")).containsEntry("currentCount", 11);
+    }
+
+    @Test
+    void testIdleFloorIsDroppedAndFreesItsSlot() {
+        // Given
+        aggregator.record("F1", 10, 100);
+        aggregator.record("F2", 5, 50);
+
+        // When: F2 keeps reporting, F1 goes quiet for longer than the idle limit
+        for (int i = 0; i < 4; i++) {
+            aggregator.adjust("F2", 1);
+            aggregator.publish();
+        }
+
+        // Then
+        assertThat(aggregator.getSnapshot("F1")).isNull();
+        assertThat(aggregator.getSnapshot("F2")).containsEntry("currentCount", 9);
+        aggregator.adjust("F3", 1);
+        aggregator.publish();
+        assertThat(publishedFor("F3")).hasSize(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> publishedFor(String floorId) {
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(broker, atLeast(0)).publish(eq("/topic/crowd/" + floorId), eq(floorId), isNull(), payloads.capture());
+        verify(broker, never()).publish(any(), any(), eq("crowd"), any());
+        return (List<Map<String, Object>>) (List<?>) payloads.getAllValues();
+    }
+}
@@ -0,0 +1,87 @@
+package com.atomix.cafeteria.websocket;
+
+import com.atomix.cafeteria.entity.Order;
+import com.atomix.cafeteria.entity.OrderStatus;
+import com.atomix.cafeteria.entity.User;
+import com.atomix.cafeteria.service.OrderStatusChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrderStatusPushListenerTest {
+
+    private final LiveStatusBroker broker = mock(LiveStatusBroker.class);
+    private final OrderStatusPushListener listener = new OrderStatusPushListener(broker, 1000, 60_000);
+
+    @Test
+    void testEventsWithinWindowAreBatchedPerUser() {
+        // Given
+        listener.onOrderStatusChanged(event("alice@atomix.com", "ORD_1", OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        listener.onOrderStatusChanged(event("alice@atomix.com", "ORD_2", OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        listener.onOrderStatusChanged(event("bob@atomix.com", "ORD_3", OrderStatus.PENDING, OrderStatus.CONFIRMED));
+
+        // When
+        listener.flush();
+
+        // Then
+        assertThat(ordersSentTo("alice@atomix.com")).extracting(o -> o.get("orderNumber"))
+            .containsExactly("ORD_1", "ORD_2");
+        assertThat(ordersSentTo("bob@atomix.com")).hasSize(1);
+    }
+
+    @Test
+    void testOnlyLatestStatusPerOrderIsSent() {
+        // Given
+        listener.onOrderStatusChanged(event("alice@atomix.com", "ORD_1", OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        listener.onOrderStatusChanged(event("alice@atomix.com", "ORD_1", OrderStatus.CONFIRMED, OrderStatus.PREPARING));
+
+        // When
+        listener.flush();
+
+        // Then
+        List<Map<String, Object>> orders = ordersSentTo("alice@atomix.com");
+        assertThat(orders).hasSize(1);
+        assertThat(orders.get(0)).containsEntry("status", "PREPARING");
+    }
+
+    @Test
+    void testAlreadyDeliveredStatusIsNotResent() {
+        // Given
+        listener.onOrderStatusChanged(event("alice@atomix.com", "ORD_1", OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        listener.flush();
+
+        // When
+        listener.onOrderStatusChanged(event("alice@atomix.com", "ORD_1", OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        listener.flush();
+
+        // Then
+        verify(broker, times(1)).sendToUser(eq("alice@atomix.com"), eq("/queue/orders"), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> ordersSentTo(String user) {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(broker).sendToUser(eq(user), eq("/queue/orders"), payload.capture());
+        return (List<Map<String, Object>>) ((Map<String, Object>) payload.getValue()).get("orders");
+    }
+
+    private static OrderStatusChangedEvent event(String email, String orderNumber, OrderStatus from, OrderStatus to) {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(email);
+
+        Order order = new Order();
+        order.setId(1L);
+        order.setOrderNumber(orderNumber);
+        order.setUser(user);
+        order.setStatus(to);
+        return new OrderStatusChangedEvent(order, from);
+    }
+}